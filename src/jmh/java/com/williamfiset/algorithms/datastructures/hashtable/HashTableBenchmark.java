@@ -0,0 +1,312 @@
+/**
+ * JMH benchmarks comparing the hash-table implementations in this package against {@link
+ * java.util.HashMap} on a handful of operation mixes:
+ *
+ * <ul>
+ *   <li>READ_HEAVY: 95% lookups of present keys, 5% updates
+ *   <li>WRITE_HEAVY: 40% inserts, 40% removals, 20% lookups
+ *   <li>MISS_HEAVY: 90% lookups of absent keys, 10% lookups of present keys
+ *   <li>deleteChurn: every operation removes the oldest key and inserts a new one, which leaves a
+ *       trail of tombstones behind in the open addressing tables
+ * </ul>
+ *
+ * <p>Sizes range from 1e3 to 1e7 keys so that the working set moves from L1 all the way out to
+ * DRAM. Keys and values are boxed ahead of time so that the measurements do not include the cost
+ * of autoboxing. The cost of building a table from empty, which includes every resize, is measured
+ * separately by the {@code build} benchmark.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pbenchmark=hashtable
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HashTableBenchmark {
+
+  // Number of operations performed per benchmark invocation.
+  static final int OPS = 1024;
+
+  // Operation codes used to describe a workload.
+  static final byte GET = 0, PUT = 1, REMOVE = 2;
+
+  private static final long SEED = 0x5eed;
+
+  // A minimal common view over the hash-tables being compared since they do not
+  // share an interface.
+  interface Table {
+    Object put(Object key, Integer value);
+
+    Object get(Object key);
+
+    Object remove(Object key);
+  }
+
+  public enum Implementation {
+    LINEAR_PROBING {
+      Table create() {
+        final HashTableLinearProbing<Object, Integer> table = new HashTableLinearProbing<>();
+        return new Table() {
+          public Object put(Object key, Integer value) {
+            return table.insert(key, value);
+          }
+
+          public Object get(Object key) {
+            return table.get(key);
+          }
+
+          public Object remove(Object key) {
+            return table.remove(key);
+          }
+        };
+      }
+    },
+    QUADRATIC_PROBING {
+      Table create() {
+        final HashTableQuadraticProbing<Object, Integer> table = new HashTableQuadraticProbing<>();
+        return new Table() {
+          public Object put(Object key, Integer value) {
+            return table.insert(key, value);
+          }
+
+          public Object get(Object key) {
+            return table.get(key);
+          }
+
+          public Object remove(Object key) {
+            return table.remove(key);
+          }
+        };
+      }
+    },
+    DOUBLE_HASHING {
+      Table create() {
+        final HashTableDoubleHashing<DoubleHashingTestObject, Integer> table =
+            new HashTableDoubleHashing<>();
+        return new Table() {
+          public Object put(Object key, Integer value) {
+            return table.insert((DoubleHashingTestObject) key, value);
+          }
+
+          public Object get(Object key) {
+            return table.get((DoubleHashingTestObject) key);
+          }
+
+          public Object remove(Object key) {
+            return table.remove((DoubleHashingTestObject) key);
+          }
+        };
+      }
+
+      // Double hashing requires keys which provide a secondary hash function.
+      Object key(int k) {
+        return new DoubleHashingTestObject(k);
+      }
+    },
+    SEPARATE_CHAINING {
+      Table create() {
+        final HashTableSeparateChaining<Object, Integer> table = new HashTableSeparateChaining<>();
+        return new Table() {
+          public Object put(Object key, Integer value) {
+            return table.insert(key, value);
+          }
+
+          public Object get(Object key) {
+            return table.get(key);
+          }
+
+          public Object remove(Object key) {
+            return table.remove(key);
+          }
+        };
+      }
+    },
+    JAVA_HASHMAP {
+      Table create() {
+        final HashMap<Object, Integer> table = new HashMap<>();
+        return new Table() {
+          public Object put(Object key, Integer value) {
+            return table.put(key, value);
+          }
+
+          public Object get(Object key) {
+            return table.get(key);
+          }
+
+          public Object remove(Object key) {
+            return table.remove(key);
+          }
+        };
+      }
+    };
+
+    abstract Table create();
+
+    Object key(int k) {
+      return Integer.valueOf(k);
+    }
+  }
+
+  public enum Workload {
+    // Percentages of {GET present, GET absent, PUT, REMOVE}
+    READ_HEAVY(95, 0, 5, 0),
+    WRITE_HEAVY(20, 0, 40, 40),
+    MISS_HEAVY(10, 90, 0, 0);
+
+    final int getHit, getMiss, put, remove;
+
+    Workload(int getHit, int getMiss, int put, int remove) {
+      this.getHit = getHit;
+      this.getMiss = getMiss;
+      this.put = put;
+      this.remove = remove;
+    }
+  }
+
+  @Param({
+    "LINEAR_PROBING",
+    "QUADRATIC_PROBING",
+    "DOUBLE_HASHING",
+    "SEPARATE_CHAINING",
+    "JAVA_HASHMAP"
+  })
+  public Implementation implementation;
+
+  @Param({"1000", "10000", "100000", "1000000", "10000000"})
+  public int size;
+
+  // keys[0, size) are initially present in the table, keys[size, 2*size) are not.
+  Object[] keys;
+  Integer[] values;
+
+  // Position of the oldest key for the delete churn benchmark.
+  int churn;
+
+  Table table;
+
+  @Setup(Level.Trial)
+  public void setupTrial() {
+    Random random = new Random(SEED);
+    keys = new Object[2 * size];
+    values = new Integer[2 * size];
+    int[] perm = new int[2 * size];
+    for (int i = 0; i < perm.length; i++) perm[i] = i;
+    for (int i = perm.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1), tmp = perm[i];
+      perm[i] = perm[j];
+      perm[j] = tmp;
+    }
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = implementation.key(perm[i]);
+      values[i] = i;
+    }
+  }
+
+  // Rebuild the table every iteration so that state built up by mutating
+  // workloads (tombstones, growth) does not leak across iterations.
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    table = implementation.create();
+    for (int i = 0; i < size; i++) table.put(keys[i], values[i]);
+    churn = 0;
+  }
+
+  // The precomputed operation stream for a workload. It is kept in its own state so
+  // that only the operation mix benchmark is parameterized by workload.
+  @State(Scope.Thread)
+  public static class OperationStream {
+    @Param({"READ_HEAVY", "WRITE_HEAVY", "MISS_HEAVY"})
+    public Workload workload;
+
+    byte[] opCodes;
+    int[] opKeys;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setup(HashTableBenchmark benchmark) {
+      final int size = benchmark.size;
+      Random random = new Random(SEED + 1);
+      // Build an operation stream long enough to not fit in the L1 cache itself
+      // but short enough that its cost is negligible next to the table.
+      final int n = 1 << 16;
+      opCodes = new byte[n];
+      opKeys = new int[n];
+      for (int i = 0; i < n; i++) {
+        int r = random.nextInt(100);
+        if (r < workload.getHit) {
+          opCodes[i] = GET;
+          opKeys[i] = random.nextInt(size);
+        } else if ((r -= workload.getHit) < workload.getMiss) {
+          opCodes[i] = GET;
+          opKeys[i] = size + random.nextInt(size);
+        } else if ((r -= workload.getMiss) < workload.put) {
+          opCodes[i] = PUT;
+          // Updates only touch present keys in the read heavy workload while the
+          // write heavy workload inserts and removes across the whole key space.
+          opKeys[i] = random.nextInt(workload == Workload.READ_HEAVY ? size : 2 * size);
+        } else {
+          opCodes[i] = REMOVE;
+          opKeys[i] = random.nextInt(2 * size);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPS)
+  public void operationMix(OperationStream stream, Blackhole bh) {
+    final byte[] opCodes = stream.opCodes;
+    final int[] opKeys = stream.opKeys;
+    final int mask = opCodes.length - 1;
+    for (int i = 0; i < OPS; i++) {
+      int op = stream.cursor++ & mask, k = opKeys[op];
+      switch (opCodes[op]) {
+        case GET:
+          bh.consume(table.get(keys[k]));
+          break;
+        case PUT:
+          bh.consume(table.put(keys[k], values[k]));
+          break;
+        default:
+          bh.consume(table.remove(keys[k]));
+      }
+    }
+  }
+
+  // Keys [churn, churn + size) (mod 2*size) are present at all times. Each operation
+  // removes the oldest key and inserts the next absent one so the number of keys
+  // stays the same while deleted slots accumulate.
+  @Benchmark
+  @OperationsPerInvocation(OPS)
+  public void deleteChurn(Blackhole bh) {
+    final int n = keys.length;
+    for (int i = 0; i < OPS; i++) {
+      int oldest = churn, next = churn + size;
+      if (next >= n) next -= n;
+      bh.consume(table.remove(keys[oldest]));
+      bh.consume(table.put(keys[next], values[next]));
+      if (++churn == n) churn = 0;
+    }
+  }
+
+  // Insert all keys into an empty table, paying for every resize along the way.
+  @Benchmark
+  public Table build() {
+    Table t = implementation.create();
+    for (int i = 0; i < size; i++) t.put(keys[i], values[i]);
+    return t;
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * JMH benchmarks comparing the lock-free {@link ConcurrentUnionFind} against a {@link UnionFind}
+ * guarded by a lock, with the same random pairs unified from a pool of threads.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pbenchmark=UnionFind
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UnionFindBenchmark {
+
+  @Param({"1", "4", "32"})
+  public int threads;
+
+  static final int N = 1 << 20;
+
+  int[] a, b;
+  ForkJoinPool pool;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0x5eed);
+    a = new int[N];
+    b = new int[N];
+    for (int i = 0; i < N; i++) {
+      a[i] = random.nextInt(N);
+      b[i] = random.nextInt(N);
+    }
+    pool = new ForkJoinPool(threads);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public int synchronizedUnionFind() {
+    UnionFind uf = new UnionFind(N);
+    IntConsumer body =
+        i -> {
+          synchronized (uf) {
+            uf.unify(a[i], b[i]);
+          }
+        };
+    pool.submit(() -> IntStream.range(0, N).parallel().forEach(body)).join();
+    return uf.components();
+  }
+
+  @Benchmark
+  public int concurrentUnionFind() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(N);
+    uf.unifyAll(a, b, pool);
+    return uf.components();
+  }
+}
@@ -0,0 +1,58 @@
+/**
+ * JMH benchmarks comparing the sequential CSR breadth first search against the parallel direction
+ * optimizing one on R-MAT graphs, which have the low diameter and skewed degrees of social graphs.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pbenchmark=BreadthFirstSearch
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BreadthFirstSearchBenchmark {
+
+  // The graph has 2^scale nodes and 16 * 2^scale edges.
+  @Param({"16", "20", "23"})
+  public int scale;
+
+  CsrGraph graph;
+  BreadthFirstSearchDirectionOptimizing solver;
+  int start;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    graph = new GraphGenerator.RmatGenerator(scale, 16, 1, 0x5eed).toCsrGraph();
+    solver =
+        new BreadthFirstSearchDirectionOptimizing(
+            graph, graph.transpose(), ForkJoinPool.commonPool());
+    // Start from the node with the highest degree so the search reaches the
+    // giant component.
+    for (int u = 0; u < graph.numNodes(); u++) {
+      if (graph.degree(u) > graph.degree(start)) start = u;
+    }
+  }
+
+  @Benchmark
+  public int[] sequential() {
+    return BreadthFirstSearchAdjacencyListIterativeFastQueue.bfs(graph, start);
+  }
+
+  @Benchmark
+  public int[] directionOptimizing() {
+    solver.bfs(start);
+    return solver.getDist();
+  }
+}
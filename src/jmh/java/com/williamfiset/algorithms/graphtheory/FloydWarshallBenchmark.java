@@ -0,0 +1,50 @@
+/**
+ * JMH benchmarks comparing the textbook {@link FloydWarshallSolver} against the cache blocked,
+ * parallel {@link FloydWarshallBlocked} on random sparse graphs.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pbenchmark=FloydWarshall
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FloydWarshallBenchmark {
+
+  // Each run is a single shot since at n = 5000 the textbook solver takes minutes.
+  @Param({"500", "1000", "2000", "5000"})
+  public int n;
+
+  double[][] matrix;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    // About 10 edges per node with integer weights in [1, 100].
+    Random random = new Random(0x5eed);
+    matrix = FloydWarshallSolver.createGraph(n);
+    for (int i = 0; i < 10 * n; i++) {
+      matrix[random.nextInt(n)][random.nextInt(n)] = 1 + random.nextInt(100);
+    }
+  }
+
+  @Benchmark
+  public double[][] textbook() {
+    return new FloydWarshallSolver(matrix).getApspMatrix();
+  }
+
+  @Benchmark
+  public double[] blocked() {
+    return new FloydWarshallBlocked(matrix).getFlatApspMatrix();
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * JMH benchmarks comparing {@link IncrementalTopologicalOrder} against running {@link Kahns} on the
+ * whole graph after every insertion, while the edges of a DAG from {@link
+ * GraphGenerator.DagGenerator} arrive one at a time in random order.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pbenchmark=IncrementalTopologicalOrder
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.Utils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class IncrementalTopologicalOrderBenchmark {
+
+  // Number of levels of the DAG, each with 20 to 40 nodes.
+  @Param({"25", "50", "100"})
+  public int levels;
+
+  int n;
+  int[] from, to;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    List<List<Integer>> g =
+        new GraphGenerator.DagGenerator(levels, levels, 20, 40, 0.2, 0x5eed).createDag();
+    n = g.size();
+    List<int[]> edges = new ArrayList<>();
+    for (int u = 0; u < n; u++) for (int v : g.get(u)) edges.add(new int[] {u, v});
+    Collections.shuffle(edges, new Random(0x5eed));
+    from = new int[edges.size()];
+    to = new int[edges.size()];
+    // Number the nodes backwards so the initial order 0, 1, ..., n - 1 is wrong and
+    // insertions have to reorder.
+    for (int i = 0; i < edges.size(); i++) {
+      from[i] = n - 1 - edges.get(i)[0];
+      to[i] = n - 1 - edges.get(i)[1];
+    }
+  }
+
+  @Benchmark
+  public int[] incremental() {
+    IncrementalTopologicalOrder dag = new IncrementalTopologicalOrder(n);
+    for (int i = 0; i < from.length; i++) dag.addEdge(from[i], to[i]);
+    return dag.getOrder();
+  }
+
+  @Benchmark
+  public int[] fullRecompute() {
+    List<List<Integer>> g = Utils.createEmptyAdjacencyList(n);
+    Kahns kahns = new Kahns();
+    int[] order = null;
+    for (int i = 0; i < from.length; i++) {
+      Utils.addDirectedEdge(g, from[i], to[i]);
+      order = kahns.kahns(g);
+    }
+    return order;
+  }
+}
@@ -0,0 +1,241 @@
+/**
+ * JMH benchmarks for every {@link InplaceSort} implementation across a range of input sizes and
+ * input distributions.
+ *
+ * <p>The O(n^2) sorts are benchmarked separately on smaller inputs since sorting 1e8 elements with
+ * them would never finish. {@link QuickSort} always pivots on the first element, so on sorted and
+ * reversed inputs it recurses n levels deep and overflows the stack from 1e5 elements on. It only
+ * sorts those two distributions up to 1e4 elements.
+ *
+ * <p>Every benchmark sorts a fresh copy of its input, and the copy is part of the measured time.
+ * Restoring the input in a Level.Invocation setup would keep the copy out of the measurement, but
+ * the timestamps JMH takes around every call would then distort the timing of the small sorts,
+ * which only take microseconds. The copy benchmark measures the copy alone, to be subtracted from
+ * the sort timings of the same size.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -Pbenchmark=sorting
+ *
+ * <p>A single configuration can be selected by passing JMH parameters directly, for example:
+ *
+ * <p>$ ./gradlew jmhJar && java -jar build/libs/*-jmh.jar SortingBenchmark.sort -p size=1000000 -p
+ * distribution=RANDOM -prof gc
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SortingBenchmark {
+
+  // Fixed seed so that every algorithm sorts exactly the same inputs.
+  private static final long SEED = 0x5eed;
+
+  public enum Distribution {
+    // Uniformly random values in [0, n)
+    RANDOM,
+    // Already sorted values
+    SORTED,
+    // Values sorted in descending order
+    REVERSED,
+    // Only a handful of distinct values, stresses partitioning
+    FEW_UNIQUE,
+    // Many short ascending runs
+    SAWTOOTH;
+
+    // Values are kept non-negative and below n so that the non-comparison
+    // sorts (counting, radix, bucket) can handle every distribution.
+    int[] generate(int n) {
+      Random random = new Random(SEED);
+      int[] ar = new int[n];
+      switch (this) {
+        case RANDOM:
+          for (int i = 0; i < n; i++) ar[i] = random.nextInt(n);
+          break;
+        case SORTED:
+          for (int i = 0; i < n; i++) ar[i] = i;
+          break;
+        case REVERSED:
+          for (int i = 0; i < n; i++) ar[i] = n - i - 1;
+          break;
+        case FEW_UNIQUE:
+          for (int i = 0; i < n; i++) ar[i] = random.nextInt(16);
+          break;
+        case SAWTOOTH:
+          int period = Math.max(1, n / 64);
+          for (int i = 0; i < n; i++) ar[i] = i % period;
+          break;
+      }
+      return ar;
+    }
+  }
+
+  static InplaceSort newSorter(String algorithm) {
+    switch (algorithm) {
+      case "BubbleSort":
+        return new BubbleSort();
+      case "BucketSort":
+        return new BucketSort();
+      case "CountingSort":
+        return new CountingSort();
+      case "Heapsort":
+        return new Heapsort();
+      case "InsertionSort":
+        return new InsertionSort();
+      case "MergeSort":
+        return new MergeSort();
+      case "QuickSort":
+        return new QuickSort();
+      case "QuickSort3":
+        return new QuickSort3();
+      case "RadixSort":
+        return new RadixSort();
+      case "SelectionSort":
+        return new SelectionSort();
+      default:
+        throw new IllegalArgumentException("Unknown sorting algorithm: " + algorithm);
+    }
+  }
+
+  // The arrays shared by the benchmark states. Every invocation restores the unsorted
+  // input with reset() before sorting it.
+  abstract static class SortInput {
+    InplaceSort sorter;
+    int[] input, values;
+
+    void init(String algorithm, int size, Distribution distribution) {
+      sorter = newSorter(algorithm);
+      input = distribution.generate(size);
+      values = new int[size];
+    }
+
+    void reset() {
+      System.arraycopy(input, 0, values, 0, input.length);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class SortState extends SortInput {
+    @Param({
+      "BucketSort",
+      "CountingSort",
+      "Heapsort",
+      "MergeSort",
+      "QuickSort3",
+      "RadixSort"
+    })
+    public String algorithm;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH"})
+    public Distribution distribution;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+      init(algorithm, size, distribution);
+    }
+  }
+
+  // QuickSort on every distribution, small enough for sorted and reversed inputs.
+  @State(Scope.Thread)
+  public static class QuickSortState extends SortInput {
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH"})
+    public Distribution distribution;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+      init("QuickSort", size, distribution);
+    }
+  }
+
+  // QuickSort on the larger inputs, without the sorted and reversed ones.
+  @State(Scope.Thread)
+  public static class LargeQuickSortState extends SortInput {
+    @Param({"100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "FEW_UNIQUE", "SAWTOOTH"})
+    public Distribution distribution;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+      init("QuickSort", size, distribution);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class QuadraticSortState extends SortInput {
+    @Param({"BubbleSort", "InsertionSort", "SelectionSort"})
+    public String algorithm;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH"})
+    public Distribution distribution;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+      init(algorithm, size, distribution);
+    }
+  }
+
+  // Only the input to copy, the distribution does not change the cost of copying.
+  @State(Scope.Thread)
+  public static class CopyState extends SortInput {
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+      init("MergeSort", size, Distribution.RANDOM);
+    }
+  }
+
+  @Benchmark
+  public int[] sort(SortState state) {
+    return resetAndSort(state);
+  }
+
+  @Benchmark
+  public int[] quickSort(QuickSortState state) {
+    return resetAndSort(state);
+  }
+
+  @Benchmark
+  public int[] largeQuickSort(LargeQuickSortState state) {
+    return resetAndSort(state);
+  }
+
+  @Benchmark
+  public int[] quadraticSort(QuadraticSortState state) {
+    return resetAndSort(state);
+  }
+
+  // Baseline: the copy every sort benchmark pays for before sorting.
+  @Benchmark
+  public int[] copy(CopyState state) {
+    state.reset();
+    return state.values;
+  }
+
+  private static int[] resetAndSort(SortInput state) {
+    state.reset();
+    state.sorter.sort(state.values);
+    return state.values;
+  }
+}
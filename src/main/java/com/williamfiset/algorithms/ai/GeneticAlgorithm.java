@@ -0,0 +1,309 @@
+/**
+ * A generic genetic algorithm engine. A {@link Problem} supplies the genome type together with its
+ * fitness, crossover and mutation, and the engine takes care of everything else: roulette wheel
+ * selection, elitism, and running several populations at once.
+ *
+ * <p>The engine follows the island model. The population is split into islands which evolve
+ * independently, each on its own thread of a fork-join pool, so fitness evaluation and breeding
+ * run in parallel. Every few generations the islands stop and the best genomes of every island
+ * migrate to the next island in a ring, replacing its worst ones. Islands drifting apart keeps
+ * diversity high while migration spreads good genes.
+ *
+ * <p>Genomes are mutable and allocated once: every island owns two population buffers and breeds
+ * the next generation into the buffer of the previous one, so a run allocates nothing per
+ * generation. Every island has its own seeded random generator and migration happens between
+ * generations, so a run with a given seed is reproducible whatever the threads do.
+ *
+ * <p>Selection picks a parent with probability proportional to fitness^power. The power starts at
+ * 1 and can grow every generation, which favors the best genomes more and more as the run goes on.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+public class GeneticAlgorithm<G> {
+
+  /**
+   * The problem being solved. Genomes passed to the methods belong to the engine, so the methods
+   * must not keep references to them. Islands call these methods concurrently on different genomes.
+   */
+  public interface Problem<G> {
+
+    /** Returns a new random genome. Only called while the populations are allocated. */
+    G newGenome(Random random);
+
+    /** Returns the fitness of the genome, at least 0, higher being better. */
+    double fitness(G genome);
+
+    /** Overwrites 'child' with a mix of the two parents. */
+    void crossover(G parent1, G parent2, G child, Random random);
+
+    /** Mutates the genome in place. */
+    void mutate(G genome, Random random);
+
+    /** Overwrites 'to' with a copy of 'from'. */
+    void copy(G from, G to);
+  }
+
+  private final Problem<G> problem;
+
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+  private int numIslands = 4;
+  private int populationSize = 250;
+  private int maxGenerations = 1000;
+  private int migrationInterval = 50;
+  private int numMigrants = 2;
+  private int elitism = 1;
+  private double powerIncrement;
+  private double targetFitness = Double.POSITIVE_INFINITY;
+  private long seed;
+
+  // Outputs
+  private boolean solved;
+  private G best;
+  private double bestFitness;
+  private int generations;
+
+  public GeneticAlgorithm(Problem<G> problem) {
+    if (problem == null) throw new IllegalArgumentException("Problem cannot be null.");
+    this.problem = problem;
+  }
+
+  /** Sets the pool the islands evolve on, the common pool by default. */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.pool = pool;
+  }
+
+  /** Sets the number of islands and the population of each, 4 islands of 250 by default. */
+  public void setIslands(int numIslands, int populationSize) {
+    if (numIslands <= 0) throw new IllegalArgumentException("Need at least one island.");
+    if (populationSize < 2) throw new IllegalArgumentException("Population too small.");
+    this.numIslands = numIslands;
+    this.populationSize = populationSize;
+  }
+
+  /** Sets the maximum number of generations, 1000 by default. */
+  public void setGenerations(int maxGenerations) {
+    if (maxGenerations < 0) throw new IllegalArgumentException("Negative generation count.");
+    this.maxGenerations = maxGenerations;
+  }
+
+  /**
+   * Sets how many generations pass between migrations and how many genomes every island sends to
+   * the next one, 2 every 50 generations by default.
+   */
+  public void setMigration(int interval, int migrants) {
+    if (interval <= 0) throw new IllegalArgumentException("Interval must be positive.");
+    if (migrants < 0) throw new IllegalArgumentException("Negative migrant count.");
+    this.migrationInterval = interval;
+    this.numMigrants = migrants;
+  }
+
+  /** Sets how many of the best genomes of an island survive unchanged, 1 by default. */
+  public void setElitism(int elitism) {
+    if (elitism < 0) throw new IllegalArgumentException("Negative elitism.");
+    this.elitism = elitism;
+  }
+
+  /** Sets how much the selection power grows every generation, 0 by default. */
+  public void setPowerIncrement(double powerIncrement) {
+    if (powerIncrement < 0) throw new IllegalArgumentException("Negative power increment.");
+    this.powerIncrement = powerIncrement;
+  }
+
+  /** Stops the run once a genome reaches this fitness, by default the run never stops early. */
+  public void setTargetFitness(double targetFitness) {
+    this.targetFitness = targetFitness;
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  // Returns the fittest genome found.
+  public G getBest() {
+    solve();
+    return best;
+  }
+
+  // Returns the fitness of the fittest genome found.
+  public double getBestFitness() {
+    solve();
+    return bestFitness;
+  }
+
+  // Returns the number of generations the run took.
+  public int getGenerations() {
+    solve();
+    return generations;
+  }
+
+  public void solve() {
+    if (solved) return;
+    if (numMigrants >= populationSize || elitism >= populationSize)
+      throw new IllegalStateException("Too many migrants or elites for the population.");
+
+    List<Island> islands = new ArrayList<>(numIslands);
+    for (int i = 0; i < numIslands; i++) islands.add(new Island(seed + i));
+
+    while (generations < maxGenerations && !reachedTarget(islands)) {
+      final int steps = Math.min(migrationInterval, maxGenerations - generations);
+      runIslands(islands, island -> island.evolve(steps));
+      for (Island island : islands) generations = Math.max(generations, island.generation);
+      if (numIslands > 1 && numMigrants > 0) migrate(islands);
+    }
+
+    Island fittest = islands.get(0);
+    for (Island island : islands) if (island.bestFitness > fittest.bestFitness) fittest = island;
+    best = fittest.best;
+    bestFitness = fittest.bestFitness;
+    solved = true;
+  }
+
+  private boolean reachedTarget(List<Island> islands) {
+    for (Island island : islands) if (island.bestFitness >= targetFitness) return true;
+    return false;
+  }
+
+  private void runIslands(List<Island> islands, Consumer<Island> body) {
+    if (islands.size() == 1) body.accept(islands.get(0));
+    else pool.submit(() -> islands.parallelStream().forEach(body)).join();
+  }
+
+  // Every island sends copies of its best genomes to the next island in the ring, where
+  // they replace the worst ones. All emigrants are picked before any island receives.
+  private void migrate(List<Island> islands) {
+    for (Island island : islands) island.pickEmigrants();
+    for (int i = 0; i < numIslands; i++) islands.get((i + 1) % numIslands).receive(islands.get(i));
+  }
+
+  private final class Island {
+    final Random random;
+
+    // The current population and the buffer the next one is bred into.
+    G[] population, next;
+    final double[] fitness, nextFitness;
+
+    // cumulative[i] is the total selection weight of the genomes up to i.
+    final double[] cumulative;
+    final int[] ranking;
+
+    final G[] emigrants;
+    final double[] emigrantFitness;
+
+    G best;
+    double bestFitness = Double.NEGATIVE_INFINITY;
+    int generation;
+
+    @SuppressWarnings("unchecked")
+    Island(long seed) {
+      random = new Random(seed);
+      population = (G[]) new Object[populationSize];
+      next = (G[]) new Object[populationSize];
+      emigrants = (G[]) new Object[numMigrants];
+      for (int i = 0; i < populationSize; i++) {
+        population[i] = problem.newGenome(random);
+        next[i] = problem.newGenome(random);
+      }
+      for (int i = 0; i < numMigrants; i++) emigrants[i] = problem.newGenome(random);
+      best = problem.newGenome(random);
+      fitness = new double[populationSize];
+      nextFitness = new double[populationSize];
+      cumulative = new double[populationSize];
+      ranking = new int[populationSize];
+      emigrantFitness = new double[numMigrants];
+      for (int i = 0; i < populationSize; i++) fitness[i] = problem.fitness(population[i]);
+      updateBest();
+    }
+
+    // Runs up to 'steps' generations, stopping early once the target is reached.
+    void evolve(int steps) {
+      for (int end = generation + steps; generation < end && bestFitness < targetFitness; ) {
+        double power = 1 + powerIncrement * generation++;
+        double total = 0;
+        for (int i = 0; i < populationSize; i++) {
+          total += power == 1 ? fitness[i] : Math.pow(fitness[i], power);
+          cumulative[i] = total;
+        }
+
+        // The elites go through unchanged and the rest of the population is bred.
+        rank(elitism);
+        for (int i = 0; i < elitism; i++) {
+          problem.copy(population[ranking[i]], next[i]);
+          nextFitness[i] = fitness[ranking[i]];
+        }
+        for (int i = elitism; i < populationSize; i++) {
+          G child = next[i];
+          problem.crossover(select(total), select(total), child, random);
+          problem.mutate(child, random);
+          nextFitness[i] = problem.fitness(child);
+        }
+
+        G[] genomes = population;
+        population = next;
+        next = genomes;
+        System.arraycopy(nextFitness, 0, fitness, 0, populationSize);
+        updateBest();
+      }
+    }
+
+    // Roulette wheel selection, uniform when every genome has zero fitness.
+    G select(double total) {
+      if (!(total > 0)) return population[random.nextInt(populationSize)];
+      int i = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+      if (i < 0) i = -i - 1;
+      return population[Math.min(i, populationSize - 1)];
+    }
+
+    // Moves the indexes of the 'count' fittest genomes, fittest first, to the front of
+    // 'ranking'.
+    void rank(int count) {
+      for (int i = 0; i < populationSize; i++) ranking[i] = i;
+      for (int i = 0; i < count; i++) {
+        int top = i;
+        for (int j = i + 1; j < populationSize; j++) {
+          if (fitness[ranking[j]] > fitness[ranking[top]]) top = j;
+        }
+        int tmp = ranking[i];
+        ranking[i] = ranking[top];
+        ranking[top] = tmp;
+      }
+    }
+
+    void pickEmigrants() {
+      rank(numMigrants);
+      for (int i = 0; i < numMigrants; i++) {
+        problem.copy(population[ranking[i]], emigrants[i]);
+        emigrantFitness[i] = fitness[ranking[i]];
+      }
+    }
+
+    // Replaces the least fit genomes with the emigrants of 'from'.
+    void receive(Island from) {
+      for (int i = 0; i < numMigrants; i++) {
+        int worst = 0;
+        for (int j = 1; j < populationSize; j++) if (fitness[j] < fitness[worst]) worst = j;
+        problem.copy(from.emigrants[i], population[worst]);
+        fitness[worst] = from.emigrantFitness[i];
+      }
+      updateBest();
+    }
+
+    void updateBest() {
+      int top = 0;
+      for (int i = 1; i < populationSize; i++) if (fitness[i] > fitness[top]) top = i;
+      if (fitness[top] > bestFitness) {
+        bestFitness = fitness[top];
+        problem.copy(population[top], best);
+      }
+    }
+  }
+}
@@ -12,129 +12,75 @@ import java.util.*;
 
 public class GeneticAlgorithm_knapsack_01 {
 
-  static final Random RANDOM = new Random();
-
-  // Genetic algorithm parameters (P = Population)
+  // Genetic algorithm parameters (P = Population of every island)
+  static final int ISLANDS = 4;
   static final int P = 500;
   static final int MAX_EPOCH = 10000;
   static final double MUTATION_RATE = 0.0125;
 
-  // The power variable tweaks the weight of the fitness function
-  // to emphasize better individuals. The power slowly increments
-  // over time to help get out of local minimums in later epochs.
-  static double power;
-  static final double POWER_INC = 0.0001;
-
-  // Runs a single simulation to find the best price for
-  // the 0/1 knapsack problem using a GA
-  static long run(int capacity, int[] weights, int[] values) {
-
-    power = 1.0;
-    final int N = weights.length;
-
-    // Create initial population
-    Individual[] generation = new Individual[P + 1];
-    Individual[] nextGeneration = new Individual[P + 1];
-    for (int i = 1; i <= P; i++) generation[i] = new Individual(N);
-
-    // Stores the ranges of individuals in the selection roulette
-    double[] lo = new double[P + 1];
-    double[] hi = new double[P + 1];
-
-    long[] fitness = new long[P + 1];
-    long bestFitness = 0;
-
-    for (int epoch = 1; epoch <= MAX_EPOCH; epoch++, power += POWER_INC) {
-
-      // Compute the total fitness sum across all individuals in order
-      // to be able to normalize and assign importance percentages
-      double fitnessSum = 0;
-
-      for (int i = 1; i <= P; i++) {
-        Individual in = generation[i];
-        fitness[i] = fitness(in, weights, values, capacity, N);
-        fitnessSum += fitness[i];
-        lo[i] = hi[i] = 0;
-      }
-
-      // Track the fittest individual
-      long bestEpochFitness = 0;
+  // A genome says which items go in the knapsack. Packing more than the capacity has no
+  // value at all.
+  static class Knapsack implements GeneticAlgorithm.Problem<boolean[]> {
+    final int capacity;
+    final int[] weights, values;
 
-      // Setup selection roulette
-      for (int i = 1; i <= P; i++) {
-
-        double norm = fitness[i] / fitnessSum;
-
-        lo[i] = hi[i - 1] = lo[i - 1] + norm;
-
-        if (fitness[i] > bestEpochFitness) {
-          bestEpochFitness = fitness[i];
-          if (bestEpochFitness > bestFitness) bestFitness = bestEpochFitness;
-        }
-      }
-
-      if (epoch % 50 == 0)
-        System.out.printf("Epoch: %d, %d$, %d$\n", epoch, bestEpochFitness, bestFitness);
-
-      // Selection process
-      for (int i = 1; i <= P; i++) {
+    Knapsack(int capacity, int[] weights, int[] values) {
+      this.capacity = capacity;
+      this.weights = weights;
+      this.values = values;
+    }
 
-        // Perform individual selection and crossover
-        Individual parent1 = selectIndividual(generation, lo, hi);
-        Individual parent2 = selectIndividual(generation, lo, hi);
-        Individual child = crossover(parent1, parent2, N);
+    @Override
+    public boolean[] newGenome(Random random) {
+      boolean[] items = new boolean[weights.length];
+      for (int i = 0; i < items.length; i++) items[i] = random.nextBoolean();
+      return items;
+    }
 
-        // Apply mutations to all parts of the DNA
-        // according to a predefined mutation rate
-        for (int j = 0; j < N; j++) {
-          if (Math.random() < MUTATION_RATE) mutate(child, j);
+    @Override
+    public double fitness(boolean[] items) {
+      long value = 0, weight = 0;
+      for (int i = 0; i < items.length; i++) {
+        if (items[i]) {
+          value += values[i];
+          weight += weights[i];
         }
-
-        nextGeneration[i] = child;
+        if (weight > capacity) return 0;
       }
-
-      generation = nextGeneration;
+      return value;
     }
 
-    return bestFitness;
-  }
+    // One point crossover
+    @Override
+    public void crossover(boolean[] p1, boolean[] p2, boolean[] child, Random random) {
+      int splitPoint = random.nextInt(child.length);
+      System.arraycopy(p1, 0, child, 0, splitPoint);
+      System.arraycopy(p2, splitPoint, child, splitPoint, child.length - splitPoint);
+    }
 
-  static long fitness(Individual in, int[] weights, int[] values, int capacity, int n) {
-    long value = 0, weight = 0;
-    for (int i = 0; i < n; i++) {
-      if (in.bits.get(i)) {
-        value += values[i];
-        weight += weights[i];
+    // Flip every item according to the mutation rate
+    @Override
+    public void mutate(boolean[] items, Random random) {
+      for (int i = 0; i < items.length; i++) {
+        if (random.nextDouble() < MUTATION_RATE) items[i] = !items[i];
       }
-      if (weight > capacity) return 0;
     }
-    return value;
-  }
 
-  static void mutate(Individual in, int i) {
-    in.bits.flip(i);
-  }
-
-  static Individual selectIndividual(Individual[] generation, double[] lo, double[] hi) {
-
-    double r = Math.random();
-
-    // Binary search to find individual
-    int mid, l = 0, h = P - 1;
-    while (true) {
-      mid = (l + h) >>> 1;
-      if (lo[mid] <= r && r < hi[mid]) return generation[mid + 1];
-      if (r < lo[mid]) h = mid - 1;
-      else l = mid + 1;
+    @Override
+    public void copy(boolean[] from, boolean[] to) {
+      System.arraycopy(from, 0, to, 0, from.length);
     }
   }
 
-  static Individual crossover(Individual p1, Individual p2, int n) {
-    int splitPoint = RANDOM.nextInt(n);
-    BitSet newBitSet = new BitSet(n);
-    for (int i = 0; i < splitPoint; i++) if (p1.bits.get(i)) newBitSet.flip(i);
-    for (int i = splitPoint; i < n; i++) if (p2.bits.get(i)) newBitSet.flip(i);
-    return new Individual(newBitSet);
+  // Runs a single simulation to find the best price for
+  // the 0/1 knapsack problem using a GA
+  static long run(int capacity, int[] weights, int[] values) {
+    GeneticAlgorithm<boolean[]> ga =
+        new GeneticAlgorithm<>(new Knapsack(capacity, weights, values));
+    ga.setIslands(ISLANDS, P);
+    ga.setGenerations(MAX_EPOCH);
+    ga.setSeed(new Random().nextLong());
+    return (long) ga.getBestFitness();
   }
 
   public static void main(String[] args) {
@@ -161,30 +107,6 @@ public class GeneticAlgorithm_knapsack_01 {
         (1.0 - ((double) gaAns) / answer) * 100);
   }
 
-  static class Individual {
-
-    BitSet bits;
-
-    // Constructs a random individual
-    public Individual(int n) {
-      bits = new BitSet(n);
-      for (int i = 0; i < n; i++) {
-        if (Math.random() < 0.5) {
-          bits.flip(i);
-        }
-      }
-    }
-
-    public Individual(BitSet set) {
-      this.bits = set;
-    }
-
-    @Override
-    public String toString() {
-      return bits.toString();
-    }
-  }
-
   static class Knapsack_01 {
 
     /**
@@ -10,208 +10,112 @@ import java.util.*;
 
 public class GeneticAlgorithm_travelingSalesman {
 
-  static final Random RANDOM = new Random();
-
-  // Genetic algorithm parameters (P = Population)
+  // Genetic algorithm parameters (P = Population of every island)
+  static final int ISLANDS = 4;
   static final int P = 250;
   static final int MAX_EPOCH = 100000;
   static final double MUTATION_RATE = 0.015;
 
-  // The power variable tweaks the weight of the fitness function
-  // to emphasize better individuals. The power slowly increments
-  // over time to help get out of local minimums in later epochs.
-  static double power;
+  // The selection power slowly increments over time to emphasize better
+  // individuals and help get out of local minimums in later epochs.
   static final double POWER_INC = 0.0001;
 
-  static double tsp(double[][] adjacencyMatrix) {
-
-    power = 1.0;
-    final int N = adjacencyMatrix.length;
-
-    double max = Double.NEGATIVE_INFINITY;
-    for (double[] row : adjacencyMatrix) {
-      for (double elem : row) {
-        max = Math.max(max, elem);
-      }
-    }
-
-    // Create initial population
-    Individual[] generation = new Individual[P + 1];
-    Individual[] nextGeneration = new Individual[P + 1];
-    for (int i = 1; i <= P; i++) generation[i] = new Individual(N);
-
-    // Stores the ranges of individuals in the selection roulette
-    double[] lo = new double[P + 1];
-    double[] hi = new double[P + 1];
-
-    double[] fitness = new double[P + 1];
-
-    // Record data about the fittest individual
-    int[] tour = null;
-    Individual fittestIndv = null;
-    double fittestIndvFitness = Double.NEGATIVE_INFINITY;
-
-    for (int epoch = 1; epoch <= MAX_EPOCH; epoch++, power += POWER_INC) {
-
-      // Compute the total fitness sum across all individuals in order
-      // to be able to normalize and assign importance percentages
-      double fitnessSum = 0;
-
-      for (int i = 1; i <= P; i++) {
-        Individual in = generation[i];
-        fitness[i] = fitness(in, adjacencyMatrix, max, N);
-        fitnessSum += fitness[i];
-        lo[i] = hi[i] = 0;
-      }
-
-      // Track epoch fittest individual
-      Individual bestEpochIndv = null;
-      double bestEpochFitness = Double.NEGATIVE_INFINITY;
-
-      // Setup selection roulette
-      for (int i = 1; i <= P; i++) {
-
-        Individual in = generation[i];
-        double norm = fitness[i] / fitnessSum;
-
-        lo[i] = hi[i - 1] = lo[i - 1] + norm;
-
-        if (fitness[i] > bestEpochFitness) {
-
-          bestEpochIndv = in;
-          bestEpochFitness = fitness[i];
-          if (fittestIndv == null) fittestIndv = in;
-
-          // Compute the true tour distance
-          double bestEpochTravelCost = trueTravelCost(bestEpochIndv, adjacencyMatrix, N);
-          double bestTravelCost = trueTravelCost(fittestIndv, adjacencyMatrix, N);
-
-          // Update fittest individual info
-          if (bestEpochTravelCost <= bestTravelCost) {
-            tour = in.cities.clone();
-            fittestIndv = in;
-            fittestIndvFitness = bestEpochTravelCost;
-          }
+  // A genome is the order in which the cities are visited.
+  static class TravelingSalesman implements GeneticAlgorithm.Problem<int[]> {
+    final double[][] adjacencyMatrix;
+    final int n;
+    final double max;
+
+    TravelingSalesman(double[][] adjacencyMatrix) {
+      this.adjacencyMatrix = adjacencyMatrix;
+      this.n = adjacencyMatrix.length;
+      double max = Double.NEGATIVE_INFINITY;
+      for (double[] row : adjacencyMatrix) {
+        for (double elem : row) {
+          max = Math.max(max, elem);
         }
       }
+      this.max = max;
+    }
 
-      double bestEpochTravelCost = trueTravelCost(bestEpochIndv, adjacencyMatrix, N);
-      double bestTravelCost = trueTravelCost(fittestIndv, adjacencyMatrix, N);
-
-      if (epoch % 100 == 0)
-        System.out.printf("Epoch: %d, %.0f, %.0f\n", epoch, bestEpochTravelCost, bestTravelCost);
+    // Constructs a random tour
+    @Override
+    public int[] newGenome(Random random) {
+      int[] cities = new int[n];
+      for (int i = 0; i < n; i++) cities[i] = i;
+      shuffle(cities, 0, n, 0, 0, random);
+      return cities;
+    }
 
-      // Selection process
-      for (int i = 1; i <= P; i++) {
+    // Returns an approximate fitness of a given tour, higher for shorter tours
+    @Override
+    public double fitness(int[] cities) {
+      double fitness = 0;
+      for (int i = 0; i < n; i++) fitness += max - adjacencyMatrix[cities[i]][cities[(i + 1) % n]];
+      return fitness;
+    }
 
-        // Perform individual selection and crossover
-        Individual parent1 = selectIndividual(generation, lo, hi);
-        Individual parent2 = selectIndividual(generation, lo, hi);
-        Individual child = crossover(parent1, parent2, N);
+    // Keeps a random stretch of the first parent's tour in place and shuffles its other
+    // cities around it.
+    @Override
+    public void crossover(int[] p1, int[] p2, int[] child, Random random) {
+      int start = random.nextInt(n);
+      int end = random.nextInt(n);
+      int minimum = Math.min(start, end);
+      int maximum = Math.max(start, end);
+      System.arraycopy(p1, 0, child, 0, n);
+      shuffle(child, 0, minimum, maximum + 1, n, random);
+    }
 
-        // Apply mutations to all parts of the DNA
-        // according to a predefined mutation rate
-        for (int j = 0; j < N; j++) {
-          if (Math.random() < MUTATION_RATE) {
-            mutate(child);
-          }
+    // Swap the order in which two cities are visited, for every city according to the
+    // mutation rate
+    @Override
+    public void mutate(int[] cities, Random random) {
+      for (int k = 0; k < n; k++) {
+        if (random.nextDouble() < MUTATION_RATE) {
+          int i = random.nextInt(n);
+          int j = random.nextInt(n);
+          int tmp = cities[i];
+          cities[i] = cities[j];
+          cities[j] = tmp;
         }
-
-        nextGeneration[i] = child;
       }
-
-      generation = nextGeneration;
-    }
-
-    return trueTravelCost(fittestIndv, adjacencyMatrix, N);
-    // return tour;
-
-  }
-
-  // Returns an approximate fitness of a give tour
-  static double fitness(Individual in, double[][] adjacencyMatrix, double max, int n) {
-
-    // Compute the cost of traveling to all the cities
-    double fitness = 0;
-    for (int i = 1; i < n; i++) {
-      int from = in.cities[i - 1];
-      int to = in.cities[i];
-      fitness += max - adjacencyMatrix[from][to];
     }
 
-    // Compute cost for trip back
-    int last = in.cities[n - 1];
-    int first = in.cities[0];
-    fitness += max - adjacencyMatrix[last][first];
-
-    // return fitness;
-    return Math.pow(fitness, power);
-  }
-
-  static double trueTravelCost(Individual in, double[][] adjacencyMatrix, int n) {
-
-    // Compute the cost of traveling to all the cities
-    double fitness = 0;
-    for (int i = 1; i < n; i++) {
-      int from = in.cities[i - 1];
-      int to = in.cities[i];
-      fitness += adjacencyMatrix[from][to];
+    @Override
+    public void copy(int[] from, int[] to) {
+      System.arraycopy(from, 0, to, 0, n);
     }
 
-    // Compute cost for trip back
-    int last = in.cities[n - 1];
-    int first = in.cities[0];
-    fitness += adjacencyMatrix[last][first];
-
-    return fitness;
-  }
-
-  static void mutate(Individual in) {
-    in.mutate();
-  }
-
-  static Individual selectIndividual(Individual[] generation, double[] lo, double[] hi) {
-
-    double r = Math.random();
-
-    // Binary search to find individual
-    int mid, l = 0, h = P - 1;
-    while (true) {
-      mid = (l + h) >>> 1;
-      if (lo[mid] <= r && r < hi[mid]) return generation[mid + 1];
-      if (r < lo[mid]) h = mid - 1;
-      else l = mid + 1;
+    double trueTravelCost(int[] cities) {
+      double cost = 0;
+      for (int i = 0; i < n; i++) cost += adjacencyMatrix[cities[i]][cities[(i + 1) % n]];
+      return cost;
     }
-  }
-
-  static Individual crossover(Individual p1, Individual p2, int n) {
 
-    int[] newPath = new int[n];
-    int start = RANDOM.nextInt(n);
-    int end = RANDOM.nextInt(n);
-    int minimum = Math.min(start, end);
-    int maximum = Math.max(start, end);
-
-    int[] missing = new int[n - ((maximum - minimum) + 1)];
-
-    int j = 0;
-    for (int i = 0; i < n; i++) {
-      if (i >= minimum && i <= maximum) {
-        newPath[i] = p1.cities[i];
-      } else {
-        missing[j++] = p1.cities[i];
+    // Fisher–Yates shuffle of the positions [lo1, hi1) and [lo2, hi2) taken together
+    static void shuffle(int[] array, int lo1, int hi1, int lo2, int hi2, Random random) {
+      int first = hi1 - lo1, size = first + hi2 - lo2;
+      for (int i = size - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        int a = i < first ? lo1 + i : lo2 + i - first;
+        int b = j < first ? lo1 + j : lo2 + j - first;
+        int tmp = array[a];
+        array[a] = array[b];
+        array[b] = tmp;
       }
     }
+  }
 
-    Individual.shuffleArray(missing);
-
-    j = 0;
-    for (int i = 0; i < n; i++) {
-      if (i < minimum || i > maximum) {
-        newPath[i] = missing[j++];
-      }
-    }
-    return new Individual(newPath);
+  // Returns the cost of the best tour found
+  static double tsp(double[][] adjacencyMatrix) {
+    TravelingSalesman problem = new TravelingSalesman(adjacencyMatrix);
+    GeneticAlgorithm<int[]> ga = new GeneticAlgorithm<>(problem);
+    ga.setIslands(ISLANDS, P);
+    ga.setGenerations(MAX_EPOCH);
+    ga.setPowerIncrement(POWER_INC);
+    ga.setSeed(new Random().nextLong());
+    return problem.trueTravelCost(ga.getBest());
   }
 
   public static void main(String[] args) {
@@ -237,58 +141,4 @@ public class GeneticAlgorithm_travelingSalesman {
 
     System.out.println(tsp(m));
   }
-
-  // An individual in the TSP is an order in which
-  // the cities are visited.
-  static class Individual {
-
-    int[] cities;
-    static Random RANDOM = new Random();
-
-    // Constructs a random individual
-    public Individual(int n) {
-      cities = new int[n];
-      for (int i = 0; i < n; i++) cities[i] = i;
-      shuffleArray(cities);
-    }
-
-    // Constructs a random individual
-    public Individual(int[] cities) {
-      this.cities = cities;
-    }
-
-    // public boolean ass() {
-    //   int s = 0;
-    //   for (int x : cities) s += x;
-    //   int n = cities.length-1;
-    //   return s == (n*(n-1))/2;
-    // }
-
-    // Swap the order in which the cities are visited
-    public void mutate() {
-      int i = RANDOM.nextInt(cities.length);
-      int j = RANDOM.nextInt(cities.length);
-      int tmp = cities[i];
-      cities[i] = cities[j];
-      cities[j] = tmp;
-    }
-
-    // Fisher–Yates shuffle
-    public static void shuffleArray(int[] array) {
-      int index;
-      for (int i = array.length - 1; i > 0; i--) {
-        index = RANDOM.nextInt(i + 1);
-        if (index != i) {
-          array[index] ^= array[i];
-          array[i] ^= array[index];
-          array[index] ^= array[i];
-        }
-      }
-    }
-
-    @Override
-    public String toString() {
-      return java.util.Arrays.toString(cities);
-    }
-  }
 }
@@ -0,0 +1,171 @@
+/**
+ * An indexed bucket queue (Dial's algorithm), a monotone priority queue for non negative long
+ * values which never differ by more than a fixed 'maxSpread'.
+ *
+ * <p>In Dijkstra's algorithm every value in the queue lies between the distance of the last node
+ * polled and that distance plus the largest edge weight C, so C + 1 circular buckets, one per
+ * value modulo C + 1, hold keys of a single value each. Polling advances a cursor to the next non
+ * empty bucket. Insert and decrease are O(1) and polling costs O(1) plus the number of empty
+ * buckets skipped, so a whole Dijkstra run takes O(m + D) time where D is the largest distance.
+ * This beats any heap when C is small, but the bucket array and the skipped buckets grow with C,
+ * for large weights use a {@link RadixHeap} instead.
+ *
+ * <p>Buckets are intrusive doubly linked lists over arrays indexed by key, so no operation
+ * allocates.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class DialBucketQueue implements MonotonePriorityQueue {
+
+  // Current number of elements in the queue.
+  private int sz;
+
+  // Maximum number of elements in the queue.
+  private final int N;
+
+  // Largest allowed difference between a value and the value of the last key polled.
+  private final long maxSpread;
+
+  // The value of the last key polled, where the search for the next one starts.
+  private long last;
+
+  // The values associated with the keys, indexed by the key indexes (aka 'ki').
+  private final long[] values;
+
+  // inQueue[ki] says whether a key is in the queue. Each bucket is a doubly linked
+  // list starting at head[bucket].
+  private final boolean[] inQueue;
+  private final int[] next, prev, head;
+
+  /**
+   * Initializes a bucket queue with a maximum capacity of maxSize for values at most 'maxSpread'
+   * larger than the last value polled, for Dijkstra the largest edge weight.
+   */
+  public DialBucketQueue(int maxSize, int maxSpread) {
+    if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+    if (maxSpread < 0 || maxSpread == Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Invalid maxSpread: " + maxSpread);
+    N = maxSize;
+    this.maxSpread = maxSpread;
+    values = new long[N];
+    inQueue = new boolean[N];
+    next = new int[N];
+    prev = new int[N];
+    head = new int[maxSpread + 1];
+    Arrays.fill(head, -1);
+  }
+
+  @Override
+  public int size() {
+    return sz;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return sz == 0;
+  }
+
+  @Override
+  public boolean contains(int ki) {
+    keyInBoundsOrThrow(ki);
+    return inQueue[ki];
+  }
+
+  // Runs in O(size + maxSpread).
+  @Override
+  public void clear() {
+    for (int b = 0; b < head.length; b++) {
+      for (int ki = head[b]; ki != -1; ki = next[ki]) inQueue[ki] = false;
+      head[b] = -1;
+    }
+    sz = 0;
+    last = 0;
+  }
+
+  @Override
+  public void insert(int ki, long value) {
+    if (contains(ki)) throw new IllegalArgumentException("index already exists; received: " + ki);
+    valueInRangeOrThrow(value);
+    values[ki] = value;
+    inQueue[ki] = true;
+    link(ki);
+    sz++;
+  }
+
+  public long valueOf(int ki) {
+    keyExistsOrThrow(ki);
+    return values[ki];
+  }
+
+  @Override
+  public void decrease(int ki, long value) {
+    keyExistsOrThrow(ki);
+    valueInRangeOrThrow(value);
+    if (value >= values[ki]) return;
+    unlink(ki);
+    values[ki] = value;
+    link(ki);
+  }
+
+  @Override
+  public int pollMinKeyIndex() {
+    if (isEmpty()) throw new NoSuchElementException("Priority queue underflow");
+    // Every value is in [last, last + maxSpread], so this stops within a full turn.
+    int b = bucket(last);
+    while (head[b] == -1) {
+      last++;
+      if (++b == head.length) b = 0;
+    }
+    int ki = head[b];
+    unlink(ki);
+    inQueue[ki] = false;
+    sz--;
+    return ki;
+  }
+
+  /** Returns the value of the last key polled. */
+  public long lastValue() {
+    return last;
+  }
+
+  private int bucket(long value) {
+    return (int) (value % head.length);
+  }
+
+  // Adds a key to the front of the bucket matching its value.
+  private void link(int ki) {
+    int b = bucket(values[ki]);
+    prev[ki] = -1;
+    next[ki] = head[b];
+    if (head[b] != -1) prev[head[b]] = ki;
+    head[b] = ki;
+  }
+
+  private void unlink(int ki) {
+    if (prev[ki] == -1) head[bucket(values[ki])] = next[ki];
+    else next[prev[ki]] = next[ki];
+    if (next[ki] != -1) prev[next[ki]] = prev[ki];
+  }
+
+  /* Helper functions to make the code more readable. */
+
+  private void valueInRangeOrThrow(long value) {
+    if (value < last || value - last > maxSpread)
+      throw new IllegalArgumentException(
+          "Value " + value + " is outside [" + last + ", " + (last + maxSpread) + "]");
+  }
+
+  private void keyExistsOrThrow(int ki) {
+    if (!contains(ki)) throw new NoSuchElementException("Index does not exist; received: " + ki);
+  }
+
+  private void keyInBoundsOrThrow(int ki) {
+    if (ki < 0 || ki >= N)
+      throw new IllegalArgumentException("Key index out of bounds; received: " + ki);
+  }
+}
@@ -0,0 +1,249 @@
+/**
+ * An implementation of an indexed min D-ary heap priority queue with primitive double values.
+ *
+ * <p>This is the same data structure as {@link MinIndexedDHeap} except that values are stored in a
+ * double[] instead of an Object[], so inserting, updating and comparing values never allocates or
+ * dereferences a boxed Double. This makes it the better choice for algorithms like Dijkstra's and
+ * Prim's which perform a decrease key operation per relaxed edge.
+ *
+ * <p>As convention, I denote 'ki' as the index value in the domain [0, N) associated with a key k,
+ * therefore: ki = map[k]
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class MinIndexedDHeapDouble {
+
+  // Current number of elements in the heap.
+  private int sz;
+
+  // Maximum number of elements in the heap.
+  private final int N;
+
+  // The degree of every node in the heap.
+  private final int D;
+
+  // The Position Map (pm) maps Key Indexes (ki) to where the position of that
+  // key is represented in the priority queue in the domain [0, sz).
+  public final int[] pm;
+
+  // The Inverse Map (im) stores the indexes of the keys in the range
+  // [0, sz) which make up the priority queue. It should be noted that
+  // 'im' and 'pm' are inverses of each other, so: pm[im[i]] = im[pm[i]] = i
+  public final int[] im;
+
+  // The values associated with the keys. It is very important  to note
+  // that this array is indexed by the key indexes (aka 'ki').
+  public final double[] values;
+
+  // Initializes a D-ary heap with a maximum capacity of maxSize.
+  public MinIndexedDHeapDouble(int degree, int maxSize) {
+    if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+
+    D = max(2, degree);
+    N = maxSize;
+
+    im = new int[N];
+    pm = new int[N];
+    values = new double[N];
+
+    for (int i = 0; i < N; i++) pm[i] = im[i] = -1;
+  }
+
+  public int size() {
+    return sz;
+  }
+
+  public boolean isEmpty() {
+    return sz == 0;
+  }
+
+  public boolean contains(int ki) {
+    keyInBoundsOrThrow(ki);
+    return pm[ki] != -1;
+  }
+
+  // Removes every element. Runs in O(size) rather than O(maxSize) so a heap can
+  // cheaply be reused across many searches which only touch a few keys.
+  public void clear() {
+    for (int i = 0; i < sz; i++) {
+      pm[im[i]] = -1;
+      im[i] = -1;
+    }
+    sz = 0;
+  }
+
+  public int peekMinKeyIndex() {
+    isNotEmptyOrThrow();
+    return im[0];
+  }
+
+  public int pollMinKeyIndex() {
+    int minki = peekMinKeyIndex();
+    delete(minki);
+    return minki;
+  }
+
+  public double peekMinValue() {
+    isNotEmptyOrThrow();
+    return values[im[0]];
+  }
+
+  public double pollMinValue() {
+    double minValue = peekMinValue();
+    delete(peekMinKeyIndex());
+    return minValue;
+  }
+
+  public void insert(int ki, double value) {
+    if (contains(ki)) throw new IllegalArgumentException("index already exists; received: " + ki);
+    valueNotNaNOrThrow(value);
+    pm[ki] = sz;
+    im[sz] = ki;
+    values[ki] = value;
+    swim(sz++);
+  }
+
+  public double valueOf(int ki) {
+    keyExistsOrThrow(ki);
+    return values[ki];
+  }
+
+  public double delete(int ki) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    swap(i, --sz);
+    sink(i);
+    swim(i);
+    pm[ki] = -1;
+    im[sz] = -1;
+    return values[ki];
+  }
+
+  public double update(int ki, double value) {
+    keyExistsAndValueNotNaNOrThrow(ki, value);
+    final int i = pm[ki];
+    double oldValue = values[ki];
+    values[ki] = value;
+    sink(i);
+    swim(i);
+    return oldValue;
+  }
+
+  // Strictly decreases the value associated with 'ki' to 'value'
+  public void decrease(int ki, double value) {
+    keyExistsAndValueNotNaNOrThrow(ki, value);
+    if (value < values[ki]) {
+      values[ki] = value;
+      swim(pm[ki]);
+    }
+  }
+
+  // Strictly increases the value associated with 'ki' to 'value'
+  public void increase(int ki, double value) {
+    keyExistsAndValueNotNaNOrThrow(ki, value);
+    if (values[ki] < value) {
+      values[ki] = value;
+      sink(pm[ki]);
+    }
+  }
+
+  /* Helper functions */
+
+  // The parent and children of a node are computed rather than looked up in
+  // tables to save memory and cache misses on large heaps.
+
+  private void sink(int i) {
+    for (int j = minChild(i); j != -1; ) {
+      swap(i, j);
+      i = j;
+      j = minChild(i);
+    }
+  }
+
+  private void swim(int i) {
+    for (int p = (i - 1) / D; i > 0 && less(i, p); p = (i - 1) / D) {
+      swap(i, p);
+      i = p;
+    }
+  }
+
+  // From the parent node at index i find the minimum child below it
+  private int minChild(int i) {
+    long first = (long) i * D + 1;
+    if (first >= sz) return -1;
+    int index = -1, from = (int) first, to = (int) min(sz, first + D);
+    for (int j = from; j < to; j++) if (less(j, i)) index = i = j;
+    return index;
+  }
+
+  private void swap(int i, int j) {
+    pm[im[j]] = i;
+    pm[im[i]] = j;
+    int tmp = im[i];
+    im[i] = im[j];
+    im[j] = tmp;
+  }
+
+  // Tests if the value of node i < node j
+  private boolean less(int i, int j) {
+    return values[im[i]] < values[im[j]];
+  }
+
+  @Override
+  public String toString() {
+    List<Integer> lst = new ArrayList<>(sz);
+    for (int i = 0; i < sz; i++) lst.add(im[i]);
+    return lst.toString();
+  }
+
+  /* Helper functions to make the code more readable. */
+
+  private void isNotEmptyOrThrow() {
+    if (isEmpty()) throw new NoSuchElementException("Priority queue underflow");
+  }
+
+  private void keyExistsAndValueNotNaNOrThrow(int ki, double value) {
+    keyExistsOrThrow(ki);
+    valueNotNaNOrThrow(value);
+  }
+
+  private void keyExistsOrThrow(int ki) {
+    if (!contains(ki)) throw new NoSuchElementException("Index does not exist; received: " + ki);
+  }
+
+  // NaN is not ordered with respect to any other value so it would break the heap invariant.
+  private void valueNotNaNOrThrow(double value) {
+    if (Double.isNaN(value)) throw new IllegalArgumentException("value cannot be NaN");
+  }
+
+  private void keyInBoundsOrThrow(int ki) {
+    if (ki < 0 || ki >= N)
+      throw new IllegalArgumentException("Key index out of bounds; received: " + ki);
+  }
+
+  /* Test functions */
+
+  // Recursively checks if this heap is a min heap. This method is used
+  // for testing purposes to validate the heap invariant.
+  public boolean isMinHeap() {
+    return isMinHeap(0);
+  }
+
+  private boolean isMinHeap(int i) {
+    long from = (long) i * D + 1, to = min(sz, from + D);
+    for (long j = from; j < to; j++) {
+      if (less((int) j, i)) return false;
+      if (!isMinHeap((int) j)) return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,29 @@
+/**
+ * An indexed min priority queue over non negative long values which is monotone: a value inserted
+ * or decreased to can never be smaller than the value of the last key polled. Dijkstra's algorithm
+ * only ever uses a priority queue this way, which lets integer priority queues such as {@link
+ * RadixHeap} and {@link DialBucketQueue} beat comparison based heaps.
+ *
+ * <p>As convention, I denote 'ki' as the index value in the domain [0, N) associated with a key k.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+public interface MonotonePriorityQueue {
+
+  public int size();
+
+  public boolean isEmpty();
+
+  public boolean contains(int ki);
+
+  // Removes every element and allows values to start from zero again.
+  public void clear();
+
+  public void insert(int ki, long value);
+
+  public void decrease(int ki, long value);
+
+  public int pollMinKeyIndex();
+}
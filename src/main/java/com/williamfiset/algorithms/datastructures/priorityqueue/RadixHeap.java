@@ -0,0 +1,173 @@
+/**
+ * An indexed radix heap, a monotone priority queue for non negative long values.
+ *
+ * <p>Keys are kept in 65 buckets according to the highest bit in which their value differs from
+ * 'last', the value of the last key polled: bucket 0 holds the keys equal to 'last' and bucket i
+ * the keys whose value first differs from it at bit i - 1. Polling takes a key from bucket 0 if
+ * there is one. Otherwise the smallest value in the first non empty bucket becomes the new 'last'
+ * and the keys of that bucket are redistributed, each of them into a strictly lower bucket. A key
+ * can therefore only move down at most 64 times, so every operation takes amortized O(log C) time
+ * where C is the largest difference between values, independent of the number of keys.
+ *
+ * <p>Buckets are intrusive doubly linked lists over arrays indexed by key, so no operation
+ * allocates and decrease is O(1).
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class RadixHeap implements MonotonePriorityQueue {
+
+  private static final int NUM_BUCKETS = 65;
+
+  // Current number of elements in the heap.
+  private int sz;
+
+  // Maximum number of elements in the heap.
+  private final int N;
+
+  // The value of the last key polled. Every value in the heap is at least this.
+  private long last;
+
+  // The values associated with the keys, indexed by the key indexes (aka 'ki').
+  private final long[] values;
+
+  // bucketOf[ki] is the bucket holding a key or -1 if it is not in the heap. Each
+  // bucket is a doubly linked list starting at head[bucket].
+  private final int[] bucketOf, next, prev;
+  private final int[] head = new int[NUM_BUCKETS];
+
+  // Initializes a radix heap with a maximum capacity of maxSize.
+  public RadixHeap(int maxSize) {
+    if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+    N = maxSize;
+    values = new long[N];
+    bucketOf = new int[N];
+    next = new int[N];
+    prev = new int[N];
+    Arrays.fill(bucketOf, -1);
+    Arrays.fill(head, -1);
+  }
+
+  @Override
+  public int size() {
+    return sz;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return sz == 0;
+  }
+
+  @Override
+  public boolean contains(int ki) {
+    keyInBoundsOrThrow(ki);
+    return bucketOf[ki] != -1;
+  }
+
+  // Runs in O(size) so a heap can cheaply be reused across many searches.
+  @Override
+  public void clear() {
+    for (int b = 0; b < NUM_BUCKETS; b++) {
+      for (int ki = head[b]; ki != -1; ki = next[ki]) bucketOf[ki] = -1;
+      head[b] = -1;
+    }
+    sz = 0;
+    last = 0;
+  }
+
+  @Override
+  public void insert(int ki, long value) {
+    if (contains(ki)) throw new IllegalArgumentException("index already exists; received: " + ki);
+    valueInRangeOrThrow(value);
+    values[ki] = value;
+    link(ki);
+    sz++;
+  }
+
+  public long valueOf(int ki) {
+    keyExistsOrThrow(ki);
+    return values[ki];
+  }
+
+  @Override
+  public void decrease(int ki, long value) {
+    keyExistsOrThrow(ki);
+    valueInRangeOrThrow(value);
+    if (value >= values[ki]) return;
+    unlink(ki);
+    values[ki] = value;
+    link(ki);
+  }
+
+  @Override
+  public int pollMinKeyIndex() {
+    if (isEmpty()) throw new NoSuchElementException("Priority queue underflow");
+    if (head[0] == -1) {
+      int b = 1;
+      while (head[b] == -1) b++;
+      long min = Long.MAX_VALUE;
+      for (int ki = head[b]; ki != -1; ki = next[ki]) min = Math.min(min, values[ki]);
+      last = min;
+      // Every key of bucket b now differs from 'last' in a lower bit than b - 1.
+      int ki = head[b];
+      head[b] = -1;
+      while (ki != -1) {
+        int following = next[ki];
+        link(ki);
+        ki = following;
+      }
+    }
+    int ki = head[0];
+    unlink(ki);
+    bucketOf[ki] = -1;
+    sz--;
+    return ki;
+  }
+
+  /** Returns the value of the last key polled. */
+  public long lastValue() {
+    return last;
+  }
+
+  private int bucket(long value) {
+    return value == last ? 0 : 64 - Long.numberOfLeadingZeros(value ^ last);
+  }
+
+  // Adds a key to the front of the bucket matching its value.
+  private void link(int ki) {
+    int b = bucket(values[ki]);
+    bucketOf[ki] = b;
+    prev[ki] = -1;
+    next[ki] = head[b];
+    if (head[b] != -1) prev[head[b]] = ki;
+    head[b] = ki;
+  }
+
+  private void unlink(int ki) {
+    int b = bucketOf[ki];
+    if (prev[ki] == -1) head[b] = next[ki];
+    else next[prev[ki]] = next[ki];
+    if (next[ki] != -1) prev[next[ki]] = prev[ki];
+  }
+
+  /* Helper functions to make the code more readable. */
+
+  private void valueInRangeOrThrow(long value) {
+    if (value < last)
+      throw new IllegalArgumentException(
+          "Value " + value + " is smaller than the last value polled " + last);
+  }
+
+  private void keyExistsOrThrow(int ki) {
+    if (!contains(ki)) throw new NoSuchElementException("Index does not exist; received: " + ki);
+  }
+
+  private void keyInBoundsOrThrow(int ki) {
+    if (ki < 0 || ki >= N)
+      throw new IllegalArgumentException("Key index out of bounds; received: " + ki);
+  }
+}
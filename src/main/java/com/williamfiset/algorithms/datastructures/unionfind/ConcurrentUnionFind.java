@@ -0,0 +1,163 @@
+/**
+ * A lock-free UnionFind/Disjoint Set which any number of threads can use at the same time, for
+ * example from a parallel Kruskal, Boruvka or connected component labeling.
+ *
+ * <p>The parent pointers live in an {@link AtomicIntegerArray} and every change to them is a
+ * compare-and-set, following Anderson and Woll, "Wait-free Parallel Algorithms for the Union-Find
+ * Problem", and Jayanti and Tarjan, "A Randomized Concurrent Algorithm for Disjoint Set Union":
+ *
+ * <ul>
+ *   <li>A find uses path splitting: every node on the path is pointed at its grandparent with a
+ *       CAS. A failed CAS only means another thread already shortened the path, so it is ignored.
+ *   <li>A unify links by index: the root with the lower priority is linked below the other one with
+ *       a CAS which only succeeds if it is still a root, otherwise the roots are looked up again.
+ *       The priorities are a random permutation of the elements, which keeps the trees shallow in
+ *       expectation without the rank updates that would need a second atomic word.
+ * </ul>
+ *
+ * <p>Every operation is linearizable. Unlike {@link UnionFind} there is no component size, since
+ * sizes cannot be kept exact without locking.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+public class ConcurrentUnionFind {
+
+  // Number of pairs unified by one task of unifyAll.
+  private static final int CHUNK_SIZE = 1 << 12;
+
+  // The number of elements in this union find
+  private final int size;
+
+  // id[i] points to the parent of i, if id[i] = i then i is a root node
+  private final AtomicIntegerArray id;
+
+  // The root with the lower priority is linked below the other one.
+  private final int[] priority;
+
+  // Tracks the number of components in the union find
+  private final AtomicInteger numComponents;
+
+  public ConcurrentUnionFind(int size) {
+    this(size, 0);
+  }
+
+  /** @param seed - Seed for the random priorities used to pick which root to link below. */
+  public ConcurrentUnionFind(int size, long seed) {
+    if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+
+    this.size = size;
+    numComponents = new AtomicInteger(size);
+    id = new AtomicIntegerArray(size);
+    priority = new int[size];
+    for (int i = 0; i < size; i++) {
+      id.set(i, i); // Link to itself (self root)
+      priority[i] = i;
+    }
+
+    // Fisher-Yates shuffle of the priorities.
+    Random random = new Random(seed);
+    for (int i = size - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = priority[i];
+      priority[i] = priority[j];
+      priority[j] = tmp;
+    }
+  }
+
+  // Find which component/set 'p' belongs to, splitting the path on the way up.
+  public int find(int p) {
+    while (true) {
+      int parent = id.get(p);
+      if (parent == p) return p;
+      int grandparent = id.get(parent);
+      if (parent != grandparent) id.compareAndSet(p, parent, grandparent);
+      p = parent;
+    }
+  }
+
+  // Return whether or not the elements 'p' and 'q' are in the same components/set. If
+  // the roots differ they are only a valid answer if the first one is still a root,
+  // since otherwise the sets may have been merged in between.
+  public boolean connected(int p, int q) {
+    while (true) {
+      int root1 = find(p);
+      int root2 = find(q);
+      if (root1 == root2) return true;
+      if (id.get(root1) == root1) return false;
+    }
+  }
+
+  // Return the number of elements in this UnionFind/Disjoint set
+  public int size() {
+    return size;
+  }
+
+  // Returns the number of remaining components/sets
+  public int components() {
+    return numComponents.get();
+  }
+
+  /**
+   * Unify the components/sets containing elements 'p' and 'q'.
+   *
+   * @return true if this call merged two sets, false if they were already the same set.
+   */
+  public boolean unify(int p, int q) {
+    while (true) {
+      int root1 = find(p);
+      int root2 = find(q);
+
+      // These elements are already in the same group!
+      if (root1 == root2) return false;
+
+      if (priority[root1] > priority[root2]) {
+        int tmp = root1;
+        root1 = root2;
+        root2 = tmp;
+      }
+      // Fails if another thread linked root1 in the meantime, then try again.
+      if (id.compareAndSet(root1, root1, root2)) {
+        numComponents.decrementAndGet();
+        return true;
+      }
+    }
+  }
+
+  /** Unifies every pair (a[i], b[i]) in parallel on the common pool. See {@link #unifyAll}. */
+  public int unifyAll(int[] a, int[] b) {
+    return unifyAll(a, b, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Unifies every pair (a[i], b[i]), splitting the pairs into chunks which are processed in
+   * parallel on the pool. Other threads may keep using the union find meanwhile.
+   *
+   * @return The number of pairs which merged two sets.
+   */
+  public int unifyAll(int[] a, int[] b, ForkJoinPool pool) {
+    if (a == null || b == null || a.length != b.length)
+      throw new IllegalArgumentException("Arrays must be non null and of the same length.");
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    final int n = a.length;
+    final int numTasks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    if (numTasks <= 1) return unifyRange(a, b, 0, n);
+    IntUnaryOperator body =
+        task -> unifyRange(a, b, task * CHUNK_SIZE, Math.min(n, (task + 1) * CHUNK_SIZE));
+    return pool.submit(() -> IntStream.range(0, numTasks).parallel().map(body).sum()).join();
+  }
+
+  private int unifyRange(int[] a, int[] b, int lo, int hi) {
+    int merged = 0;
+    for (int i = lo; i < hi; i++) if (unify(a[i], b[i])) merged++;
+    return merged;
+  }
+}
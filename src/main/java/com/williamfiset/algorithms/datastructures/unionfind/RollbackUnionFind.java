@@ -0,0 +1,119 @@
+/**
+ * UnionFind/Disjoint Set which can undo its unions. The state at any point can be saved with {@link
+ * #snapshot()} and restored later with {@link #rollback(int)}, undoing every union made since in
+ * reverse order.
+ *
+ * <p>Path compression would change many parent pointers per find, which are too many to undo, so
+ * this version only uses union by size. That alone keeps the trees O(log n) deep, so find takes
+ * O(log n) time and undoing a union O(1).
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+public class RollbackUnionFind {
+
+  // The number of elements in this union find
+  private final int size;
+
+  // Used to track the size of each of the component
+  private final int[] sz;
+
+  // id[i] points to the parent of i, if id[i] = i then i is a root node
+  private final int[] id;
+
+  // Tracks the number of components in the union find
+  private int numComponents;
+
+  // The roots linked below another root by each union, in order.
+  private final int[] history;
+  private int historySize;
+
+  public RollbackUnionFind(int size) {
+
+    if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+
+    this.size = numComponents = size;
+    sz = new int[size];
+    id = new int[size];
+    // Every union merges two components, so there are at most size - 1 of them.
+    history = new int[size - 1];
+
+    for (int i = 0; i < size; i++) {
+      id[i] = i; // Link to itself (self root)
+      sz[i] = 1; // Each component is originally of size one
+    }
+  }
+
+  // Find which component/set 'p' belongs to, takes O(log n) time.
+  public int find(int p) {
+    while (p != id[p]) p = id[p];
+    return p;
+  }
+
+  // Return whether or not the elements 'p' and
+  // 'q' are in the same components/set.
+  public boolean connected(int p, int q) {
+    return find(p) == find(q);
+  }
+
+  // Return the size of the components/set 'p' belongs to
+  public int componentSize(int p) {
+    return sz[find(p)];
+  }
+
+  // Return the number of elements in this UnionFind/Disjoint set
+  public int size() {
+    return size;
+  }
+
+  // Returns the number of remaining components/sets
+  public int components() {
+    return numComponents;
+  }
+
+  /**
+   * Unify the components/sets containing elements 'p' and 'q'.
+   *
+   * @return true if the two sets were merged, false if they were already the same set.
+   */
+  public boolean unify(int p, int q) {
+    int root1 = find(p);
+    int root2 = find(q);
+
+    // These elements are already in the same group!
+    if (root1 == root2) return false;
+
+    // Merge smaller component/set into the larger one.
+    if (sz[root1] < sz[root2]) {
+      int tmp = root1;
+      root1 = root2;
+      root2 = tmp;
+    }
+    sz[root1] += sz[root2];
+    id[root2] = root1;
+    history[historySize++] = root2;
+    numComponents--;
+    return true;
+  }
+
+  /** Returns a token for the current state which can be passed to {@link #rollback(int)}. */
+  public int snapshot() {
+    return historySize;
+  }
+
+  /**
+   * Undoes every union made since the snapshot was taken. Snapshots taken after it become invalid,
+   * while older ones stay valid.
+   */
+  public void rollback(int snapshot) {
+    if (snapshot < 0 || snapshot > historySize)
+      throw new IllegalArgumentException("Invalid snapshot " + snapshot);
+    while (historySize > snapshot) {
+      int child = history[--historySize];
+      sz[id[child]] -= sz[child];
+      id[child] = child;
+      numComponents++;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/**
+ * A* search guided by a {@link LandmarkHeuristic}, the ALT algorithm. Nodes are expanded in order
+ * of g(v) + h(v), the distance from the start plus the landmark lower bound on the distance to the
+ * end, which steers the search towards the end node and on road and logistics graphs settles an
+ * order of magnitude fewer nodes than Dijkstra.
+ *
+ * <p>The landmark bounds are admissible but, because the tables are stored as floats and lowered
+ * slightly to stay admissible, not always exactly consistent. A node whose distance improves after
+ * it was settled is therefore put back into the queue, which keeps the answer exact. Nodes the
+ * bounds prove cannot reach the end node are never queued.
+ *
+ * <p>Like {@link BidirectionalDijkstra} the solver keeps its state between queries and only resets
+ * the nodes the last query touched. A solver is not thread safe, but several solvers can share the
+ * same graph and heuristic.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapDouble;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class AStarLandmarks {
+
+  private static final double INF = Double.POSITIVE_INFINITY;
+
+  // Degree of the d-ary heap.
+  private static final int HEAP_DEGREE = 4;
+
+  private final int n;
+  private final StaticGraph graph;
+  private final LandmarkHeuristic heuristic;
+
+  // Search state, indexed by node. h caches the heuristic of a node for the current
+  // query since computing it touches all the landmarks.
+  private final double[] g, h;
+  private final int[] prev;
+  private final MinIndexedDHeapDouble pq;
+
+  // Nodes whose state has to be reset before the next query.
+  private final int[] touched;
+  private int touchedCount;
+
+  // Result of the last query.
+  private int lastStart = -1, lastEnd = -1, settledCount;
+  private double lastDist;
+
+  public AStarLandmarks(StaticGraph graph, LandmarkHeuristic heuristic) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    if (heuristic == null) throw new IllegalArgumentException("Heuristic cannot be null.");
+    if (graph.numNodes() != heuristic.numNodes())
+      throw new IllegalArgumentException("The heuristic does not match the graph.");
+    this.n = graph.numNodes();
+    this.graph = graph;
+    this.heuristic = heuristic;
+    g = new double[n];
+    h = new double[n];
+    Arrays.fill(g, INF);
+    prev = new int[n];
+    pq = new MinIndexedDHeapDouble(HEAP_DEGREE, n);
+    touched = new int[n];
+  }
+
+  /**
+   * Finds the length of the shortest path from 'start' to 'end', or Double.POSITIVE_INFINITY if
+   * there is no such path.
+   */
+  public double shortestPath(int start, int end) {
+    if (start < 0 || start >= n || end < 0 || end >= n)
+      throw new IllegalArgumentException("Invalid node index");
+    reset();
+    lastStart = start;
+    lastEnd = end;
+
+    visit(start, 0, -1, end);
+    if (h[start] < INF) pq.insert(start, h[start]);
+    while (!pq.isEmpty()) {
+      int u = pq.pollMinKeyIndex();
+      settledCount++;
+      if (u == end) break;
+      double gu = g[u];
+      for (int e = graph.start(u), endEdge = graph.end(u); e < endEdge; e++) {
+        int v = graph.target(e);
+        double newDist = gu + graph.weight(e);
+        if (newDist >= g[v]) continue;
+        if (g[v] == INF) visit(v, newDist, u, end);
+        else {
+          g[v] = newDist;
+          prev[v] = u;
+        }
+        if (h[v] == INF) continue;
+        double f = newDist + h[v];
+        if (pq.contains(v)) pq.decrease(v, f);
+        else pq.insert(v, f);
+      }
+    }
+    lastDist = g[end];
+    return lastDist;
+  }
+
+  /**
+   * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive.
+   *
+   * @return An array of node indexes of the shortest path from 'start' to 'end'. If 'start' and
+   *     'end' are not connected then an empty array is returned.
+   */
+  public List<Integer> reconstructPath(int start, int end) {
+    if (start != lastStart || end != lastEnd) shortestPath(start, end);
+    List<Integer> path = new ArrayList<>();
+    if (lastDist == INF) return path;
+    for (int at = end; at != -1; at = prev[at]) path.add(at);
+    Collections.reverse(path);
+    return path;
+  }
+
+  /** Returns the number of nodes taken off the queue by the last query. */
+  public int getSettledCount() {
+    return settledCount;
+  }
+
+  // Sets the state of a node reached for the first time.
+  private void visit(int v, double dist, int from, int end) {
+    g[v] = dist;
+    h[v] = heuristic.lowerBound(v, end);
+    prev[v] = from;
+    touched[touchedCount++] = v;
+  }
+
+  // Clears the state left behind by the previous query.
+  private void reset() {
+    for (int i = 0; i < touchedCount; i++) g[touched[i]] = INF;
+    touchedCount = 0;
+    settledCount = 0;
+    pq.clear();
+    lastStart = lastEnd = -1;
+  }
+
+  public static void main(String[] args) {
+    // A 300x300 road-like grid graph.
+    CsrGraph graph = new GraphGenerator.GridGenerator(300, 300, 0.3, 1.5, 1).toCsrGraph();
+    DijkstrasShortestPathAdjacencyList dijkstra = new DijkstrasShortestPathAdjacencyList(graph);
+    Random random = new Random(0);
+    int queries = 20;
+    int[] s = new int[queries], t = new int[queries];
+    long dijkstraSettled = 0;
+    for (int i = 0; i < queries; i++) {
+      s[i] = random.nextInt(graph.numNodes());
+      t[i] = random.nextInt(graph.numNodes());
+      // Dijkstra settles every node closer to the start than the end node.
+      double[] dist = dijkstra.dijkstra(s[i]);
+      for (double d : dist) if (d <= dist[t[i]]) dijkstraSettled++;
+    }
+    System.out.printf("Dijkstra: %d settled nodes per query\n", dijkstraSettled / queries);
+
+    for (LandmarkHeuristic.Selection selection : LandmarkHeuristic.Selection.values()) {
+      AStarLandmarks solver =
+          new AStarLandmarks(graph, new LandmarkHeuristic(graph, 16, selection, 0));
+      long settled = 0;
+      for (int i = 0; i < queries; i++) {
+        solver.shortestPath(s[i], t[i]);
+        settled += solver.getSettledCount();
+      }
+      System.out.printf("ALT %s: %d settled nodes per query\n", selection, settled / queries);
+    }
+  }
+}
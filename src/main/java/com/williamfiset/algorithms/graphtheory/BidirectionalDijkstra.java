@@ -0,0 +1,228 @@
+/**
+ * Bidirectional Dijkstra for point to point shortest path queries on graphs with non negative edge
+ * weights.
+ *
+ * <p>A forward search from the start node on the graph and a backward search from the end node on
+ * the reverse graph run in alternation, always advancing the side whose next node is closer. Every
+ * time an edge reaches a node already reached by the other search the candidate path length mu is
+ * updated. Once top_f + top_r >= mu, where top_f and top_r are the smallest keys in the two
+ * priority queues, no path shorter than mu can exist and the search stops. Each search only has to
+ * cover a ball of about half the radius, which on road-like graphs settles far fewer nodes than a
+ * one sided search.
+ *
+ * <p>The solver is built for answering many queries back to back: all search state is allocated
+ * once and after a query only the entries of the nodes it touched are reset, so a query does no
+ * allocation and costs time proportional to the nodes it explores rather than the size of the
+ * graph. A solver is not thread safe, but several solvers can share the same graph and reverse
+ * graph.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapDouble;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class BidirectionalDijkstra {
+
+  private static final double INF = Double.POSITIVE_INFINITY;
+
+  // Degree of the d-ary heaps.
+  private static final int HEAP_DEGREE = 4;
+
+  private final int n;
+  private final StaticGraph graph, reverseGraph;
+
+  // Search state, indexed by node. The forward search uses the 'f' arrays and the
+  // backward search the 'r' arrays. prevR[v] is the next node on the path from v
+  // to the end node.
+  private final double[] distF, distR;
+  private final int[] prevF, prevR;
+  private final boolean[] settledF, settledR;
+  private final MinIndexedDHeapDouble pqF, pqR;
+
+  // Nodes whose state has to be reset before the next query.
+  private final int[] touched;
+  private int touchedCount;
+
+  // Result of the last query.
+  private int lastStart = -1, lastEnd = -1, meetingNode = -1;
+  private double lastDist;
+
+  /** Creates a solver for the graph, building its reverse graph. */
+  public BidirectionalDijkstra(StaticGraph graph) {
+    this(graph, reverse(graph));
+  }
+
+  /**
+   * Creates a solver with an already built reverse graph, which lets many solvers (one per thread)
+   * share a single reverse graph.
+   */
+  public BidirectionalDijkstra(StaticGraph graph, StaticGraph reverseGraph) {
+    if (graph == null || reverseGraph == null)
+      throw new IllegalArgumentException("Graph cannot be null.");
+    if (graph.numNodes() != reverseGraph.numNodes() || graph.numEdges() != reverseGraph.numEdges())
+      throw new IllegalArgumentException("The reverse graph does not match the graph.");
+    if (graph.numNodes() == 0) throw new IllegalArgumentException("Graph cannot be empty.");
+    for (int e = 0; e < graph.numEdges(); e++) {
+      if (!(graph.weight(e) >= 0))
+        throw new IllegalArgumentException("Edge costs cannot be negative");
+    }
+    this.n = graph.numNodes();
+    this.graph = graph;
+    this.reverseGraph = reverseGraph;
+
+    distF = new double[n];
+    distR = new double[n];
+    Arrays.fill(distF, INF);
+    Arrays.fill(distR, INF);
+    prevF = new int[n];
+    prevR = new int[n];
+    Arrays.fill(prevF, -1);
+    Arrays.fill(prevR, -1);
+    settledF = new boolean[n];
+    settledR = new boolean[n];
+    pqF = new MinIndexedDHeapDouble(HEAP_DEGREE, n);
+    pqR = new MinIndexedDHeapDouble(HEAP_DEGREE, n);
+    touched = new int[2 * n];
+  }
+
+  /** Builds the reverse of a graph in CSR form, keeping the edge weights. */
+  public static CsrGraph reverse(StaticGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    if (graph instanceof CsrGraph) return ((CsrGraph) graph).transpose();
+    final int n = graph.numNodes(), m = graph.numEdges();
+    int[] from = new int[m], to = new int[m];
+    double[] weights = new double[m];
+    for (int u = 0; u < n; u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        from[e] = graph.target(e);
+        to[e] = u;
+        weights[e] = graph.weight(e);
+      }
+    }
+    return CsrGraph.fromEdges(n, from, to, weights);
+  }
+
+  /**
+   * Finds the length of the shortest path from 'start' to 'end', or Double.POSITIVE_INFINITY if
+   * there is no such path.
+   */
+  public double shortestPath(int start, int end) {
+    if (start < 0 || start >= n || end < 0 || end >= n)
+      throw new IllegalArgumentException("Invalid node index");
+    reset();
+    lastStart = start;
+    lastEnd = end;
+
+    double mu = INF;
+    int meet = -1;
+    visit(distF, start, 0);
+    visit(distR, end, 0);
+    pqF.insert(start, 0);
+    pqR.insert(end, 0);
+    if (start == end) {
+      mu = 0;
+      meet = start;
+    }
+
+    while (!pqF.isEmpty() && !pqR.isEmpty()) {
+      double topF = pqF.peekMinValue(), topR = pqR.peekMinValue();
+      if (topF + topR >= mu) break;
+
+      // Advance the search whose frontier is closer.
+      boolean forward = topF <= topR;
+      StaticGraph g = forward ? graph : reverseGraph;
+      MinIndexedDHeapDouble pq = forward ? pqF : pqR;
+      double[] dist = forward ? distF : distR, otherDist = forward ? distR : distF;
+      int[] prev = forward ? prevF : prevR;
+      boolean[] settled = forward ? settledF : settledR;
+
+      int u = pq.pollMinKeyIndex();
+      settled[u] = true;
+      double du = dist[u];
+      for (int e = g.start(u), endEdge = g.end(u); e < endEdge; e++) {
+        int v = g.target(e);
+        if (settled[v]) continue;
+        double newDist = du + g.weight(e);
+        if (newDist < dist[v]) {
+          if (dist[v] == INF) {
+            visit(dist, v, newDist);
+            pq.insert(v, newDist);
+          } else {
+            dist[v] = newDist;
+            pq.decrease(v, newDist);
+          }
+          prev[v] = u;
+          // A node reached from both sides closes a path from start to end.
+          if (newDist + otherDist[v] < mu) {
+            mu = newDist + otherDist[v];
+            meet = v;
+          }
+        }
+      }
+    }
+
+    meetingNode = meet;
+    lastDist = mu;
+    return mu;
+  }
+
+  /**
+   * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive.
+   *
+   * @return An array of node indexes of the shortest path from 'start' to 'end'. If 'start' and
+   *     'end' are not connected then an empty array is returned.
+   */
+  public List<Integer> reconstructPath(int start, int end) {
+    if (start != lastStart || end != lastEnd) shortestPath(start, end);
+    List<Integer> path = new ArrayList<>();
+    if (lastDist == INF) return path;
+    for (int at = meetingNode; at != -1; at = prevF[at]) path.add(at);
+    Collections.reverse(path);
+    for (int at = prevR[meetingNode]; at != -1; at = prevR[at]) path.add(at);
+    return path;
+  }
+
+  // Sets the distance of a node reached for the first time by one of the searches.
+  private void visit(double[] dist, int v, double d) {
+    dist[v] = d;
+    touched[touchedCount++] = v;
+  }
+
+  // Clears the state left behind by the previous query.
+  private void reset() {
+    for (int i = 0; i < touchedCount; i++) {
+      int v = touched[i];
+      distF[v] = distR[v] = INF;
+      prevF[v] = prevR[v] = -1;
+      settledF[v] = settledR[v] = false;
+    }
+    touchedCount = 0;
+    pqF.clear();
+    pqR.clear();
+    lastStart = lastEnd = -1;
+  }
+
+  public static void main(String[] args) {
+    // A 1000x1000 road-like grid graph.
+    CsrGraph graph = new GraphGenerator.GridGenerator(1000, 1000, 0.3, 1, 1).toCsrGraph();
+    BidirectionalDijkstra solver = new BidirectionalDijkstra(graph);
+
+    Random random = new Random(0);
+    int queries = 100;
+    long time = System.nanoTime();
+    for (int i = 0; i < queries; i++) {
+      solver.shortestPath(random.nextInt(graph.numNodes()), random.nextInt(graph.numNodes()));
+    }
+    time = System.nanoTime() - time;
+    System.out.printf("Average query time: %.3f ms\n", time / 1e6 / queries);
+  }
+}
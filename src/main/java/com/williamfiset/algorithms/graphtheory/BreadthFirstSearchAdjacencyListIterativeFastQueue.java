@@ -5,6 +5,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
 import java.util.*;
 
 // A custom implementation of a circular integer only queue which is
@@ -118,6 +119,32 @@ public class BreadthFirstSearchAdjacencyListIterativeFastQueue {
     return count;
   }
 
+  // Same as above but for a graph in CSR form, for example one memory mapped
+  // from disk with MappedGraph. Returns the BFS distance of every node from
+  // 'start' or -1 for unreachable nodes.
+  public static int[] bfs(StaticGraph graph, int start) {
+    final int n = graph.numNodes();
+    int[] dist = new int[n];
+    Arrays.fill(dist, -1);
+    IntQueue queue = new IntQueue(n);
+
+    queue.enqueue(start);
+    dist[start] = 0;
+
+    while (!queue.isEmpty()) {
+      int node = queue.dequeue();
+      for (int e = graph.start(node), end = graph.end(node); e < end; e++) {
+        int to = graph.target(e);
+        if (dist[to] == -1) {
+          dist[to] = dist[node] + 1;
+          queue.enqueue(to);
+        }
+      }
+    }
+
+    return dist;
+  }
+
   // Example usage of DFS
   public static void main(String[] args) {
 
@@ -0,0 +1,307 @@
+/**
+ * A parallel, level synchronous, direction optimizing breadth first search (Beamer et al.).
+ *
+ * <p>A classic top-down BFS step scans the outgoing edges of every frontier node. On low diameter
+ * graphs with skewed degrees (social networks, web graphs) the frontier quickly grows to contain a
+ * large fraction of the graph and most of those edges lead to nodes which were already visited. A
+ * bottom-up step instead makes every unvisited node scan its incoming edges for a parent in the
+ * frontier and stops at the first one found, which skips most of the edges once the frontier is
+ * large. The search starts top-down, switches to bottom-up when the frontier has more than
+ * 1/ALPHA of the unexplored edges and switches back once the frontier shrinks below n/BETA nodes.
+ *
+ * <p>The frontier is kept as a list of nodes in top-down steps and as a bitset in bottom-up steps.
+ * Both kinds of steps are split into chunks which run on a {@link ForkJoinPool}. Distances are
+ * deterministic, but when a node has several parents in the previous level which one ends up in
+ * the parent array depends on thread scheduling.
+ *
+ * <p>Time Complexity: O(V + E) work
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class BreadthFirstSearchDirectionOptimizing {
+
+  // Tuning parameters from the paper.
+  static final int ALPHA = 14, BETA = 24;
+
+  // Frontier nodes per top-down task and bitset words (64 nodes each) per bottom-up task.
+  private static final int TOP_DOWN_GRAIN = 1024, BOTTOM_UP_GRAIN = 64;
+
+  private final int n;
+  private final long m;
+  private final StaticGraph graph, reverseGraph;
+  private final ForkJoinPool pool;
+
+  private int[] dist, parent;
+
+  // Nodes which have been assigned a distance, one bit per node.
+  private AtomicLongArray visited;
+
+  // The current frontier as a list of nodes (top-down) or a bitset (bottom-up).
+  private int[] queue;
+  private int queueSize;
+  private long[] frontier, next;
+
+  // Sum of the out degrees of the frontier nodes.
+  private long scoutCount;
+
+  /**
+   * Creates a BFS solver for a directed graph. The transpose of the graph is needed by bottom-up
+   * steps and is computed here.
+   */
+  public BreadthFirstSearchDirectionOptimizing(CsrGraph graph) {
+    this(graph, graph == null ? null : graph.transpose(), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a BFS solver which runs on the given pool.
+   *
+   * @param graph The graph to search.
+   * @param reverseGraph The graph with every edge reversed. For undirected graphs (every edge is
+   *     present in both directions) simply pass the graph itself.
+   */
+  public BreadthFirstSearchDirectionOptimizing(
+      StaticGraph graph, StaticGraph reverseGraph, ForkJoinPool pool) {
+    if (graph == null || reverseGraph == null)
+      throw new IllegalArgumentException("Graph cannot be null.");
+    if (graph.numNodes() != reverseGraph.numNodes() || graph.numEdges() != reverseGraph.numEdges())
+      throw new IllegalArgumentException("The reverse graph does not match the graph.");
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.n = graph.numNodes();
+    this.m = graph.numEdges();
+    this.graph = graph;
+    this.reverseGraph = reverseGraph;
+    this.pool = pool;
+  }
+
+  /**
+   * Runs a BFS from 'start'. Afterwards {@link #getDist()} and {@link #getParent()} hold the
+   * results of this search.
+   */
+  public void bfs(int start) {
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid start node: " + start);
+    dist = new int[n];
+    parent = new int[n];
+    Arrays.fill(dist, -1);
+    Arrays.fill(parent, -1);
+    int words = (n + 63) >>> 6;
+    visited = new AtomicLongArray(words);
+    frontier = new long[words];
+    next = new long[words];
+    queue = new int[] {start};
+    queueSize = 1;
+
+    dist[start] = 0;
+    visited.set(start >>> 6, 1L << start);
+    scoutCount = degree(start);
+
+    long edgesToCheck = m;
+    boolean bottomUp = false;
+    int frontierSize = 1, prevFrontierSize = 0;
+    for (int level = 0; frontierSize > 0; level++) {
+      if (!bottomUp && scoutCount > edgesToCheck / ALPHA) {
+        queueToBitset();
+        bottomUp = true;
+      } else if (bottomUp && frontierSize < prevFrontierSize && frontierSize < n / BETA) {
+        bitsetToQueue();
+        bottomUp = false;
+      }
+      edgesToCheck -= scoutCount;
+      prevFrontierSize = frontierSize;
+      frontierSize = bottomUp ? bottomUpStep(level) : topDownStep(level);
+    }
+
+    visited = null;
+    frontier = next = null;
+    queue = null;
+  }
+
+  /** Returns the BFS distance of every node from the start node, or -1 if it is unreachable. */
+  public int[] getDist() {
+    if (dist == null) throw new IllegalStateException("Run bfs() first.");
+    return dist;
+  }
+
+  /**
+   * Returns the parent of every node in the BFS tree, or -1 for the start node and unreachable
+   * nodes.
+   */
+  public int[] getParent() {
+    if (parent == null) throw new IllegalStateException("Run bfs() first.");
+    return parent;
+  }
+
+  private int degree(int u) {
+    return graph.end(u) - graph.start(u);
+  }
+
+  // Runs body(0), ..., body(numTasks-1) in parallel on the pool.
+  private void parallelFor(int numTasks, IntConsumer body) {
+    if (numTasks == 1) body.accept(0);
+    else pool.submit(() -> IntStream.range(0, numTasks).parallel().forEach(body)).join();
+  }
+
+  // Every frontier node claims its unvisited neighbours. Each task collects the
+  // nodes it claimed into its own buffer and the buffers are concatenated into
+  // the next frontier.
+  private int topDownStep(int level) {
+    final int numTasks = (queueSize + TOP_DOWN_GRAIN - 1) / TOP_DOWN_GRAIN;
+    final int[][] buffers = new int[numTasks][];
+    final int[] sizes = new int[numTasks];
+    final long[] scouts = new long[numTasks];
+    final int[] q = queue;
+    final int qSize = queueSize;
+    parallelFor(
+        numTasks,
+        task -> {
+          int[] buffer = new int[64];
+          int size = 0;
+          long scout = 0;
+          for (int i = task * TOP_DOWN_GRAIN, hi = Math.min(qSize, i + TOP_DOWN_GRAIN);
+              i < hi;
+              i++) {
+            int u = q[i];
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+              int v = graph.target(e);
+              if (claim(v)) {
+                dist[v] = level + 1;
+                parent[v] = u;
+                if (size == buffer.length) buffer = Arrays.copyOf(buffer, 2 * size);
+                buffer[size++] = v;
+                scout += degree(v);
+              }
+            }
+          }
+          buffers[task] = buffer;
+          sizes[task] = size;
+          scouts[task] = scout;
+        });
+
+    int total = 0;
+    scoutCount = 0;
+    for (int task = 0; task < numTasks; task++) {
+      total += sizes[task];
+      scoutCount += scouts[task];
+    }
+    queue = new int[total];
+    for (int task = 0, pos = 0; task < numTasks; task++) {
+      System.arraycopy(buffers[task], 0, queue, pos, sizes[task]);
+      pos += sizes[task];
+    }
+    queueSize = total;
+    return total;
+  }
+
+  // Atomically marks node v as visited, returning false if it already was.
+  private boolean claim(int v) {
+    final int w = v >>> 6;
+    final long bit = 1L << v;
+    long word = visited.get(w);
+    while ((word & bit) == 0) {
+      if (visited.compareAndSet(w, word, word | bit)) return true;
+      word = visited.get(w);
+    }
+    return false;
+  }
+
+  // Every unvisited node looks for a parent in the frontier. Each task owns a
+  // range of bitset words so no synchronization is needed between tasks.
+  private int bottomUpStep(int level) {
+    final int words = frontier.length;
+    final int numTasks = (words + BOTTOM_UP_GRAIN - 1) / BOTTOM_UP_GRAIN;
+    final int[] counts = new int[numTasks];
+    final long[] scouts = new long[numTasks];
+    parallelFor(
+        numTasks,
+        task -> {
+          int count = 0;
+          long scout = 0;
+          for (int w = task * BOTTOM_UP_GRAIN, hi = Math.min(words, w + BOTTOM_UP_GRAIN);
+              w < hi;
+              w++) {
+            long seen = visited.get(w), found = 0;
+            long unvisited = ~seen;
+            if (w == words - 1 && (n & 63) != 0) unvisited &= (1L << n) - 1;
+            while (unvisited != 0) {
+              long bit = unvisited & -unvisited;
+              unvisited ^= bit;
+              int v = (w << 6) | Long.numberOfTrailingZeros(bit);
+              for (int e = reverseGraph.start(v), end = reverseGraph.end(v); e < end; e++) {
+                int u = reverseGraph.target(e);
+                if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                  dist[v] = level + 1;
+                  parent[v] = u;
+                  found |= bit;
+                  count++;
+                  scout += degree(v);
+                  break;
+                }
+              }
+            }
+            next[w] = found;
+            if (found != 0) visited.set(w, seen | found);
+          }
+          counts[task] = count;
+          scouts[task] = scout;
+        });
+
+    long[] tmp = frontier;
+    frontier = next;
+    next = tmp;
+    int total = 0;
+    scoutCount = 0;
+    for (int task = 0; task < numTasks; task++) {
+      total += counts[task];
+      scoutCount += scouts[task];
+    }
+    return total;
+  }
+
+  private void queueToBitset() {
+    Arrays.fill(frontier, 0);
+    for (int i = 0; i < queueSize; i++) {
+      int u = queue[i];
+      frontier[u >>> 6] |= 1L << u;
+    }
+  }
+
+  private void bitsetToQueue() {
+    int size = 0;
+    for (long word : frontier) size += Long.bitCount(word);
+    queue = new int[size];
+    queueSize = 0;
+    for (int w = 0; w < frontier.length; w++) {
+      for (long word = frontier[w]; word != 0; word &= word - 1) {
+        queue[queueSize++] = (w << 6) | Long.numberOfTrailingZeros(word);
+      }
+    }
+  }
+
+  public static void main(String[] args) {
+    // A power-law graph with 2^20 nodes and 2^24 edges.
+    CsrGraph graph = new GraphGenerator.RmatGenerator(20, 16, 1, 1).toCsrGraph();
+    BreadthFirstSearchDirectionOptimizing solver = new BreadthFirstSearchDirectionOptimizing(graph);
+
+    long time = System.nanoTime();
+    solver.bfs(0);
+    time = System.nanoTime() - time;
+
+    int reached = 0, depth = 0;
+    for (int d : solver.getDist()) {
+      if (d != -1) reached++;
+      depth = Math.max(depth, d);
+    }
+    System.out.printf(
+        "Reached %d nodes in %d levels in %.1f ms\n", reached, depth + 1, time / 1e6);
+  }
+}
@@ -10,6 +10,7 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class BridgesAdjacencyListIterative {
@@ -19,6 +20,7 @@ public class BridgesAdjacencyListIterative {
   private boolean solved;
   private boolean[] visited;
   private List<List<Integer>> graph;
+  private CsrGraph csrGraph;
   private List<Integer> bridges;
 
   private static int CALLBACK_TOKEN = -2;
@@ -29,6 +31,13 @@ public class BridgesAdjacencyListIterative {
     this.n = n;
   }
 
+  // The CSR graph must be undirected, i.e. contain every edge in both directions.
+  public BridgesAdjacencyListIterative(CsrGraph graph) {
+    if (graph == null || graph.numNodes() <= 0) throw new IllegalArgumentException();
+    this.csrGraph = graph;
+    this.n = graph.numNodes();
+  }
+
   // Returns a list of pairs of nodes indicating which nodes form bridges.
   // The returned list is always of even length and indexes (2*i, 2*i+1) form a
   // pair. For example, nodes are indexes (0, 1) are a pair, (2, 3) are another
@@ -71,17 +80,14 @@ public class BridgesAdjacencyListIterative {
           low[at] = ids[at] = ++id;
           visited[at] = true;
 
-          List<Integer> edges = graph.get(at);
-          for (Integer to : edges) {
-            if (to == parent) continue;
-            if (!visited[to]) {
-              stack.push(to);
-              stack.push(at);
-              stack.push(CALLBACK_TOKEN);
-              stack.push(to);
-              parentStack.push(at);
-            } else {
-              low[at] = min(low[at], ids[to]);
+          if (csrGraph != null) {
+            for (int e = csrGraph.start(at); e < csrGraph.end(at); e++) {
+              visitEdge(stack, parentStack, at, parent, csrGraph.target(e));
+            }
+          } else {
+            List<Integer> edges = graph.get(at);
+            for (Integer to : edges) {
+              visitEdge(stack, parentStack, at, parent, to);
             }
           }
         }
@@ -92,6 +98,20 @@ public class BridgesAdjacencyListIterative {
     return bridges;
   }
 
+  private void visitEdge(
+      Deque<Integer> stack, Deque<Integer> parentStack, int at, int parent, int to) {
+    if (to == parent) return;
+    if (!visited[to]) {
+      stack.push(to);
+      stack.push(at);
+      stack.push(CALLBACK_TOKEN);
+      stack.push(to);
+      parentStack.push(at);
+    } else {
+      low[at] = min(low[at], ids[to]);
+    }
+  }
+
   /* Example usage: */
 
   public static void main(String[] args) {
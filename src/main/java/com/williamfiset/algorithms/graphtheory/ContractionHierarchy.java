@@ -0,0 +1,765 @@
+/**
+ * Contraction Hierarchies for fast point to point shortest path queries on static graphs with non
+ * negative edge weights, such as road networks.
+ *
+ * <p>Preprocessing contracts the nodes one at a time in order of importance. Contracting a node v
+ * removes it from the graph and, for every pair of neighbours u -> v -> x, adds a shortcut edge u
+ * -> x of the same length unless a witness search (a small Dijkstra from u which avoids v) finds a
+ * path from u to x which is no longer. The next node to contract is the one with the smallest
+ * priority, which combines the edge difference (shortcuts added minus edges removed), the number
+ * of already contracted neighbours and the depth of the hierarchy below the node. This keeps the
+ * graph sparse and spreads the contraction evenly. Priorities are updated lazily: a node taken
+ * from the queue has its priority recomputed and goes back in if it is no longer the smallest.
+ *
+ * <p>A node's rank is its position in the contraction order. Every edge of the original graph plus
+ * the shortcuts ends up either in the upward graph (edges to a higher ranked node) or in the
+ * downward graph (edges from a higher ranked node). Every shortest path has a version in the
+ * augmented graph which first only goes up and then only goes down, so a query runs a forward
+ * Dijkstra from the start node on the upward graph and a backward Dijkstra from the end node on the
+ * reversed downward graph, and the answer is the best node reached by both. Both searches only see
+ * the few higher ranked nodes reachable from their source, which makes queries on large road
+ * networks thousands of times faster than Dijkstra. Queries also use stall-on-demand: a node
+ * which can be reached more cheaply through an edge coming down from a higher ranked node is not
+ * expanded. Each shortcut remembers the node it bypasses so the path can be unpacked back into
+ * original edges.
+ *
+ * <p>The hierarchy is immutable once built and can be written to disk with {@link #save(Path)} and
+ * read back with {@link #load(Path)}, so preprocessing only has to be done once per graph. The
+ * query methods on the hierarchy share a single {@link Query}; threads answering queries in
+ * parallel should each create their own with {@link #newQuery()}.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapDouble;
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapLong;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class ContractionHierarchy {
+
+  static final int MAGIC = 0x52474843; // "CHGR" in little endian
+  static final int VERSION = 1;
+
+  private static final double INF = Double.POSITIVE_INFINITY;
+
+  // Degree of the d-ary heaps.
+  private static final int HEAP_DEGREE = 4;
+
+  // Witness searches give up after settling this many nodes. Giving up early only
+  // adds shortcuts which are not needed, it never makes the hierarchy wrong. The
+  // searches which estimate priorities use a smaller limit since they run far more
+  // often than the ones which actually contract a node.
+  private static final int CONTRACT_SETTLE_LIMIT = 1000;
+  private static final int PRIORITY_SETTLE_LIMIT = 100;
+
+  private final int n;
+
+  // rank[v] is the position of v in the contraction order.
+  private final int[] rank;
+
+  // The upward graph in CSR form: the edges u -> v with rank[v] > rank[u], indexed by u.
+  private final int[] upOffsets, upTargets, upMids;
+  private final double[] upWeights;
+
+  // The downward graph reversed: the edges v -> u with rank[v] > rank[u], indexed by u
+  // and with v as the target. The backward search of a query walks these edges up.
+  private final int[] downOffsets, downTargets, downMids;
+  private final double[] downWeights;
+
+  // Query used by the shortestPath and reconstructPath methods of the hierarchy.
+  private Query defaultQuery;
+
+  /** Builds the contraction hierarchy of a graph. */
+  public ContractionHierarchy(StaticGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    if (graph.numNodes() == 0) throw new IllegalArgumentException("Graph cannot be empty.");
+    for (int e = 0; e < graph.numEdges(); e++) {
+      if (!(graph.weight(e) >= 0))
+        throw new IllegalArgumentException("Edge costs cannot be negative");
+    }
+    Contractor contractor = new Contractor(graph);
+    contractor.contractAll();
+
+    this.n = graph.numNodes();
+    this.rank = contractor.rank;
+    upOffsets = new int[n + 1];
+    downOffsets = new int[n + 1];
+    for (int u = 0; u < n; u++) {
+      upOffsets[u + 1] = upOffsets[u] + contractor.outSize[u];
+      downOffsets[u + 1] = downOffsets[u] + contractor.inSize[u];
+    }
+    upTargets = new int[upOffsets[n]];
+    upMids = new int[upOffsets[n]];
+    upWeights = new double[upOffsets[n]];
+    downTargets = new int[downOffsets[n]];
+    downMids = new int[downOffsets[n]];
+    downWeights = new double[downOffsets[n]];
+    for (int u = 0; u < n; u++) {
+      // Once a node is contracted its edge lists hold exactly its edges to and from
+      // the higher ranked nodes and are never touched again.
+      int size = contractor.outSize[u];
+      System.arraycopy(contractor.outTo[u], 0, upTargets, upOffsets[u], size);
+      System.arraycopy(contractor.outMid[u], 0, upMids, upOffsets[u], size);
+      System.arraycopy(contractor.outW[u], 0, upWeights, upOffsets[u], size);
+      size = contractor.inSize[u];
+      System.arraycopy(contractor.inFrom[u], 0, downTargets, downOffsets[u], size);
+      System.arraycopy(contractor.inMid[u], 0, downMids, downOffsets[u], size);
+      System.arraycopy(contractor.inW[u], 0, downWeights, downOffsets[u], size);
+    }
+  }
+
+  private ContractionHierarchy(
+      int[] rank,
+      int[] upOffsets,
+      int[] upTargets,
+      int[] upMids,
+      double[] upWeights,
+      int[] downOffsets,
+      int[] downTargets,
+      int[] downMids,
+      double[] downWeights) {
+    this.n = rank.length;
+    this.rank = rank;
+    this.upOffsets = upOffsets;
+    this.upTargets = upTargets;
+    this.upMids = upMids;
+    this.upWeights = upWeights;
+    this.downOffsets = downOffsets;
+    this.downTargets = downTargets;
+    this.downMids = downMids;
+    this.downWeights = downWeights;
+  }
+
+  public int numNodes() {
+    return n;
+  }
+
+  /** Returns the position of a node in the contraction order. */
+  public int rank(int v) {
+    return rank[v];
+  }
+
+  /** Returns the number of shortcut edges added during preprocessing. */
+  public int numShortcuts() {
+    int count = 0;
+    for (int mid : upMids) if (mid != -1) count++;
+    for (int mid : downMids) if (mid != -1) count++;
+    return count;
+  }
+
+  /** Creates a new query object. Each thread answering queries should use its own. */
+  public Query newQuery() {
+    return new Query();
+  }
+
+  /**
+   * Finds the length of the shortest path from 'start' to 'end', or Double.POSITIVE_INFINITY if
+   * there is no such path. Not thread safe, see {@link #newQuery()}.
+   */
+  public double shortestPath(int start, int end) {
+    if (defaultQuery == null) defaultQuery = new Query();
+    return defaultQuery.shortestPath(start, end);
+  }
+
+  /**
+   * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive, or an empty list if
+   * 'start' and 'end' are not connected. Not thread safe, see {@link #newQuery()}.
+   */
+  public List<Integer> reconstructPath(int start, int end) {
+    if (defaultQuery == null) defaultQuery = new Query();
+    return defaultQuery.reconstructPath(start, end);
+  }
+
+  /**
+   * The search state of a query. All of it is allocated once and only the entries of the nodes a
+   * query touched are reset before the next one, so a query does no allocation and costs time
+   * proportional to the number of nodes it explores.
+   */
+  public final class Query {
+
+    // The forward search uses the 'f' arrays and the backward search the 'b' arrays.
+    // prev holds the node an edge was relaxed from and prevEdge the index of that edge
+    // in the upward or downward graph.
+    private final double[] distF, distB;
+    private final int[] prevF, prevB, prevEdgeF, prevEdgeB;
+    private final MinIndexedDHeapDouble pqF, pqB;
+
+    // Nodes whose state has to be reset before the next query.
+    private final int[] touched;
+    private int touchedCount;
+
+    // Result of the last query.
+    private int lastStart = -1, lastEnd = -1, meetingNode = -1;
+    private double lastDist;
+
+    private Query() {
+      distF = new double[n];
+      distB = new double[n];
+      Arrays.fill(distF, INF);
+      Arrays.fill(distB, INF);
+      prevF = new int[n];
+      prevB = new int[n];
+      prevEdgeF = new int[n];
+      prevEdgeB = new int[n];
+      pqF = new MinIndexedDHeapDouble(HEAP_DEGREE, n);
+      pqB = new MinIndexedDHeapDouble(HEAP_DEGREE, n);
+      touched = new int[2 * n];
+    }
+
+    /**
+     * Finds the length of the shortest path from 'start' to 'end', or Double.POSITIVE_INFINITY if
+     * there is no such path.
+     */
+    public double shortestPath(int start, int end) {
+      if (start < 0 || start >= n || end < 0 || end >= n)
+        throw new IllegalArgumentException("Invalid node index");
+      reset();
+      lastStart = start;
+      lastEnd = end;
+
+      double mu = INF;
+      int meet = -1;
+      visit(distF, start, 0);
+      visit(distB, end, 0);
+      prevF[start] = prevB[end] = -1;
+      pqF.insert(start, 0);
+      pqB.insert(end, 0);
+
+      while (!pqF.isEmpty() || !pqB.isEmpty()) {
+        boolean forward =
+            pqB.isEmpty() || (!pqF.isEmpty() && pqF.peekMinValue() <= pqB.peekMinValue());
+        MinIndexedDHeapDouble pq = forward ? pqF : pqB;
+        // Unlike plain bidirectional Dijkstra each side has to keep going until its
+        // own frontier is past mu, since the searches only move upwards.
+        if (pq.peekMinValue() >= mu) {
+          pq.clear();
+          continue;
+        }
+        double[] dist = forward ? distF : distB, otherDist = forward ? distB : distF;
+        int[] prev = forward ? prevF : prevB, prevEdge = forward ? prevEdgeF : prevEdgeB;
+        int[] offsets = forward ? upOffsets : downOffsets;
+        int[] targets = forward ? upTargets : downTargets;
+        double[] weights = forward ? upWeights : downWeights;
+
+        int u = pq.pollMinKeyIndex();
+        double du = dist[u];
+        if (du + otherDist[u] < mu) {
+          mu = du + otherDist[u];
+          meet = u;
+        }
+        if (stalled(u, du, dist, forward)) continue;
+
+        for (int e = offsets[u], endEdge = offsets[u + 1]; e < endEdge; e++) {
+          int v = targets[e];
+          double newDist = du + weights[e];
+          if (newDist < dist[v]) {
+            if (dist[v] == INF) {
+              visit(dist, v, newDist);
+              pq.insert(v, newDist);
+            } else {
+              dist[v] = newDist;
+              pq.decrease(v, newDist);
+            }
+            prev[v] = u;
+            prevEdge[v] = e;
+          }
+        }
+      }
+
+      meetingNode = meet;
+      lastDist = mu;
+      return mu;
+    }
+
+    // Stall-on-demand: u is not worth expanding if a higher ranked node already reached
+    // by the same search has an edge which reaches u more cheaply. The forward search
+    // checks the edges coming down into u and the backward search the edges going up
+    // out of u.
+    private boolean stalled(int u, double du, double[] dist, boolean forward) {
+      int[] offsets = forward ? downOffsets : upOffsets;
+      int[] targets = forward ? downTargets : upTargets;
+      double[] weights = forward ? downWeights : upWeights;
+      for (int e = offsets[u], endEdge = offsets[u + 1]; e < endEdge; e++) {
+        if (dist[targets[e]] + weights[e] < du) return true;
+      }
+      return false;
+    }
+
+    /**
+     * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive, unpacking the
+     * shortcuts into edges of the original graph.
+     *
+     * @return An array of node indexes of the shortest path from 'start' to 'end'. If 'start' and
+     *     'end' are not connected then an empty array is returned.
+     */
+    public List<Integer> reconstructPath(int start, int end) {
+      if (start != lastStart || end != lastEnd) shortestPath(start, end);
+      List<Integer> path = new ArrayList<>();
+      if (lastDist == INF) return path;
+
+      // Edges of the upward half, collected from the meeting node back to the start.
+      List<Integer> upEdges = new ArrayList<>();
+      for (int at = meetingNode; at != start; at = prevF[at]) upEdges.add(at);
+      Collections.reverse(upEdges);
+
+      path.add(start);
+      for (int at : upEdges) unpack(prevF[at], at, upMids[prevEdgeF[at]], path);
+      for (int at = meetingNode; at != end; at = prevB[at]) {
+        unpack(at, prevB[at], downMids[prevEdgeB[at]], path);
+      }
+      return path;
+    }
+
+    // Sets the distance of a node reached for the first time by one of the searches.
+    private void visit(double[] dist, int v, double d) {
+      dist[v] = d;
+      touched[touchedCount++] = v;
+    }
+
+    // Clears the state left behind by the previous query.
+    private void reset() {
+      for (int i = 0; i < touchedCount; i++) {
+        int v = touched[i];
+        distF[v] = distB[v] = INF;
+      }
+      touchedCount = 0;
+      pqF.clear();
+      pqB.clear();
+      lastStart = lastEnd = -1;
+    }
+  }
+
+  // Appends the nodes of the original path represented by the edge from -> to, except
+  // for 'from' itself. 'mid' is the node the edge bypasses or -1 for an original edge.
+  private void unpack(int from, int to, int mid, List<Integer> path) {
+    ArrayDeque<int[]> stack = new ArrayDeque<>();
+    stack.push(new int[] {from, to, mid});
+    while (!stack.isEmpty()) {
+      int[] edge = stack.pop();
+      if (edge[2] == -1) {
+        path.add(edge[1]);
+        continue;
+      }
+      // The two halves of a shortcut both touch the lower ranked middle node. Push
+      // the second half first so the first half is unpacked first.
+      int m = edge[2];
+      stack.push(new int[] {m, edge[1], midOf(m, edge[1])});
+      stack.push(new int[] {edge[0], m, midOf(edge[0], m)});
+    }
+  }
+
+  // Finds the middle node of the edge from -> to in the hierarchy.
+  private int midOf(int from, int to) {
+    if (rank[from] < rank[to]) {
+      for (int e = upOffsets[from]; e < upOffsets[from + 1]; e++)
+        if (upTargets[e] == to) return upMids[e];
+    } else {
+      for (int e = downOffsets[to]; e < downOffsets[to + 1]; e++)
+        if (downTargets[e] == from) return downMids[e];
+    }
+    throw new IllegalStateException("Missing edge " + from + " -> " + to);
+  }
+
+  /** Writes the hierarchy to a file in a little endian binary format. */
+  public void save(Path path) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(n);
+      buffer.putInt(upOffsets[n]).putInt(downOffsets[n]);
+      writeInts(channel, buffer, rank);
+      writeInts(channel, buffer, upOffsets);
+      writeInts(channel, buffer, upTargets);
+      writeInts(channel, buffer, upMids);
+      writeDoubles(channel, buffer, upWeights);
+      writeInts(channel, buffer, downOffsets);
+      writeInts(channel, buffer, downTargets);
+      writeInts(channel, buffer, downMids);
+      writeDoubles(channel, buffer, downWeights);
+      buffer.flip();
+      while (buffer.hasRemaining()) channel.write(buffer);
+    }
+  }
+
+  /**
+   * Reads a hierarchy written by {@link #save(Path)}.
+   *
+   * @throws IOException if the file cannot be read or is not a valid hierarchy file.
+   */
+  public static ContractionHierarchy load(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.limit(0);
+      refill(channel, buffer);
+      if (buffer.remaining() < 20 || buffer.getInt() != MAGIC)
+        throw new IOException("Not a contraction hierarchy file: " + path);
+      int version = buffer.getInt();
+      if (version != VERSION)
+        throw new IOException("Unsupported contraction hierarchy file version: " + version);
+      int n = buffer.getInt(), upEdges = buffer.getInt(), downEdges = buffer.getInt();
+      if (n <= 0 || upEdges < 0 || downEdges < 0)
+        throw new IOException("Invalid hierarchy size, n = " + n);
+      long expected = 20 + 4L * (3 * n + 2) + 16L * upEdges + 16L * downEdges;
+      if (Files.size(path) != expected)
+        throw new IOException("Contraction hierarchy file is truncated: " + path);
+
+      int[] rank = readInts(channel, buffer, n);
+      int[] upOffsets = readInts(channel, buffer, n + 1);
+      int[] upTargets = readInts(channel, buffer, upEdges);
+      int[] upMids = readInts(channel, buffer, upEdges);
+      double[] upWeights = readDoubles(channel, buffer, upEdges);
+      int[] downOffsets = readInts(channel, buffer, n + 1);
+      int[] downTargets = readInts(channel, buffer, downEdges);
+      int[] downMids = readInts(channel, buffer, downEdges);
+      double[] downWeights = readDoubles(channel, buffer, downEdges);
+      if (upOffsets[n] != upEdges || downOffsets[n] != downEdges)
+        throw new IOException("Corrupt contraction hierarchy file: " + path);
+      return new ContractionHierarchy(
+          rank,
+          upOffsets,
+          upTargets,
+          upMids,
+          upWeights,
+          downOffsets,
+          downTargets,
+          downMids,
+          downWeights);
+    }
+  }
+
+  private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values)
+      throws IOException {
+    for (int value : values) {
+      if (buffer.remaining() < 8) flush(channel, buffer);
+      buffer.putInt(value);
+    }
+  }
+
+  private static void writeDoubles(FileChannel channel, ByteBuffer buffer, double[] values)
+      throws IOException {
+    for (double value : values) {
+      if (buffer.remaining() < 8) flush(channel, buffer);
+      buffer.putDouble(value);
+    }
+  }
+
+  private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) channel.write(buffer);
+    buffer.clear();
+  }
+
+  private static int[] readInts(FileChannel channel, ByteBuffer buffer, int count)
+      throws IOException {
+    int[] values = new int[count];
+    for (int i = 0; i < count; i++) {
+      if (buffer.remaining() < 8) refill(channel, buffer);
+      values[i] = buffer.getInt();
+    }
+    return values;
+  }
+
+  private static double[] readDoubles(FileChannel channel, ByteBuffer buffer, int count)
+      throws IOException {
+    double[] values = new double[count];
+    for (int i = 0; i < count; i++) {
+      if (buffer.remaining() < 8) refill(channel, buffer);
+      values[i] = buffer.getDouble();
+    }
+    return values;
+  }
+
+  // Moves the unread bytes to the front of the buffer and reads more after them.
+  private static void refill(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.compact();
+    while (buffer.hasRemaining() && channel.read(buffer) > 0)
+      ;
+    buffer.flip();
+  }
+
+  /**
+   * Contracts the nodes of a graph. Each node has growable lists of its outgoing and incoming
+   * edges, with parallel edges merged into the cheapest one. Contracting a node removes it from the
+   * lists of its neighbours but leaves its own lists alone, so at the end the lists of every node
+   * hold exactly its edges to and from the nodes contracted after it.
+   */
+  private static final class Contractor {
+
+    final int n;
+    final int[][] outTo, outMid, inFrom, inMid;
+    final double[][] outW, inW;
+    final int[] outSize, inSize;
+    final int[] rank, contractedNeighbors;
+
+    // level[v] is the length of the longest chain of contracted nodes below v.
+    final int[] level;
+
+    // Witness search state.
+    final double[] dist;
+    final int[] touched;
+    int touchedCount;
+    final MinIndexedDHeapDouble pq;
+
+    // Shortcuts found by the last call to contract.
+    int[] shortcutFrom = new int[16], shortcutTo = new int[16];
+    double[] shortcutWeight = new double[16];
+    int shortcutCount;
+
+    // Marks the neighbours of a node which had their priority updated.
+    final int[] stamp;
+
+    Contractor(StaticGraph graph) {
+      n = graph.numNodes();
+      outSize = new int[n];
+      inSize = new int[n];
+      int[] inDegree = new int[n];
+      for (int e = 0; e < graph.numEdges(); e++) inDegree[graph.target(e)]++;
+      outTo = new int[n][];
+      outMid = new int[n][];
+      outW = new double[n][];
+      inFrom = new int[n][];
+      inMid = new int[n][];
+      inW = new double[n][];
+      for (int u = 0; u < n; u++) {
+        int out = graph.end(u) - graph.start(u);
+        outTo[u] = new int[out];
+        outMid[u] = new int[out];
+        outW[u] = new double[out];
+        inFrom[u] = new int[inDegree[u]];
+        inMid[u] = new int[inDegree[u]];
+        inW[u] = new double[inDegree[u]];
+      }
+      for (int u = 0; u < n; u++) {
+        for (int e = graph.start(u); e < graph.end(u); e++) {
+          // Self loops are never part of a shortest path.
+          if (graph.target(e) != u) addEdge(u, graph.target(e), graph.weight(e), -1);
+        }
+      }
+
+      rank = new int[n];
+      Arrays.fill(rank, -1);
+      contractedNeighbors = new int[n];
+      level = new int[n];
+      dist = new double[n];
+      Arrays.fill(dist, INF);
+      touched = new int[n];
+      pq = new MinIndexedDHeapDouble(HEAP_DEGREE, n);
+      stamp = new int[n];
+      Arrays.fill(stamp, -1);
+    }
+
+    void contractAll() {
+      MinIndexedDHeapLong order = new MinIndexedDHeapLong(HEAP_DEGREE, n);
+      for (int v = 0; v < n; v++) order.insert(v, priority(v));
+
+      for (int next = 0; !order.isEmpty(); ) {
+        // Lazy update: the priority of the top node may be out of date, so recompute
+        // it and put the node back if some other node is now cheaper.
+        int v = order.pollMinKeyIndex();
+        long priority = priority(v);
+        if (!order.isEmpty() && priority > order.peekMinValue()) {
+          order.insert(v, priority);
+          continue;
+        }
+
+        findShortcuts(v, CONTRACT_SETTLE_LIMIT);
+        rank[v] = next++;
+        for (int i = 0; i < outSize[v]; i++)
+          removeEdge(inFrom, inMid, inW, inSize, outTo[v][i], v);
+        for (int i = 0; i < inSize[v]; i++)
+          removeEdge(outTo, outMid, outW, outSize, inFrom[v][i], v);
+        for (int i = 0; i < shortcutCount; i++)
+          addEdge(shortcutFrom[i], shortcutTo[i], shortcutWeight[i], v);
+
+        // The neighbours are now the only nodes whose priority may have changed.
+        for (int i = 0; i < outSize[v] + inSize[v]; i++) {
+          int x = i < outSize[v] ? outTo[v][i] : inFrom[v][i - outSize[v]];
+          if (stamp[x] == v) continue;
+          stamp[x] = v;
+          contractedNeighbors[x]++;
+          level[x] = Math.max(level[x], level[v] + 1);
+          order.update(x, priority(x));
+        }
+      }
+    }
+
+    // Twice the edge difference of contracting v, plus the number of contracted
+    // neighbours and the depth of the hierarchy below v.
+    long priority(int v) {
+      int shortcuts = findShortcuts(v, PRIORITY_SETTLE_LIMIT);
+      return 2L * (shortcuts - outSize[v] - inSize[v]) + contractedNeighbors[v] + level[v];
+    }
+
+    // Finds the shortcuts needed to contract v and returns how many there are.
+    int findShortcuts(int v, int settleLimit) {
+      shortcutCount = 0;
+      for (int i = 0; i < inSize[v]; i++) {
+        int u = inFrom[v][i];
+        double toV = inW[v][i];
+        double maxOut = -1;
+        for (int j = 0; j < outSize[v]; j++)
+          if (outTo[v][j] != u) maxOut = Math.max(maxOut, outW[v][j]);
+        if (maxOut < 0) continue;
+
+        witnessSearch(u, v, toV + maxOut, settleLimit);
+        for (int j = 0; j < outSize[v]; j++) {
+          int x = outTo[v][j];
+          double viaV = toV + outW[v][j];
+          if (x != u && dist[x] > viaV) addShortcut(u, x, viaV);
+        }
+      }
+      return shortcutCount;
+    }
+
+    private void addShortcut(int from, int to, double weight) {
+      if (shortcutCount == shortcutFrom.length) {
+        shortcutFrom = Arrays.copyOf(shortcutFrom, 2 * shortcutCount);
+        shortcutTo = Arrays.copyOf(shortcutTo, 2 * shortcutCount);
+        shortcutWeight = Arrays.copyOf(shortcutWeight, 2 * shortcutCount);
+      }
+      shortcutFrom[shortcutCount] = from;
+      shortcutTo[shortcutCount] = to;
+      shortcutWeight[shortcutCount++] = weight;
+    }
+
+    // Runs Dijkstra from 'source' in the remaining graph without passing through
+    // 'excluded', stopping past 'maxDist' or after settling 'settleLimit' nodes. The
+    // distances found are lengths of real paths, so they are safe to use as witnesses
+    // even when the search stops early.
+    private void witnessSearch(int source, int excluded, double maxDist, int settleLimit) {
+      for (int i = 0; i < touchedCount; i++) dist[touched[i]] = INF;
+      touchedCount = 0;
+      pq.clear();
+
+      dist[source] = 0;
+      touched[touchedCount++] = source;
+      pq.insert(source, 0);
+      for (int settled = 0; !pq.isEmpty() && settled < settleLimit; settled++) {
+        if (pq.peekMinValue() > maxDist) break;
+        int u = pq.pollMinKeyIndex();
+        double du = dist[u];
+        for (int i = 0; i < outSize[u]; i++) {
+          int x = outTo[u][i];
+          if (x == excluded) continue;
+          double newDist = du + outW[u][i];
+          if (newDist < dist[x]) {
+            if (dist[x] == INF) {
+              touched[touchedCount++] = x;
+              pq.insert(x, newDist);
+            } else {
+              pq.decrease(x, newDist);
+            }
+            dist[x] = newDist;
+          }
+        }
+      }
+    }
+
+    // Adds the edge u -> v, or lowers the weight of the existing edge u -> v.
+    void addEdge(int u, int v, double weight, int mid) {
+      for (int i = 0; i < outSize[u]; i++) {
+        if (outTo[u][i] != v) continue;
+        if (weight < outW[u][i]) {
+          outW[u][i] = weight;
+          outMid[u][i] = mid;
+          for (int j = 0; j < inSize[v]; j++) {
+            if (inFrom[v][j] == u) {
+              inW[v][j] = weight;
+              inMid[v][j] = mid;
+              break;
+            }
+          }
+        }
+        return;
+      }
+      appendEdge(outTo, outMid, outW, outSize, u, v, weight, mid);
+      appendEdge(inFrom, inMid, inW, inSize, v, u, weight, mid);
+    }
+
+    private static void appendEdge(
+        int[][] nodes,
+        int[][] mids,
+        double[][] weights,
+        int[] size,
+        int u,
+        int v,
+        double w,
+        int m) {
+      int i = size[u]++;
+      if (i == nodes[u].length) {
+        int capacity = Math.max(4, 2 * i);
+        nodes[u] = Arrays.copyOf(nodes[u], capacity);
+        mids[u] = Arrays.copyOf(mids[u], capacity);
+        weights[u] = Arrays.copyOf(weights[u], capacity);
+      }
+      nodes[u][i] = v;
+      mids[u][i] = m;
+      weights[u][i] = w;
+    }
+
+    // Removes v from the edge list of u by moving the last edge into its place.
+    private static void removeEdge(
+        int[][] nodes, int[][] mids, double[][] weights, int[] size, int u, int v) {
+      for (int i = 0; i < size[u]; i++) {
+        if (nodes[u][i] != v) continue;
+        int last = --size[u];
+        nodes[u][i] = nodes[u][last];
+        mids[u][i] = mids[u][last];
+        weights[u][i] = weights[u][last];
+        return;
+      }
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    // A 100x100 road-like grid graph.
+    CsrGraph graph = new GraphGenerator.GridGenerator(100, 100, 0.3, 1.5, 1).toCsrGraph();
+    long time = System.nanoTime();
+    ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+    time = System.nanoTime() - time;
+    System.out.printf(
+        "Preprocessing: %.1f s, %d shortcuts\n", time / 1e9, hierarchy.numShortcuts());
+
+    Path file = Files.createTempFile("hierarchy", ".ch");
+    hierarchy.save(file);
+    hierarchy = ContractionHierarchy.load(file);
+    Files.delete(file);
+
+    BidirectionalDijkstra dijkstra = new BidirectionalDijkstra(graph);
+    Random random = new Random(0);
+    int queries = 1000;
+    int[] s = new int[queries], t = new int[queries];
+    for (int i = 0; i < queries; i++) {
+      s[i] = random.nextInt(graph.numNodes());
+      t[i] = random.nextInt(graph.numNodes());
+    }
+    time = System.nanoTime();
+    for (int i = 0; i < queries; i++) hierarchy.shortestPath(s[i], t[i]);
+    time = System.nanoTime() - time;
+    System.out.printf("Contraction hierarchy query: %.1f us\n", time / 1e3 / queries);
+    time = System.nanoTime();
+    for (int i = 0; i < queries; i++) dijkstra.shortestPath(s[i], t[i]);
+    time = System.nanoTime() - time;
+    System.out.printf("Bidirectional Dijkstra query: %.1f us\n", time / 1e3 / queries);
+  }
+}
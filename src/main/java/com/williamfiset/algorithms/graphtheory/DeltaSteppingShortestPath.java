@@ -0,0 +1,413 @@
+/**
+ * A parallel single source shortest path solver using the delta-stepping algorithm of Meyer and
+ * Sanders. It can be used in place of {@link DijkstrasShortestPathAdjacencyList} for graphs with
+ * non negative edge weights: {@link #dijkstra(int)}, {@link #dijkstra(int, int)} and {@link
+ * #reconstructPath} have the same signatures and semantics as the methods of the same name there.
+ *
+ * <p>Nodes are kept in buckets of width delta according to their tentative distance. The smallest
+ * non empty bucket is processed by relaxing the light edges (weight <= delta) of all of its nodes
+ * in parallel, which may add nodes back into the same bucket, until the bucket stays empty. Then
+ * the heavy edges of every node removed from the bucket are relaxed in parallel, which can only
+ * add nodes to later buckets. Dijkstra's algorithm corresponds to a tiny delta (one node at a
+ * time) and Bellman-Ford to an infinite delta (every node at once). By default delta is set to
+ * the maximum edge weight divided by the average degree.
+ *
+ * <p>Tentative distances are lowered with compare-and-set so relaxations need no locks. The
+ * shortest path tree is rebuilt in a final parallel pass over the edges; when several shortest
+ * paths exist which one is reported depends on thread scheduling.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class DeltaSteppingShortestPath {
+
+  // Number of frontier nodes (or graph nodes in the final pass) handled per task.
+  private static final int GRAIN = 256;
+
+  // Upper bound on the number of buckets which can be non empty at once, which is
+  // about maxWeight / delta.
+  static final int MAX_BUCKETS = 1 << 24;
+
+  private final int n;
+
+  // The graph is either given upfront or built from the edges passed to addEdge.
+  private StaticGraph graph;
+  private int[] edgeFrom, edgeTo;
+  private double[] edgeCost;
+  private int edgeCount;
+
+  private double delta = Double.NaN;
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  // Results of the last search, valid for 'solvedStart'.
+  private double[] dist;
+  private int[] prev;
+  private int solvedStart = -1;
+
+  // Search state. Distances are non negative doubles whose bit patterns order the
+  // same way as the doubles themselves, which allows lowering them with a CAS.
+  private AtomicLongArray distBits;
+  private int[] phaseOf, frontierStamp, mergeStamp, heavyStamp;
+  private int phase;
+  private IntList[] buckets;
+  private long pending;
+
+  /**
+   * Initialize the solver by providing the graph size. Use the {@link #addEdge} method to add edges
+   * to the graph.
+   *
+   * @param n - The number of nodes in the graph.
+   */
+  public DeltaSteppingShortestPath(int n) {
+    if (n <= 0) throw new IllegalArgumentException("n must be positive");
+    this.n = n;
+    edgeFrom = new int[16];
+    edgeTo = new int[16];
+    edgeCost = new double[16];
+  }
+
+  /**
+   * Initialize the solver with an existing immutable graph, for instance a {@link CsrGraph} or a
+   * graph memory mapped from disk with {@link
+   * com.williamfiset.algorithms.utils.graphutils.MappedGraph}. Edges cannot be added to the graph
+   * afterwards.
+   */
+  public DeltaSteppingShortestPath(StaticGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    if (graph.numNodes() <= 0) throw new IllegalArgumentException("Graph cannot be empty.");
+    this.n = graph.numNodes();
+    this.graph = graph;
+  }
+
+  /**
+   * Adds a directed edge to the graph.
+   *
+   * @param from - The index of the node the directed edge starts at.
+   * @param to - The index of the node the directed edge end at.
+   * @param cost - The cost of the edge, which cannot be negative.
+   */
+  public void addEdge(int from, int to, double cost) {
+    if (edgeFrom == null) throw new IllegalStateException("Cannot add edges to a static graph");
+    if (from < 0 || from >= n || to < 0 || to >= n)
+      throw new IllegalArgumentException("Invalid node index");
+    if (!(cost >= 0)) throw new IllegalArgumentException("Edge costs cannot be negative");
+    if (edgeCount == edgeFrom.length) {
+      edgeFrom = Arrays.copyOf(edgeFrom, 2 * edgeCount);
+      edgeTo = Arrays.copyOf(edgeTo, 2 * edgeCount);
+      edgeCost = Arrays.copyOf(edgeCost, 2 * edgeCount);
+    }
+    edgeFrom[edgeCount] = from;
+    edgeTo[edgeCount] = to;
+    edgeCost[edgeCount++] = cost;
+    graph = null;
+    solvedStart = -1;
+  }
+
+  /**
+   * Sets the bucket width. Smaller values expose less parallelism but waste less work on
+   * relaxations which are later improved upon. The default is the maximum edge weight divided by
+   * the average out degree.
+   */
+  public void setDelta(double delta) {
+    if (!(delta > 0) || Double.isInfinite(delta))
+      throw new IllegalArgumentException("delta must be positive and finite");
+    this.delta = delta;
+  }
+
+  /** Sets the pool the relaxations run on, the common pool by default. */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.pool = pool;
+  }
+
+  /**
+   * Computes the shortest distance from 'start' to every other node. Afterwards {@link #getDist}
+   * and {@link #getPrev} hold the results.
+   */
+  public void solve(int start) {
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid node index");
+    if (graph == null) {
+      graph =
+          CsrGraph.fromEdges(
+              n,
+              Arrays.copyOf(edgeFrom, edgeCount),
+              Arrays.copyOf(edgeTo, edgeCount),
+              Arrays.copyOf(edgeCost, edgeCount));
+    }
+    final StaticGraph g = graph;
+
+    double maxWeight = 0;
+    for (int e = 0; e < g.numEdges(); e++) {
+      double w = g.weight(e);
+      if (!(w >= 0)) throw new IllegalArgumentException("Edge costs cannot be negative");
+      maxWeight = Math.max(maxWeight, w);
+    }
+    if (Double.isInfinite(maxWeight))
+      throw new IllegalArgumentException("Edge costs must be finite");
+    double d = delta;
+    if (Double.isNaN(d)) {
+      double degree = Math.max(1.0, (double) g.numEdges() / n);
+      d = maxWeight > 0 ? maxWeight / degree : 1;
+    }
+    double span = Math.ceil(maxWeight / d) + 2;
+    if (span > MAX_BUCKETS) throw new IllegalArgumentException("delta is too small");
+    final int numBuckets = (int) span;
+
+    distBits = new AtomicLongArray(n);
+    for (int i = 0; i < n; i++) distBits.set(i, Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+    phaseOf = new int[n];
+    frontierStamp = new int[n];
+    mergeStamp = new int[n];
+    heavyStamp = new int[n];
+    Arrays.fill(frontierStamp, -1);
+    Arrays.fill(mergeStamp, -1);
+    Arrays.fill(heavyStamp, -1);
+    buckets = new IntList[numBuckets];
+    for (int i = 0; i < numBuckets; i++) buckets[i] = new IntList();
+    phase = 0;
+
+    distBits.set(start, Double.doubleToLongBits(0.0));
+    buckets[0].add(start);
+    pending = 1;
+
+    IntList frontier = new IntList(), heavy = new IntList();
+    DoubleList frontierDist = new DoubleList(), heavyDist = new DoubleList();
+    for (long cur = 0; pending > 0; cur++) {
+      IntList bucket = buckets[(int) (cur % numBuckets)];
+      if (bucket.size == 0) continue;
+      int round = (int) cur;
+      heavy.clear();
+      heavyDist.clear();
+
+      // Relax light edges until no node is added back into the current bucket.
+      while (bucket.size > 0) {
+        phase++;
+        frontier.clear();
+        frontierDist.clear();
+        for (int i = 0; i < bucket.size; i++) {
+          int u = bucket.data[i];
+          double du = tentative(u);
+          // Skip stale entries of nodes which have since moved to an earlier bucket.
+          if ((long) (du / d) != cur || frontierStamp[u] == phase) continue;
+          frontierStamp[u] = phase;
+          frontier.add(u);
+          frontierDist.add(du);
+          if (heavyStamp[u] != round) {
+            heavyStamp[u] = round;
+            heavy.add(u);
+          }
+        }
+        pending -= bucket.size;
+        bucket.clear();
+        relax(g, frontier, frontierDist, true, d, numBuckets);
+      }
+
+      // The distances of the nodes in this bucket are final now.
+      for (int i = 0; i < heavy.size; i++) heavyDist.add(tentative(heavy.data[i]));
+      phase++;
+      relax(g, heavy, heavyDist, false, d, numBuckets);
+    }
+
+    dist = new double[n];
+    for (int i = 0; i < n; i++) dist[i] = tentative(i);
+    prev = buildShortestPathTree(g);
+    solvedStart = start;
+
+    distBits = null;
+    phaseOf = frontierStamp = mergeStamp = heavyStamp = null;
+    buckets = null;
+  }
+
+  private double tentative(int u) {
+    return Double.longBitsToDouble(distBits.get(u));
+  }
+
+  // Lowers the tentative distance of node v to 'newDist', returning false if it
+  // was already at most that.
+  private boolean tryLower(int v, double newDist) {
+    final long bits = Double.doubleToLongBits(newDist);
+    long cur = distBits.get(v);
+    while (bits < cur) {
+      if (distBits.compareAndSet(v, cur, bits)) return true;
+      cur = distBits.get(v);
+    }
+    return false;
+  }
+
+  // Relaxes the light or heavy edges of 'nodes' in parallel, where nodeDist holds
+  // the distance of every node when it was taken out of its bucket. Nodes whose
+  // distance improved are then added to their new bucket.
+  private void relax(
+      StaticGraph g, IntList nodes, DoubleList nodeDist, boolean light, double d, int numBuckets) {
+    final int size = nodes.size, p = phase;
+    final int numTasks = (size + GRAIN - 1) / GRAIN;
+    if (numTasks == 0) return;
+    final IntList[] updated = new IntList[numTasks];
+    parallelFor(
+        numTasks,
+        task -> {
+          IntList out = new IntList();
+          for (int i = task * GRAIN, hi = Math.min(size, i + GRAIN); i < hi; i++) {
+            int u = nodes.data[i];
+            double du = nodeDist.data[i];
+            for (int e = g.start(u), end = g.end(u); e < end; e++) {
+              double w = g.weight(e);
+              if ((w <= d) != light) continue;
+              int v = g.target(e);
+              if (tryLower(v, du + w)) {
+                phaseOf[v] = p;
+                out.add(v);
+              }
+            }
+          }
+          updated[task] = out;
+        });
+
+    for (IntList out : updated) {
+      for (int i = 0; i < out.size; i++) {
+        int v = out.data[i];
+        if (mergeStamp[v] == p) continue;
+        mergeStamp[v] = p;
+        buckets[(int) ((long) (tentative(v) / d) % numBuckets)].add(v);
+        pending++;
+      }
+    }
+  }
+
+  // Picks a predecessor for every reachable node. Edge (u, v) is a shortest path
+  // tree edge if dist[u] + w == dist[v] and u was settled before v, meaning that u
+  // is closer or as close with an earlier last update. This order is strict so the
+  // tree cannot contain cycles, even with zero weight edges.
+  private int[] buildShortestPathTree(StaticGraph g) {
+    final int[] pred = new int[n];
+    Arrays.fill(pred, -1);
+    parallelFor(
+        (n + GRAIN - 1) / GRAIN,
+        task -> {
+          for (int u = task * GRAIN, hi = Math.min(n, u + GRAIN); u < hi; u++) {
+            double du = dist[u];
+            if (du == Double.POSITIVE_INFINITY) continue;
+            for (int e = g.start(u), end = g.end(u); e < end; e++) {
+              int v = g.target(e);
+              if (du + g.weight(e) != dist[v]) continue;
+              if (du < dist[v] || phaseOf[u] < phaseOf[v]) pred[v] = u;
+            }
+          }
+        });
+    return pred;
+  }
+
+  private void parallelFor(int numTasks, IntConsumer body) {
+    if (numTasks == 1) body.accept(0);
+    else pool.submit(() -> IntStream.range(0, numTasks).parallel().forEach(body)).join();
+  }
+
+  /** Returns the distances computed by the last call to {@link #solve}. */
+  public double[] getDist() {
+    if (dist == null) throw new IllegalStateException("Run solve() first.");
+    return dist;
+  }
+
+  /**
+   * Returns the predecessor of every node on its shortest path computed by the last call to {@link
+   * #solve}, or -1 for the start node and unreachable nodes.
+   */
+  public int[] getPrev() {
+    if (prev == null) throw new IllegalStateException("Run solve() first.");
+    return prev;
+  }
+
+  /**
+   * Finds the length of the shortest path from 'start' to 'end', or Double.POSITIVE_INFINITY if
+   * there is no such path. The distances from 'start' to every node are computed along the way.
+   */
+  public double shortestPath(int start, int end) {
+    if (end < 0 || end >= n) throw new IllegalArgumentException("Invalid node index");
+    if (start != solvedStart) solve(start);
+    return dist[end];
+  }
+
+  /**
+   * Same as {@link DijkstrasShortestPathAdjacencyList#dijkstra(int)}: computes and returns the
+   * distance from 'start' to every node, Double.POSITIVE_INFINITY for the unreachable ones.
+   */
+  public double[] dijkstra(int start) {
+    solve(start);
+    return dist;
+  }
+
+  /** Same as {@link DijkstrasShortestPathAdjacencyList#dijkstra(int, int)}. */
+  public double dijkstra(int start, int end) {
+    return shortestPath(start, end);
+  }
+
+  /**
+   * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive.
+   *
+   * @return An array of nodes indexes of the shortest path from 'start' to 'end'. If 'start' and
+   *     'end' are not connected then an empty array is returned.
+   */
+  public List<Integer> reconstructPath(int start, int end) {
+    if (end < 0 || end >= n) throw new IllegalArgumentException("Invalid node index");
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid node index");
+    List<Integer> path = new ArrayList<>();
+    if (shortestPath(start, end) == Double.POSITIVE_INFINITY) return path;
+    for (int at = end; at != -1; at = prev[at]) path.add(at);
+    Collections.reverse(path);
+    return path;
+  }
+
+  private static final class IntList {
+    int[] data = new int[16];
+    int size;
+
+    void add(int value) {
+      if (size == data.length) data = Arrays.copyOf(data, 2 * size);
+      data[size++] = value;
+    }
+
+    void clear() {
+      size = 0;
+    }
+  }
+
+  private static final class DoubleList {
+    double[] data = new double[16];
+    int size;
+
+    void add(double value) {
+      if (size == data.length) data = Arrays.copyOf(data, 2 * size);
+      data[size++] = value;
+    }
+
+    void clear() {
+      size = 0;
+    }
+  }
+
+  public static void main(String[] args) {
+    // A 1000x1000 road-like grid graph.
+    GraphGenerator.GridGenerator generator =
+        new GraphGenerator.GridGenerator(1000, 1000, 0.3, 1, 1);
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(generator.toCsrGraph());
+
+    long time = System.nanoTime();
+    double cost = solver.shortestPath(0, 999999);
+    time = System.nanoTime() - time;
+    System.out.printf("Shortest path cost: %.3f, found in %.1f ms\n", cost, time / 1e6);
+    System.out.println("Path length: " + solver.reconstructPath(0, 999999).size());
+  }
+}
@@ -6,6 +6,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
 import java.util.*;
 
 // This file contains an implementation of an integer only stack which is
@@ -89,6 +90,34 @@ public class DepthFirstSearchAdjacencyListIterativeFastStack {
     return count;
   }
 
+  // Same as above but for a graph in CSR form, for example one memory mapped
+  // from disk with MappedGraph.
+  public static int dfs(StaticGraph graph, int start) {
+    final int n = graph.numNodes();
+    int count = 0;
+    boolean[] visited = new boolean[n];
+
+    // A node is pushed at most once per incoming edge.
+    IntStack stack = new IntStack(graph.numEdges() + 1);
+    stack.push(start);
+
+    while (!stack.isEmpty()) {
+      int node = stack.pop();
+      if (!visited[node]) {
+        count++;
+        visited[node] = true;
+        for (int e = graph.start(node), end = graph.end(node); e < end; e++) {
+          int to = graph.target(e);
+          if (!visited[to]) {
+            stack.push(to);
+          }
+        }
+      }
+    }
+
+    return count;
+  }
+
   // Example usage of DFS
   public static void main(String[] args) {
 
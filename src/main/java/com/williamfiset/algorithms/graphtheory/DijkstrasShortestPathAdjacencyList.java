@@ -5,10 +5,19 @@
  * from a starting node to an ending node we can employ an optimization to stop early once we've
  * visited all the neighbors of the ending node.
  *
+ * <p>When every edge cost is a non negative integer, {@link #useIntegerQueue} switches to a
+ * monotone integer priority queue: Dial's buckets ({@link DialBucketQueue}) when the largest cost
+ * is small and a {@link RadixHeap} otherwise. Both drop the log factor of a comparison heap and
+ * allocate nothing per relaxation.
+ *
  * @author William Fiset, william.alexandre.fiset@gmail.com
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.datastructures.priorityqueue.DialBucketQueue;
+import com.williamfiset.algorithms.datastructures.priorityqueue.MonotonePriorityQueue;
+import com.williamfiset.algorithms.datastructures.priorityqueue.RadixHeap;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -21,6 +30,9 @@ public class DijkstrasShortestPathAdjacencyList {
   // Small epsilon value to comparing double values.
   private static final double EPS = 1e-6;
 
+  // Largest edge cost for which the integer mode uses Dial's buckets over a radix heap.
+  private static final int DIAL_MAX_COST = 1 << 10;
+
   // An edge class to represent a directed edge
   // between two nodes with a certain cost.
   public static class Edge {
@@ -47,9 +59,27 @@ public class DijkstrasShortestPathAdjacencyList {
 
   private int n;
   private double[] dist;
-  private Integer[] prev;
+  private int[] prev;
   private List<List<Edge>> graph;
 
+  // Set instead of the adjacency list when running on an immutable CSR graph.
+  private StaticGraph staticGraph;
+
+  // Whether to use a monotone integer priority queue, and the queue used last time.
+  private boolean integerQueue;
+  private MonotonePriorityQueue monotoneQueue;
+
+  // Largest edge cost for the integer mode, or -1 if it has to be recomputed because
+  // edges were added since it was last computed.
+  private int maxCost = -1;
+
+  // Buffers of the integer mode, kept between runs. Only the entries of the nodes
+  // touched by the previous run are reset before the next one.
+  private long[] longDist;
+  private boolean[] settled;
+  private int[] integerPrev, touched;
+  private int numTouched;
+
   private Comparator<Node> comparator =
       new Comparator<Node>() {
         @Override
@@ -76,6 +106,33 @@ public class DijkstrasShortestPathAdjacencyList {
     this.comparator = comparator;
   }
 
+  /**
+   * Initialize the solver with an existing immutable graph, for instance a {@link
+   * com.williamfiset.algorithms.utils.graphutils.CsrGraph} or a graph memory mapped from disk with
+   * {@link com.williamfiset.algorithms.utils.graphutils.MappedGraph}. Edges cannot be added to the
+   * graph afterwards.
+   */
+  public DijkstrasShortestPathAdjacencyList(StaticGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    this.n = graph.numNodes();
+    this.staticGraph = graph;
+  }
+
+  public DijkstrasShortestPathAdjacencyList(StaticGraph graph, Comparator<Node> comparator) {
+    this(graph);
+    if (comparator == null) throw new IllegalArgumentException("Comparator cannot be null");
+    this.comparator = comparator;
+  }
+
+  /**
+   * Selects whether to run with a monotone integer priority queue instead of the comparator based
+   * one. Every edge cost must then be a non negative integer, which is checked by the first run
+   * after edges are added.
+   */
+  public void useIntegerQueue(boolean integerQueue) {
+    this.integerQueue = integerQueue;
+  }
+
   /**
    * Adds a directed edge to the graph.
    *
@@ -84,12 +141,16 @@ public class DijkstrasShortestPathAdjacencyList {
    * @param cost - The cost of the edge.
    */
   public void addEdge(int from, int to, int cost) {
+    if (staticGraph != null) throw new IllegalStateException("Cannot add edges to a static graph");
     graph.get(from).add(new Edge(from, to, cost));
+    maxCost = -1;
   }
 
   // Use {@link #addEdge} method to add edges to the graph and use this method
   // to retrieve the constructed graph.
   public List<List<Edge>> getGraph() {
+    // The caller may change the edges through the returned list.
+    maxCost = -1;
     return graph;
   }
 
@@ -105,16 +166,40 @@ public class DijkstrasShortestPathAdjacencyList {
     double dist = dijkstra(start, end);
     List<Integer> path = new ArrayList<>();
     if (dist == Double.POSITIVE_INFINITY) return path;
-    for (Integer at = end; at != null; at = prev[at]) path.add(at);
+    for (int at = end; at != -1; at = prev[at]) path.add(at);
     Collections.reverse(path);
     return path;
   }
 
+  /**
+   * Runs Dijkstra's algorithm from 'start' to every node in the graph.
+   *
+   * @return The distance from 'start' to every node, Double.POSITIVE_INFINITY for the nodes which
+   *     cannot be reached. Use {@link #getPrev} to get the shortest path tree.
+   */
+  public double[] dijkstra(int start) {
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid node index");
+    // No node has index -1 so the search never stops early.
+    dijkstra(start, -1);
+    return dist;
+  }
+
+  /**
+   * Returns the node before every node on its shortest path from the start node of the last run,
+   * or -1 for the start node and the nodes which were not reached.
+   */
+  public int[] getPrev() {
+    if (prev == null) throw new IllegalStateException("Dijkstra has not been run yet.");
+    return prev.clone();
+  }
+
   // Run Dijkstra's algorithm on a directed graph to find the shortest path
   // from a starting node to an ending node. If there is no path between the
   // starting node and the destination node the returned value is set to be
   // Double.POSITIVE_INFINITY.
   public double dijkstra(int start, int end) {
+    if (integerQueue) return integerDijkstra(start, end);
+
     // Maintain an array of the minimum distance to each node
     dist = new double[n];
     Arrays.fill(dist, Double.POSITIVE_INFINITY);
@@ -126,7 +211,8 @@ public class DijkstrasShortestPathAdjacencyList {
 
     // Array used to track which nodes have already been visited.
     boolean[] visited = new boolean[n];
-    prev = new Integer[n];
+    prev = new int[n];
+    Arrays.fill(prev, -1);
 
     while (!pq.isEmpty()) {
       Node node = pq.poll();
@@ -136,20 +222,15 @@ public class DijkstrasShortestPathAdjacencyList {
       // processing this node so we can ignore it.
       if (dist[node.id] < node.value) continue;
 
-      List<Edge> edges = graph.get(node.id);
-      for (int i = 0; i < edges.size(); i++) {
-        Edge edge = edges.get(i);
-
-        // You cannot get a shorter path by revisiting
-        // a node you have already visited before.
-        if (visited[edge.to]) continue;
-
-        // Relax edge by updating minimum cost if applicable.
-        double newDist = dist[edge.from] + edge.cost;
-        if (newDist < dist[edge.to]) {
-          prev[edge.to] = edge.from;
-          dist[edge.to] = newDist;
-          pq.offer(new Node(edge.to, dist[edge.to]));
+      if (staticGraph != null) {
+        for (int e = staticGraph.start(node.id); e < staticGraph.end(node.id); e++) {
+          relax(pq, visited, node.id, staticGraph.target(e), staticGraph.weight(e));
+        }
+      } else {
+        List<Edge> edges = graph.get(node.id);
+        for (int i = 0; i < edges.size(); i++) {
+          Edge edge = edges.get(i);
+          relax(pq, visited, edge.from, edge.to, edge.cost);
         }
       }
       // Once we've visited all the nodes spanning from the end
@@ -161,6 +242,113 @@ public class DijkstrasShortestPathAdjacencyList {
     return Double.POSITIVE_INFINITY;
   }
 
+  private void relax(PriorityQueue<Node> pq, boolean[] visited, int from, int to, double cost) {
+    // You cannot get a shorter path by revisiting
+    // a node you have already visited before.
+    if (visited[to]) return;
+
+    // Relax edge by updating minimum cost if applicable.
+    double newDist = dist[from] + cost;
+    if (newDist < dist[to]) {
+      prev[to] = from;
+      dist[to] = newDist;
+      pq.offer(new Node(to, dist[to]));
+    }
+  }
+
+  // Dijkstra's algorithm with a monotone integer priority queue. It keeps its own long
+  // distances and reuses its buffers between runs, so a point to point query costs time
+  // proportional to the part of the graph it explores and allocates nothing.
+  private double integerDijkstra(int start, int end) {
+    if (maxCost < 0) maxCost = maxIntegerCost();
+    boolean dial = maxCost <= DIAL_MAX_COST;
+    if (dial && !(monotoneQueue instanceof DialBucketQueue)) {
+      monotoneQueue = new DialBucketQueue(n, DIAL_MAX_COST);
+    } else if (!dial && !(monotoneQueue instanceof RadixHeap)) {
+      monotoneQueue = new RadixHeap(n);
+    }
+    MonotonePriorityQueue pq = monotoneQueue;
+    pq.clear();
+
+    if (longDist == null) {
+      longDist = new long[n];
+      settled = new boolean[n];
+      integerPrev = new int[n];
+      touched = new int[n];
+      Arrays.fill(longDist, Long.MAX_VALUE);
+      Arrays.fill(integerPrev, -1);
+    }
+    for (int i = 0; i < numTouched; i++) {
+      int u = touched[i];
+      longDist[u] = Long.MAX_VALUE;
+      settled[u] = false;
+      integerPrev[u] = -1;
+    }
+    numTouched = 0;
+    prev = integerPrev;
+
+    longDist[start] = 0;
+    touched[numTouched++] = start;
+    pq.insert(start, 0);
+
+    while (!pq.isEmpty()) {
+      int u = pq.pollMinKeyIndex();
+      settled[u] = true;
+      if (u == end) return longDist[end];
+      if (staticGraph != null) {
+        for (int e = staticGraph.start(u); e < staticGraph.end(u); e++) {
+          relax(pq, u, staticGraph.target(e), (long) staticGraph.weight(e));
+        }
+      } else {
+        List<Edge> edges = graph.get(u);
+        for (int i = 0; i < edges.size(); i++) {
+          Edge edge = edges.get(i);
+          relax(pq, u, edge.to, (long) edge.cost);
+        }
+      }
+    }
+
+    // Only a run to every node hands out the distances of all the nodes.
+    if (end < 0) {
+      dist = new double[n];
+      for (int i = 0; i < n; i++)
+        dist[i] = longDist[i] == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : longDist[i];
+    }
+    return Double.POSITIVE_INFINITY;
+  }
+
+  private void relax(MonotonePriorityQueue pq, int from, int to, long cost) {
+    if (settled[to]) return;
+    long newDist = longDist[from] + cost;
+    if (newDist < longDist[to]) {
+      if (longDist[to] == Long.MAX_VALUE) {
+        pq.insert(to, newDist);
+        touched[numTouched++] = to;
+      } else {
+        pq.decrease(to, newDist);
+      }
+      longDist[to] = newDist;
+      integerPrev[to] = from;
+    }
+  }
+
+  // Finds the largest edge cost, checking that every cost is a non negative integer.
+  private int maxIntegerCost() {
+    double max = 0;
+    if (staticGraph != null) {
+      for (int e = 0; e < staticGraph.numEdges(); e++) max = checkCost(staticGraph.weight(e), max);
+    } else {
+      for (List<Edge> edges : graph) for (Edge edge : edges) max = checkCost(edge.cost, max);
+    }
+    return (int) max;
+  }
+
+  private static double checkCost(double cost, double max) {
+    if (!(cost >= 0) || cost != Math.rint(cost) || cost > Integer.MAX_VALUE)
+      throw new IllegalStateException("Integer queue needs non negative integer costs: " + cost);
+    return Math.max(max, cost);
+  }
+
   // Construct an empty graph with n nodes including the source and sink nodes.
   private void createEmptyGraph() {
     graph = new ArrayList<>(n);
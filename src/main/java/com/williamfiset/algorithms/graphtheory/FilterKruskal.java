@@ -0,0 +1,321 @@
+/**
+ * Filter-Kruskal, a version of Kruskal's MST algorithm which avoids sorting most of the edges of
+ * dense graphs (Osipov, Sanders and Singler, "The Filter-Kruskal Minimum Spanning Tree Algorithm").
+ *
+ * <p>Kruskal only needs the edges in sorted order up to the point where the tree is complete, and
+ * once two nodes are connected every heavier edge between them is useless. So instead of sorting
+ * everything up front the edges are sorted quicksort style: a pivot weight taken from a random
+ * sample splits them into light and heavy edges, the light edges are processed first, recursively,
+ * and then the heavy edges whose endpoints the light ones already connected are filtered out before
+ * recursing on the rest. On dense graphs the tree connects everything early and most heavy edges
+ * are discarded without ever being sorted.
+ *
+ * <p>The edges are given as primitive arrays and only an int[] of edge indexes is permuted. On
+ * large ranges partitioning and filtering are stable scatters whose chunks run in parallel on a
+ * fork-join pool. Small ranges are partitioned in place.
+ *
+ * <p>Time Complexity: O(E + V log V log(E / V)) expected on random weights, O(E log E) worst case
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+public class FilterKruskal {
+
+  // Ranges up to this size are insertion sorted and fed straight to Kruskal.
+  private static final int BASE_CASE = 16;
+
+  // Ranges below this size are partitioned and filtered sequentially, in place.
+  private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+  // Number of edges classified by one task of a parallel split.
+  private static final int CHUNK_SIZE = 1 << 13;
+
+  // Size of the random sample the pivot is the median of.
+  private static final int SAMPLE_SIZE = 9;
+
+  // Inputs
+  private final int n, m;
+  private final int[] u, v;
+  private final long[] w;
+
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  // Internal
+  private boolean solved;
+  private boolean mstExists;
+  private int[] edges; // Edge indexes, permuted in place
+  private int[] scratch; // Target of the parallel scatters
+  private byte[] edgeClass; // Class of every edge in a parallel split
+  private UnionFind uf;
+  private final Random random = new Random(0);
+
+  // Outputs
+  private int[] mst;
+  private int mstSize;
+  private long mstCost;
+
+  /**
+   * Creates a solver for the undirected edges (u[i], v[i]) of weight w[i] on the nodes [0, n).
+   * The arrays are not copied.
+   */
+  public FilterKruskal(int n, int[] u, int[] v, long[] w) {
+    if (n <= 0) throw new IllegalArgumentException("Need at least one node.");
+    if (u == null || v == null || w == null) throw new IllegalArgumentException();
+    if (u.length != v.length || u.length != w.length)
+      throw new IllegalArgumentException("Edge arrays must have the same length.");
+    for (int i = 0; i < u.length; i++) {
+      if (u[i] < 0 || u[i] >= n || v[i] < 0 || v[i] >= n)
+        throw new IllegalArgumentException("Invalid edge " + i);
+    }
+    this.n = n;
+    this.m = u.length;
+    this.u = u;
+    this.v = v;
+    this.w = w;
+  }
+
+  /** Sets the pool partitioning and filtering run on, the common pool by default. */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.pool = pool;
+  }
+
+  /**
+   * Gets the indexes of the edges in the Minimum Spanning Tree (MST), in the order Kruskal added
+   * them, or null if no MST exists.
+   */
+  public int[] getMst() {
+    kruskals();
+    return mstExists ? mst.clone() : null;
+  }
+
+  // Gets the Minimum Spanning Tree (MST) cost or null if no MST exists.
+  public Long getMstCost() {
+    kruskals();
+    return mstExists ? mstCost : null;
+  }
+
+  private void kruskals() {
+    if (solved) return;
+
+    edges = new int[m];
+    for (int i = 0; i < m; i++) edges[i] = i;
+    if (m >= PARALLEL_THRESHOLD) {
+      scratch = new int[m];
+      edgeClass = new byte[m];
+    }
+    uf = new UnionFind(n);
+    mst = new int[n - 1];
+
+    filterKruskal(0, m);
+
+    mstExists = (mstSize == n - 1);
+    edges = scratch = null;
+    edgeClass = null;
+    uf = null;
+    solved = true;
+  }
+
+  // Adds the MST edges among edges[lo, hi) to the tree, lightest first.
+  private void filterKruskal(int lo, int hi) {
+    while (hi - lo > 0 && mstSize < n - 1) {
+      if (hi - lo <= BASE_CASE) {
+        insertionSort(lo, hi);
+        for (int i = lo; i < hi; i++) tryAdd(edges[i]);
+        return;
+      }
+
+      // Split into [lo, lt) lighter than the pivot, [lt, gt) equal to it and [gt, hi)
+      // heavier.
+      long pivot = choosePivot(lo, hi);
+      int lt, gt;
+      if (hi - lo < PARALLEL_THRESHOLD) {
+        long bounds = partitionInPlace(lo, hi, pivot);
+        lt = (int) (bounds >>> 32);
+        gt = (int) bounds;
+      } else {
+        int[] bounds = split(lo, hi, 3, e -> w[e] < pivot ? 0 : w[e] == pivot ? 1 : 2);
+        lt = bounds[0];
+        gt = bounds[1];
+      }
+
+      filterKruskal(lo, lt);
+      for (int i = lt; i < gt && mstSize < n - 1; i++) tryAdd(edges[i]);
+
+      // Drop the heavy edges the lighter ones already made useless, and carry on with
+      // the rest.
+      lo = gt;
+      if (hi - lo < PARALLEL_THRESHOLD) {
+        int kept = lo;
+        for (int i = lo; i < hi; i++) {
+          int e = edges[i];
+          if (uf.find(u[e]) != uf.find(v[e])) edges[kept++] = e;
+        }
+        hi = kept;
+      } else {
+        // No unions happen during the filter, so concurrent path compression only ever
+        // stores the final roots and the finds can run in parallel.
+        hi = split(lo, hi, 2, e -> uf.find(u[e]) != uf.find(v[e]) ? 0 : 1)[0];
+      }
+    }
+  }
+
+  private void tryAdd(int e) {
+    if (uf.union(u[e], v[e])) {
+      mst[mstSize++] = e;
+      mstCost += w[e];
+    }
+  }
+
+  // The median weight of a random sample of edges[lo, hi).
+  private long choosePivot(int lo, int hi) {
+    long[] sample = new long[SAMPLE_SIZE];
+    for (int i = 0; i < SAMPLE_SIZE; i++) sample[i] = w[edges[lo + random.nextInt(hi - lo)]];
+    Arrays.sort(sample);
+    return sample[SAMPLE_SIZE / 2];
+  }
+
+  // Dijkstra's three way partition of edges[lo, hi) around the pivot weight. Returns the
+  // start of the equal and of the heavy edges packed into a long.
+  private long partitionInPlace(int lo, int hi, long pivot) {
+    int lt = lo, i = lo, gt = hi;
+    while (i < gt) {
+      int e = edges[i];
+      if (w[e] < pivot) {
+        edges[i++] = edges[lt];
+        edges[lt++] = e;
+      } else if (w[e] > pivot) {
+        edges[i] = edges[--gt];
+        edges[gt] = e;
+      } else {
+        i++;
+      }
+    }
+    return (long) lt << 32 | gt;
+  }
+
+  // Stably reorders edges[lo, hi) by the class in [0, numClasses) the classifier gives
+  // every edge, classifying and scattering chunks of edges in parallel. Returns the end
+  // of every class but the last.
+  private int[] split(int lo, int hi, int numClasses, IntUnaryOperator classifier) {
+    final int numChunks = (hi - lo + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final int[] counts = new int[numChunks * numClasses];
+    parallelFor(
+        numChunks,
+        chunk -> {
+          for (int i = lo + chunk * CHUNK_SIZE, end = Math.min(hi, i + CHUNK_SIZE); i < end; i++) {
+            int c = classifier.applyAsInt(edges[i]);
+            edgeClass[i] = (byte) c;
+            counts[chunk * numClasses + c]++;
+          }
+        });
+
+    // Turn the counts into the position of every chunk's first edge of every class.
+    int[] ends = new int[numClasses - 1];
+    int pos = lo;
+    for (int c = 0; c < numClasses; c++) {
+      for (int chunk = 0; chunk < numChunks; chunk++) {
+        int count = counts[chunk * numClasses + c];
+        counts[chunk * numClasses + c] = pos;
+        pos += count;
+      }
+      if (c < numClasses - 1) ends[c] = pos;
+    }
+
+    parallelFor(
+        numChunks,
+        chunk -> {
+          for (int i = lo + chunk * CHUNK_SIZE, end = Math.min(hi, i + CHUNK_SIZE); i < end; i++) {
+            scratch[counts[chunk * numClasses + edgeClass[i]]++] = edges[i];
+          }
+        });
+    System.arraycopy(scratch, lo, edges, lo, hi - lo);
+    return ends;
+  }
+
+  private void insertionSort(int lo, int hi) {
+    for (int i = lo + 1; i < hi; i++) {
+      int e = edges[i], j = i - 1;
+      for (; j >= lo && w[edges[j]] > w[e]; j--) edges[j + 1] = edges[j];
+      edges[j + 1] = e;
+    }
+  }
+
+  private void parallelFor(int numTasks, IntConsumer body) {
+    if (numTasks <= 1) IntStream.range(0, numTasks).forEach(body);
+    else pool.submit(() -> IntStream.range(0, numTasks).parallel().forEach(body)).join();
+  }
+
+  // Union find data structure
+  private static class UnionFind {
+    private int[] id, sz;
+
+    public UnionFind(int n) {
+      id = new int[n];
+      sz = new int[n];
+      for (int i = 0; i < n; i++) {
+        id[i] = i;
+        sz[i] = 1;
+      }
+    }
+
+    public int find(int p) {
+      int root = p;
+      while (root != id[root]) root = id[root];
+      // Path compression
+      while (p != root) {
+        int next = id[p];
+        id[p] = root;
+        p = next;
+      }
+      return root;
+    }
+
+    // Returns whether the two sets were merged.
+    public boolean union(int p, int q) {
+      int root1 = find(p);
+      int root2 = find(q);
+      if (root1 == root2) return false;
+      if (sz[root1] < sz[root2]) {
+        sz[root2] += sz[root1];
+        id[root1] = root2;
+      } else {
+        sz[root1] += sz[root2];
+        id[root2] = root1;
+      }
+      return true;
+    }
+  }
+
+  public static void main(String[] args) {
+    // A dense random graph with about 250 edges per node.
+    int n = 20_000, m = 5_000_000;
+    Random random = new Random(0);
+    int[] u = new int[m], v = new int[m];
+    long[] w = new long[m];
+    for (int i = 0; i < m; i++) {
+      u[i] = random.nextInt(n);
+      v[i] = random.nextInt(n);
+      w[i] = random.nextInt(1_000_000_000);
+    }
+
+    long time = System.nanoTime();
+    Long cost = new FilterKruskal(n, u, v, w).getMstCost();
+    time = System.nanoTime() - time;
+    System.out.printf("Filter-Kruskal: cost %d in %.2f s\n", cost, time / 1e9);
+
+    time = System.nanoTime();
+    Integer[] order = new Integer[m];
+    for (int i = 0; i < m; i++) order[i] = i;
+    Arrays.sort(order, (a, b) -> Long.compare(w[a], w[b]));
+    System.out.printf("Sorting all edges alone: %.2f s\n", (System.nanoTime() - time) / 1e9);
+  }
+}
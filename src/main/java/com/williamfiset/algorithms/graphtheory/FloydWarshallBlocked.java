@@ -0,0 +1,255 @@
+/**
+ * A cache blocked, parallel version of {@link FloydWarshallSolver} with the same results, the same
+ * negative cycle detection and the same path reconstruction.
+ *
+ * <p>The textbook triple loop streams the whole n x n matrix through memory once for every k, so
+ * for large n it is bound by memory bandwidth rather than arithmetic. Here the distance matrix is a
+ * single flat row major double[] split into B x B tiles, and the k loop is processed one block of
+ * B values at a time in three steps:
+ *
+ * <ol>
+ *   <li>The diagonal tile (K, K) runs plain Floyd-Warshall on itself.
+ *   <li>The tiles in row K and in column K are updated through the diagonal tile. They only depend
+ *       on themselves and the diagonal tile, so they run in parallel.
+ *   <li>Every other tile (I, J) is updated through the tiles (I, K) and (K, J), which do not change
+ *       in this step, so all of them run in parallel.
+ * </ol>
+ *
+ * <p>Each tile update touches three tiles which fit in cache together, so every value loaded from
+ * memory is reused B times. The inner loop walks contiguous rows, which the JIT can unroll.
+ *
+ * <p>Time Complexity: O(V^3), spread over the threads of a fork-join pool.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import static java.lang.Double.NEGATIVE_INFINITY;
+import static java.lang.Double.POSITIVE_INFINITY;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class FloydWarshallBlocked {
+
+  // Default tile size. Three 64 x 64 tiles of doubles take 96KB, which fits in the
+  // L2 cache of most cores.
+  public static final int DEFAULT_BLOCK_SIZE = 64;
+
+  private static final int REACHES_NEGATIVE_CYCLE = -1;
+
+  private final int n, blockSize, numBlocks;
+  private boolean solved;
+
+  // dp[i * n + j] is the distance from i to j and next[i * n + j] the node after i on
+  // that path.
+  private final double[] dp;
+  private final int[] next;
+
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  /**
+   * As input, this class takes an adjacency matrix with edge weights between nodes, where
+   * POSITIVE_INFINITY is used to indicate that two nodes are not connected. See {@link
+   * FloydWarshallSolver#FloydWarshallSolver(double[][])}.
+   */
+  public FloydWarshallBlocked(double[][] matrix) {
+    this(matrix, DEFAULT_BLOCK_SIZE);
+  }
+
+  public FloydWarshallBlocked(double[][] matrix, int blockSize) {
+    if (matrix == null) throw new IllegalArgumentException("Matrix cannot be null.");
+    if (blockSize <= 0) throw new IllegalArgumentException("Block size must be positive.");
+    n = matrix.length;
+    // The flat matrix is indexed with ints.
+    if ((long) n * n > Integer.MAX_VALUE) throw new IllegalArgumentException("Matrix too large.");
+    this.blockSize = blockSize;
+    numBlocks = (n + blockSize - 1) / blockSize;
+    dp = new double[n * n];
+    next = new int[n * n];
+
+    // Copy input matrix and setup 'next' matrix for path reconstruction.
+    for (int i = 0; i < n; i++) {
+      if (matrix[i].length != n) throw new IllegalArgumentException("Matrix must be square.");
+      for (int j = 0; j < n; j++) {
+        dp[i * n + j] = matrix[i][j];
+        next[i * n + j] = j;
+      }
+    }
+  }
+
+  /** Sets the pool the tiles are updated on, the common pool by default. */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.pool = pool;
+  }
+
+  /**
+   * Runs Floyd-Warshall to compute the shortest distance between every pair of nodes.
+   *
+   * @return The solved All Pairs Shortest Path (APSP) matrix.
+   */
+  public double[][] getApspMatrix() {
+    solve();
+    double[][] matrix = new double[n][n];
+    for (int i = 0; i < n; i++) System.arraycopy(dp, i * n, matrix[i], 0, n);
+    return matrix;
+  }
+
+  /**
+   * Runs Floyd-Warshall and returns the distances as a flat row major matrix, the distance from i
+   * to j being at index i * n + j. The array is not copied.
+   */
+  public double[] getFlatApspMatrix() {
+    solve();
+    return dp;
+  }
+
+  // Executes the blocked Floyd-Warshall algorithm.
+  public void solve() {
+    if (solved) return;
+
+    for (int block = 0; block < numBlocks; block++) {
+      final int kb = block, k0 = kb * blockSize, k1 = Math.min(n, k0 + blockSize);
+
+      updateTile(k0, k1, k0, k1, k0, k1);
+
+      // Row K and column K: numBlocks - 1 tiles each.
+      parallelFor(
+          2 * (numBlocks - 1),
+          task -> {
+            int b = task % (numBlocks - 1);
+            if (b >= kb) b++;
+            int lo = b * blockSize, hi = Math.min(n, lo + blockSize);
+            if (task < numBlocks - 1) updateTile(k0, k1, lo, hi, k0, k1);
+            else updateTile(lo, hi, k0, k1, k0, k1);
+          });
+
+      // Every other tile. A task updates a whole row of tiles, which lets it reuse
+      // the tile (I, K).
+      parallelFor(
+          numBlocks,
+          ib -> {
+            if (ib == kb) return;
+            int i0 = ib * blockSize, i1 = Math.min(n, i0 + blockSize);
+            for (int jb = 0; jb < numBlocks; jb++) {
+              if (jb == kb) continue;
+              int j0 = jb * blockSize, j1 = Math.min(n, j0 + blockSize);
+              updateIndependentTile(i0, i1, j0, j1, k0, k1);
+            }
+          });
+    }
+
+    // Identify negative cycles by propagating the value 'NEGATIVE_INFINITY' to every
+    // pair which can pass through a node on a negative cycle. Whether a pair is
+    // connected never changes here, so the rows can be processed independently.
+    int[] negative = IntStream.range(0, n).filter(k -> dp[k * n + k] < 0).toArray();
+    if (negative.length > 0) {
+      parallelFor(
+          n,
+          i -> {
+            for (int k : negative) {
+              if (dp[i * n + k] == POSITIVE_INFINITY) continue;
+              for (int j = 0, kj = k * n, ij = i * n; j < n; j++, kj++, ij++) {
+                if (dp[kj] != POSITIVE_INFINITY) {
+                  dp[ij] = NEGATIVE_INFINITY;
+                  next[ij] = REACHES_NEGATIVE_CYCLE;
+                }
+              }
+            }
+          });
+    }
+
+    solved = true;
+  }
+
+  // Relaxes the tile of rows [i0, i1) and columns [j0, j1) through the nodes [k0, k1)
+  // in order. Used for the tiles which overlap the tiles they read from.
+  private void updateTile(int i0, int i1, int j0, int j1, int k0, int k1) {
+    for (int k = k0; k < k1; k++) {
+      for (int i = i0; i < i1; i++) {
+        double dik = dp[i * n + k];
+        if (dik == POSITIVE_INFINITY) continue;
+        int nik = next[i * n + k];
+        for (int j = j0, ij = i * n + j0, kj = k * n + j0; j < j1; j++, ij++, kj++) {
+          double d = dik + dp[kj];
+          if (d < dp[ij]) {
+            dp[ij] = d;
+            next[ij] = nik;
+          }
+        }
+      }
+    }
+  }
+
+  // Same as updateTile for a tile which shares no rows or columns with the tiles it
+  // reads from. Those stay fixed, so the loops can run row by row, keeping a row of
+  // the output in registers and cache while going through k.
+  private void updateIndependentTile(int i0, int i1, int j0, int j1, int k0, int k1) {
+    for (int i = i0; i < i1; i++) {
+      for (int k = k0; k < k1; k++) {
+        double dik = dp[i * n + k];
+        if (dik == POSITIVE_INFINITY) continue;
+        int nik = next[i * n + k];
+        for (int j = j0, ij = i * n + j0, kj = k * n + j0; j < j1; j++, ij++, kj++) {
+          double d = dik + dp[kj];
+          if (d < dp[ij]) {
+            dp[ij] = d;
+            next[ij] = nik;
+          }
+        }
+      }
+    }
+  }
+
+  private void parallelFor(int numTasks, IntConsumer body) {
+    if (numTasks <= 1) IntStream.range(0, numTasks).forEach(body);
+    else pool.submit(() -> IntStream.range(0, numTasks).parallel().forEach(body)).join();
+  }
+
+  /**
+   * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive.
+   *
+   * @return An array of nodes indexes of the shortest path from 'start' to 'end'. If 'start' and
+   *     'end' are not connected return an empty array. If the shortest path from 'start' to 'end'
+   *     are reachable by a negative cycle return null.
+   */
+  public List<Integer> reconstructShortestPath(int start, int end) {
+    solve();
+    List<Integer> path = new ArrayList<>();
+    if (dp[start * n + end] == POSITIVE_INFINITY) return path;
+    int at = start;
+    for (; at != end; at = next[at * n + end]) {
+      // Return null since there are an infinite number of shortest paths.
+      if (at == REACHES_NEGATIVE_CYCLE) return null;
+      path.add(at);
+    }
+    // Return null since there are an infinite number of shortest paths.
+    if (next[at * n + end] == REACHES_NEGATIVE_CYCLE) return null;
+    path.add(end);
+    return path;
+  }
+
+  public static void main(String[] args) {
+    int n = 1500;
+    Random random = new Random(0);
+    double[][] matrix = FloydWarshallSolver.createGraph(n);
+    for (int i = 0; i < 10 * n; i++) {
+      matrix[random.nextInt(n)][random.nextInt(n)] = 1 + random.nextInt(100);
+    }
+
+    long time = System.nanoTime();
+    double[][] expected = new FloydWarshallSolver(matrix).getApspMatrix();
+    System.out.printf("FloydWarshallSolver: %.2f s\n", (System.nanoTime() - time) / 1e9);
+
+    time = System.nanoTime();
+    double[][] actual = new FloydWarshallBlocked(matrix).getApspMatrix();
+    System.out.printf("FloydWarshallBlocked: %.2f s\n", (System.nanoTime() - time) / 1e9);
+    System.out.println("Same result: " + Arrays.deepEquals(expected, actual));
+  }
+}
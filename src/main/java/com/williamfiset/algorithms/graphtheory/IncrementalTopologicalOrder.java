@@ -0,0 +1,236 @@
+/**
+ * Maintains a topological order of a DAG while edges are added one at a time, using the algorithm
+ * of Pearce and Kelly, "A Dynamic Topological Sort Algorithm for Directed Acyclic Graphs". Running
+ * {@link Kahns} again after every insertion costs O(V+E) each time, while here an insertion only
+ * touches the part of the graph whose order actually has to change.
+ *
+ * <p>Every node has a position in the order. Adding an edge x -> y where x already comes before y
+ * changes nothing. Otherwise only the nodes with positions between those of y and x can be
+ * affected: a forward search from y collects the ones y reaches and a backward search from x the
+ * ones which reach x, both restricted to that window. If the forward search reaches x the edge
+ * would close a cycle and is rejected. Otherwise the two sets are put back into the positions they
+ * held between them, the nodes reaching x first, each set keeping its relative order.
+ *
+ * <p>Time complexity: O(d log d) per insertion, where d is the number of nodes and edges visited by
+ * the two searches. That is usually a tiny fraction of the graph and O(V+E) in the worst case.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class IncrementalTopologicalOrder {
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private int n;
+
+  // ord[v] is the position of v and node[i] the node at position i.
+  private int[] ord, node;
+
+  // Outgoing and incoming edges of every node, in growable arrays.
+  private int[][] out, in;
+  private int[] outDegree, inDegree;
+  private int numEdges;
+
+  // Search state. A node is visited by the current search when mark[v] == stamp, which
+  // saves clearing the marks between searches.
+  private int[] mark, stack;
+  private int stamp;
+  private int[] forward, backward;
+  private int forwardSize, backwardSize;
+
+  // Creates an empty graph with 'n' nodes, ordered 0, 1, ..., n - 1.
+  public IncrementalTopologicalOrder(int n) {
+    if (n < 0) throw new IllegalArgumentException("n cannot be negative");
+    int capacity = Math.max(n, INITIAL_CAPACITY);
+    ord = new int[capacity];
+    node = new int[capacity];
+    out = new int[capacity][];
+    in = new int[capacity][];
+    outDegree = new int[capacity];
+    inDegree = new int[capacity];
+    mark = new int[capacity];
+    stack = new int[capacity];
+    forward = new int[capacity];
+    backward = new int[capacity];
+    for (int v = 0; v < n; v++) addNode();
+  }
+
+  // Returns the number of nodes in the graph.
+  public int numNodes() {
+    return n;
+  }
+
+  // Returns the number of edges in the graph.
+  public int numEdges() {
+    return numEdges;
+  }
+
+  /** Adds a node without edges at the end of the order and returns its id. */
+  public int addNode() {
+    if (n == ord.length) grow();
+    ord[n] = n;
+    node[n] = n;
+    out[n] = new int[INITIAL_CAPACITY];
+    in[n] = new int[INITIAL_CAPACITY];
+    return n++;
+  }
+
+  /**
+   * Adds the directed edge 'x' -> 'y' and updates the order, unless the edge would create a
+   * cycle, in which case the graph is left unchanged.
+   *
+   * @return true if the edge was added, false if it was rejected because 'y' reaches 'x'.
+   */
+  public boolean addEdge(int x, int y) {
+    checkNode(x);
+    checkNode(y);
+    if (x == y) return false;
+    int lower = ord[y], upper = ord[x];
+    if (lower < upper) {
+      stamp++;
+      forwardSize = backwardSize = 0;
+      if (!searchForward(y, upper)) return false;
+      searchBackward(x, lower);
+      reorder();
+    }
+    out[x] = append(out[x], outDegree[x]++, y);
+    in[y] = append(in[y], inDegree[y]++, x);
+    numEdges++;
+    return true;
+  }
+
+  // Returns the position of node 'v' in the topological order.
+  public int position(int v) {
+    checkNode(v);
+    return ord[v];
+  }
+
+  // Returns the nodes in topological order.
+  public int[] getOrder() {
+    return Arrays.copyOf(node, n);
+  }
+
+  // Collects the nodes reachable from 'y' with positions up to 'upper' into 'forward'.
+  // Returns false if the search reaches the node at 'upper', which closes a cycle.
+  private boolean searchForward(int y, int upper) {
+    int top = 0;
+    stack[top++] = y;
+    mark[y] = stamp;
+    while (top > 0) {
+      int v = stack[--top];
+      forward[forwardSize++] = v;
+      for (int i = 0; i < outDegree[v]; i++) {
+        int w = out[v][i];
+        if (ord[w] == upper) return false;
+        if (ord[w] < upper && mark[w] != stamp) {
+          mark[w] = stamp;
+          stack[top++] = w;
+        }
+      }
+    }
+    return true;
+  }
+
+  // Collects the nodes reaching 'x' with positions from 'lower' into 'backward'. The
+  // forward search did not reach 'x', so the two sets are disjoint.
+  private void searchBackward(int x, int lower) {
+    int top = 0;
+    stack[top++] = x;
+    mark[x] = stamp;
+    while (top > 0) {
+      int v = stack[--top];
+      backward[backwardSize++] = v;
+      for (int i = 0; i < inDegree[v]; i++) {
+        int w = in[v][i];
+        if (ord[w] > lower && mark[w] != stamp) {
+          mark[w] = stamp;
+          stack[top++] = w;
+        }
+      }
+    }
+  }
+
+  // Gives the positions held by the two sets to the backward set first, then to the
+  // forward set, each in its current order.
+  private void reorder() {
+    sortByPosition(backward, backwardSize);
+    sortByPosition(forward, forwardSize);
+    int total = backwardSize + forwardSize;
+    int[] positions = new int[total];
+    for (int i = 0; i < backwardSize; i++) positions[i] = ord[backward[i]];
+    for (int i = 0; i < forwardSize; i++) positions[backwardSize + i] = ord[forward[i]];
+    Arrays.sort(positions);
+    for (int i = 0; i < total; i++) {
+      int v = i < backwardSize ? backward[i] : forward[i - backwardSize];
+      ord[v] = positions[i];
+      node[positions[i]] = v;
+    }
+  }
+
+  // Sorts the first 'size' nodes of 'nodes' by position. The positions of the nodes are
+  // distinct, so sorting (position, node) pairs packed into longs is enough.
+  private void sortByPosition(int[] nodes, int size) {
+    long[] keys = new long[size];
+    for (int i = 0; i < size; i++) keys[i] = (long) ord[nodes[i]] << 32 | nodes[i];
+    Arrays.sort(keys);
+    for (int i = 0; i < size; i++) nodes[i] = (int) keys[i];
+  }
+
+  private static int[] append(int[] array, int size, int value) {
+    if (size == array.length) array = Arrays.copyOf(array, 2 * size);
+    array[size] = value;
+    return array;
+  }
+
+  private void grow() {
+    int capacity = 2 * ord.length;
+    ord = Arrays.copyOf(ord, capacity);
+    node = Arrays.copyOf(node, capacity);
+    out = Arrays.copyOf(out, capacity);
+    in = Arrays.copyOf(in, capacity);
+    outDegree = Arrays.copyOf(outDegree, capacity);
+    inDegree = Arrays.copyOf(inDegree, capacity);
+    mark = Arrays.copyOf(mark, capacity);
+    stack = new int[capacity];
+    forward = new int[capacity];
+    backward = new int[capacity];
+  }
+
+  private void checkNode(int v) {
+    if (v < 0 || v >= n) throw new IllegalArgumentException("Invalid node index " + v);
+  }
+
+  public static void main(String[] args) {
+    // Insert random edges between 100k nodes, in the direction of a hidden order so that
+    // every edge is accepted, then try to add some edges closing cycles.
+    int n = 100_000, m = 500_000;
+    Random random = new Random(0);
+    int[] hidden = new int[n];
+    for (int i = 0; i < n; i++) hidden[i] = i;
+    for (int i = n - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1), tmp = hidden[i];
+      hidden[i] = hidden[j];
+      hidden[j] = tmp;
+    }
+
+    IncrementalTopologicalOrder dag = new IncrementalTopologicalOrder(n);
+    long time = System.nanoTime();
+    for (int i = 0; i < m; i++) {
+      int a = random.nextInt(n), b = random.nextInt(n);
+      if (a != b) dag.addEdge(hidden[Math.min(a, b)], hidden[Math.max(a, b)]);
+    }
+    time = System.nanoTime() - time;
+    System.out.printf("Inserted %d edges in %.2f s\n", dag.numEdges(), time / 1e9);
+
+    int rejected = 0;
+    for (int i = 0; i < 1000; i++) {
+      int a = random.nextInt(n), b = random.nextInt(n);
+      if (!dag.addEdge(hidden[Math.max(a, b)], hidden[Math.min(a, b)])) rejected++;
+    }
+    System.out.printf("%d of 1000 backward edges rejected\n", rejected);
+  }
+}
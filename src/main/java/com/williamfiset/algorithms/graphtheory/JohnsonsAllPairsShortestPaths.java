@@ -0,0 +1,187 @@
+/**
+ * Johnson's algorithm for all pairs shortest paths on sparse graphs which may have negative edge
+ * weights but no negative cycles.
+ *
+ * <p>A virtual node with a zero weight edge to every node is added and Bellman-Ford ({@link
+ * BellmanFordEdgeList}) computes the distance h(v) from it to every node. By the triangle
+ * inequality every reweighted edge w'(u, v) = w(u, v) + h(u) - h(v) is non negative, and every
+ * path from s to t changes in length by exactly h(s) - h(t), so shortest paths stay the same and a
+ * Dijkstra from every node gives all the distances. This takes O(VE + V * E log V) time instead of
+ * the O(V^3) of {@link FloydWarshallSolver}.
+ *
+ * <p>The V Dijkstras are independent and run in parallel on a fork-join pool. The sources are split
+ * into chunks and every chunk allocates one set of scratch arrays which it reuses for all of its
+ * sources. Each finished row is handed to a {@link RowConsumer} instead of being stored, so
+ * aggregates over all pairs need only O(V) memory per thread rather than the V x V matrix.
+ *
+ * <p>Time Complexity: O(VE log V)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapDouble;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class JohnsonsAllPairsShortestPaths {
+
+  /** Receives the distances from one source node to every node. */
+  public interface RowConsumer {
+    /**
+     * Called once per source node, concurrently from the threads of the pool. The array is scratch
+     * space reused for the next source, so it must be copied if it has to outlive the call.
+     */
+    void accept(int source, double[] dist);
+  }
+
+  // Degree of the d-ary heaps.
+  private static final int HEAP_DEGREE = 4;
+
+  // Number of chunks per thread, enough for the work stealing to even out sources with
+  // very different search sizes.
+  private static final int CHUNKS_PER_THREAD = 8;
+
+  private final int n;
+  private final StaticGraph graph;
+
+  // The potential h of every node and the reweighted, non negative edge weights.
+  private final double[] potential, weights;
+
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  /**
+   * Creates a solver for the graph and reweights it.
+   *
+   * @throws IllegalArgumentException if the graph contains a negative cycle.
+   */
+  public JohnsonsAllPairsShortestPaths(StaticGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    this.graph = graph;
+    this.n = graph.numNodes();
+    final int m = graph.numEdges();
+
+    // Run Bellman-Ford from a virtual node 'n' connected to every node.
+    BellmanFordEdgeList.Edge[] edges = new BellmanFordEdgeList.Edge[m + n];
+    for (int u = 0; u < n; u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        edges[e] = new BellmanFordEdgeList.Edge(u, graph.target(e), graph.weight(e));
+      }
+      edges[m + u] = new BellmanFordEdgeList.Edge(n, u, 0);
+    }
+    potential = Arrays.copyOf(BellmanFordEdgeList.bellmanFord(edges, n + 1, n), n);
+    for (int v = 0; v < n; v++) {
+      if (potential[v] == Double.NEGATIVE_INFINITY)
+        throw new IllegalArgumentException("Graph contains a negative cycle");
+    }
+
+    weights = new double[m];
+    for (int u = 0; u < n; u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        // Rounding can leave a tight edge very slightly negative.
+        weights[e] = Math.max(0, graph.weight(e) + potential[u] - potential[graph.target(e)]);
+      }
+    }
+  }
+
+  /** Sets the pool the Dijkstras run on, the common pool by default. */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.pool = pool;
+  }
+
+  /**
+   * Computes the shortest distance between every pair of nodes, passing the row of every source
+   * node to the consumer. Unreachable nodes have distance Double.POSITIVE_INFINITY.
+   */
+  public void solve(RowConsumer consumer) {
+    if (consumer == null) throw new IllegalArgumentException("Consumer cannot be null.");
+    final int numChunks = Math.min(n, CHUNKS_PER_THREAD * pool.getParallelism());
+    if (numChunks == 0) return;
+    IntConsumer body = chunk -> solveChunk(chunk, numChunks, consumer);
+    pool.submit(() -> IntStream.range(0, numChunks).parallel().forEach(body)).join();
+  }
+
+  // Solves the sources of one chunk, reusing the same scratch arrays for all of them.
+  private void solveChunk(int chunk, int numChunks, RowConsumer consumer) {
+    double[] dist = new double[n];
+    MinIndexedDHeapDouble pq = new MinIndexedDHeapDouble(HEAP_DEGREE, n);
+    int lo = (int) ((long) chunk * n / numChunks);
+    int hi = (int) ((long) (chunk + 1) * n / numChunks);
+    for (int s = lo; s < hi; s++) {
+      dijkstra(s, dist, pq);
+      consumer.accept(s, dist);
+    }
+  }
+
+  /**
+   * Computes the full all pairs shortest path matrix. Prefer {@link #solve(RowConsumer)} when only
+   * aggregates are needed.
+   */
+  public double[][] getApspMatrix() {
+    double[][] matrix = new double[n][];
+    solve((s, dist) -> matrix[s] = dist.clone());
+    return matrix;
+  }
+
+  // Runs Dijkstra from 's' on the reweighted graph and turns the distances back into
+  // distances on the original graph.
+  private void dijkstra(int s, double[] dist, MinIndexedDHeapDouble pq) {
+    Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    dist[s] = 0;
+    pq.insert(s, 0);
+    while (!pq.isEmpty()) {
+      int u = pq.pollMinKeyIndex();
+      double du = dist[u];
+      for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+        int v = graph.target(e);
+        double newDist = du + weights[e];
+        if (newDist < dist[v]) {
+          if (dist[v] == Double.POSITIVE_INFINITY) pq.insert(v, newDist);
+          else pq.decrease(v, newDist);
+          dist[v] = newDist;
+        }
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      if (dist[v] != Double.POSITIVE_INFINITY) dist[v] += potential[v] - potential[s];
+    }
+  }
+
+  public static void main(String[] args) {
+    // A sparse random graph with some negative edges but no negative cycles: adding
+    // p(v) - p(u) to an edge changes every cycle length by zero.
+    int n = 2000;
+    CsrGraph base = new GraphGenerator.ErdosRenyiGenerator(n, 8 * n, 100, 1).toCsrGraph();
+    double[] p = new double[n];
+    for (int v = 0; v < n; v++) p[v] = (v * 7919) % 150;
+    double[] w = base.weights().clone();
+    for (int u = 0; u < n; u++)
+      for (int e = base.start(u); e < base.end(u); e++) w[e] += p[base.target(e)] - p[u];
+    CsrGraph graph = CsrGraph.wrap(base.offsets(), base.targets(), w);
+
+    long time = System.nanoTime();
+    JohnsonsAllPairsShortestPaths solver = new JohnsonsAllPairsShortestPaths(graph);
+    // Average distance over all connected pairs, without storing the matrix.
+    DoubleAdder sum = new DoubleAdder();
+    DoubleAdder pairs = new DoubleAdder();
+    solver.solve(
+        (s, dist) -> {
+          for (int t = 0; t < dist.length; t++) {
+            if (t == s || dist[t] == Double.POSITIVE_INFINITY) continue;
+            sum.add(dist[t]);
+            pairs.add(1);
+          }
+        });
+    time = System.nanoTime() - time;
+    System.out.printf(
+        "Average distance %.3f over %.0f pairs in %.2f s\n",
+        sum.sum() / pairs.sum(), pairs.sum(), time / 1e9);
+  }
+}
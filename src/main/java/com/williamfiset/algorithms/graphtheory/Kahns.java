@@ -19,6 +19,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.williamfiset.algorithms.utils.graphutils.Utils.addDirectedEdge;
 import static com.williamfiset.algorithms.utils.graphutils.Utils.createEmptyAdjacencyList;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class Kahns {
@@ -64,6 +65,41 @@ public class Kahns {
     return order;
   }
 
+  // Same as above but for a graph in CSR form. The queue is a plain int array
+  // since every node is enqueued at most once.
+  public int[] kahns(CsrGraph g) {
+    final int n = g.numNodes();
+    final int[] offsets = g.offsets(), targets = g.targets();
+
+    int[] inDegree = new int[n];
+    for (int e = 0; e < targets.length; e++) {
+      inDegree[targets[e]]++;
+    }
+
+    // The order array doubles as the queue, nodes in [head, tail) are queued.
+    int[] order = new int[n];
+    int head = 0, tail = 0;
+    for (int i = 0; i < n; i++) {
+      if (inDegree[i] == 0) {
+        order[tail++] = i;
+      }
+    }
+
+    while (head < tail) {
+      int at = order[head++];
+      for (int e = offsets[at]; e < offsets[at + 1]; e++) {
+        int to = targets[e];
+        if (--inDegree[to] == 0) {
+          order[tail++] = to;
+        }
+      }
+    }
+    if (tail != n) {
+      throw new IllegalArgumentException("Graph is not acyclic! Detected a cycle.");
+    }
+    return order;
+  }
+
   // Example usage:
   public static void main(String[] args) {
     exampleFromSlides();
@@ -12,6 +12,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class Kosaraju {
@@ -28,12 +29,21 @@ public class Kosaraju {
   private List<List<Integer>> graph;
   private List<List<Integer>> transposeGraph;
 
+  // Set instead of the adjacency lists when the graph is given in CSR form.
+  private CsrGraph csrGraph, csrTransposeGraph;
+
   public Kosaraju(List<List<Integer>> graph) {
     if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
     this.graph = graph;
     n = graph.size();
   }
 
+  public Kosaraju(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    this.csrGraph = graph;
+    n = graph.numNodes();
+  }
+
   // Returns the number of strongly connected components in the graph.
   public int sccCount() {
     if (!solved) solve();
@@ -80,8 +90,14 @@ public class Kosaraju {
       return;
     }
     visited[from] = true;
-    for (int to : graph.get(from)) {
-      dfs1(to);
+    if (csrGraph != null) {
+      for (int e = csrGraph.start(from); e < csrGraph.end(from); e++) {
+        dfs1(csrGraph.target(e));
+      }
+    } else {
+      for (int to : graph.get(from)) {
+        dfs1(to);
+      }
     }
     postOrderTraversal.add(from);
   }
@@ -92,13 +108,23 @@ public class Kosaraju {
       return;
     }
     visited[from] = true;
-    for (int to : transposeGraph.get(from)) {
-      dfs2(to);
+    if (csrTransposeGraph != null) {
+      for (int e = csrTransposeGraph.start(from); e < csrTransposeGraph.end(from); e++) {
+        dfs2(csrTransposeGraph.target(e));
+      }
+    } else {
+      for (int to : transposeGraph.get(from)) {
+        dfs2(to);
+      }
     }
     sccs[from] = sccCount;
   }
 
   private void createTransposeGraph() {
+    if (csrGraph != null) {
+      csrTransposeGraph = csrGraph.transpose();
+      return;
+    }
     transposeGraph = createGraph(n);
     for (int u = 0; u < n; u++) {
       for (int v : graph.get(u)) {
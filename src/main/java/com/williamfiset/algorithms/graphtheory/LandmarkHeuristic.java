@@ -0,0 +1,263 @@
+/**
+ * Landmark based lower bounds on shortest path distances for the ALT algorithm (A*, Landmarks and
+ * the Triangle inequality). Unlike a Euclidean heuristic it works on any graph with non negative
+ * edge weights, including graphs weighted by travel time or cost where coordinates say little
+ * about distances.
+ *
+ * <p>For a landmark L the triangle inequality gives d(v, t) >= d(L, t) - d(L, v) and d(v, t) >=
+ * d(v, L) - d(t, L), so once the distances from and to every landmark are known the largest of
+ * these differences over all the landmarks is a lower bound on d(v, t) which A* can use as its
+ * heuristic. Landmarks which lie "behind" the start or the end of a query give tight bounds, so
+ * they should be spread out towards the edges of the graph:
+ *
+ * <ul>
+ *   <li>{@link Selection#FARTHEST} repeatedly picks the node farthest from the landmarks chosen so
+ *       far.
+ *   <li>{@link Selection#AVOID} (Goldberg and Werneck) grows the shortest path tree of a random
+ *       node, weighs every node by how poorly the current landmarks bound its distance from the
+ *       root and walks down the heaviest subtrees which do not yet contain a landmark. This
+ *       targets the regions where the bounds are weakest rather than just the far ones.
+ * </ul>
+ *
+ * <p>The distance tables are computed with {@link DijkstrasShortestPathAdjacencyList} on the graph
+ * and on its reverse, and are stored as floats, node major, so the distances of all the landmarks
+ * for a node share a cache line. Since rounding to float could make a bound slightly too large,
+ * every bound is lowered by the largest possible rounding error, which keeps it admissible.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.util.Arrays;
+import java.util.Random;
+
+public class LandmarkHeuristic {
+
+  /** Strategy used to choose the landmarks. */
+  public enum Selection {
+    FARTHEST,
+    AVOID
+  }
+
+  // Relative rounding error of a double converted to a float, with some slack.
+  private static final double FLOAT_ERROR = 1.0 / (1 << 23);
+
+  private static final float INF = Float.POSITIVE_INFINITY;
+
+  private final int n, k;
+  private final int[] landmarks;
+
+  // fromLandmark[v * k + i] is the distance from landmark i to v and toLandmark[v * k + i]
+  // the distance from v to landmark i.
+  private final float[] fromLandmark, toLandmark;
+
+  private final DijkstrasShortestPathAdjacencyList forwardSolver, backwardSolver;
+
+  /**
+   * Chooses 'numLandmarks' landmarks with the given strategy and computes their distance tables.
+   *
+   * @param seed - Seed for the random choices made while selecting landmarks.
+   */
+  public LandmarkHeuristic(StaticGraph graph, int numLandmarks, Selection selection, long seed) {
+    this(graph, numLandmarks);
+    if (selection == null) throw new IllegalArgumentException("Selection cannot be null.");
+    if (numLandmarks > n) throw new IllegalArgumentException("More landmarks than nodes.");
+    Random random = new Random(seed);
+    if (selection == Selection.FARTHEST) selectFarthest(random);
+    else selectAvoid(random);
+  }
+
+  /** Computes the distance tables of the given landmarks. */
+  public LandmarkHeuristic(StaticGraph graph, int[] landmarks) {
+    this(graph, landmarks == null ? 0 : landmarks.length);
+    for (int i = 0; i < k; i++) {
+      if (landmarks[i] < 0 || landmarks[i] >= n)
+        throw new IllegalArgumentException("Invalid landmark " + landmarks[i]);
+      addLandmark(i, landmarks[i]);
+    }
+  }
+
+  private LandmarkHeuristic(StaticGraph graph, int numLandmarks) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    if (numLandmarks <= 0) throw new IllegalArgumentException("Need at least one landmark.");
+    final int size;
+    try {
+      // The tables hold n * k floats, which every index into them stays below.
+      size = Math.multiplyExact(graph.numNodes(), numLandmarks);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(
+          "Too many nodes and landmarks for the distance tables: "
+              + graph.numNodes()
+              + " nodes, "
+              + numLandmarks
+              + " landmarks");
+    }
+    for (int e = 0; e < graph.numEdges(); e++) {
+      if (!(graph.weight(e) >= 0))
+        throw new IllegalArgumentException("Edge costs cannot be negative");
+    }
+    this.n = graph.numNodes();
+    this.k = numLandmarks;
+    landmarks = new int[k];
+    fromLandmark = new float[size];
+    toLandmark = new float[size];
+    forwardSolver = new DijkstrasShortestPathAdjacencyList(graph);
+    backwardSolver = new DijkstrasShortestPathAdjacencyList(BidirectionalDijkstra.reverse(graph));
+  }
+
+  public int numNodes() {
+    return n;
+  }
+
+  /** Returns the chosen landmarks. */
+  public int[] getLandmarks() {
+    return landmarks.clone();
+  }
+
+  /** Returns a lower bound on the distance from 'v' to 't', possibly Double.POSITIVE_INFINITY. */
+  public double lowerBound(int v, int t) {
+    double best = 0;
+    for (int i = 0, vi = v * k, ti = t * k; i < k; i++, vi++, ti++) {
+      double bound;
+      // A node reachable from a landmark is reachable from everything which can reach
+      // it, and similarly for the nodes which can reach a landmark. When one side of a
+      // difference is infinite this proves t cannot be reached from v.
+      float fromV = fromLandmark[vi], fromT = fromLandmark[ti];
+      if (fromV != INF) {
+        if (fromT == INF) return Double.POSITIVE_INFINITY;
+        bound = fromT - (double) fromV - (fromT + (double) fromV) * FLOAT_ERROR;
+        if (bound > best) best = bound;
+      }
+      float toV = toLandmark[vi], toT = toLandmark[ti];
+      if (toT != INF) {
+        if (toV == INF) return Double.POSITIVE_INFINITY;
+        bound = toV - (double) toT - (toV + (double) toT) * FLOAT_ERROR;
+        if (bound > best) best = bound;
+      }
+    }
+    return best;
+  }
+
+  // Makes 'landmark' the i-th landmark and fills in its distance tables.
+  private double[] addLandmark(int i, int landmark) {
+    landmarks[i] = landmark;
+    double[] from = forwardSolver.dijkstra(landmark);
+    double[] to = backwardSolver.dijkstra(landmark);
+    for (int v = 0; v < n; v++) {
+      fromLandmark[v * k + i] = (float) from[v];
+      toLandmark[v * k + i] = (float) to[v];
+    }
+    // The round trip distance, which measures how far v is from the landmark in both
+    // directions. In a directed graph v may only be connected to the landmark one way,
+    // so only nodes not connected to it at all are infinitely far.
+    double[] roundTrip = new double[n];
+    for (int v = 0; v < n; v++) {
+      if (from[v] == Double.POSITIVE_INFINITY && to[v] == Double.POSITIVE_INFINITY) {
+        roundTrip[v] = Double.POSITIVE_INFINITY;
+      } else {
+        roundTrip[v] = (from[v] < Double.POSITIVE_INFINITY ? from[v] : 0)
+            + (to[v] < Double.POSITIVE_INFINITY ? to[v] : 0);
+      }
+    }
+    return roundTrip;
+  }
+
+  // Picks the node farthest from the chosen landmarks as the next one. The first
+  // landmark is the node farthest from a random node. Nodes which no landmark can
+  // reach or be reached from are infinitely far, so every component gets a landmark.
+  private void selectFarthest(Random random) {
+    double[] closest = new double[n];
+    Arrays.fill(closest, Double.POSITIVE_INFINITY);
+    int next = farthest(addLandmark(0, random.nextInt(n)), null);
+    for (int i = 0; i < k; i++) {
+      double[] roundTrip = addLandmark(i, next);
+      for (int v = 0; v < n; v++) closest[v] = Math.min(closest[v], roundTrip[v]);
+      next = farthest(closest, Arrays.copyOf(landmarks, i + 1));
+    }
+  }
+
+  // Returns the node with the largest distance which is not in 'exclude'. Ties go to
+  // the lowest index.
+  private int farthest(double[] dist, int[] exclude) {
+    boolean[] excluded = new boolean[n];
+    if (exclude != null) for (int landmark : exclude) excluded[landmark] = true;
+    int best = -1;
+    for (int v = 0; v < n; v++) {
+      if (!excluded[v] && (best == -1 || dist[v] > dist[best])) best = v;
+    }
+    return best;
+  }
+
+  // The avoid strategy. The first landmark is picked like in selectFarthest.
+  private void selectAvoid(Random random) {
+    int first = farthest(addLandmark(0, random.nextInt(n)), null);
+    addLandmark(0, first);
+    boolean[] isLandmark = new boolean[n];
+    isLandmark[first] = true;
+
+    int[] childCount = new int[n + 1], children = new int[n], order = new int[n];
+    double[] size = new double[n];
+    for (int i = 1; i < k; i++) {
+      int root = random.nextInt(n);
+      double[] dist = forwardSolver.dijkstra(root);
+      int[] parent = forwardSolver.getPrev();
+
+      // Store the children of every node of the shortest path tree in CSR form.
+      Arrays.fill(childCount, 0);
+      for (int v = 0; v < n; v++) if (parent[v] != -1) childCount[parent[v] + 1]++;
+      for (int v = 0; v < n; v++) childCount[v + 1] += childCount[v];
+      int[] pos = Arrays.copyOf(childCount, n);
+      for (int v = 0; v < n; v++) if (parent[v] != -1) children[pos[parent[v]]++] = v;
+
+      // List the tree in preorder, then total up the subtrees bottom up. The weight of a
+      // node is the gap between its distance from the root and the current lower bound,
+      // and subtrees which already contain a landmark get a size of zero.
+      int count = 0, head = 0;
+      order[count++] = root;
+      while (head < count) {
+        int u = order[head++];
+        for (int c = childCount[u]; c < childCount[u + 1]; c++) order[count++] = children[c];
+      }
+      boolean[] covered = new boolean[n];
+      for (int j = count - 1; j >= 0; j--) {
+        int u = order[j];
+        size[u] = dist[u] - Math.min(dist[u], lowerBound(root, u, i));
+        covered[u] |= isLandmark[u];
+        for (int c = childCount[u]; c < childCount[u + 1]; c++) {
+          covered[u] |= covered[children[c]];
+          size[u] += size[children[c]];
+        }
+        if (covered[u]) size[u] = 0;
+      }
+
+      // Walk down to the heaviest child until reaching a leaf.
+      int at = root;
+      while (size[at] > 0) {
+        int heaviest = -1;
+        for (int c = childCount[at]; c < childCount[at + 1]; c++) {
+          int child = children[c];
+          if (heaviest == -1 || size[child] > size[heaviest]) heaviest = child;
+        }
+        if (heaviest == -1 || size[heaviest] == 0) break;
+        at = heaviest;
+      }
+      // A root whose whole tree is covered falls back to any node which is not a landmark.
+      if (isLandmark[at]) at = farthest(dist, Arrays.copyOf(landmarks, i));
+      addLandmark(i, at);
+      isLandmark[at] = true;
+    }
+  }
+
+  // The lower bound using only the first 'count' landmarks.
+  private double lowerBound(int v, int t, int count) {
+    double best = 0;
+    for (int i = 0; i < count; i++) {
+      float fromV = fromLandmark[v * k + i], fromT = fromLandmark[t * k + i];
+      if (fromV != INF && fromT != INF) best = Math.max(best, fromT - (double) fromV);
+      float toV = toLandmark[v * k + i], toT = toLandmark[t * k + i];
+      if (toV != INF && toT != INF) best = Math.max(best, toV - (double) toT);
+    }
+    return best;
+  }
+}
@@ -0,0 +1,215 @@
+/**
+ * Answers connectivity queries on an undirected graph whose edges are inserted and deleted over
+ * time, when the whole sequence of operations is known in advance (offline).
+ *
+ * <p>Union find can add edges but cannot remove them. Instead every edge is turned into the
+ * interval of queries during which it exists, and each interval is stored in the O(log q) nodes
+ * of a segment tree over the queries which cover it. A depth first walk of the tree unifies the
+ * edges of a node when entering it and undoes them with {@link RollbackUnionFind#rollback} when
+ * leaving, so at every leaf the union find holds exactly the edges present at that query.
+ *
+ * <p>Each edge is unified O(log q) times at O(log n) a time, for O((n + q) log q log n) in total
+ * with n operations and q queries.
+ *
+ * <p>Multi-edges are allowed: adding the same edge twice takes two removals to remove it.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.dynamicarray.IntArray;
+import com.williamfiset.algorithms.datastructures.unionfind.RollbackUnionFind;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class OfflineDynamicConnectivity {
+
+  private final int n;
+
+  // The queries, in order.
+  private final IntArray queryU = new IntArray(), queryV = new IntArray();
+
+  // The edges which have been removed, each present during the queries [from, to).
+  private final IntArray edgeU = new IntArray(), edgeV = new IntArray();
+  private final IntArray edgeFrom = new IntArray(), edgeTo = new IntArray();
+
+  // The number of queries before each copy of the edges still present, by edge key.
+  private final Map<Long, ArrayDeque<Integer>> present = new HashMap<>();
+
+  // Segment tree state used while solving.
+  private int leaves;
+  private int[] nodeOffsets, nodeEdges;
+  private RollbackUnionFind uf;
+  private boolean[] answers;
+
+  public OfflineDynamicConnectivity(int n) {
+    if (n <= 0) throw new IllegalArgumentException("Need at least one node.");
+    this.n = n;
+  }
+
+  /** Inserts the undirected edge (u, v). */
+  public void addEdge(int u, int v) {
+    present.computeIfAbsent(key(u, v), k -> new ArrayDeque<>()).push(queryU.size());
+  }
+
+  /**
+   * Deletes the undirected edge (u, v).
+   *
+   * @throws IllegalArgumentException if the edge is not in the graph.
+   */
+  public void removeEdge(int u, int v) {
+    ArrayDeque<Integer> copies = present.get(key(u, v));
+    if (copies == null) throw new IllegalArgumentException("No edge " + u + " - " + v);
+    int from = copies.pop();
+    if (copies.isEmpty()) present.remove(key(u, v));
+    addInterval(u, v, from, queryU.size(), edgeU, edgeV, edgeFrom, edgeTo);
+  }
+
+  /**
+   * Asks whether 'u' and 'v' are connected after the operations so far.
+   *
+   * @return The index of the answer in the array returned by {@link #solve()}.
+   */
+  public int query(int u, int v) {
+    checkNode(u);
+    checkNode(v);
+    queryU.add(u);
+    queryV.add(v);
+    return queryU.size() - 1;
+  }
+
+  /** Returns the answers to all the queries, in the order they were asked. */
+  public boolean[] solve() {
+    final int q = queryU.size();
+    answers = new boolean[q];
+    if (q == 0) return answers;
+
+    // Close the intervals of the edges which are never removed, without changing the
+    // recorded operations so more can be added afterwards.
+    IntArray us = copy(edgeU), vs = copy(edgeV), froms = copy(edgeFrom), tos = copy(edgeTo);
+    for (Map.Entry<Long, ArrayDeque<Integer>> entry : present.entrySet()) {
+      int u = (int) (entry.getKey() / n), v = (int) (entry.getKey() % n);
+      for (int from : entry.getValue()) addInterval(u, v, from, q, us, vs, froms, tos);
+    }
+
+    // Store the edges of every node of the segment tree in CSR form: count, then fill.
+    leaves = Integer.highestOneBit(q) == q ? q : Integer.highestOneBit(q) << 1;
+    nodeOffsets = new int[2 * leaves + 1];
+    for (int i = 0; i < us.size(); i++) countCover(froms.get(i), tos.get(i));
+    for (int node = 0; node < 2 * leaves; node++) nodeOffsets[node + 1] += nodeOffsets[node];
+    nodeEdges = new int[nodeOffsets[2 * leaves]];
+    int[] pos = Arrays.copyOf(nodeOffsets, 2 * leaves);
+    for (int i = 0; i < us.size(); i++) fillCover(froms.get(i), tos.get(i), i, pos);
+
+    uf = new RollbackUnionFind(n);
+    int[] edgeEndpoints = new int[2 * us.size()];
+    for (int i = 0; i < us.size(); i++) {
+      edgeEndpoints[2 * i] = us.get(i);
+      edgeEndpoints[2 * i + 1] = vs.get(i);
+    }
+    dfs(1, 0, leaves, q, edgeEndpoints);
+
+    boolean[] result = answers;
+    answers = null;
+    nodeOffsets = nodeEdges = null;
+    uf = null;
+    return result;
+  }
+
+  // Adds the edges of 'node', which covers the queries [lo, hi), then visits its children
+  // or answers its query, and finally undoes the edges.
+  private void dfs(int node, int lo, int hi, int q, int[] edgeEndpoints) {
+    if (lo >= q) return;
+    int snapshot = uf.snapshot();
+    for (int i = nodeOffsets[node]; i < nodeOffsets[node + 1]; i++) {
+      int e = nodeEdges[i];
+      uf.unify(edgeEndpoints[2 * e], edgeEndpoints[2 * e + 1]);
+    }
+    if (hi - lo == 1) {
+      answers[lo] = uf.connected(queryU.get(lo), queryV.get(lo));
+    } else {
+      int mid = (lo + hi) >>> 1;
+      dfs(2 * node, lo, mid, q, edgeEndpoints);
+      dfs(2 * node + 1, mid, hi, q, edgeEndpoints);
+    }
+    uf.rollback(snapshot);
+  }
+
+  // Counts the edge in every node of the canonical cover of [from, to).
+  private void countCover(int from, int to) {
+    for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+      if ((l & 1) == 1) nodeOffsets[l++ + 1]++;
+      if ((r & 1) == 1) nodeOffsets[--r + 1]++;
+    }
+  }
+
+  // Stores edge 'e' in every node of the canonical cover of [from, to).
+  private void fillCover(int from, int to, int e, int[] pos) {
+    for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+      if ((l & 1) == 1) nodeEdges[pos[l++]++] = e;
+      if ((r & 1) == 1) nodeEdges[pos[--r]++] = e;
+    }
+  }
+
+  // Records an edge present during the queries [from, to), skipping empty intervals.
+  private static void addInterval(
+      int u, int v, int from, int to, IntArray us, IntArray vs, IntArray froms, IntArray tos) {
+    if (from == to) return;
+    us.add(u);
+    vs.add(v);
+    froms.add(from);
+    tos.add(to);
+  }
+
+  private static IntArray copy(IntArray array) {
+    IntArray result = new IntArray(array.size());
+    for (int i = 0; i < array.size(); i++) result.add(array.get(i));
+    return result;
+  }
+
+  private long key(int u, int v) {
+    checkNode(u);
+    checkNode(v);
+    return (long) Math.min(u, v) * n + Math.max(u, v);
+  }
+
+  private void checkNode(int v) {
+    if (v < 0 || v >= n) throw new IllegalArgumentException("Invalid node index " + v);
+  }
+
+  public static void main(String[] args) {
+    // Random insertions and deletions on a graph which hovers around the point where a
+    // giant component forms, with a query after every operation.
+    int n = 100_000, operations = 400_000;
+    Random random = new Random(0);
+    OfflineDynamicConnectivity solver = new OfflineDynamicConnectivity(n);
+    IntArray liveU = new IntArray(), liveV = new IntArray();
+    for (int i = 0; i < operations; i++) {
+      if (liveU.size() < n / 2 || random.nextBoolean()) {
+        int u = random.nextInt(n), v = random.nextInt(n);
+        solver.addEdge(u, v);
+        liveU.add(u);
+        liveV.add(v);
+      } else {
+        int j = random.nextInt(liveU.size()), last = liveU.size() - 1;
+        solver.removeEdge(liveU.get(j), liveV.get(j));
+        liveU.set(j, liveU.get(last));
+        liveV.set(j, liveV.get(last));
+        liveU.removeAt(last);
+        liveV.removeAt(last);
+      }
+      solver.query(random.nextInt(n), random.nextInt(n));
+    }
+
+    long time = System.nanoTime();
+    boolean[] answers = solver.solve();
+    time = System.nanoTime() - time;
+    int connected = 0;
+    for (boolean answer : answers) if (answer) connected++;
+    System.out.printf(
+        "%d of %d queries connected, solved in %.2f s\n", connected, answers.length, time / 1e9);
+  }
+}
@@ -0,0 +1,251 @@
+/**
+ * A parallel version of {@link Boruvkas} for very large graphs, with the same getMst() and
+ * getMstCost(). Every round runs on a fork-join pool in four data parallel steps:
+ *
+ * <ol>
+ *   <li>Every edge offers itself to the components of both of its endpoints with an atomic minimum
+ *       on a long packing its cost and its index, so each component learns its cheapest outgoing
+ *       edge. Breaking ties by index makes the choice consistent across components.
+ *   <li>Every component points to the component at the other end of its edge. Two components which
+ *       picked the same edge point to each other, and the lower one becomes the root.
+ *   <li>Pointer jumping collapses the resulting trees until every component points to its root,
+ *       then every node takes the label of its new component.
+ *   <li>Edges whose endpoints are now in the same component are filtered out.
+ * </ol>
+ *
+ * <p>The number of components at least halves every round, so there are O(log V) rounds. Edges are
+ * kept in primitive arrays, which a graph with 100M edges needs to fit in memory, but an {@link
+ * Boruvkas.Edge} list can be passed as well.
+ *
+ * <p>Since ties are broken by edge index the MST is unique, and it is the same tree the sequential
+ * version finds, although it may list the edges in another order.
+ *
+ * <p>Time Complexity: O(E log V) work, spread over the threads of the pool.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+public class ParallelBoruvkas {
+
+  private static final long NONE = Long.MAX_VALUE;
+
+  // Inputs
+  private final int n, m; // Num nodes, num edges
+  private final int[] from, to, cost;
+  private final Boruvkas.Edge[] graph; // Null when given primitive arrays
+
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  // Internal
+  private boolean solved;
+  private boolean mstExists;
+
+  // Outputs
+  private long minCostSum;
+  private int[] mstEdges;
+
+  public ParallelBoruvkas(int n, int m, Boruvkas.Edge[] graph) {
+    if (graph == null) throw new IllegalArgumentException();
+    if (m != graph.length) throw new IllegalArgumentException("m does not match the edge list.");
+    this.n = n;
+    this.m = m;
+    this.graph = graph;
+    from = new int[m];
+    to = new int[m];
+    cost = new int[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = graph[i].u;
+      to[i] = graph[i].v;
+      cost[i] = graph[i].cost;
+    }
+    checkNodes();
+  }
+
+  /** Creates a solver for the undirected edges (from[i], to[i]) with cost cost[i]. */
+  public ParallelBoruvkas(int n, int[] from, int[] to, int[] cost) {
+    if (from == null || to == null || cost == null) throw new IllegalArgumentException();
+    if (from.length != to.length || from.length != cost.length)
+      throw new IllegalArgumentException("Edge arrays must have the same length.");
+    this.n = n;
+    this.m = from.length;
+    this.graph = null;
+    this.from = from;
+    this.to = to;
+    this.cost = cost;
+    checkNodes();
+  }
+
+  private void checkNodes() {
+    if (n <= 0) throw new IllegalArgumentException("Need at least one node.");
+    for (int i = 0; i < m; i++) {
+      if (from[i] < 0 || from[i] >= n || to[i] < 0 || to[i] >= n)
+        throw new IllegalArgumentException("Invalid edge " + i);
+    }
+  }
+
+  /** Sets the pool the rounds run on, the common pool by default. */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.pool = pool;
+  }
+
+  // Returns the edges used in finding the minimum spanning tree, or returns
+  // null if no MST exists.
+  public List<Boruvkas.Edge> getMst() {
+    solve();
+    if (!mstExists) return null;
+    List<Boruvkas.Edge> mst = new ArrayList<>(mstEdges.length);
+    for (int e : mstEdges) {
+      mst.add(graph != null ? graph[e] : new Boruvkas.Edge(from[e], to[e], cost[e]));
+    }
+    return mst;
+  }
+
+  /** Returns the indexes of the MST edges in increasing order, or null if no MST exists. */
+  public int[] getMstEdgeIndexes() {
+    solve();
+    return mstExists ? mstEdges.clone() : null;
+  }
+
+  public Long getMstCost() {
+    solve();
+    return mstExists ? minCostSum : null;
+  }
+
+  private void solve() {
+    if (solved) return;
+
+    // comp[v] is the component of node v, named after one of its nodes, and parent[c]
+    // the component c merges into in the current round.
+    final int[] comp = new int[n], parent = new int[n];
+    final AtomicLongArray cheapest = new AtomicLongArray(n);
+    final boolean[] inMst = new boolean[m];
+    parallelFor(n, v -> comp[v] = v);
+    int[] components = IntStream.range(0, n).toArray();
+    int[] edges = filter(IntStream.range(0, m).toArray(), comp);
+
+    while (edges.length > 0) {
+      final int[] comps = components, active = edges;
+
+      // 1. Find the cheapest edge leaving every component.
+      parallelFor(comps.length, i -> cheapest.set(comps[i], NONE));
+      parallelFor(
+          active.length,
+          i -> {
+            int e = active[i];
+            long key = pack(cost[e], e);
+            lower(cheapest, comp[from[e]], key);
+            lower(cheapest, comp[to[e]], key);
+          });
+
+      // 2. Hook every component onto the component across its cheapest edge. Components
+      // without an outgoing edge are complete and stay roots.
+      parallelFor(
+          comps.length,
+          i -> {
+            int c = comps[i];
+            long key = cheapest.get(c);
+            if (key == NONE) {
+              parent[c] = c;
+              return;
+            }
+            int e = edgeIndex(key);
+            parent[c] = comp[from[e]] == c ? comp[to[e]] : comp[from[e]];
+          });
+      parallelFor(
+          comps.length,
+          i -> {
+            int c = comps[i], p = parent[c];
+            if (p == c) return;
+            // Two components which chose the same edge: the lower one is the root and
+            // the edge is added once, by the other one.
+            if (parent[p] == c && c < p) parent[c] = c;
+            else inMst[edgeIndex(cheapest.get(c))] = true;
+          });
+
+      // 3. Pointer jumping until every component points straight at its root. Racing
+      // updates only ever move a pointer closer to the root, so they are safe.
+      final AtomicBoolean changed = new AtomicBoolean(true);
+      while (changed.get()) {
+        changed.set(false);
+        parallelFor(
+            comps.length,
+            i -> {
+              int c = comps[i], p = parent[c], gp = parent[p];
+              if (p != gp) {
+                parent[c] = gp;
+                changed.set(true);
+              }
+            });
+      }
+      parallelFor(n, v -> comp[v] = parent[comp[v]]);
+      components = select(comps, c -> parent[c] == c);
+
+      // 4. Drop the edges which became self loops.
+      edges = filter(active, comp);
+    }
+
+    mstEdges = IntStream.range(0, m).filter(e -> inMst[e]).toArray();
+    for (int e : mstEdges) minCostSum += cost[e];
+    mstExists = (mstEdges.length == n - 1);
+    solved = true;
+  }
+
+  // Keeps the edges whose endpoints are in different components.
+  private int[] filter(int[] edges, int[] comp) {
+    return select(edges, e -> comp[from[e]] != comp[to[e]]);
+  }
+
+  // Keeps the values matching the predicate, in order.
+  private int[] select(int[] values, IntPredicate predicate) {
+    return pool.submit(() -> IntStream.of(values).parallel().filter(predicate).toArray()).join();
+  }
+
+  // Orders edges by cost, then by index. The index is non negative, so it does not
+  // disturb the sign of the cost in the high bits.
+  private static long pack(int cost, int edge) {
+    return (long) cost << 32 | edge;
+  }
+
+  private static int edgeIndex(long key) {
+    return (int) key;
+  }
+
+  // Lowers cheapest[c] to 'key' unless it is already smaller.
+  private static void lower(AtomicLongArray cheapest, int c, long key) {
+    for (long current = cheapest.get(c); key < current; current = cheapest.get(c)) {
+      if (cheapest.compareAndSet(c, current, key)) return;
+    }
+  }
+
+  private void parallelFor(int numTasks, IntConsumer body) {
+    pool.submit(() -> IntStream.range(0, numTasks).parallel().forEach(body)).join();
+  }
+
+  public static void main(String[] args) {
+    // A random connected graph: a random spanning tree plus random edges.
+    int n = 1_000_000, m = 10_000_000;
+    Random random = new Random(0);
+    int[] from = new int[m], to = new int[m], cost = new int[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = i < n - 1 ? i + 1 : random.nextInt(n);
+      to[i] = i < n - 1 ? random.nextInt(i + 1) : random.nextInt(n);
+      cost[i] = random.nextInt(1_000_000);
+    }
+
+    long time = System.nanoTime();
+    Long mstCost = new ParallelBoruvkas(n, from, to, cost).getMstCost();
+    System.out.printf("MST cost %d in %.2f s\n", mstCost, (System.nanoTime() - time) / 1e9);
+  }
+}
@@ -0,0 +1,181 @@
+/**
+ * A parallel version of {@link Kahns} which turns a DAG into a schedule.
+ *
+ * <ul>
+ *   <li>{@link #levels()} splits the nodes into levels. Level 0 holds the nodes without incoming
+ *       edges and level i + 1 the nodes whose last predecessor is in level i, so the nodes of a
+ *       level are an antichain and can run at the same time. Each level is processed in parallel on
+ *       a fork-join pool, with the in-degrees kept in an {@link AtomicIntegerArray}. The thread
+ *       which decrements the in-degree of a node to zero puts it in the next level.
+ *   <li>{@link #execute(IntConsumer)} runs a callback for every node once all of its predecessors
+ *       have finished. There is no barrier between levels: the task which finishes the last
+ *       predecessor of a node forks that node's task right away, and the work stealing pool keeps
+ *       the threads busy. A long task therefore only delays its own successors.
+ * </ul>
+ *
+ * <p>Time complexity: O(V+E) work
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class ParallelKahns {
+
+  private final int n;
+  private final int[] offsets, targets;
+  private final int[] inDegree;
+
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+  public ParallelKahns(CsrGraph dag) {
+    if (dag == null) throw new IllegalArgumentException("Graph cannot be null.");
+    n = dag.numNodes();
+    offsets = dag.offsets();
+    targets = dag.targets();
+    inDegree = new int[n];
+    for (int to : targets) inDegree[to]++;
+  }
+
+  /** Sets the pool the nodes are processed on, the common pool by default. */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.pool = pool;
+  }
+
+  /**
+   * Splits the nodes into levels which can each run in parallel, every level after the first
+   * depending on the one before it. The nodes of a level are sorted. Concatenating the levels gives
+   * a topological ordering.
+   *
+   * @throws IllegalArgumentException if the graph contains a cycle.
+   */
+  public int[][] levels() {
+    final AtomicIntegerArray remaining = new AtomicIntegerArray(inDegree);
+
+    // The order array holds the levels one after the other. The level being processed
+    // is [lo, hi) and the next one is appended at 'tail'.
+    final int[] order = new int[n];
+    final AtomicInteger tail = new AtomicInteger();
+    for (int i = 0; i < n; i++) if (inDegree[i] == 0) order[tail.getAndIncrement()] = i;
+
+    List<int[]> levels = new ArrayList<>();
+    int lo = 0;
+    while (lo < tail.get()) {
+      final int start = lo, hi = tail.get();
+      IntConsumer body =
+          i -> {
+            int at = order[i];
+            for (int e = offsets[at]; e < offsets[at + 1]; e++) {
+              int to = targets[e];
+              if (remaining.decrementAndGet(to) == 0) order[tail.getAndIncrement()] = to;
+            }
+          };
+      if (hi - start == 1) body.accept(start);
+      else pool.submit(() -> IntStream.range(start, hi).parallel().forEach(body)).join();
+      Arrays.sort(order, start, hi);
+      levels.add(Arrays.copyOfRange(order, start, hi));
+      lo = hi;
+    }
+    if (lo != n) throw new IllegalArgumentException("Graph is not acyclic! Detected a cycle.");
+    return levels.toArray(new int[0][]);
+  }
+
+  /**
+   * Runs 'task' once for every node, in parallel on the pool, starting a node as soon as all of its
+   * predecessors have finished. Returns when every node has run.
+   *
+   * @throws IllegalArgumentException if the graph contains a cycle, in which case the nodes on or
+   *     after the cycle never run.
+   * @throws RuntimeException if a task throws, after which the nodes depending on it never run.
+   */
+  public void execute(IntConsumer task) {
+    if (task == null) throw new IllegalArgumentException("Task cannot be null.");
+    Wavefront wavefront = new Wavefront(task);
+    pool.invoke(wavefront);
+    if (wavefront.finished.get() != n)
+      throw new IllegalArgumentException("Graph is not acyclic! Detected a cycle.");
+  }
+
+  // Completes once every node task it forked has completed.
+  private final class Wavefront extends CountedCompleter<Void> {
+    final IntConsumer task;
+    final AtomicIntegerArray remaining = new AtomicIntegerArray(inDegree);
+    final AtomicInteger finished = new AtomicInteger();
+
+    Wavefront(IntConsumer task) {
+      this.task = task;
+    }
+
+    @Override
+    public void compute() {
+      for (int v = 0; v < n; v++) {
+        if (inDegree[v] == 0) {
+          addToPendingCount(1);
+          new NodeTask(this, v).fork();
+        }
+      }
+      tryComplete();
+    }
+  }
+
+  // Runs the task of one node, then forks the successors it was the last predecessor of.
+  private final class NodeTask extends CountedCompleter<Void> {
+    final Wavefront wavefront;
+    final int node;
+
+    NodeTask(Wavefront wavefront, int node) {
+      super(wavefront);
+      this.wavefront = wavefront;
+      this.node = node;
+    }
+
+    @Override
+    public void compute() {
+      wavefront.task.accept(node);
+      wavefront.finished.incrementAndGet();
+      // Keep the wavefront pending until the successors have been forked.
+      for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+        int to = targets[e];
+        if (wavefront.remaining.decrementAndGet(to) == 0) {
+          wavefront.addToPendingCount(1);
+          new NodeTask(wavefront, to).fork();
+        }
+      }
+      tryComplete();
+    }
+  }
+
+  public static void main(String[] args) {
+    // A pipeline of 50 stages with up to 100 tasks each, where every task takes about
+    // 100 microseconds.
+    CsrGraph dag =
+        CsrGraph.fromAdjacencyList(
+            new GraphGenerator.DagGenerator(50, 50, 50, 100, 0.05).createDag());
+    ParallelKahns solver = new ParallelKahns(dag);
+    System.out.printf("%d tasks in %d levels\n", dag.numNodes(), solver.levels().length);
+
+    AtomicLong checksum = new AtomicLong();
+    long time = System.nanoTime();
+    solver.execute(
+        v -> {
+          long end = System.nanoTime() + 100_000;
+          while (System.nanoTime() < end) checksum.incrementAndGet();
+        });
+    time = System.nanoTime() - time;
+    System.out.printf(
+        "Ran on %d threads in %.1f ms\n", ForkJoinPool.commonPool().getParallelism(), time / 1e6);
+  }
+}
@@ -0,0 +1,210 @@
+/**
+ * An iterative implementation of Pearce's space efficient variant of Tarjan's Strongly Connected
+ * Components algorithm (D. J. Pearce, "A space-efficient algorithm for finding strongly connected
+ * components", 2016), for graphs far too deep for the recursive {@link
+ * TarjanSccSolverAdjacencyList} and {@link Kosaraju}.
+ *
+ * <p>Tarjan needs an index, a low link and an on-stack flag per node. Pearce folds them into a
+ * single int per node, rindex, plus a root bit: while a node is on the stack rindex holds its low
+ * link, and once its component is complete it holds the component number. Component numbers are
+ * handed out downwards from n - 1 while the visit index is given back as nodes complete, so a
+ * complete node always has a larger rindex than any node still on the stack and needs no flag. The
+ * explicit DFS stack and the stack of unassigned nodes never hold more than n nodes together, so
+ * they share one array, growing from opposite ends. The arrays are allocated once up front and the
+ * search itself allocates nothing.
+ *
+ * <p>Components complete in reverse topological order, so numbering them backwards makes the
+ * component ids a topological order of the condensation: every edge between two components goes
+ * from a lower id to a higher one.
+ *
+ * <p>Time complexity: O(V+E)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.util.Arrays;
+
+public class PearceSccSolver {
+
+  private final int n;
+  private final StaticGraph graph;
+
+  private boolean solved;
+  private int sccCount;
+
+  // Low link of the nodes on the stack, component of the completed nodes, 0 when not
+  // visited yet. Turned into the component ids once solved.
+  private int[] rindex;
+  private CsrGraph condensation;
+
+  public PearceSccSolver(StaticGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    this.n = graph.numNodes();
+    this.graph = graph;
+  }
+
+  // Returns the number of strongly connected components in the graph.
+  public int sccCount() {
+    if (!solved) solve();
+    return sccCount;
+  }
+
+  /**
+   * Get the connected components of this graph. If two indexes have the same value then they're in
+   * the same SCC. The ids are in [0, sccCount()) and in topological order: every edge between two
+   * components goes from a lower id to a higher one.
+   */
+  public int[] getSccs() {
+    if (!solved) solve();
+    return rindex;
+  }
+
+  /**
+   * Returns the condensation of the graph, the DAG with a node for every component and an edge
+   * between two components when an edge joins their nodes. Nodes are component ids, so they are in
+   * topological order, and every edge appears once.
+   */
+  public CsrGraph getCondensation() {
+    if (!solved) solve();
+    if (condensation == null) condensation = buildCondensation();
+    return condensation;
+  }
+
+  public void solve() {
+    if (solved) return;
+
+    rindex = new int[n];
+    boolean[] root = new boolean[n];
+    // The DFS stack grows up from 0 and the stack of nodes waiting for their component
+    // grows down from n - 1. edgeAt[i] is the next edge of the i'th node on the DFS stack.
+    int[] stack = new int[n];
+    int[] edgeAt = new int[n];
+    int dfsTop = 0, waitingTop = n;
+    int index = 1, component = n - 1;
+
+    for (int s = 0; s < n; s++) {
+      if (rindex[s] != 0) continue;
+      rindex[s] = index++;
+      root[s] = true;
+      stack[dfsTop] = s;
+      edgeAt[dfsTop++] = graph.start(s);
+
+      while (dfsTop > 0) {
+        int v = stack[dfsTop - 1];
+        int e = edgeAt[dfsTop - 1], end = graph.end(v);
+        boolean descended = false;
+        for (; e < end; e++) {
+          int w = graph.target(e);
+          if (rindex[w] == 0) {
+            // Come back to this edge once 'w' is done, to pick up its low link.
+            edgeAt[dfsTop - 1] = e;
+            rindex[w] = index++;
+            root[w] = true;
+            stack[dfsTop] = w;
+            edgeAt[dfsTop++] = graph.start(w);
+            descended = true;
+            break;
+          }
+          if (rindex[w] < rindex[v]) {
+            rindex[v] = rindex[w];
+            root[v] = false;
+          }
+        }
+        if (descended) continue;
+
+        // All the edges of 'v' are done.
+        dfsTop--;
+        if (root[v]) {
+          // 'v' is the root of a component: assign it to 'v' and to every node waiting
+          // above it, and give their visit indexes back.
+          index--;
+          while (waitingTop < n && rindex[v] <= rindex[stack[waitingTop]]) {
+            rindex[stack[waitingTop++]] = component;
+            index--;
+          }
+          rindex[v] = component--;
+          sccCount++;
+        } else {
+          stack[--waitingTop] = v;
+        }
+      }
+    }
+
+    // Components were numbered n - 1 downwards in completion order. Shift them to start
+    // at 0, which puts the last completed component, a source, first.
+    final int offset = component + 1;
+    for (int v = 0; v < n; v++) rindex[v] -= offset;
+    solved = true;
+  }
+
+  private CsrGraph buildCondensation() {
+    // Count the edges leaving every component, then place them. The nodes of a component
+    // are not contiguous, so duplicates are removed per component afterwards.
+    int[] offsets = new int[sccCount + 1];
+    for (int u = 0; u < n; u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        if (rindex[graph.target(e)] != rindex[u]) offsets[rindex[u] + 1]++;
+      }
+    }
+    for (int c = 0; c < sccCount; c++) offsets[c + 1] += offsets[c];
+    int[] targets = new int[offsets[sccCount]];
+    int[] pos = Arrays.copyOf(offsets, sccCount);
+    for (int u = 0; u < n; u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        int c = rindex[graph.target(e)];
+        if (c != rindex[u]) targets[pos[rindex[u]]++] = c;
+      }
+    }
+
+    // Drop duplicate edges in place, remembering the last component that reached each
+    // target.
+    int[] seenFrom = new int[sccCount];
+    Arrays.fill(seenFrom, -1);
+    int size = 0;
+    for (int c = 0; c < sccCount; c++) {
+      int start = offsets[c];
+      offsets[c] = size;
+      for (int i = start; i < offsets[c + 1]; i++) {
+        if (seenFrom[targets[i]] != c) {
+          seenFrom[targets[i]] = c;
+          targets[size++] = targets[i];
+        }
+      }
+    }
+    offsets[sccCount] = size;
+    return CsrGraph.wrap(offsets, Arrays.copyOf(targets, size), (double[]) null);
+  }
+
+  public static void main(String[] args) {
+    // A path of 5M nodes where every group of 4 consecutive nodes is closed into a cycle,
+    // far deeper than a recursive DFS could go.
+    int n = 5_000_000, m = n - 1 + n / 4;
+    int[] from = new int[m], to = new int[m];
+    for (int v = 0; v + 1 < n; v++) {
+      from[v] = v;
+      to[v] = v + 1;
+    }
+    for (int i = 0, v = 3; v < n; i++, v += 4) {
+      from[n - 1 + i] = v;
+      to[n - 1 + i] = v - 3;
+    }
+    CsrGraph graph = CsrGraph.fromEdges(n, from, to);
+
+    long time = System.nanoTime();
+    PearceSccSolver solver = new PearceSccSolver(graph);
+    int count = solver.sccCount();
+    time = System.nanoTime() - time;
+    System.out.printf("%d components in a %d node path, %.2f s\n", count, n, time / 1e9);
+
+    // An R-MAT graph with 1M nodes and 16M edges.
+    graph = new GraphGenerator.RmatGenerator(20, 16, 1, 0).toCsrGraph();
+    solver = new PearceSccSolver(graph);
+    System.out.printf(
+        "%d components and %d condensation edges in an R-MAT graph\n",
+        solver.sccCount(), solver.getCondensation().numEdges());
+  }
+}
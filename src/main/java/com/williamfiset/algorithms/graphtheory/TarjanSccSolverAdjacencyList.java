@@ -17,12 +17,14 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class TarjanSccSolverAdjacencyList {
 
   private int n;
   private List<List<Integer>> graph;
+  private CsrGraph csrGraph;
 
   private boolean solved;
   private int sccCount, id;
@@ -38,6 +40,12 @@ public class TarjanSccSolverAdjacencyList {
     this.graph = graph;
   }
 
+  public TarjanSccSolverAdjacencyList(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    n = graph.numNodes();
+    this.csrGraph = graph;
+  }
+
   // Returns the number of strongly connected components in the graph.
   public int sccCount() {
     if (!solved) solve();
@@ -75,28 +83,14 @@ public class TarjanSccSolverAdjacencyList {
     stack.push(at);
     visited[at] = true;
 
-    for (int to : graph.get(at)) {
-      if (ids[to] == UNVISITED) {
-        dfs(to);
+    if (csrGraph != null) {
+      for (int e = csrGraph.start(at); e < csrGraph.end(at); e++) {
+        visitEdge(at, csrGraph.target(e));
       }
-      if (visited[to]) {
-        low[at] = min(low[at], low[to]);
+    } else {
+      for (int to : graph.get(at)) {
+        visitEdge(at, to);
       }
-      /*
-       TODO(william): investigate whether the proper way to update the lowlinks
-       is the following bit of code. From my experience this doesn't seem to
-       matter if the output is placed in a separate output array, but this needs
-       further investigation.
-
-       if (ids[to] == UNVISITED) {
-         dfs(to);
-         low[at] = min(low[at], low[to]);
-       }
-       if (visited[to]) {
-         low[at] = min(low[at], ids[to]);
-       }
-      */
-
     }
 
     // On recursive callback, if we're at the root node (start of SCC)
@@ -111,6 +105,29 @@ public class TarjanSccSolverAdjacencyList {
     }
   }
 
+  private void visitEdge(int at, int to) {
+    if (ids[to] == UNVISITED) {
+      dfs(to);
+    }
+    if (visited[to]) {
+      low[at] = min(low[at], low[to]);
+    }
+    /*
+     TODO(william): investigate whether the proper way to update the lowlinks
+     is the following bit of code. From my experience this doesn't seem to
+     matter if the output is placed in a separate output array, but this needs
+     further investigation.
+
+     if (ids[to] == UNVISITED) {
+       dfs(to);
+       low[at] = min(low[at], low[to]);
+     }
+     if (visited[to]) {
+       low[at] = min(low[at], ids[to]);
+     }
+    */
+  }
+
   // Initializes adjacency list with n nodes.
   public static List<List<Integer>> createGraph(int n) {
     List<List<Integer>> graph = new ArrayList<>(n);
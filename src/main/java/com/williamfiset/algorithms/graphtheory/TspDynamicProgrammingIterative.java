@@ -2,6 +2,17 @@
  * An implementation of the traveling salesman problem in Java using dynamic programming to improve
  * the time complexity from O(n!) to O(n^2 * 2^n).
  *
+ * <p>The table is filled one layer at a time, layer r holding the cheapest paths from the start
+ * which visit a subset of r other nodes and end in one of them. A layer only reads the one before
+ * it, so only two layers of costs are alive at once. Within a layer the subsets are indexed by
+ * their rank in the combinatorial number system, and a subset of size r only stores its r possible
+ * end nodes, so no memory is spent on states which cannot occur. The subsets of a layer are
+ * independent and are processed in parallel chunks on a fork-join pool. For the reconstruction
+ * every state keeps a single byte, the position of the node before its end.
+ *
+ * <p>With m = n - 1 this needs m * 2^(m-1) bytes for the parents plus the two largest layers of
+ * doubles, about 26 GB for n = 30, the largest size whose layers fit in a Java array.
+ *
  * <p>Time Complexity: O(n^2 * 2^n) Space Complexity: O(n * 2^n)
  *
  * @author William Fiset, william.alexandre.fiset@gmail.com
@@ -11,15 +22,23 @@ package com.williamfiset.algorithms.graphtheory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 public class TspDynamicProgrammingIterative {
 
+  // Number of subsets of a layer handled by one parallel task.
+  private static final int CHUNK_SIZE = 1 << 12;
+
   private final int N, start;
   private final double[][] distance;
   private List<Integer> tour = new ArrayList<>();
   private double minTourCost = Double.POSITIVE_INFINITY;
   private boolean ranSolver = false;
 
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+
   public TspDynamicProgrammingIterative(double[][] distance) {
     this(0, distance);
   }
@@ -30,7 +49,7 @@ public class TspDynamicProgrammingIterative {
     if (N <= 2) throw new IllegalStateException("N <= 2 not yet supported.");
     if (N != distance[0].length) throw new IllegalStateException("Matrix must be square (n x n)");
     if (start < 0 || start >= N) throw new IllegalArgumentException("Invalid start node.");
-    if (N > 32)
+    if (N > 30)
       throw new IllegalArgumentException(
           "Matrix too large! A matrix that size for the DP TSP problem with a time complexity of"
               + "O(n^2*2^n) requires way too much computation for any modern home computer to handle");
@@ -39,6 +58,12 @@ public class TspDynamicProgrammingIterative {
     this.distance = distance;
   }
 
+  /** Sets the pool the layers are computed on, the common pool by default. */
+  public void setPool(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.pool = pool;
+  }
+
   // Returns the optimal tour for the traveling salesman problem.
   public List<Integer> getTour() {
     if (!ranSolver) solve();
@@ -56,74 +81,143 @@ public class TspDynamicProgrammingIterative {
 
     if (ranSolver) return;
 
-    final int END_STATE = (1 << N) - 1;
-    Double[][] memo = new Double[N][1 << N];
-
-    // Add all outgoing edges from the starting node to memo table.
-    for (int end = 0; end < N; end++) {
-      if (end == start) continue;
-      memo[end][(1 << start) | (1 << end)] = distance[start][end];
+    // Relabel the nodes other than the start 0, 1, ..., m - 1. dist[a * m + b] is the
+    // distance from a to b among those.
+    final int m = N - 1;
+    final int[] node = new int[m];
+    for (int i = 0, v = 0; v < N; v++) if (v != start) node[i++] = v;
+    final double[] dist = new double[m * m];
+    for (int a = 0; a < m; a++) {
+      for (int b = 0; b < m; b++) dist[a * m + b] = distance[node[a]][node[b]];
     }
-
-    for (int r = 3; r <= N; r++) {
-      for (int subset : combinations(r, N)) {
-        if (notIn(start, subset)) continue;
-        for (int next = 0; next < N; next++) {
-          if (next == start || notIn(next, subset)) continue;
-          int subsetWithoutNext = subset ^ (1 << next);
-          double minDist = Double.POSITIVE_INFINITY;
-          for (int end = 0; end < N; end++) {
-            if (end == start || end == next || notIn(end, subset)) continue;
-            double newDistance = memo[end][subsetWithoutNext] + distance[end][next];
-            if (newDistance < minDist) {
-              minDist = newDistance;
+    final int[][] binomial = binomials(m);
+
+    // Layer r holds, for the subset of rank k and its j'th smallest node e, the cost of
+    // the cheapest path from the start through the subset ending at e, at k * r + j.
+    // parents[r] holds the position of the node before e in the subset without e.
+    byte[][] parents = new byte[m + 1][];
+    double[] layer = new double[m];
+    for (int e = 0; e < m; e++) layer[e] = distance[start][node[e]];
+
+    for (int r = 2; r <= m; r++) {
+      final int size = r;
+      final int numSubsets = binomial[m][r];
+      final double[] prev = layer, next = new double[numSubsets * r];
+      final byte[] parent = parents[r] = new byte[next.length];
+
+      final int numChunks = (numSubsets + CHUNK_SIZE - 1) / CHUNK_SIZE;
+      parallelFor(
+          numChunks,
+          chunk -> {
+            int[] elems = new int[size];
+            // prefix[i] is the rank of the first i elements, suffix[i] the rank the
+            // elements from i on contribute once every one of them moves down a place.
+            int[] prefix = new int[size + 1], suffix = new int[size + 2];
+            int first = chunk * CHUNK_SIZE;
+            int last = Math.min(numSubsets, first + CHUNK_SIZE);
+            int subset = unrank(first, size, binomial);
+            for (int k = first; k < last; k++, subset = nextSubset(subset)) {
+              for (int i = 0, bits = subset; i < size; i++, bits &= bits - 1) {
+                elems[i] = Integer.numberOfTrailingZeros(bits);
+              }
+              for (int i = 0; i < size; i++) {
+                prefix[i + 1] = prefix[i] + binomial[elems[i]][i + 1];
+              }
+              for (int i = size - 1; i >= 0; i--) {
+                suffix[i] = suffix[i + 1] + binomial[elems[i]][i];
+              }
+
+              for (int j = 0; j < size; j++) {
+                // Drop the j'th element: the ones after it move down a place.
+                int base = (prefix[j] + suffix[j + 1]) * (size - 1);
+                int e = elems[j];
+                double best = Double.POSITIVE_INFINITY;
+                int bestPos = 0;
+                for (int i = 0, q = 0; i < size; i++) {
+                  if (i == j) continue;
+                  double cost = prev[base + q] + dist[elems[i] * m + e];
+                  if (cost < best) {
+                    best = cost;
+                    bestPos = q;
+                  }
+                  q++;
+                }
+                next[k * size + j] = best;
+                parent[k * size + j] = (byte) bestPos;
+              }
             }
-          }
-          memo[next][subset] = minDist;
-        }
-      }
+          });
+      layer = next;
     }
 
-    // Connect tour back to starting node and minimize cost.
-    for (int i = 0; i < N; i++) {
-      if (i == start) continue;
-      double tourCost = memo[i][END_STATE] + distance[i][start];
+    // Connect tour back to starting node and minimize cost. The only subset of the last
+    // layer is the full one, with rank 0.
+    int end = 0;
+    for (int e = 0; e < m; e++) {
+      double tourCost = layer[e] + distance[node[e]][start];
       if (tourCost < minTourCost) {
         minTourCost = tourCost;
+        end = e;
       }
     }
 
-    int lastIndex = start;
-    int state = END_STATE;
+    // Reconstruct TSP path from the parents, walking back from the full subset.
+    int subset = (1 << m) - 1;
     tour.add(start);
-
-    // Reconstruct TSP path from memo table.
-    for (int i = 1; i < N; i++) {
-
-      int bestIndex = -1;
-      double bestDist = Double.POSITIVE_INFINITY;
-      for (int j = 0; j < N; j++) {
-        if (j == start || notIn(j, state)) continue;
-        double newDist = memo[j][state] + distance[j][lastIndex];
-        if (newDist < bestDist) {
-          bestIndex = j;
-          bestDist = newDist;
-        }
+    for (int r = m; r >= 1; r--) {
+      tour.add(node[end]);
+      if (r == 1) break;
+      int rank = 0, pos = 0;
+      for (int i = 0, bits = subset; i < r; i++, bits &= bits - 1) {
+        int v = Integer.numberOfTrailingZeros(bits);
+        if (v == end) pos = i;
+        rank += binomial[v][i + 1];
       }
-
-      tour.add(bestIndex);
-      state = state ^ (1 << bestIndex);
-      lastIndex = bestIndex;
+      int q = parents[r][rank * r + pos];
+      subset ^= 1 << end;
+      int bits = subset;
+      for (int i = 0; i < q; i++) bits &= bits - 1;
+      end = Integer.numberOfTrailingZeros(bits);
     }
-
     tour.add(start);
     Collections.reverse(tour);
 
     ranSolver = true;
   }
 
-  private static boolean notIn(int elem, int subset) {
-    return ((1 << elem) & subset) == 0;
+  // binomial[a][b] = a choose b for 0 <= b <= a <= n, and 0 for b > a.
+  private static int[][] binomials(int n) {
+    int[][] binomial = new int[n + 1][n + 2];
+    for (int a = 0; a <= n; a++) {
+      binomial[a][0] = 1;
+      for (int b = 1; b <= a; b++) binomial[a][b] = binomial[a - 1][b - 1] + binomial[a - 1][b];
+    }
+    return binomial;
+  }
+
+  // Returns the subset of size r whose rank in the combinatorial number system is 'rank',
+  // taking the largest element first.
+  private static int unrank(int rank, int r, int[][] binomial) {
+    int subset = 0, c = binomial.length - 1;
+    for (int k = r; k >= 1; k--) {
+      while (binomial[c][k] > rank) c--;
+      subset |= 1 << c;
+      rank -= binomial[c][k];
+      c--;
+    }
+    return subset;
+  }
+
+  // Returns the next larger subset of the same size (Gosper's hack), which is also the
+  // subset of the next rank.
+  private static int nextSubset(int subset) {
+    int lowest = subset & -subset, ripple = subset + lowest;
+    return ripple | (((subset ^ ripple) >>> 2) / lowest);
+  }
+
+  private void parallelFor(int numTasks, IntConsumer body) {
+    if (numTasks <= 1) IntStream.range(0, numTasks).forEach(body);
+    else pool.submit(() -> IntStream.range(0, numTasks).parallel().forEach(body)).join();
   }
 
   // This method generates all bit sets of size n where r bits
@@ -0,0 +1,490 @@
+/**
+ * A heuristic solver for the symmetric traveling salesman problem, for instances far beyond the
+ * reach of {@link TspDynamicProgrammingIterative}. It does not guarantee an optimal tour, but on
+ * random Euclidean instances with thousands of cities it gets within a few percent of optimal in
+ * seconds.
+ *
+ * <p>The solver builds a starting tour with the greedy edge heuristic or with nearest neighbor,
+ * then improves it with two kinds of moves:
+ *
+ * <ul>
+ *   <li>2-opt: remove two edges and reconnect the tour the other way, reversing the path between.
+ *   <li>Or-opt: move a segment of up to three cities elsewhere in the tour, possibly reversed.
+ * </ul>
+ *
+ * <p>A move is only tried when one of its new edges joins a city to one of its k nearest
+ * neighbors. Cities wait in a queue, and a city leaves the queue once no move around it improves
+ * the tour. It only comes back when a move changes one of its edges. These are the don't look bits,
+ * and they keep each pass local to the part of the tour that just changed.
+ *
+ * <p>When given a time limit the solver keeps going once the tour is a local optimum. It applies a
+ * random double bridge kick to a short stretch of the tour, optimizes again around it, and keeps
+ * the result if the tour got shorter. The best tour found is returned when the time runs out.
+ *
+ * <p>The tour is an array with the position of every city, so reversing a path costs up to n / 2
+ * swaps: the shorter side of the tour is always the one reversed.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class TspLocalSearch {
+
+  /** Heuristic used to build the starting tour. */
+  public enum InitialTour {
+    GREEDY,
+    NEAREST_NEIGHBOR
+  }
+
+  private static final double EPS = 1e-9;
+
+  // Longest segment moved by Or-opt and by a double bridge kick.
+  private static final int MAX_SEGMENT = 3;
+  private static final int MAX_KICK_SEGMENT = 50;
+
+  // The queue is checked against the deadline once every this many cities.
+  private static final int TIME_CHECK_INTERVAL = 256;
+
+  private final int n;
+  private final double[] x, y; // Null unless built from coordinates
+  private final double[][] distance; // Null unless built from a matrix
+
+  private int numNeighbors = 10;
+  private InitialTour initialTour = InitialTour.GREEDY;
+  private long timeLimitNanos;
+  private final Random random = new Random(0);
+
+  // Internal
+  private int k;
+  private int[] neighbors; // neighbors[i * k + j] is the j'th nearest neighbor of i
+  private int[] tour, pos; // tour[pos[c]] == c
+  private double cost;
+  private int[] queue;
+  private boolean[] queued;
+  private int head, size;
+  private long deadline;
+
+  // Outputs
+  private List<Integer> bestTour;
+  private double bestCost;
+
+  /** Creates a solver for the cities (x[i], y[i]) with Euclidean distances. */
+  public TspLocalSearch(double[] x, double[] y) {
+    if (x == null || y == null) throw new IllegalArgumentException("Coordinates cannot be null.");
+    if (x.length != y.length) throw new IllegalArgumentException("Coordinate arrays differ.");
+    if (x.length < 3) throw new IllegalStateException("N < 3 not supported.");
+    this.n = x.length;
+    this.x = x;
+    this.y = y;
+    this.distance = null;
+  }
+
+  /** Creates a solver for a symmetric distance matrix. */
+  public TspLocalSearch(double[][] distance) {
+    if (distance == null) throw new IllegalArgumentException("Matrix cannot be null.");
+    if (distance.length < 3) throw new IllegalStateException("N < 3 not supported.");
+    for (double[] row : distance) {
+      if (row.length != distance.length)
+        throw new IllegalStateException("Matrix must be square (n x n)");
+    }
+    this.n = distance.length;
+    this.x = this.y = null;
+    this.distance = distance;
+  }
+
+  /** Sets how many nearest neighbors of every city moves are tried with, 10 by default. */
+  public void setNeighborCount(int numNeighbors) {
+    if (numNeighbors <= 0) throw new IllegalArgumentException("Need at least one neighbor.");
+    this.numNeighbors = numNeighbors;
+  }
+
+  /** Sets the heuristic which builds the starting tour, greedy by default. */
+  public void setInitialTour(InitialTour initialTour) {
+    if (initialTour == null) throw new IllegalArgumentException("Initial tour cannot be null.");
+    this.initialTour = initialTour;
+  }
+
+  /**
+   * Sets the time the solver may spend, 0 by default. With a time limit the solver keeps improving
+   * the tour with random kicks until the time is up, and returns the best tour so far even if the
+   * first local search did not complete. Without one it stops at the first local optimum.
+   */
+  public void setTimeLimit(long millis) {
+    if (millis < 0) throw new IllegalArgumentException("Time limit cannot be negative.");
+    this.timeLimitNanos = millis * 1_000_000;
+  }
+
+  // Returns the best tour found, starting and ending at city 0.
+  public List<Integer> getTour() {
+    solve();
+    return bestTour;
+  }
+
+  // Returns the cost of the best tour found.
+  public double getTourCost() {
+    solve();
+    return bestCost;
+  }
+
+  public void solve() {
+    if (bestTour != null) return;
+    long startTime = System.nanoTime();
+    deadline = timeLimitNanos > 0 ? startTime + timeLimitNanos : Long.MAX_VALUE;
+
+    k = Math.min(numNeighbors, n - 1);
+    neighbors = nearestNeighbors();
+    tour = initialTour == InitialTour.GREEDY ? greedyTour() : nearestNeighborTour();
+    pos = new int[n];
+    for (int i = 0; i < n; i++) pos[tour[i]] = i;
+    cost = tourCost(tour);
+
+    queue = new int[n];
+    queued = new boolean[n];
+    for (int c = 0; c < n; c++) push(tour[c]);
+    localSearch();
+
+    if (timeLimitNanos > 0 && n >= 8) {
+      int[] best = tour.clone();
+      double costOfBest = cost;
+      while (System.nanoTime() < deadline) {
+        kick();
+        localSearch();
+        if (cost < costOfBest - EPS) {
+          System.arraycopy(tour, 0, best, 0, n);
+          costOfBest = cost;
+        } else {
+          System.arraycopy(best, 0, tour, 0, n);
+          for (int i = 0; i < n; i++) pos[tour[i]] = i;
+          cost = costOfBest;
+          while (size > 0) pop();
+        }
+      }
+    }
+
+    // Rotate the tour to start at city 0.
+    bestTour = new ArrayList<>(n + 1);
+    for (int i = 0; i <= n; i++) bestTour.add(tour[(pos[0] + i) % n]);
+    bestCost = tourCost(tour);
+    neighbors = tour = pos = queue = null;
+    queued = null;
+  }
+
+  private double dist(int a, int b) {
+    if (distance != null) return distance[a][b];
+    double dx = x[a] - x[b], dy = y[a] - y[b];
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  private double tourCost(int[] tour) {
+    double total = 0;
+    for (int i = 0; i < n; i++) total += dist(tour[i], tour[(i + 1) % n]);
+    return total;
+  }
+
+  // The k nearest neighbors of every city, closest first, by insertion into a short
+  // sorted list.
+  private int[] nearestNeighbors() {
+    int[] result = new int[n * k];
+    double[] best = new double[k];
+    for (int a = 0; a < n; a++) {
+      int found = 0;
+      for (int b = 0; b < n; b++) {
+        if (a == b) continue;
+        double d = dist(a, b);
+        if (found == k && d >= best[k - 1]) continue;
+        int i = found < k ? found++ : k - 1;
+        for (; i > 0 && best[i - 1] > d; i--) {
+          best[i] = best[i - 1];
+          result[a * k + i] = result[a * k + i - 1];
+        }
+        best[i] = d;
+        result[a * k + i] = b;
+      }
+    }
+    return result;
+  }
+
+  private int[] nearestNeighborTour() {
+    int[] order = new int[n];
+    boolean[] visited = new boolean[n];
+    visited[0] = true;
+    for (int i = 1; i < n; i++) {
+      int at = order[i - 1], next = -1;
+      for (int j = 0; j < k && next == -1; j++) {
+        if (!visited[neighbors[at * k + j]]) next = neighbors[at * k + j];
+      }
+      // Every neighbor is taken, look at all the cities.
+      for (int c = 0; c < n && next == -1; c++) {
+        if (visited[c]) continue;
+        next = c;
+        for (int d = c + 1; d < n; d++) {
+          if (!visited[d] && dist(at, d) < dist(at, next)) next = d;
+        }
+      }
+      order[i] = next;
+      visited[next] = true;
+    }
+    return order;
+  }
+
+  // Adds the candidate edges shortest first whenever they keep every city at degree two or
+  // less without closing a cycle, then joins the resulting paths nearest end first.
+  private int[] greedyTour() {
+    Integer[] candidates = new Integer[n * k];
+    for (int i = 0; i < n * k; i++) candidates[i] = i;
+    Arrays.sort(candidates, (p, q) -> Double.compare(candidateLength(p), candidateLength(q)));
+
+    int[] link = new int[2 * n];
+    Arrays.fill(link, -1);
+    int[] degree = new int[n], root = new int[n];
+    for (int i = 0; i < n; i++) root[i] = i;
+    for (int e : candidates) {
+      int a = e / k, b = neighbors[e];
+      if (degree[a] == 2 || degree[b] == 2) continue;
+      int ra = find(root, a), rb = find(root, b);
+      if (ra == rb) continue;
+      root[ra] = rb;
+      link[2 * a + degree[a]++] = b;
+      link[2 * b + degree[b]++] = a;
+    }
+
+    // Walk the paths, jumping from the end of one to the closest free end of another.
+    int[] order = new int[n];
+    boolean[] visited = new boolean[n];
+    int[] ends = new int[n];
+    int numEnds = 0;
+    for (int c = 0; c < n; c++) if (degree[c] < 2) ends[numEnds++] = c;
+    int at = ends[0], size = 0;
+    while (true) {
+      for (int prev = -1; ; ) {
+        order[size++] = at;
+        visited[at] = true;
+        int next = link[2 * at] != prev ? link[2 * at] : link[2 * at + 1];
+        if (next == -1 || visited[next]) break;
+        prev = at;
+        at = next;
+      }
+      if (size == n) return order;
+      int closest = -1;
+      for (int i = 0; i < numEnds; i++) {
+        int c = ends[i];
+        if (!visited[c] && (closest == -1 || dist(at, c) < dist(at, closest))) closest = c;
+      }
+      at = closest;
+    }
+  }
+
+  private double candidateLength(int e) {
+    return dist(e / k, neighbors[e]);
+  }
+
+  private static int find(int[] root, int c) {
+    while (c != root[c]) c = root[c] = root[root[c]];
+    return c;
+  }
+
+  // Processes queued cities until none of them can be improved or the time is up.
+  private void localSearch() {
+    for (int count = 0; size > 0; count++) {
+      if (count % TIME_CHECK_INTERVAL == 0 && System.nanoTime() >= deadline) return;
+      int a = pop();
+      if (improveTwoOpt(a) || improveOrOpt(a)) push(a);
+    }
+  }
+
+  private boolean improveTwoOpt(int a) {
+    for (int dir = 0; dir < 2; dir++) {
+      int b = dir == 0 ? next(a) : prev(a);
+      double removed = dist(a, b);
+      for (int j = 0; j < k; j++) {
+        int c = neighbors[a * k + j];
+        double added = dist(a, c);
+        if (added >= removed - EPS) break;
+        int d = dir == 0 ? next(c) : prev(c);
+        if (c == b || d == a) continue;
+        double delta = added + dist(b, d) - removed - dist(c, d);
+        if (delta < -EPS) {
+          // Remove (a, b) and (c, d), add (a, c) and (b, d).
+          if (dir == 0) twoOptMove(a, b, c, d);
+          else twoOptMove(b, a, d, c);
+          cost += delta;
+          push(b);
+          push(c);
+          push(d);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  // Tries to move the segment of up to MAX_SEGMENT cities starting at 'a' between two
+  // cities next to each other, one of which is a neighbor of an end of the segment.
+  private boolean improveOrOpt(int a) {
+    if (n < 5) return false;
+    int e = a;
+    for (int length = 1; length <= MAX_SEGMENT && length <= n - 4; length++) {
+      if (length > 1) e = next(e);
+      int p = prev(a), nx = next(e);
+      double removed = dist(p, a) + dist(e, nx) - dist(p, nx);
+      if (removed <= EPS) continue;
+
+      for (int end = 0; end < 2; end++) {
+        int s = end == 0 ? a : e;
+        for (int j = 0; j < k; j++) {
+          int c = neighbors[s * k + j];
+          if (dist(s, c) >= removed - EPS) break;
+          if (inSegment(c, a, length)) continue;
+          for (int side = 0; side < 2; side++) {
+            // Insert between u and v, next to each other, with c one of them.
+            int u = side == 0 ? c : prev(c), v = side == 0 ? next(c) : c;
+            if (inSegment(u, a, length) || inSegment(v, a, length)) continue;
+            double forward = dist(u, a) + dist(e, v) - dist(u, v);
+            double reversed = dist(u, e) + dist(a, v) - dist(u, v);
+            double delta = Math.min(forward, reversed) - removed;
+            if (delta < -EPS) {
+              orOptMove(a, e, p, nx, u, v, reversed < forward);
+              cost += delta;
+              push(p);
+              push(nx);
+              push(e);
+              push(u);
+              push(v);
+              return true;
+            }
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  // Moves the segment a..e, between p and nx, between u and v, as three 2-opt moves:
+  // p u..nx e..a v, then p nx..u e..a v, then optionally p nx..u a..e v.
+  private void orOptMove(int a, int e, int p, int nx, int u, int v, boolean reversed) {
+    twoOptMove(p, a, u, v);
+    twoOptMove(p, u, nx, e);
+    if (!reversed) twoOptMove(u, e, a, v);
+  }
+
+  // Removes the edges (t1, t2) and (t3, t4) and adds (t1, t3) and (t2, t4), where t2
+  // follows t1 and t4 follows t3 in one of the two directions of the tour.
+  private void twoOptMove(int t1, int t2, int t3, int t4) {
+    if (next(t1) == t2) reverse(pos[t2], pos[t3]);
+    else reverse(pos[t1], pos[t4]);
+  }
+
+  // Reverses the path from position i to position j, going forward. Reversing the rest of
+  // the tour instead gives the same cycle, so the shorter of the two is reversed.
+  private void reverse(int i, int j) {
+    int length = Math.floorMod(j - i, n) + 1;
+    if (2 * length > n) {
+      int tmp = i;
+      i = (j + 1) % n;
+      j = (tmp - 1 + n) % n;
+      length = n - length;
+    }
+    for (int s = 0; s < length / 2; s++) {
+      int ci = tour[i], cj = tour[j];
+      tour[i] = cj;
+      pos[cj] = i;
+      tour[j] = ci;
+      pos[ci] = j;
+      i = i + 1 == n ? 0 : i + 1;
+      j = j == 0 ? n - 1 : j - 1;
+    }
+  }
+
+  // Swaps two adjacent short segments after a random position, the double bridge move,
+  // and queues the cities whose edges changed.
+  private void kick() {
+    int maxLength = Math.min(MAX_KICK_SEGMENT, (n - 2) / 2);
+    int first = 1 + random.nextInt(maxLength), second = 1 + random.nextInt(maxLength);
+    int start = random.nextInt(n);
+
+    // Positions start + 1 .. start + first hold the first segment and the second one
+    // follows. Rewrite them as second, first.
+    int[] moved = new int[first + second];
+    for (int i = 0; i < second; i++) moved[i] = tour[(start + first + 1 + i) % n];
+    for (int i = 0; i < first; i++) moved[second + i] = tour[(start + 1 + i) % n];
+    int before = tour[start], after = tour[(start + first + second + 1) % n];
+    int firstStart = moved[second], firstEnd = moved[first + second - 1];
+    int secondStart = moved[0], secondEnd = moved[second - 1];
+
+    cost -= dist(before, firstStart) + dist(firstEnd, secondStart) + dist(secondEnd, after);
+    for (int i = 0; i < moved.length; i++) {
+      int p = (start + 1 + i) % n;
+      tour[p] = moved[i];
+      pos[moved[i]] = p;
+    }
+    cost += dist(before, secondStart) + dist(secondEnd, firstStart) + dist(firstEnd, after);
+
+    push(before);
+    push(after);
+    push(firstStart);
+    push(firstEnd);
+    push(secondStart);
+    push(secondEnd);
+  }
+
+  private boolean inSegment(int c, int a, int length) {
+    return Math.floorMod(pos[c] - pos[a], n) < length;
+  }
+
+  private int next(int c) {
+    int i = pos[c] + 1;
+    return tour[i == n ? 0 : i];
+  }
+
+  private int prev(int c) {
+    int i = pos[c];
+    return tour[i == 0 ? n - 1 : i - 1];
+  }
+
+  private void push(int c) {
+    if (queued[c]) return;
+    queued[c] = true;
+    queue[(head + size++) % n] = c;
+  }
+
+  private int pop() {
+    int c = queue[head];
+    head = (head + 1) % n;
+    size--;
+    queued[c] = false;
+    return c;
+  }
+
+  public static void main(String[] args) {
+    // 10k cities spread uniformly over a square. For large n the optimal tour is close to
+    // 0.7124 * sqrt(n * area).
+    int n = 10_000;
+    Random random = new Random(0);
+    double[] x = new double[n], y = new double[n];
+    for (int i = 0; i < n; i++) {
+      x[i] = random.nextDouble() * 1000;
+      y[i] = random.nextDouble() * 1000;
+    }
+    double estimate = 0.7124 * Math.sqrt(n * 1000.0 * 1000.0);
+
+    long time = System.nanoTime();
+    TspLocalSearch solver = new TspLocalSearch(x, y);
+    double cost = solver.getTourCost();
+    System.out.printf(
+        "Local optimum: %.0f (%.1f%% above estimate) in %.2f s\n",
+        cost, 100 * (cost / estimate - 1), (System.nanoTime() - time) / 1e9);
+
+    time = System.nanoTime();
+    solver = new TspLocalSearch(x, y);
+    solver.setTimeLimit(5000);
+    cost = solver.getTourCost();
+    System.out.printf(
+        "With kicks: %.0f (%.1f%% above estimate) in %.2f s\n",
+        cost, 100 * (cost / estimate - 1), (System.nanoTime() - time) / 1e9);
+  }
+}
@@ -1,6 +1,7 @@
 /** NOTE: This file is still in development! */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class TwoSatSolverAdjacencyList {
@@ -17,6 +18,12 @@ public class TwoSatSolverAdjacencyList {
     sccSolver = new TarjanSccSolverAdjacencyList(graph);
   }
 
+  // The implication graph in CSR form, where node 2i is variable i and 2i+1 is its negation.
+  public TwoSatSolverAdjacencyList(CsrGraph graph) {
+    n = graph.numNodes() / 2;
+    sccSolver = new TarjanSccSolverAdjacencyList(graph);
+  }
+
   // Returns true/false depending on whether this 2SAT problem is satisfiable
   public boolean isSatisfiable() {
     if (!solved) solve();
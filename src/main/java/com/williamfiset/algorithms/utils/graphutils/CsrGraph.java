@@ -0,0 +1,297 @@
+/**
+ * An immutable graph stored in Compressed Sparse Row (CSR) form.
+ *
+ * <p>The outgoing edges of node u are stored contiguously in targets[offsets[u]..offsets[u+1]) and,
+ * if the graph is weighted, the weight of edge e is found at index e of the weights array. Compared
+ * to a List<List<Integer>> adjacency list this uses ~4 bytes per edge (plus 8 for a weight) instead
+ * of a boxed Integer and a reference per edge and an ArrayList per node, and traversals scan memory
+ * sequentially instead of chasing pointers.
+ *
+ * <p>Iterate over the edges of a node like this:
+ *
+ * <pre>{@code
+ * for (int e = graph.start(u); e < graph.end(u); e++) {
+ *   int v = graph.target(e);
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>Build time complexity: O(V+E)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsrGraph implements StaticGraph {
+
+  private final int n;
+  private final int[] offsets, targets;
+
+  // At most one of these is non null, depending on how the graph was built.
+  private final double[] weights;
+  private final long[] longWeights;
+
+  private CsrGraph(int n, int[] offsets, int[] targets, double[] weights, long[] longWeights) {
+    this.n = n;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+    this.longWeights = longWeights;
+  }
+
+  /**
+   * Wraps already built CSR arrays without copying them. The arrays must not be modified
+   * afterwards.
+   *
+   * @param offsets An array of size n+1 where the edges of node u are in [offsets[u],
+   *     offsets[u+1]).
+   * @param targets The head of every edge, a node in [0, n).
+   * @param weights The weight of every edge, or null for an unweighted graph.
+   */
+  public static CsrGraph wrap(int[] offsets, int[] targets, double[] weights) {
+    validateCsr(offsets, targets, weights == null ? -1 : weights.length);
+    return new CsrGraph(offsets.length - 1, offsets, targets, weights, null);
+  }
+
+  /** Same as {@link #wrap(int[], int[], double[])} but for integer weighted graphs. */
+  public static CsrGraph wrap(int[] offsets, int[] targets, long[] weights) {
+    validateCsr(offsets, targets, weights == null ? -1 : weights.length);
+    return new CsrGraph(offsets.length - 1, offsets, targets, null, weights);
+  }
+
+  /**
+   * Builds an unweighted directed graph with n nodes from parallel edge arrays where the i'th edge
+   * goes from 'from[i]' to 'to[i]'. The outgoing edges of every node keep the order in which they
+   * appear in the input arrays.
+   */
+  public static CsrGraph fromEdges(int n, int[] from, int[] to) {
+    return build(n, from, to, null, null);
+  }
+
+  /** Builds a directed graph where the i'th edge has weight 'weights[i]'. */
+  public static CsrGraph fromEdges(int n, int[] from, int[] to, double[] weights) {
+    if (weights == null) throw new IllegalArgumentException("weights cannot be null");
+    return build(n, from, to, weights, null);
+  }
+
+  /** Builds a directed graph where the i'th edge has integer weight 'weights[i]'. */
+  public static CsrGraph fromEdges(int n, int[] from, int[] to, long[] weights) {
+    if (weights == null) throw new IllegalArgumentException("weights cannot be null");
+    return build(n, from, to, null, weights);
+  }
+
+  /**
+   * Builds an unweighted undirected graph by inserting every edge in both directions. The edges of
+   * a node are ordered with the edges it is the 'from' endpoint of first.
+   */
+  public static CsrGraph fromUndirectedEdges(int n, int[] from, int[] to) {
+    if (from == null || to == null) throw new IllegalArgumentException("Edges cannot be null");
+    return build(n, concat(from, to), concat(to, from), null, null);
+  }
+
+  /** Converts an adjacency list into CSR form, preserving the order of the edges. */
+  public static CsrGraph fromAdjacencyList(List<List<Integer>> graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    final int n = graph.size();
+    int[] offsets = new int[n + 1];
+    for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + graph.get(u).size();
+    int[] targets = new int[offsets[n]];
+    for (int u = 0, e = 0; u < n; u++) {
+      for (int v : graph.get(u)) {
+        if (v < 0 || v >= n)
+          throw new IllegalArgumentException("Edge target out of bounds; received: " + v);
+        targets[e++] = v;
+      }
+    }
+    return new CsrGraph(n, offsets, targets, null, null);
+  }
+
+  // Counting sort the edges by their source node. This is stable so the edges
+  // of every node stay in input order.
+  private static CsrGraph build(int n, int[] from, int[] to, double[] w, long[] lw) {
+    if (n < 0) throw new IllegalArgumentException("n cannot be negative; received: " + n);
+    if (from == null || to == null) throw new IllegalArgumentException("Edges cannot be null");
+    final int m = from.length;
+    if (to.length != m || (w != null && w.length != m) || (lw != null && lw.length != m))
+      throw new IllegalArgumentException("Edge arrays must all have the same length");
+
+    int[] offsets = new int[n + 1];
+    for (int i = 0; i < m; i++) {
+      int u = from[i], v = to[i];
+      if (u < 0 || u >= n)
+        throw new IllegalArgumentException("'from' node index out of bounds; received: " + u);
+      if (v < 0 || v >= n)
+        throw new IllegalArgumentException("'to' node index out of bounds; received: " + v);
+      offsets[u + 1]++;
+    }
+    for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+    int[] pos = new int[n];
+    System.arraycopy(offsets, 0, pos, 0, n);
+    int[] targets = new int[m];
+    double[] weights = w == null ? null : new double[m];
+    long[] longWeights = lw == null ? null : new long[m];
+    for (int i = 0; i < m; i++) {
+      int e = pos[from[i]]++;
+      targets[e] = to[i];
+      if (weights != null) weights[e] = w[i];
+      if (longWeights != null) longWeights[e] = lw[i];
+    }
+    return new CsrGraph(n, offsets, targets, weights, longWeights);
+  }
+
+  private static int[] concat(int[] a, int[] b) {
+    int[] c = new int[a.length + b.length];
+    System.arraycopy(a, 0, c, 0, a.length);
+    System.arraycopy(b, 0, c, a.length, b.length);
+    return c;
+  }
+
+  private static void validateCsr(int[] offsets, int[] targets, int weightsLength) {
+    if (offsets == null || offsets.length == 0 || targets == null)
+      throw new IllegalArgumentException("Invalid CSR arrays");
+    final int n = offsets.length - 1;
+    if (offsets[0] != 0 || offsets[n] != targets.length)
+      throw new IllegalArgumentException("Offsets do not match the number of edges");
+    if (weightsLength != -1 && weightsLength != targets.length)
+      throw new IllegalArgumentException("There must be exactly one weight per edge");
+    for (int u = 0; u < n; u++)
+      if (offsets[u] > offsets[u + 1])
+        throw new IllegalArgumentException("Offsets must be non decreasing");
+    for (int v : targets)
+      if (v < 0 || v >= n)
+        throw new IllegalArgumentException("Edge target out of bounds; received: " + v);
+  }
+
+  /** Returns the number of nodes in the graph. */
+  @Override
+  public int numNodes() {
+    return n;
+  }
+
+  /** Returns the number of directed edges in the graph. */
+  @Override
+  public int numEdges() {
+    return targets.length;
+  }
+
+  /** Index of the first outgoing edge of node u. */
+  @Override
+  public int start(int u) {
+    return offsets[u];
+  }
+
+  /** Index one past the last outgoing edge of node u. */
+  @Override
+  public int end(int u) {
+    return offsets[u + 1];
+  }
+
+  /** Returns the out degree of node u. */
+  public int degree(int u) {
+    return offsets[u + 1] - offsets[u];
+  }
+
+  /** Returns the node edge e points to. */
+  @Override
+  public int target(int e) {
+    return targets[e];
+  }
+
+  @Override
+  public boolean isWeighted() {
+    return weights != null || longWeights != null;
+  }
+
+  /** Returns the weight of edge e, or 1 if the graph is unweighted. */
+  @Override
+  public double weight(int e) {
+    if (weights != null) return weights[e];
+    if (longWeights != null) return longWeights[e];
+    return 1;
+  }
+
+  /** Returns the integer weight of edge e, or 1 if the graph is unweighted. */
+  @Override
+  public long longWeight(int e) {
+    if (longWeights != null) return longWeights[e];
+    if (weights != null) return (long) weights[e];
+    return 1;
+  }
+
+  // Raw access to the underlying arrays for tight loops. These arrays are shared
+  // with the graph and must not be modified.
+
+  public int[] offsets() {
+    return offsets;
+  }
+
+  public int[] targets() {
+    return targets;
+  }
+
+  /** Returns the double weights array or null if the graph has none. */
+  public double[] weights() {
+    return weights;
+  }
+
+  /** Returns the integer weights array or null if the graph has none. */
+  public long[] longWeights() {
+    return longWeights;
+  }
+
+  /** Returns a new graph with every edge reversed. Edge weights are carried over. */
+  public CsrGraph transpose() {
+    final int m = targets.length;
+    int[] offsetsT = new int[n + 1];
+    for (int e = 0; e < m; e++) offsetsT[targets[e] + 1]++;
+    for (int u = 0; u < n; u++) offsetsT[u + 1] += offsetsT[u];
+
+    int[] pos = new int[n];
+    System.arraycopy(offsetsT, 0, pos, 0, n);
+    int[] targetsT = new int[m];
+    double[] weightsT = weights == null ? null : new double[m];
+    long[] longWeightsT = longWeights == null ? null : new long[m];
+    for (int u = 0; u < n; u++) {
+      for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+        int f = pos[targets[e]]++;
+        targetsT[f] = u;
+        if (weightsT != null) weightsT[f] = weights[e];
+        if (longWeightsT != null) longWeightsT[f] = longWeights[e];
+      }
+    }
+    return new CsrGraph(n, offsetsT, targetsT, weightsT, longWeightsT);
+  }
+
+  /** Converts this graph back into an unweighted adjacency list. */
+  public List<List<Integer>> toAdjacencyList() {
+    List<List<Integer>> graph = new ArrayList<>(n);
+    for (int u = 0; u < n; u++) {
+      List<Integer> edges = new ArrayList<>(degree(u));
+      for (int e = offsets[u]; e < offsets[u + 1]; e++) edges.add(targets[e]);
+      graph.add(edges);
+    }
+    return graph;
+  }
+
+  public static void main(String[] args) {
+    int[] from = {0, 0, 1, 2, 2};
+    int[] to = {1, 2, 2, 0, 3};
+    CsrGraph graph = CsrGraph.fromEdges(4, from, to);
+
+    // Prints:
+    // 0 -> 1
+    // 0 -> 2
+    // 1 -> 2
+    // 2 -> 0
+    // 2 -> 3
+    for (int u = 0; u < graph.numNodes(); u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        System.out.println(u + " -> " + graph.target(e));
+      }
+    }
+  }
+}
@@ -1,12 +1,420 @@
+/**
+ * Random graph generators.
+ *
+ * <p>Every generator can be seeded and is then reproducible. Apart from the DagGenerator, which is
+ * sequential, the i'th edge is a pure function of the seed and i, no matter how many threads are
+ * used. Edges are produced in fixed size blocks where every block has its own random number
+ * generator derived from the seed, which lets blocks be generated in parallel. Edges can either be
+ * streamed one at a time through {@link EdgeGenerator#forEachEdge} without materializing anything
+ * or collected in parallel into primitive arrays or a {@link CsrGraph} with {@link
+ * EdgeGenerator#toCsrGraph}.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
 package com.williamfiset.algorithms.utils.graphutils;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 public class GraphGenerator {
 
+  // Receives the edges of a generated graph one at a time.
+  public interface EdgeConsumer {
+    void accept(int from, int to, double weight);
+  }
+
+  // Base class of the seeded generators. Subclasses define how the edge at a given
+  // index is generated.
+  public abstract static class EdgeGenerator {
+
+    // Number of consecutive edges generated with the same random number generator.
+    static final int BLOCK_SIZE = 1 << 14;
+
+    protected final long seed;
+
+    protected EdgeGenerator(long seed) {
+      this.seed = seed;
+    }
+
+    public abstract int numNodes();
+
+    public abstract long numEdges();
+
+    // Generates the edge at 'index' into 'out'. Edges are generated in increasing
+    // index order within a block and 'random' is the generator of that block.
+    protected abstract void edge(long index, SplittableRandom random, Edge out);
+
+    // A mutable edge reused across calls to avoid allocating an object per edge.
+    protected static final class Edge {
+      int from, to;
+      double weight;
+
+      void set(int from, int to, double weight) {
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+      }
+    }
+
+    // Streams every edge of the graph, in index order, to the consumer.
+    public void forEachEdge(EdgeConsumer consumer) {
+      final long m = numEdges();
+      Edge edge = new Edge();
+      for (long block = 0; block * BLOCK_SIZE < m; block++) {
+        SplittableRandom random = blockRandom(block);
+        long hi = Math.min(m, (block + 1) * BLOCK_SIZE);
+        for (long i = block * BLOCK_SIZE; i < hi; i++) {
+          edge(i, random, edge);
+          consumer.accept(edge.from, edge.to, edge.weight);
+        }
+      }
+    }
+
+    /**
+     * Generates all the edges in parallel into the given arrays, which must have a length of at
+     * least numEdges(). The weights array may be null. The output is identical to {@link
+     * #forEachEdge}.
+     */
+    public void fillEdges(int[] from, int[] to, double[] weights) {
+      final long m = numEdges();
+      if (from.length < m || to.length < m || (weights != null && weights.length < m))
+        throw new IllegalArgumentException("Edge arrays are too small");
+      final int numBlocks = (int) ((m + BLOCK_SIZE - 1) / BLOCK_SIZE);
+      IntStream.range(0, numBlocks)
+          .parallel()
+          .forEach(
+              block -> {
+                Edge edge = new Edge();
+                SplittableRandom random = blockRandom(block);
+                int hi = (int) Math.min(m, (long) (block + 1) * BLOCK_SIZE);
+                for (int i = block * BLOCK_SIZE; i < hi; i++) {
+                  edge(i, random, edge);
+                  from[i] = edge.from;
+                  to[i] = edge.to;
+                  if (weights != null) weights[i] = edge.weight;
+                }
+              });
+    }
+
+    // Generates the graph in parallel and stores it in CSR form.
+    public CsrGraph toCsrGraph() {
+      long m = numEdges();
+      if (m > Integer.MAX_VALUE - 8) throw new IllegalStateException("Too many edges: " + m);
+      int[] from = new int[(int) m], to = new int[(int) m];
+      double[] weights = new double[(int) m];
+      fillEdges(from, to, weights);
+      return CsrGraph.fromEdges(numNodes(), from, to, weights);
+    }
+
+    // Generates the graph as an unweighted adjacency list. Only suitable for small graphs.
+    public List<List<Integer>> toAdjacencyList() {
+      List<List<Integer>> graph = Utils.createEmptyAdjacencyList(numNodes());
+      forEachEdge((from, to, weight) -> graph.get(from).add(to));
+      return graph;
+    }
+
+    private SplittableRandom blockRandom(long block) {
+      return new SplittableRandom(mix(seed + 0x9E3779B97F4A7C15L * (block + 1)));
+    }
+
+    // A hash of the seed and a value, useful for generating values which must be a
+    // pure function of some id such as node coordinates.
+    protected final long hash(long value) {
+      return mix(seed ^ mix(value + 0x632BE59BD9B4E019L));
+    }
+
+    // Maps a hash to a double uniformly distributed in [0, 1).
+    protected static double toUnitDouble(long hash) {
+      return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    // The finalizer of the SplitMix64 generator.
+    static long mix(long z) {
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+    }
+  }
+
+  /**
+   * Erdos-Renyi style G(n, m) graph: m directed edges whose endpoints are chosen uniformly at
+   * random without self loops. Edges are sampled with replacement so a small number of parallel
+   * edges (about m^2/n^2 of them) can appear; deduplicating would require materializing the graph.
+   * Edge weights are integers uniformly chosen in [1, maxWeight].
+   */
+  public static class ErdosRenyiGenerator extends EdgeGenerator {
+    private final int n, maxWeight;
+    private final long m;
+
+    public ErdosRenyiGenerator(int n, long m, int maxWeight, long seed) {
+      super(seed);
+      if (n < 2) throw new IllegalArgumentException("n must be at least 2");
+      if (m < 0) throw new IllegalArgumentException("m cannot be negative");
+      if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive");
+      this.n = n;
+      this.m = m;
+      this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public int numNodes() {
+      return n;
+    }
+
+    @Override
+    public long numEdges() {
+      return m;
+    }
+
+    @Override
+    protected void edge(long index, SplittableRandom random, Edge out) {
+      int from = random.nextInt(n), to = random.nextInt(n - 1);
+      if (to >= from) to++;
+      out.set(from, to, 1 + random.nextInt(maxWeight));
+    }
+  }
+
+  /**
+   * R-MAT (recursive matrix) generator producing power-law graphs similar to social and web graphs,
+   * as used by the Graph500 benchmark. The graph has 2^scale nodes and edgeFactor * 2^scale edges.
+   * Every edge is placed by recursively choosing one of the four quadrants of the adjacency matrix
+   * with probabilities a, b, c and 1-a-b-c. The Graph500 parameters are a=0.57, b=0.19, c=0.19.
+   * Self loops and parallel edges are kept.
+   */
+  public static class RmatGenerator extends EdgeGenerator {
+    private final int scale, maxWeight;
+    private final long m;
+    private final double a, ab, abc;
+
+    public RmatGenerator(
+        int scale, int edgeFactor, double a, double b, double c, int maxWeight, long seed) {
+      super(seed);
+      if (scale < 1 || scale > 30) throw new IllegalArgumentException("scale must be in [1, 30]");
+      if (edgeFactor < 1) throw new IllegalArgumentException("edgeFactor must be positive");
+      if (a < 0 || b < 0 || c < 0 || a + b + c > 1)
+        throw new IllegalArgumentException("Invalid quadrant probabilities");
+      if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive");
+      this.scale = scale;
+      this.m = (long) edgeFactor << scale;
+      this.a = a;
+      this.ab = a + b;
+      this.abc = a + b + c;
+      this.maxWeight = maxWeight;
+    }
+
+    // An R-MAT generator with the Graph500 parameters.
+    public RmatGenerator(int scale, int edgeFactor, int maxWeight, long seed) {
+      this(scale, edgeFactor, 0.57, 0.19, 0.19, maxWeight, seed);
+    }
+
+    @Override
+    public int numNodes() {
+      return 1 << scale;
+    }
+
+    @Override
+    public long numEdges() {
+      return m;
+    }
+
+    @Override
+    protected void edge(long index, SplittableRandom random, Edge out) {
+      int from = 0, to = 0;
+      for (int bit = 1 << (scale - 1); bit > 0; bit >>= 1) {
+        double r = random.nextDouble();
+        if (r >= abc) {
+          from |= bit;
+          to |= bit;
+        } else if (r >= ab) {
+          from |= bit;
+        } else if (r >= a) {
+          to |= bit;
+        }
+      }
+      out.set(from, to, 1 + random.nextInt(maxWeight));
+    }
+  }
+
+  /**
+   * A road-network-like grid graph. Node (r, c) has id r * cols + c and is connected in both
+   * directions to its right and bottom neighbours. Every node gets coordinates near (c, r),
+   * perturbed by up to 'jitter' in each dimension, and every edge weight is the euclidean distance
+   * between its endpoints multiplied by a random detour factor in [1, 1 + maxDetour]. Since weights
+   * are never shorter than the straight line distance, euclidean distance over the coordinates is
+   * an admissible A* heuristic.
+   *
+   * <p>Edges [0, H) are the horizontal edges going right, [H, H+V) the vertical edges going down
+   * and the next H+V edges are their reverse in the same order.
+   */
+  public static class GridGenerator extends EdgeGenerator {
+    private final int rows, cols;
+    private final double jitter, maxDetour;
+    private final long horizontal, vertical;
+
+    public GridGenerator(int rows, int cols, double jitter, double maxDetour, long seed) {
+      super(seed);
+      if (rows < 1 || cols < 1) throw new IllegalArgumentException("Grid must be non empty");
+      if ((long) rows * cols > Integer.MAX_VALUE)
+        throw new IllegalArgumentException("Too many nodes");
+      if (jitter < 0 || jitter >= 0.5)
+        throw new IllegalArgumentException("jitter must be in [0, 0.5)");
+      if (maxDetour < 0) throw new IllegalArgumentException("maxDetour cannot be negative");
+      this.rows = rows;
+      this.cols = cols;
+      this.jitter = jitter;
+      this.maxDetour = maxDetour;
+      this.horizontal = (long) rows * (cols - 1);
+      this.vertical = (long) (rows - 1) * cols;
+    }
+
+    @Override
+    public int numNodes() {
+      return rows * cols;
+    }
+
+    @Override
+    public long numEdges() {
+      return 2 * (horizontal + vertical);
+    }
+
+    public double x(int node) {
+      return node % cols + jitter * (2 * toUnitDouble(hash(2L * node)) - 1);
+    }
+
+    public double y(int node) {
+      return node / cols + jitter * (2 * toUnitDouble(hash(2L * node + 1)) - 1);
+    }
+
+    // Returns the x coordinates of all nodes, for use with A*.
+    public double[] xCoordinates() {
+      double[] x = new double[numNodes()];
+      Arrays.parallelSetAll(x, this::x);
+      return x;
+    }
+
+    // Returns the y coordinates of all nodes, for use with A*.
+    public double[] yCoordinates() {
+      double[] y = new double[numNodes()];
+      Arrays.parallelSetAll(y, this::y);
+      return y;
+    }
+
+    @Override
+    protected void edge(long index, SplittableRandom random, Edge out) {
+      boolean reverse = index >= horizontal + vertical;
+      long id = reverse ? index - horizontal - vertical : index;
+      int u, v;
+      if (id < horizontal) {
+        long r = id / (cols - 1), c = id % (cols - 1);
+        u = (int) (r * cols + c);
+        v = u + 1;
+      } else {
+        u = (int) (id - horizontal);
+        v = u + cols;
+      }
+      // The weight only depends on the undirected edge id so both directions match.
+      double dx = x(u) - x(v), dy = y(u) - y(v);
+      double detour = 1 + maxDetour * toUnitDouble(hash(-1 - id));
+      double weight = Math.sqrt(dx * dx + dy * dy) * detour;
+      if (reverse) out.set(v, u, weight);
+      else out.set(u, v, weight);
+    }
+  }
+
+  /**
+   * A uniformly random recursive tree rooted at node 0: the parent of every node i > 0 is chosen
+   * uniformly among [0, i). Edge i-1 goes from the parent of node i to node i. Edge weights are
+   * integers uniformly chosen in [1, maxWeight].
+   */
+  public static class RandomTreeGenerator extends EdgeGenerator {
+    private final int n, maxWeight;
+
+    public RandomTreeGenerator(int n, int maxWeight, long seed) {
+      super(seed);
+      if (n < 1) throw new IllegalArgumentException("n must be positive");
+      if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive");
+      this.n = n;
+      this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public int numNodes() {
+      return n;
+    }
+
+    @Override
+    public long numEdges() {
+      return n - 1;
+    }
+
+    @Override
+    protected void edge(long index, SplittableRandom random, Edge out) {
+      int child = (int) index + 1;
+      out.set(random.nextInt(child), child, 1 + random.nextInt(maxWeight));
+    }
+  }
+
+  /**
+   * A bipartite flow network. Nodes [0, left) form the left side, [left, left + right) the right
+   * side, and the network has a source connected to every left node and a sink which every right
+   * node is connected to. The remaining edges go from a random left node to a random right node.
+   * Edge weights are capacities chosen uniformly in [1, maxCapacity].
+   *
+   * <p>Edges [0, left) leave the source, the next 'right' edges enter the sink and the remaining
+   * 'middleEdges' edges cross the bipartition.
+   */
+  public static class FlowNetworkGenerator extends EdgeGenerator {
+    private final int left, right, maxCapacity;
+    private final long middleEdges;
+
+    public FlowNetworkGenerator(int left, int right, long middleEdges, int maxCapacity, long seed) {
+      super(seed);
+      if (left < 1 || right < 1) throw new IllegalArgumentException("Both sides must be non empty");
+      if ((long) left + right + 2 > Integer.MAX_VALUE)
+        throw new IllegalArgumentException("Too many nodes");
+      if (middleEdges < 0) throw new IllegalArgumentException("middleEdges cannot be negative");
+      if (maxCapacity < 1) throw new IllegalArgumentException("maxCapacity must be positive");
+      this.left = left;
+      this.right = right;
+      this.middleEdges = middleEdges;
+      this.maxCapacity = maxCapacity;
+    }
+
+    public int source() {
+      return left + right;
+    }
+
+    public int sink() {
+      return left + right + 1;
+    }
+
+    @Override
+    public int numNodes() {
+      return left + right + 2;
+    }
+
+    @Override
+    public long numEdges() {
+      return left + right + middleEdges;
+    }
+
+    @Override
+    protected void edge(long index, SplittableRandom random, Edge out) {
+      double capacity = 1 + random.nextInt(maxCapacity);
+      if (index < left) {
+        out.set(source(), (int) index, capacity);
+      } else if (index < left + right) {
+        out.set((int) index, sink(), capacity);
+      } else {
+        out.set(random.nextInt(left), left + random.nextInt(right), capacity);
+      }
+    }
+  }
+
   public static class DagGenerator {
     double edgeProbability;
     int minLevels, maxLevels, minNodesPerLevel, maxNodesPerLevel;
+    Random random;
 
     // Generates a DAg gives several parameters. Make sure the edge probability
     // is high enough to make a mostly connected graph.
@@ -21,6 +429,19 @@ public class GraphGenerator {
       this.minNodesPerLevel = minNodesPerLevel;
       this.maxNodesPerLevel = maxNodesPerLevel;
       this.edgeProbability = edgeProbability;
+      this.random = new Random();
+    }
+
+    // Same as above but seeded, so generators with the same seed create the same DAGs.
+    public DagGenerator(
+        int minLevels,
+        int maxLevels,
+        int minNodesPerLevel,
+        int maxNodesPerLevel,
+        double edgeProbability,
+        long seed) {
+      this(minLevels, maxLevels, minNodesPerLevel, maxNodesPerLevel, edgeProbability);
+      this.random = new Random(seed);
     }
 
     /**
@@ -28,8 +449,8 @@ public class GraphGenerator {
      * @param max - The maximum.
      * @return A random double between these numbers (inclusive the minimum and maximum).
      */
-    private static int rand(int min, int max) {
-      return min + (int) (Math.random() * ((max - min) + 1));
+    private int rand(int min, int max) {
+      return min + random.nextInt((max - min) + 1);
     }
 
     public List<List<Integer>> createDag() {
@@ -46,7 +467,7 @@ public class GraphGenerator {
       for (int l = 0; l < levels - 1; l++) { // For each level
         for (int i = 0; i < nodesPerLevel[l]; i++) { // for each node on each level
           for (int j = 0; j < nodesPerLevel[l + 1]; j++) { // for each possible edge link
-            if (Math.random() <= edgeProbability) {
+            if (random.nextDouble() <= edgeProbability) {
               Utils.addDirectedEdge(g, levelIndex + i, levelIndex + nodesPerLevel[l] + j);
             }
           }
@@ -60,5 +481,14 @@ public class GraphGenerator {
   public static void main(String[] args) {
     DagGenerator gen = new DagGenerator(10, 10, 5, 5, 0.9);
     gen.createDag();
+
+    // A power-law graph with 2^16 nodes and 2^20 edges, generated in parallel.
+    CsrGraph rmat = new RmatGenerator(16, 16, 100, 42).toCsrGraph();
+    System.out.printf("R-MAT graph: %d nodes, %d edges\n", rmat.numNodes(), rmat.numEdges());
+
+    // Edges can also be streamed without storing the graph.
+    long[] totalWeight = {0};
+    new ErdosRenyiGenerator(1000, 100000, 10, 42).forEachEdge((u, v, w) -> totalWeight[0] += w);
+    System.out.println("Total G(n, m) weight: " + totalWeight[0]);
   }
 }
@@ -0,0 +1,275 @@
+/**
+ * A compact binary on-disk graph format which is opened by memory mapping the file. The graph is
+ * written once with {@link #write} and then opened with {@link #open} in time independent of the
+ * size of the graph since nothing is read or copied onto the heap; pages are loaded lazily by the
+ * OS when they are first touched and are shared through the page cache by every process which maps
+ * the same file.
+ *
+ * <p>The file layout is (all values little endian):
+ *
+ * <pre>
+ * offset  size         content
+ * 0       4            magic number 'GRPH'
+ * 4       4            format version
+ * 8       4            weight type (0 = unweighted, 1 = double, 2 = long)
+ * 12      4            reserved
+ * 16      8            number of nodes n
+ * 24      8            number of edges m
+ * 32      4 * (n + 1)  int offsets, the edges of node u are in [offsets[u], offsets[u+1])
+ * ...     4 * m        int targets
+ * ...     0 or 4       zero padding so the weights start at a multiple of 8 bytes
+ * ...     8 * m        double or long weights (if weighted)
+ * </pre>
+ *
+ * <p>A single {@link MappedByteBuffer} can map at most 2GB so larger sections are split into
+ * multiple 1GB chunks.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public final class MappedGraph implements StaticGraph {
+
+  static final int MAGIC = 0x48505247; // "GRPH" in little endian
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 32;
+
+  static final int UNWEIGHTED = 0, DOUBLE_WEIGHTS = 1, LONG_WEIGHTS = 2;
+
+  // Every section is mapped in chunks of 2^30 bytes.
+  private static final int CHUNK_SHIFT = 30;
+  private static final long CHUNK_BYTES = 1L << CHUNK_SHIFT;
+
+  // Number of elements per chunk for 4 and 8 byte values.
+  private static final int INT_SHIFT = CHUNK_SHIFT - 2, LONG_SHIFT = CHUNK_SHIFT - 3;
+  private static final int INT_MASK = (1 << INT_SHIFT) - 1, LONG_MASK = (1 << LONG_SHIFT) - 1;
+
+  private final int n, m, weightType;
+  private final IntBuffer[] offsets, targets;
+  private final DoubleBuffer[] doubleWeights;
+  private final LongBuffer[] longWeights;
+
+  // The first chunk of each int section. Every graph with fewer than 2^28 nodes and
+  // edges fits in a single chunk so this avoids a level of indirection in the
+  // common case.
+  private final IntBuffer offsets0, targets0;
+
+  private MappedGraph(FileChannel channel, int n, int m, int weightType) throws IOException {
+    this.n = n;
+    this.m = m;
+    this.weightType = weightType;
+
+    long pos = HEADER_BYTES;
+    ByteBuffer[] chunks = map(channel, pos, 4L * (n + 1));
+    offsets = new IntBuffer[chunks.length];
+    for (int i = 0; i < chunks.length; i++) offsets[i] = chunks[i].asIntBuffer();
+    pos += 4L * (n + 1);
+
+    chunks = map(channel, pos, 4L * m);
+    targets = new IntBuffer[chunks.length];
+    for (int i = 0; i < chunks.length; i++) targets[i] = chunks[i].asIntBuffer();
+    pos = HEADER_BYTES + pad(4L * (n + 1) + 4L * m);
+
+    DoubleBuffer[] dw = null;
+    LongBuffer[] lw = null;
+    if (weightType != UNWEIGHTED) {
+      chunks = map(channel, pos, 8L * m);
+      if (weightType == DOUBLE_WEIGHTS) dw = new DoubleBuffer[chunks.length];
+      else lw = new LongBuffer[chunks.length];
+      for (int i = 0; i < chunks.length; i++) {
+        if (dw != null) dw[i] = chunks[i].asDoubleBuffer();
+        else lw[i] = chunks[i].asLongBuffer();
+      }
+    }
+    doubleWeights = dw;
+    longWeights = lw;
+
+    offsets0 = offsets[0];
+    targets0 = targets.length > 0 ? targets[0] : null;
+  }
+
+  // Maps the section [pos, pos+size) of the file as a sequence of chunks.
+  private static ByteBuffer[] map(FileChannel channel, long pos, long size) throws IOException {
+    int numChunks = (int) ((size + CHUNK_BYTES - 1) >>> CHUNK_SHIFT);
+    ByteBuffer[] chunks = new ByteBuffer[numChunks];
+    for (int i = 0; i < numChunks; i++) {
+      long chunkSize = Math.min(CHUNK_BYTES, size - ((long) i << CHUNK_SHIFT));
+      MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_ONLY, pos + ((long) i << CHUNK_SHIFT), chunkSize);
+      chunks[i] = buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return chunks;
+  }
+
+  private static long pad(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+
+  /**
+   * Memory maps a graph file previously created with {@link #write}. The file can be closed or
+   * deleted afterwards; the mapping remains valid until the graph is garbage collected.
+   *
+   * @throws IOException if the file cannot be read or is not a valid graph file.
+   */
+  public static MappedGraph open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) throw new IOException("Truncated header");
+      }
+      header.flip();
+      if (header.getInt(0) != MAGIC) throw new IOException("Not a graph file: " + path);
+      if (header.getInt(4) != VERSION)
+        throw new IOException("Unsupported graph file version: " + header.getInt(4));
+      int weightType = header.getInt(8);
+      long n = header.getLong(16), m = header.getLong(24);
+      if (weightType < UNWEIGHTED || weightType > LONG_WEIGHTS)
+        throw new IOException("Invalid weight type: " + weightType);
+      if (n < 0 || n >= Integer.MAX_VALUE || m < 0 || m > Integer.MAX_VALUE)
+        throw new IOException("Invalid graph size, n = " + n + ", m = " + m);
+      if (channel.size() < fileSize(n, m, weightType))
+        throw new IOException("Graph file is truncated: " + path);
+      return new MappedGraph(channel, (int) n, (int) m, weightType);
+    }
+  }
+
+  static long fileSize(long n, long m, int weightType) {
+    return HEADER_BYTES + pad(4 * (n + 1) + 4 * m) + (weightType == UNWEIGHTED ? 0 : 8 * m);
+  }
+
+  /**
+   * Writes a graph to a file in the binary format. Weights are stored as longs if the graph is a
+   * {@link CsrGraph} built with long weights and as doubles otherwise.
+   */
+  public static void write(StaticGraph graph, Path path) throws IOException {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    final int n = graph.numNodes(), m = graph.numEdges();
+    int weightType = UNWEIGHTED;
+    if (graph.isWeighted()) {
+      boolean longs =
+          (graph instanceof CsrGraph && ((CsrGraph) graph).longWeights() != null)
+              || (graph instanceof MappedGraph && ((MappedGraph) graph).weightType == LONG_WEIGHTS);
+      weightType = longs ? LONG_WEIGHTS : DOUBLE_WEIGHTS;
+    }
+
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(weightType).putInt(0);
+      buffer.putLong(n).putLong(m);
+      for (int u = 0; u < n; u++) {
+        buffer.putInt(graph.start(u));
+        flushIfFull(channel, buffer);
+      }
+      buffer.putInt(m);
+      for (int e = 0; e < m; e++) {
+        buffer.putInt(graph.target(e));
+        flushIfFull(channel, buffer);
+      }
+      if ((n + 1 + m) % 2 == 1) buffer.putInt(0);
+      for (int e = 0; weightType != UNWEIGHTED && e < m; e++) {
+        if (weightType == DOUBLE_WEIGHTS) buffer.putDouble(graph.weight(e));
+        else buffer.putLong(graph.longWeight(e));
+        flushIfFull(channel, buffer);
+      }
+      buffer.flip();
+      while (buffer.hasRemaining()) channel.write(buffer);
+    }
+  }
+
+  // Writes out the buffer once there is no longer room for another 8 byte value.
+  private static void flushIfFull(FileChannel channel, ByteBuffer buffer) throws IOException {
+    if (buffer.remaining() >= 16) return;
+    buffer.flip();
+    while (buffer.hasRemaining()) channel.write(buffer);
+    buffer.clear();
+  }
+
+  private static int getInt(IntBuffer[] chunks, int i) {
+    return chunks[i >>> INT_SHIFT].get(i & INT_MASK);
+  }
+
+  @Override
+  public int numNodes() {
+    return n;
+  }
+
+  @Override
+  public int numEdges() {
+    return m;
+  }
+
+  @Override
+  public int start(int u) {
+    return u <= INT_MASK ? offsets0.get(u) : getInt(offsets, u);
+  }
+
+  @Override
+  public int end(int u) {
+    return start(u + 1);
+  }
+
+  @Override
+  public int target(int e) {
+    return e <= INT_MASK ? targets0.get(e) : getInt(targets, e);
+  }
+
+  @Override
+  public boolean isWeighted() {
+    return weightType != UNWEIGHTED;
+  }
+
+  @Override
+  public double weight(int e) {
+    if (doubleWeights != null) return doubleWeights[e >>> LONG_SHIFT].get(e & LONG_MASK);
+    if (longWeights != null) return longWeights[e >>> LONG_SHIFT].get(e & LONG_MASK);
+    return 1;
+  }
+
+  @Override
+  public long longWeight(int e) {
+    if (longWeights != null) return longWeights[e >>> LONG_SHIFT].get(e & LONG_MASK);
+    if (doubleWeights != null) return (long) doubleWeights[e >>> LONG_SHIFT].get(e & LONG_MASK);
+    return 1;
+  }
+
+  public static void main(String[] args) throws IOException {
+    int[] from = {0, 0, 1, 2, 2};
+    int[] to = {1, 2, 2, 0, 3};
+    double[] weights = {0.5, 1.5, 2.5, 3.5, 4.5};
+    Path path = Paths.get(System.getProperty("java.io.tmpdir"), "example.graph");
+    MappedGraph.write(CsrGraph.fromEdges(4, from, to, weights), path);
+
+    MappedGraph graph = MappedGraph.open(path);
+
+    // Prints:
+    // 0 -> 1 (0.5)
+    // 0 -> 2 (1.5)
+    // 1 -> 2 (2.5)
+    // 2 -> 0 (3.5)
+    // 2 -> 3 (4.5)
+    for (int u = 0; u < graph.numNodes(); u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        System.out.printf("%d -> %d (%.1f)\n", u, graph.target(e), graph.weight(e));
+      }
+    }
+    Files.delete(path);
+  }
+}
@@ -0,0 +1,36 @@
+/**
+ * A read-only directed graph whose edges are numbered so that the outgoing edges of node u are the
+ * edges with indexes in [start(u), end(u)). This is the layout of a Compressed Sparse Row (CSR)
+ * graph and lets algorithms run unchanged on a graph held in memory ({@link CsrGraph}) or on one
+ * memory mapped from disk ({@link MappedGraph}).
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+public interface StaticGraph {
+
+  /** Returns the number of nodes in the graph. */
+  public int numNodes();
+
+  /** Returns the number of directed edges in the graph. */
+  public int numEdges();
+
+  /** Index of the first outgoing edge of node u. */
+  public int start(int u);
+
+  /** Index one past the last outgoing edge of node u. */
+  public int end(int u);
+
+  /** Returns the node edge e points to. */
+  public int target(int e);
+
+  /** Returns true if the edges of the graph carry weights. */
+  public boolean isWeighted();
+
+  /** Returns the weight of edge e, or 1 if the graph is unweighted. */
+  public double weight(int e);
+
+  /** Returns the integer weight of edge e, or 1 if the graph is unweighted. */
+  public long longWeight(int e);
+}
@@ -0,0 +1,149 @@
+package com.williamfiset.algorithms.ai;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class GeneticAlgorithmTest {
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void teardown() {
+    pool.shutdown();
+  }
+
+  // Maximize the number of ones in a bit string.
+  static class OneMax implements GeneticAlgorithm.Problem<boolean[]> {
+    final int n;
+    int allocated;
+
+    OneMax(int n) {
+      this.n = n;
+    }
+
+    @Override
+    public synchronized boolean[] newGenome(Random random) {
+      allocated++;
+      boolean[] bits = new boolean[n];
+      for (int i = 0; i < n; i++) bits[i] = random.nextBoolean();
+      return bits;
+    }
+
+    @Override
+    public double fitness(boolean[] bits) {
+      int count = 0;
+      for (boolean bit : bits) if (bit) count++;
+      return count;
+    }
+
+    @Override
+    public void crossover(boolean[] p1, boolean[] p2, boolean[] child, Random random) {
+      for (int i = 0; i < n; i++) child[i] = random.nextBoolean() ? p1[i] : p2[i];
+    }
+
+    @Override
+    public void mutate(boolean[] bits, Random random) {
+      if (random.nextInt(4) == 0) {
+        int i = random.nextInt(n);
+        bits[i] = !bits[i];
+      }
+    }
+
+    @Override
+    public void copy(boolean[] from, boolean[] to) {
+      System.arraycopy(from, 0, to, 0, n);
+    }
+  }
+
+  @Test
+  public void testReachesTarget() {
+    GeneticAlgorithm<boolean[]> ga = new GeneticAlgorithm<>(new OneMax(64));
+    ga.setPool(pool);
+    ga.setIslands(4, 50);
+    ga.setGenerations(10_000);
+    ga.setTargetFitness(64);
+    assertThat(ga.getBestFitness()).isEqualTo(64.0);
+    assertThat(ga.getGenerations()).isLessThan(10_000);
+    for (boolean bit : ga.getBest()) assertThat(bit).isTrue();
+  }
+
+  @Test
+  public void testRunsAllGenerationsWithoutTarget() {
+    GeneticAlgorithm<boolean[]> ga = new GeneticAlgorithm<>(new OneMax(32));
+    ga.setPool(pool);
+    ga.setIslands(3, 20);
+    ga.setGenerations(125);
+    ga.setMigration(50, 3);
+    ga.solve();
+    assertThat(ga.getGenerations()).isEqualTo(125);
+    assertThat(ga.getBestFitness()).isEqualTo(32.0);
+  }
+
+  @Test
+  public void testSameSeedSameResult() {
+    boolean[][] results = new boolean[2][];
+    double[] fitness = new double[2];
+    for (int run = 0; run < 2; run++) {
+      GeneticAlgorithm<boolean[]> ga = new GeneticAlgorithm<>(new OneMax(500));
+      ga.setPool(pool);
+      ga.setIslands(4, 30);
+      ga.setGenerations(60);
+      ga.setMigration(10, 2);
+      ga.setPowerIncrement(0.01);
+      ga.setSeed(42);
+      results[run] = ga.getBest();
+      fitness[run] = ga.getBestFitness();
+    }
+    assertThat(fitness[0]).isEqualTo(fitness[1]);
+    assertThat(Arrays.equals(results[0], results[1])).isTrue();
+  }
+
+  @Test
+  public void testPopulationsAreAllocatedOnce() {
+    OneMax problem = new OneMax(16);
+    GeneticAlgorithm<boolean[]> ga = new GeneticAlgorithm<>(problem);
+    ga.setPool(pool);
+    ga.setIslands(2, 10);
+    ga.setGenerations(500);
+    ga.setMigration(20, 1);
+    ga.solve();
+    // Two populations, one emigrant and one best genome per island.
+    assertThat(problem.allocated).isEqualTo(2 * (2 * 10 + 1 + 1));
+  }
+
+  @Test
+  public void testZeroFitnessPopulation() {
+    GeneticAlgorithm<boolean[]> ga =
+        new GeneticAlgorithm<>(
+            new OneMax(8) {
+              @Override
+              public double fitness(boolean[] bits) {
+                return 0;
+              }
+            });
+    ga.setIslands(1, 10);
+    ga.setGenerations(20);
+    assertThat(ga.getBestFitness()).isEqualTo(0.0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTooManyMigrants() {
+    GeneticAlgorithm<boolean[]> ga = new GeneticAlgorithm<>(new OneMax(8));
+    ga.setIslands(2, 4);
+    ga.setMigration(10, 4);
+    ga.solve();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullProblem() {
+    new GeneticAlgorithm<boolean[]>(null);
+  }
+}
@@ -0,0 +1,91 @@
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class DialBucketQueueTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSizeOfZero() {
+    new DialBucketQueue(0, 10);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testPollEmpty() {
+    new DialBucketQueue(10, 10).pollMinKeyIndex();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueBelowLastPolled() {
+    DialBucketQueue pq = new DialBucketQueue(10, 10);
+    pq.insert(0, 5);
+    pq.pollMinKeyIndex();
+    pq.insert(1, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueAboveSpread() {
+    DialBucketQueue pq = new DialBucketQueue(10, 10);
+    pq.insert(0, 11);
+  }
+
+  @Test
+  public void testEqualValues() {
+    DialBucketQueue pq = new DialBucketQueue(5, 10);
+    for (int i = 0; i < 5; i++) pq.insert(i, 7);
+    Set<Integer> polled = new HashSet<>();
+    while (!pq.isEmpty()) polled.add(pq.pollMinKeyIndex());
+    assertThat(polled).containsExactly(0, 1, 2, 3, 4);
+    assertThat(pq.lastValue()).isEqualTo(7);
+  }
+
+  // Uses the queue the way Dijkstra does, inserting and decreasing values no smaller
+  // than the last one polled, and checks every poll against a sorted set.
+  @Test
+  public void testMonotoneOperations() {
+    Random random = new Random(7);
+    int n = 2000;
+    DialBucketQueue pq = new DialBucketQueue(n, 1000);
+    for (int round = 0; round < 3; round++) {
+      long spread = 1000;
+      TreeSet<long[]> expected =
+          new TreeSet<>(
+              (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+      long[] values = new long[n];
+      boolean[] polled = new boolean[n];
+      long last = 0;
+      for (int step = 0; step < 20000; step++) {
+        int ki = random.nextInt(n);
+        long value = last + (long) (random.nextDouble() * spread);
+        if (polled[ki]) continue;
+        if (!pq.contains(ki)) {
+          pq.insert(ki, value);
+          values[ki] = value;
+          expected.add(new long[] {value, ki});
+        } else if (value < values[ki]) {
+          pq.decrease(ki, value);
+          expected.remove(new long[] {values[ki], ki});
+          values[ki] = value;
+          expected.add(new long[] {value, ki});
+        }
+        if (random.nextInt(3) == 0 && !pq.isEmpty()) {
+          int min = pq.pollMinKeyIndex();
+          long[] top = expected.pollFirst();
+          assertThat(values[min]).isEqualTo(top[0]);
+          if (top[1] != min) {
+            // Another key with the same value came first.
+            expected.remove(new long[] {values[min], min});
+            expected.add(top);
+          }
+          polled[min] = true;
+          last = values[min];
+        }
+      }
+      assertThat(pq.size()).isEqualTo(expected.size());
+      pq.clear();
+      assertThat(pq.isEmpty()).isTrue();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.*;
+
+public class MinIndexedDHeapDoubleTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSizeOfZero() {
+    new MinIndexedDHeapDouble(4, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateKeys() {
+    MinIndexedDHeapDouble pq = new MinIndexedDHeapDouble(4, 10);
+    pq.insert(5, 1.0);
+    pq.insert(5, 2.0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaNValue() {
+    MinIndexedDHeapDouble pq = new MinIndexedDHeapDouble(4, 10);
+    pq.insert(5, Double.NaN);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testKeyOutOfBounds() {
+    new MinIndexedDHeapDouble(4, 10).contains(10);
+  }
+
+  @Test
+  public void testOperations() {
+    MinIndexedDHeapDouble pq = new MinIndexedDHeapDouble(3, 7);
+
+    pq.insert(4, 4.5);
+    assertThat(pq.contains(4)).isTrue();
+    assertThat(pq.peekMinValue()).isEqualTo(4.5);
+    assertThat(pq.update(4, 8.5)).isEqualTo(4.5);
+    assertThat(pq.peekMinValue()).isEqualTo(8.5);
+    assertThat(pq.pollMinKeyIndex()).isEqualTo(4);
+    assertThat(pq.contains(4)).isFalse();
+    pq.insert(3, 99);
+    pq.insert(1, 101);
+    pq.insert(2, 60);
+    assertThat(pq.peekMinKeyIndex()).isEqualTo(2);
+    pq.increase(2, 150);
+    assertThat(pq.peekMinKeyIndex()).isEqualTo(3);
+    pq.increase(3, 50); // Not an increase, so no change
+    assertThat(pq.valueOf(3)).isEqualTo(99.0);
+    pq.decrease(1, -500.25);
+    assertThat(pq.peekMinValue()).isEqualTo(-500.25);
+    assertThat(pq.peekMinKeyIndex()).isEqualTo(1);
+    pq.decrease(1, 0); // Not a decrease, so no change
+    assertThat(pq.valueOf(1)).isEqualTo(-500.25);
+    assertThat(pq.delete(1)).isEqualTo(-500.25);
+    assertThat(pq.contains(1)).isFalse();
+    assertThat(pq.pollMinValue()).isEqualTo(99.0);
+    assertThat(pq.pollMinValue()).isEqualTo(150.0);
+    assertThat(pq.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testClear() {
+    MinIndexedDHeapDouble pq = new MinIndexedDHeapDouble(2, 100);
+    for (int i = 0; i < 100; i += 3) pq.insert(i, -i);
+    pq.clear();
+    assertThat(pq.isEmpty()).isTrue();
+    for (int i = 0; i < 100; i++) assertThat(pq.contains(i)).isFalse();
+    pq.insert(3, 7);
+    assertThat(pq.pollMinKeyIndex()).isEqualTo(3);
+  }
+
+  @Test
+  public void testRandomOperationsAgainstPriorityQueue() {
+    Random random = new Random(1234);
+    for (int degree = 2; degree <= 9; degree++) {
+      int n = 500;
+      MinIndexedDHeapDouble pq1 = new MinIndexedDHeapDouble(degree, n);
+      PriorityQueue<Double> pq2 = new PriorityQueue<>();
+      double[] values = new double[n];
+
+      for (int op = 0; op < 20000; op++) {
+        int ki = random.nextInt(n);
+        if (!pq1.contains(ki)) {
+          values[ki] = random.nextDouble();
+          pq1.insert(ki, values[ki]);
+          pq2.add(values[ki]);
+        } else if (random.nextBoolean()) {
+          double value = values[ki] - random.nextDouble();
+          pq1.decrease(ki, value);
+          pq2.remove(values[ki]);
+          pq2.add(values[ki] = value);
+        } else {
+          pq2.remove(pq1.delete(ki));
+        }
+        if (random.nextInt(10) == 0 && !pq2.isEmpty()) {
+          assertThat(pq1.pollMinValue()).isEqualTo(pq2.poll());
+        }
+        assertThat(pq1.size()).isEqualTo(pq2.size());
+        if (!pq2.isEmpty()) assertThat(pq1.peekMinValue()).isEqualTo(pq2.peek());
+      }
+      assertThat(pq1.isMinHeap()).isTrue();
+    }
+  }
+}
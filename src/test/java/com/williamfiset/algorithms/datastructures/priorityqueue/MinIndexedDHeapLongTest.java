@@ -0,0 +1,49 @@
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.*;
+
+public class MinIndexedDHeapLongTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSizeOfZero() {
+    new MinIndexedDHeapLong(4, 0);
+  }
+
+  @Test(expected = java.util.NoSuchElementException.class)
+  public void testPollEmpty() {
+    new MinIndexedDHeapLong(4, 10).pollMinValue();
+  }
+
+  @Test
+  public void testExtremeValues() {
+    MinIndexedDHeapLong pq = new MinIndexedDHeapLong(4, 3);
+    pq.insert(0, Long.MAX_VALUE);
+    pq.insert(1, Long.MIN_VALUE);
+    pq.insert(2, 0);
+    assertThat(pq.pollMinValue()).isEqualTo(Long.MIN_VALUE);
+    assertThat(pq.pollMinValue()).isEqualTo(0L);
+    assertThat(pq.pollMinValue()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void testHeapSort() {
+    Random random = new Random(99);
+    for (int degree = 2; degree <= 16; degree++) {
+      int n = 1000;
+      long[] values = new long[n];
+      MinIndexedDHeapLong pq = new MinIndexedDHeapLong(degree, n);
+      for (int i = 0; i < n; i++) pq.insert(i, values[i] = random.nextLong() >> 2);
+      // Decrease every other value to exercise swim.
+      for (int i = 0; i < n; i += 2) pq.decrease(i, values[i] = values[i] - (1L << 40));
+      assertThat(pq.isMinHeap()).isTrue();
+
+      Arrays.sort(values);
+      for (int i = 0; i < n; i++) assertThat(pq.pollMinValue()).isEqualTo(values[i]);
+      assertThat(pq.isEmpty()).isTrue();
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.*;
+
+public class ConcurrentUnionFindTest {
+
+  static final int THREADS = 8;
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(THREADS);
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdown();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadSize() {
+    new ConcurrentUnionFind(0);
+  }
+
+  @Test
+  public void testNumComponents() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(5);
+    assertThat(uf.components()).isEqualTo(5);
+
+    assertThat(uf.unify(0, 1)).isTrue();
+    assertThat(uf.components()).isEqualTo(4);
+
+    assertThat(uf.unify(1, 0)).isFalse();
+    assertThat(uf.components()).isEqualTo(4);
+
+    uf.unify(1, 2);
+    uf.unify(0, 2);
+    assertThat(uf.components()).isEqualTo(3);
+
+    uf.unify(3, 4);
+    assertThat(uf.components()).isEqualTo(2);
+
+    uf.unify(1, 3);
+    assertThat(uf.components()).isEqualTo(1);
+    assertThat(uf.size()).isEqualTo(5);
+  }
+
+  @Test
+  public void testConnectivity() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(6);
+    uf.unify(0, 1);
+    uf.unify(2, 3);
+    assertThat(uf.connected(0, 1)).isTrue();
+    assertThat(uf.connected(1, 2)).isFalse();
+    assertThat(uf.find(2)).isEqualTo(uf.find(3));
+    uf.unify(1, 3);
+    assertThat(uf.connected(0, 2)).isTrue();
+    assertThat(uf.connected(4, 5)).isFalse();
+    assertThat(uf.connected(5, 5)).isTrue();
+  }
+
+  @Test
+  public void testLongChain() {
+    int n = 100_000;
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+    for (int i = 1; i < n; i++) uf.unify(i - 1, i);
+    assertThat(uf.components()).isEqualTo(1);
+    assertThat(uf.connected(0, n - 1)).isTrue();
+  }
+
+  @Test
+  public void testUnifyAllSameAsSequential() {
+    int n = 50_000, m = 40_000;
+    Random random = new Random(0);
+    int[] a = new int[m], b = new int[m];
+    for (int i = 0; i < m; i++) {
+      a[i] = random.nextInt(n);
+      b[i] = random.nextInt(n);
+    }
+    UnionFind expected = new UnionFind(n);
+    for (int i = 0; i < m; i++) expected.unify(a[i], b[i]);
+
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(n, 1);
+    int merged = uf.unifyAll(a, b, pool);
+    assertThat(merged).isEqualTo(n - expected.components());
+    assertThat(uf.components()).isEqualTo(expected.components());
+    for (int i = 0; i < 2000; i++) {
+      int p = random.nextInt(n), q = random.nextInt(n);
+      assertThat(uf.connected(p, q)).isEqualTo(expected.connected(p, q));
+    }
+    // Unifying the same pairs again merges nothing.
+    assertThat(uf.unifyAll(a, b, pool)).isEqualTo(0);
+  }
+
+  // Several threads unify random pairs while others query. Each successful unify must
+  // be counted exactly once, a pair seen connected must stay connected, and the final
+  // sets must match a sequential run over the same pairs.
+  @Test
+  public void testStress() throws Exception {
+    final int n = 2000, perThread = 3000;
+    for (long seed = 0; seed < 5; seed++) {
+      final ConcurrentUnionFind uf = new ConcurrentUnionFind(n, seed);
+      final int[][] a = new int[THREADS][perThread], b = new int[THREADS][perThread];
+      Random random = new Random(seed);
+      UnionFind expected = new UnionFind(n);
+      for (int t = 0; t < THREADS; t++) {
+        for (int i = 0; i < perThread; i++) {
+          a[t][i] = random.nextInt(n);
+          b[t][i] = random.nextInt(n);
+          expected.unify(a[t][i], b[t][i]);
+        }
+      }
+
+      final CyclicBarrier barrier = new CyclicBarrier(2 * THREADS);
+      final AtomicBoolean failed = new AtomicBoolean();
+      final int[] merged = new int[THREADS];
+      List<Thread> threads = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        final int id = t;
+        threads.add(
+            new Thread(
+                () -> {
+                  await(barrier);
+                  for (int i = 0; i < perThread; i++) {
+                    if (uf.unify(a[id][i], b[id][i])) merged[id]++;
+                    if (!uf.connected(a[id][i], b[id][i])) failed.set(true);
+                  }
+                }));
+        final Random queries = new Random(seed * THREADS + t);
+        threads.add(
+            new Thread(
+                () -> {
+                  await(barrier);
+                  for (int i = 0; i < perThread; i++) {
+                    int p = queries.nextInt(n), q = queries.nextInt(n);
+                    if (uf.connected(p, q) && !uf.connected(q, p)) failed.set(true);
+                  }
+                }));
+      }
+      for (Thread thread : threads) thread.start();
+      for (Thread thread : threads) thread.join();
+
+      assertThat(failed.get()).isFalse();
+      int totalMerged = 0;
+      for (int count : merged) totalMerged += count;
+      assertThat(totalMerged).isEqualTo(n - expected.components());
+      assertThat(uf.components()).isEqualTo(expected.components());
+      for (int p = 0; p < n; p++) {
+        assertThat(uf.connected(p, 0)).isEqualTo(expected.connected(p, 0));
+      }
+    }
+  }
+
+  private static void await(CyclicBarrier barrier) {
+    try {
+      barrier.await();
+    } catch (InterruptedException | BrokenBarrierException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
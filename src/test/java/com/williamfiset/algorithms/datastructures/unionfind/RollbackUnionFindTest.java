@@ -0,0 +1,83 @@
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class RollbackUnionFindTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadSize() {
+    new RollbackUnionFind(0);
+  }
+
+  @Test
+  public void testUnifyAndRollback() {
+    RollbackUnionFind uf = new RollbackUnionFind(5);
+    int empty = uf.snapshot();
+
+    assertThat(uf.unify(0, 1)).isTrue();
+    assertThat(uf.unify(1, 0)).isFalse();
+    assertThat(uf.unify(2, 3)).isTrue();
+    assertThat(uf.components()).isEqualTo(3);
+    int twoUnions = uf.snapshot();
+
+    uf.unify(1, 3);
+    assertThat(uf.components()).isEqualTo(2);
+    assertThat(uf.componentSize(0)).isEqualTo(4);
+    assertThat(uf.connected(0, 2)).isTrue();
+
+    uf.rollback(twoUnions);
+    assertThat(uf.components()).isEqualTo(3);
+    assertThat(uf.connected(0, 2)).isFalse();
+    assertThat(uf.connected(0, 1)).isTrue();
+    assertThat(uf.componentSize(3)).isEqualTo(2);
+
+    uf.rollback(empty);
+    assertThat(uf.components()).isEqualTo(5);
+    for (int i = 0; i < 5; i++) {
+      assertThat(uf.find(i)).isEqualTo(i);
+      assertThat(uf.componentSize(i)).isEqualTo(1);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRollbackToInvalidatedSnapshot() {
+    RollbackUnionFind uf = new RollbackUnionFind(3);
+    uf.unify(0, 1);
+    int snapshot = uf.snapshot();
+    uf.rollback(0);
+    uf.rollback(snapshot);
+  }
+
+  @Test
+  public void testRandomRollbacks() {
+    int n = 200;
+    Random random = new Random(0);
+    RollbackUnionFind uf = new RollbackUnionFind(n);
+    // Replay the unions still in effect on a plain union find to check the state.
+    List<int[]> unions = new ArrayList<>();
+    Deque<int[]> snapshots = new ArrayDeque<>();
+    for (int step = 0; step < 2000; step++) {
+      int op = random.nextInt(10);
+      if (op < 6) {
+        int p = random.nextInt(n), q = random.nextInt(n);
+        uf.unify(p, q);
+        unions.add(new int[] {p, q});
+      } else if (op < 8) {
+        snapshots.push(new int[] {uf.snapshot(), unions.size()});
+      } else if (!snapshots.isEmpty()) {
+        int[] snapshot = snapshots.pop();
+        uf.rollback(snapshot[0]);
+        unions.subList(snapshot[1], unions.size()).clear();
+      }
+      UnionFind expected = new UnionFind(n);
+      for (int[] union : unions) expected.unify(union[0], union[1]);
+      assertThat(uf.components()).isEqualTo(expected.components());
+      int p = random.nextInt(n), q = random.nextInt(n);
+      assertThat(uf.connected(p, q)).isEqualTo(expected.connected(p, q));
+      assertThat(uf.componentSize(p)).isEqualTo(expected.componentSize(p));
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.*;
+import org.junit.*;
+
+public class AStarLandmarksTest {
+
+  // Returns the average number of settled nodes.
+  private static double assertSameAsDijkstra(
+      CsrGraph graph, AStarLandmarks solver, int queries, long seed) {
+    long[] settled = new long[1];
+    ShortestPathAssertions.assertSameAsDijkstra(
+        graph,
+        (s, t) -> {
+          double dist = solver.shortestPath(s, t);
+          settled[0] += solver.getSettledCount();
+          return dist;
+        },
+        solver::reconstructPath,
+        queries,
+        seed);
+    return (double) settled[0] / queries;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedHeuristic() {
+    CsrGraph a = CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, new double[] {1});
+    CsrGraph b = CsrGraph.fromEdges(3, new int[] {0}, new int[] {1}, new double[] {1});
+    new AStarLandmarks(a, new LandmarkHeuristic(b, new int[] {0}));
+  }
+
+  @Test
+  public void testSmallGraph() {
+    int[] from = {0, 0, 2, 1, 2, 3};
+    int[] to = {1, 2, 1, 3, 3, 4};
+    double[] cost = {4, 1, 2, 1, 5, 3};
+    CsrGraph graph = CsrGraph.fromEdges(6, from, to, cost);
+    AStarLandmarks solver = new AStarLandmarks(graph, new LandmarkHeuristic(graph, new int[] {4}));
+
+    assertThat(solver.shortestPath(0, 4)).isEqualTo(7.0);
+    assertThat(solver.reconstructPath(0, 4)).containsExactly(0, 2, 1, 3, 4).inOrder();
+    assertThat(solver.shortestPath(4, 0)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(solver.reconstructPath(0, 5)).isEmpty();
+    assertThat(solver.reconstructPath(3, 3)).containsExactly(3);
+  }
+
+  @Test
+  public void testRandomGraphs() {
+    for (long seed = 0; seed < 3; seed++) {
+      CsrGraph graph = new GraphGenerator.ErdosRenyiGenerator(500, 1500, 30, seed).toCsrGraph();
+      for (LandmarkHeuristic.Selection selection : LandmarkHeuristic.Selection.values()) {
+        LandmarkHeuristic heuristic = new LandmarkHeuristic(graph, 4, selection, seed);
+        assertSameAsDijkstra(graph, new AStarLandmarks(graph, heuristic), 200, seed);
+      }
+    }
+  }
+
+  @Test
+  public void testZeroWeightEdges() {
+    CsrGraph graph = new GraphGenerator.ErdosRenyiGenerator(300, 1200, 2, 5).toCsrGraph();
+    double[] weights = graph.weights().clone();
+    for (int e = 0; e < weights.length; e++) weights[e] -= 1;
+    graph = CsrGraph.wrap(graph.offsets(), graph.targets(), weights);
+    LandmarkHeuristic heuristic =
+        new LandmarkHeuristic(graph, 4, LandmarkHeuristic.Selection.AVOID, 5);
+    assertSameAsDijkstra(graph, new AStarLandmarks(graph, heuristic), 200, 5);
+  }
+
+  @Test
+  public void testLandmarksReduceSearch() {
+    CsrGraph graph = new GraphGenerator.GridGenerator(60, 60, 0.3, 1.5, 3).toCsrGraph();
+    LandmarkHeuristic heuristic =
+        new LandmarkHeuristic(graph, 16, LandmarkHeuristic.Selection.AVOID, 3);
+    double settled = assertSameAsDijkstra(graph, new AStarLandmarks(graph, heuristic), 100, 3);
+    // Dijkstra settles about a third of a grid on average for random queries.
+    assertThat(settled).isLessThan(graph.numNodes() / 10.0);
+  }
+}
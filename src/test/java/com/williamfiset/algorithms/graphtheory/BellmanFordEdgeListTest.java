@@ -0,0 +1,118 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.graphtheory.BellmanFordEdgeList.Edge;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class BellmanFordEdgeListTest {
+
+  static final double INF = Double.POSITIVE_INFINITY;
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdown();
+  }
+
+  // Integer costs in [minCost, maxCost], so all the sums are exact.
+  private static Edge[] randomEdges(int n, int m, int minCost, int maxCost, long seed) {
+    Random random = new Random(seed);
+    Edge[] edges = new Edge[m];
+    for (int i = 0; i < m; i++) {
+      int cost = minCost + random.nextInt(maxCost - minCost + 1);
+      edges[i] = new Edge(random.nextInt(n), random.nextInt(n), cost);
+    }
+    return edges;
+  }
+
+  private void assertAllSame(Edge[] edges, int n, int start) {
+    double[] expected = BellmanFordEdgeList.bellmanFord(edges, n, start);
+    assertThat(BellmanFordEdgeList.bellmanFordSpfa(edges, n, start)).isEqualTo(expected);
+    assertThat(BellmanFordEdgeList.bellmanFordParallel(edges, n, start, pool)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testSmallGraph() {
+    Edge[] edges = {
+      new Edge(0, 1, 5), new Edge(0, 2, 2), new Edge(2, 1, -4), new Edge(1, 3, 1),
+    };
+    double[] expected = {0, -2, 2, -1, INF};
+    assertThat(BellmanFordEdgeList.bellmanFordSpfa(edges, 5, 0)).isEqualTo(expected);
+    assertThat(BellmanFordEdgeList.bellmanFordParallel(edges, 5, 0, pool)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testNegativeCycle() {
+    // 1 -> 2 -> 3 -> 1 has length -1 and leads on to 4. Node 5 can reach the cycle but
+    // is not reachable from it.
+    Edge[] edges = {
+      new Edge(0, 1, 1), new Edge(1, 2, 2), new Edge(2, 3, -4), new Edge(3, 1, 1),
+      new Edge(3, 4, 7), new Edge(0, 5, 3), new Edge(5, 1, 1),
+    };
+    double ninf = Double.NEGATIVE_INFINITY;
+    double[] expected = {0, ninf, ninf, ninf, ninf, 3};
+    assertThat(BellmanFordEdgeList.bellmanFordSpfa(edges, 6, 0)).isEqualTo(expected);
+    assertThat(BellmanFordEdgeList.bellmanFordParallel(edges, 6, 0, pool)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testUnreachableNegativeCycle() {
+    Edge[] edges = {new Edge(0, 1, 2), new Edge(2, 3, -1), new Edge(3, 2, -1)};
+    double[] expected = {0, 2, INF, INF};
+    assertThat(BellmanFordEdgeList.bellmanFordSpfa(edges, 4, 0)).isEqualTo(expected);
+    assertThat(BellmanFordEdgeList.bellmanFordParallel(edges, 4, 0, pool)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testNoEdges() {
+    assertAllSame(new Edge[0], 3, 1);
+  }
+
+  @Test
+  public void testRandomNonNegativeGraphs() {
+    for (long seed = 0; seed < 10; seed++) {
+      assertAllSame(randomEdges(200, 800, 0, 50, seed), 200, 0);
+    }
+  }
+
+  @Test
+  public void testRandomGraphsWithNegativeCycles() {
+    // Mostly positive edges with a few negative ones, which makes for graphs both with
+    // and without negative cycles.
+    boolean sawCycle = false;
+    for (long seed = 0; seed < 40; seed++) {
+      Edge[] edges = randomEdges(100, 300, -4, 30, seed);
+      assertAllSame(edges, 100, (int) seed);
+      double[] dist = BellmanFordEdgeList.bellmanFord(edges, 100, (int) seed);
+      for (double d : dist) sawCycle |= d == Double.NEGATIVE_INFINITY;
+    }
+    assertThat(sawCycle).isTrue();
+  }
+
+  @Test
+  public void testParallelManyChunks() {
+    // More edges than fit in one chunk, so several tasks update the same nodes.
+    for (long seed = 0; seed < 3; seed++) {
+      assertAllSame(randomEdges(1000, 50_000, -1, 40, seed), 1000, 0);
+    }
+  }
+
+  @Test
+  public void testFractionalAndNegativeDistances() {
+    Edge[] edges = {
+      new Edge(0, 1, -0.5), new Edge(1, 2, -1.25), new Edge(0, 2, 0.1), new Edge(2, 3, 0.75),
+    };
+    double[] expected = {0, -0.5, -1.75, -1.0};
+    assertThat(BellmanFordEdgeList.bellmanFordSpfa(edges, 4, 0)).isEqualTo(expected);
+    assertThat(BellmanFordEdgeList.bellmanFordParallel(edges, 4, 0, pool)).isEqualTo(expected);
+  }
+}
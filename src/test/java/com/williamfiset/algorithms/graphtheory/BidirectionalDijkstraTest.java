@@ -0,0 +1,67 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.*;
+import org.junit.*;
+
+public class BidirectionalDijkstraTest {
+
+  private static void assertSameAsDijkstra(CsrGraph graph, int queries, long seed) {
+    BidirectionalDijkstra solver = new BidirectionalDijkstra(graph);
+    ShortestPathAssertions.assertSameAsDijkstra(
+        graph, solver::shortestPath, solver::reconstructPath, queries, seed);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGraph() {
+    new BidirectionalDijkstra(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeEdge() {
+    new BidirectionalDijkstra(
+        CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, new double[] {-1}));
+  }
+
+  @Test
+  public void testSmallGraph() {
+    int[] from = {0, 0, 2, 1, 2, 3};
+    int[] to = {1, 2, 1, 3, 3, 4};
+    double[] cost = {4, 1, 2, 1, 5, 3};
+    CsrGraph graph = CsrGraph.fromEdges(6, from, to, cost);
+    BidirectionalDijkstra solver = new BidirectionalDijkstra(graph);
+
+    assertThat(solver.shortestPath(0, 4)).isEqualTo(7.0);
+    assertThat(solver.reconstructPath(0, 4)).containsExactly(0, 2, 1, 3, 4).inOrder();
+    assertThat(solver.shortestPath(4, 0)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(solver.reconstructPath(0, 5)).isEmpty();
+    assertThat(solver.shortestPath(3, 3)).isEqualTo(0.0);
+    assertThat(solver.reconstructPath(3, 3)).containsExactly(3);
+    assertThat(solver.reconstructPath(2, 3)).containsExactly(2, 1, 3).inOrder();
+  }
+
+  @Test
+  public void testRandomGraphs() {
+    for (long seed = 0; seed < 3; seed++) {
+      CsrGraph graph = new GraphGenerator.ErdosRenyiGenerator(500, 1500, 30, seed).toCsrGraph();
+      assertSameAsDijkstra(graph, 300, seed);
+    }
+  }
+
+  @Test
+  public void testZeroWeightEdges() {
+    CsrGraph graph = new GraphGenerator.ErdosRenyiGenerator(300, 1200, 2, 5).toCsrGraph();
+    double[] weights = graph.weights().clone();
+    for (int e = 0; e < weights.length; e++) weights[e] -= 1;
+    assertSameAsDijkstra(CsrGraph.wrap(graph.offsets(), graph.targets(), weights), 300, 5);
+  }
+
+  @Test
+  public void testGrid() {
+    CsrGraph graph = new GraphGenerator.GridGenerator(30, 40, 0.3, 1, 3).toCsrGraph();
+    assertSameAsDijkstra(graph, 200, 3);
+  }
+}
@@ -0,0 +1,108 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BreadthFirstSearchDirectionOptimizingTest {
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdown();
+  }
+
+  // Checks the distances against a sequential BFS and that every parent is a
+  // valid BFS tree parent.
+  private void assertValidBfs(CsrGraph graph, CsrGraph reverse, int start) {
+    BreadthFirstSearchDirectionOptimizing solver =
+        new BreadthFirstSearchDirectionOptimizing(graph, reverse, pool);
+    solver.bfs(start);
+    int[] dist = solver.getDist(), parent = solver.getParent();
+    assertThat(dist).isEqualTo(BreadthFirstSearchAdjacencyListIterativeFastQueue.bfs(graph, start));
+
+    for (int v = 0; v < graph.numNodes(); v++) {
+      if (v == start || dist[v] == -1) {
+        assertThat(parent[v]).isEqualTo(-1);
+        continue;
+      }
+      int u = parent[v];
+      assertThat(dist[u]).isEqualTo(dist[v] - 1);
+      boolean hasEdge = false;
+      for (int e = reverse.start(v); e < reverse.end(v); e++) hasEdge |= reverse.target(e) == u;
+      assertThat(hasEdge).isTrue();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGraphInput() {
+    new BreadthFirstSearchDirectionOptimizing(null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testResultsBeforeSearch() {
+    CsrGraph graph = CsrGraph.fromEdges(1, new int[0], new int[0]);
+    new BreadthFirstSearchDirectionOptimizing(graph).getDist();
+  }
+
+  @Test
+  public void testSingletonGraph() {
+    CsrGraph graph = CsrGraph.fromEdges(1, new int[0], new int[0]);
+    assertValidBfs(graph, graph, 0);
+  }
+
+  @Test
+  public void testLongPath() {
+    // A path stays top-down the whole time.
+    int n = 5000;
+    int[] from = new int[n - 1], to = new int[n - 1];
+    for (int i = 0; i + 1 < n; i++) {
+      from[i] = i;
+      to[i] = i + 1;
+    }
+    CsrGraph graph = CsrGraph.fromEdges(n, from, to);
+    assertValidBfs(graph, graph.transpose(), 0);
+    assertValidBfs(graph, graph.transpose(), n / 2);
+  }
+
+  @Test
+  public void testStar() {
+    // The first level covers the whole graph so the search goes bottom-up.
+    int n = 100000;
+    int[] from = new int[n - 1], to = new int[n - 1];
+    for (int i = 1; i < n; i++) to[i - 1] = i;
+    CsrGraph graph = CsrGraph.fromUndirectedEdges(n, from, to);
+    assertValidBfs(graph, graph, 0);
+    assertValidBfs(graph, graph, 77);
+  }
+
+  @Test
+  public void testPowerLawGraphs() {
+    for (long seed = 0; seed < 3; seed++) {
+      CsrGraph graph = new GraphGenerator.RmatGenerator(15, 8, 1, seed).toCsrGraph();
+      CsrGraph reverse = graph.transpose();
+      for (int start = 0; start < graph.numNodes(); start += 9973) {
+        assertValidBfs(graph, reverse, start);
+      }
+    }
+  }
+
+  @Test
+  public void testRandomGraphs() {
+    for (long seed = 0; seed < 5; seed++) {
+      CsrGraph graph = new GraphGenerator.ErdosRenyiGenerator(20000, 60000, 1, seed).toCsrGraph();
+      assertValidBfs(graph, graph.transpose(), (int) seed);
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.*;
@@ -144,6 +145,28 @@ public class BridgesAdjacencyListIterativeTest {
     assertThat(sortedBridges).containsExactlyElementsIn(expected);
   }
 
+  @Test
+  public void testDisconnectedCsrGraph() {
+    int n = 11;
+    int[] from = {0, 2, 3, 5, 5, 6, 8, 8, 8};
+    int[] to = {1, 1, 4, 7, 6, 7, 7, 9, 10};
+    CsrGraph graph = CsrGraph.fromUndirectedEdges(n, from, to);
+
+    BridgesAdjacencyListIterative solver = new BridgesAdjacencyListIterative(graph);
+    List<Pair<Integer, Integer>> sortedBridges = getSortedBridges(solver.findBridges());
+
+    List<Pair<Integer, Integer>> expected =
+        ImmutableList.of(
+            Pair.of(0, 1),
+            Pair.of(1, 2),
+            Pair.of(3, 4),
+            Pair.of(7, 8),
+            Pair.of(8, 9),
+            Pair.of(8, 10));
+
+    assertThat(sortedBridges).containsExactlyElementsIn(expected);
+  }
+
   private static List<Pair<Integer, Integer>> getSortedBridges(List<Integer> bridgeNodes) {
     List<Pair<Integer, Integer>> bridges = new ArrayList<>();
     for (int i = 0; i < bridgeNodes.size(); i += 2) {
@@ -0,0 +1,118 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import org.junit.*;
+
+public class ContractionHierarchyTest {
+
+  private static void assertSameAsDijkstra(
+      CsrGraph graph, ContractionHierarchy hierarchy, int queries, long seed) {
+    ShortestPathAssertions.assertSameAsDijkstra(
+        graph, hierarchy::shortestPath, hierarchy::reconstructPath, queries, seed);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGraph() {
+    new ContractionHierarchy(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeEdge() {
+    new ContractionHierarchy(
+        CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, new double[] {-1}));
+  }
+
+  @Test
+  public void testSmallGraph() {
+    int[] from = {0, 0, 2, 1, 2, 3, 3};
+    int[] to = {1, 2, 1, 3, 3, 4, 3};
+    double[] cost = {4, 1, 2, 1, 5, 3, 1};
+    CsrGraph graph = CsrGraph.fromEdges(6, from, to, cost);
+    ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+
+    assertThat(hierarchy.shortestPath(0, 4)).isEqualTo(7.0);
+    assertThat(hierarchy.reconstructPath(0, 4)).containsExactly(0, 2, 1, 3, 4).inOrder();
+    assertThat(hierarchy.shortestPath(4, 0)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(hierarchy.reconstructPath(0, 5)).isEmpty();
+    assertThat(hierarchy.shortestPath(3, 3)).isEqualTo(0.0);
+    assertThat(hierarchy.reconstructPath(3, 3)).containsExactly(3);
+    assertThat(hierarchy.reconstructPath(2, 3)).containsExactly(2, 1, 3).inOrder();
+  }
+
+  @Test
+  public void testRanksArePermutation() {
+    CsrGraph graph = new GraphGenerator.GridGenerator(10, 10, 0.3, 1, 2).toCsrGraph();
+    ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+    boolean[] seen = new boolean[graph.numNodes()];
+    for (int v = 0; v < graph.numNodes(); v++) seen[hierarchy.rank(v)] = true;
+    for (boolean b : seen) assertThat(b).isTrue();
+  }
+
+  @Test
+  public void testRandomGraphs() {
+    for (long seed = 0; seed < 3; seed++) {
+      CsrGraph graph = new GraphGenerator.ErdosRenyiGenerator(500, 1500, 30, seed).toCsrGraph();
+      assertSameAsDijkstra(graph, new ContractionHierarchy(graph), 300, seed);
+    }
+  }
+
+  @Test
+  public void testZeroWeightEdges() {
+    CsrGraph graph = new GraphGenerator.ErdosRenyiGenerator(300, 1200, 2, 5).toCsrGraph();
+    double[] weights = graph.weights().clone();
+    for (int e = 0; e < weights.length; e++) weights[e] -= 1;
+    graph = CsrGraph.wrap(graph.offsets(), graph.targets(), weights);
+    assertSameAsDijkstra(graph, new ContractionHierarchy(graph), 300, 5);
+  }
+
+  @Test
+  public void testGrid() {
+    CsrGraph graph = new GraphGenerator.GridGenerator(40, 40, 0.3, 1.5, 3).toCsrGraph();
+    assertSameAsDijkstra(graph, new ContractionHierarchy(graph), 300, 3);
+  }
+
+  @Test
+  public void testSeparateQueries() {
+    CsrGraph graph = new GraphGenerator.GridGenerator(20, 20, 0.3, 1.5, 4).toCsrGraph();
+    ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+    ContractionHierarchy.Query a = hierarchy.newQuery(), b = hierarchy.newQuery();
+    assertThat(a.shortestPath(0, 399)).isEqualTo(hierarchy.shortestPath(0, 399));
+    assertThat(b.shortestPath(399, 0)).isEqualTo(hierarchy.shortestPath(399, 0));
+    // Answering another query on 'b' leaves the result of 'a' untouched.
+    assertThat(a.reconstructPath(0, 399)).isEqualTo(hierarchy.reconstructPath(0, 399));
+  }
+
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    CsrGraph graph = new GraphGenerator.GridGenerator(30, 30, 0.3, 1.5, 6).toCsrGraph();
+    ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+    Path file = Files.createTempFile("hierarchy", ".ch");
+    try {
+      hierarchy.save(file);
+      ContractionHierarchy loaded = ContractionHierarchy.load(file);
+      assertThat(loaded.numNodes()).isEqualTo(hierarchy.numNodes());
+      assertThat(loaded.numShortcuts()).isEqualTo(hierarchy.numShortcuts());
+      assertSameAsDijkstra(graph, loaded, 200, 6);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadInvalidFile() throws IOException {
+    Path file = Files.createTempFile("hierarchy", ".ch");
+    try {
+      Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+      ContractionHierarchy.load(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
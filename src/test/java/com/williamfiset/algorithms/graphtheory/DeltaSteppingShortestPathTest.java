@@ -0,0 +1,152 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class DeltaSteppingShortestPathTest {
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdown();
+  }
+
+  // Checks every distance against Dijkstra's and that following prev from any node
+  // walks back to the start along edges which add up to its distance.
+  private void assertSameAsDijkstra(CsrGraph graph, DeltaSteppingShortestPath solver, int start) {
+    int n = graph.numNodes();
+    solver.solve(start);
+    double[] dist = solver.getDist();
+    int[] prev = solver.getPrev();
+    double[] expectedDist = dijkstra(graph, start);
+    for (int v = 0; v < n; v++) {
+      double expected = expectedDist[v];
+      assertThat(dist[v]).isWithin(1e-9).of(expected);
+      if (expected == Double.POSITIVE_INFINITY || v == start) {
+        assertThat(prev[v]).isEqualTo(-1);
+        continue;
+      }
+      double length = 0;
+      int steps = 0;
+      for (int at = v; at != start; at = prev[at], steps++) {
+        assertThat(steps).isLessThan(n);
+        int u = prev[at];
+        double best = Double.POSITIVE_INFINITY;
+        for (int e = graph.start(u); e < graph.end(u); e++)
+          if (graph.target(e) == at) best = Math.min(best, graph.weight(e));
+        length += best;
+      }
+      assertThat(length).isWithin(1e-9).of(dist[v]);
+    }
+  }
+
+  // A plain Dijkstra computing the distance to every node.
+  private static double[] dijkstra(CsrGraph graph, int start) {
+    double[] dist = new double[graph.numNodes()];
+    Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    dist[start] = 0;
+    PriorityQueue<double[]> pq = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+    pq.add(new double[] {0, start});
+    while (!pq.isEmpty()) {
+      double[] top = pq.poll();
+      int u = (int) top[1];
+      if (top[0] > dist[u]) continue;
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        int v = graph.target(e);
+        if (dist[u] + graph.weight(e) < dist[v]) {
+          dist[v] = dist[u] + graph.weight(e);
+          pq.add(new double[] {dist[v], v});
+        }
+      }
+    }
+    return dist;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeEdge() {
+    new DeltaSteppingShortestPath(3).addEdge(0, 1, -1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddEdgeToStaticGraph() {
+    CsrGraph graph = CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, new double[] {1});
+    new DeltaSteppingShortestPath(graph).addEdge(1, 0, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeltaTooSmall() {
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(2);
+    solver.addEdge(0, 1, 1e9);
+    solver.setDelta(1e-3);
+    solver.solve(0);
+  }
+
+  @Test
+  public void testSameApiAsDijkstra() {
+    int n = 6;
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(n);
+    DijkstrasShortestPathAdjacencyList dijkstra = new DijkstrasShortestPathAdjacencyList(n);
+    int[][] edges = {{0, 1, 4}, {0, 2, 1}, {2, 1, 2}, {1, 3, 1}, {2, 3, 5}, {3, 4, 3}};
+    for (int[] e : edges) {
+      solver.addEdge(e[0], e[1], e[2]);
+      dijkstra.addEdge(e[0], e[1], e[2]);
+    }
+    assertThat(solver.shortestPath(0, 4)).isEqualTo(dijkstra.dijkstra(0, 4));
+    assertThat(solver.reconstructPath(0, 4)).isEqualTo(dijkstra.reconstructPath(0, 4));
+    assertThat(solver.reconstructPath(0, 4)).containsExactly(0, 2, 1, 3, 4).inOrder();
+    assertThat(solver.shortestPath(0, 5)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(solver.reconstructPath(0, 5)).isEmpty();
+    assertThat(solver.reconstructPath(3, 3)).containsExactly(3);
+    assertThat(solver.dijkstra(0, 4)).isEqualTo(dijkstra.dijkstra(0, 4));
+    assertThat(solver.dijkstra(2, 0)).isEqualTo(dijkstra.dijkstra(2, 0));
+    assertThat(solver.dijkstra(0)).isEqualTo(dijkstra.dijkstra(0));
+  }
+
+  @Test
+  public void testZeroWeightCycles() {
+    // Zero weight edges in both directions must not produce cycles in prev.
+    int n = 4;
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(n);
+    solver.setPool(pool);
+    solver.addEdge(0, 1, 0);
+    solver.addEdge(1, 0, 0);
+    solver.addEdge(1, 2, 0);
+    solver.addEdge(2, 1, 0);
+    solver.addEdge(2, 3, 5);
+    assertThat(solver.reconstructPath(0, 3)).containsExactly(0, 1, 2, 3).inOrder();
+    assertThat(solver.getDist()).isEqualTo(new double[] {0, 0, 0, 5});
+  }
+
+  @Test
+  public void testRandomGraphs() {
+    for (long seed = 0; seed < 4; seed++) {
+      CsrGraph graph = new GraphGenerator.ErdosRenyiGenerator(2000, 10000, 20, seed).toCsrGraph();
+      for (double delta : new double[] {0.5, 3, 25, 1000}) {
+        DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(graph);
+        solver.setPool(pool);
+        solver.setDelta(delta);
+        assertSameAsDijkstra(graph, solver, (int) seed);
+      }
+    }
+  }
+
+  @Test
+  public void testGridWithDefaultDelta() {
+    CsrGraph graph = new GraphGenerator.GridGenerator(40, 50, 0.3, 2, 7).toCsrGraph();
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(graph);
+    solver.setPool(pool);
+    assertSameAsDijkstra(graph, solver, 0);
+    assertSameAsDijkstra(graph, solver, 1234);
+  }
+}
@@ -0,0 +1,102 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.*;
+import org.junit.*;
+
+public class DijkstrasShortestPathAdjacencyListTest {
+
+  private static void assertIntegerQueueMatches(CsrGraph graph, long seed) {
+    DijkstrasShortestPathAdjacencyList plain = new DijkstrasShortestPathAdjacencyList(graph);
+    DijkstrasShortestPathAdjacencyList integer = new DijkstrasShortestPathAdjacencyList(graph);
+    integer.useIntegerQueue(true);
+    Random random = new Random(seed);
+    for (int i = 0; i < 5; i++) {
+      int s = random.nextInt(graph.numNodes()), t = random.nextInt(graph.numNodes());
+      assertThat(integer.dijkstra(s)).isEqualTo(plain.dijkstra(s));
+      assertThat(integer.dijkstra(s, t)).isEqualTo(plain.dijkstra(s, t));
+      List<Integer> path = integer.reconstructPath(s, t);
+      if (!path.isEmpty()) {
+        assertThat(path.get(0)).isEqualTo(s);
+        assertThat(path.get(path.size() - 1)).isEqualTo(t);
+      }
+    }
+  }
+
+  @Test
+  public void testSmallGraph() {
+    int n = 6;
+    DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(n);
+    int[][] edges = {{0, 1, 4}, {0, 2, 1}, {2, 1, 2}, {1, 3, 1}, {2, 3, 5}, {3, 4, 3}};
+    for (int[] e : edges) solver.addEdge(e[0], e[1], e[2]);
+    for (boolean integerQueue : new boolean[] {false, true}) {
+      solver.useIntegerQueue(integerQueue);
+      assertThat(solver.dijkstra(0, 4)).isEqualTo(7.0);
+      assertThat(solver.reconstructPath(0, 4)).containsExactly(0, 2, 1, 3, 4).inOrder();
+      assertThat(solver.dijkstra(0, 5)).isEqualTo(Double.POSITIVE_INFINITY);
+      assertThat(solver.reconstructPath(0, 5)).isEmpty();
+      double inf = Double.POSITIVE_INFINITY;
+      assertThat(solver.dijkstra(0)).isEqualTo(new double[] {0, 3, 1, 4, 7, inf});
+      assertThat(solver.getPrev()).isEqualTo(new int[] {-1, 2, 0, 1, 3, -1});
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIntegerQueueRejectsFractionalCosts() {
+    CsrGraph graph = CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, new double[] {1.5});
+    DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(graph);
+    solver.useIntegerQueue(true);
+    solver.dijkstra(0, 1);
+  }
+
+  @Test
+  public void testIntegerQueueSeesEdgesAddedBetweenRuns() {
+    DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(4);
+    solver.useIntegerQueue(true);
+    solver.addEdge(0, 1, 5);
+    solver.addEdge(1, 2, 5);
+    assertThat(solver.dijkstra(0, 2)).isEqualTo(10.0);
+    assertThat(solver.dijkstra(0, 3)).isEqualTo(Double.POSITIVE_INFINITY);
+
+    // A cost too large for Dial's buckets switches to the radix heap.
+    solver.addEdge(0, 3, 1 << 20);
+    solver.addEdge(3, 2, 1);
+    assertThat(solver.dijkstra(0, 3)).isEqualTo((double) (1 << 20));
+    assertThat(solver.dijkstra(0, 2)).isEqualTo(10.0);
+    assertThat(solver.reconstructPath(0, 2)).containsExactly(0, 1, 2).inOrder();
+    double inf = Double.POSITIVE_INFINITY;
+    assertThat(solver.dijkstra(3)).isEqualTo(new double[] {inf, inf, 1, 0});
+    assertThat(solver.getPrev()).isEqualTo(new int[] {-1, -1, 3, -1});
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIntegerQueueRejectsNegativeCostAddedLater() {
+    DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(2);
+    solver.useIntegerQueue(true);
+    solver.addEdge(0, 1, 1);
+    solver.dijkstra(0, 1);
+    solver.addEdge(1, 0, -1);
+    solver.dijkstra(0, 1);
+  }
+
+  @Test
+  public void testIntegerQueueWithSmallCosts() {
+    // Small costs use Dial's buckets.
+    for (long seed = 0; seed < 3; seed++) {
+      assertIntegerQueueMatches(
+          new GraphGenerator.ErdosRenyiGenerator(2000, 10000, 100, seed).toCsrGraph(), seed);
+    }
+  }
+
+  @Test
+  public void testIntegerQueueWithLargeCosts() {
+    // Large costs use the radix heap.
+    for (long seed = 0; seed < 3; seed++) {
+      assertIntegerQueueMatches(
+          new GraphGenerator.ErdosRenyiGenerator(2000, 10000, 1 << 30, seed).toCsrGraph(), seed);
+    }
+  }
+}
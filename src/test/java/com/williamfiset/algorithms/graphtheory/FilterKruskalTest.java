@@ -0,0 +1,114 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.datastructures.unionfind.UnionFind;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class FilterKruskalTest {
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdown();
+  }
+
+  // Checks the result against KruskalsEdgeListPartialSortSolver, and that the edges
+  // returned form a spanning tree of the claimed cost.
+  private void check(int n, int[] u, int[] v, long[] w) {
+    List<KruskalsEdgeListPartialSortSolver.Edge> list = new ArrayList<>();
+    for (int i = 0; i < u.length; i++) {
+      list.add(new KruskalsEdgeListPartialSortSolver.Edge(u[i], v[i], (int) w[i]));
+    }
+    Long expected = new KruskalsEdgeListPartialSortSolver(list, n).getMstCost();
+
+    FilterKruskal solver = new FilterKruskal(n, u, v, w);
+    solver.setPool(pool);
+    assertThat(solver.getMstCost()).isEqualTo(expected);
+    int[] mst = solver.getMst();
+    if (expected == null) {
+      assertThat(mst).isNull();
+      return;
+    }
+    assertThat(mst.length).isEqualTo(n - 1);
+    UnionFind uf = new UnionFind(n);
+    long cost = 0;
+    for (int e : mst) {
+      assertThat(uf.connected(u[e], v[e])).isFalse();
+      uf.unify(u[e], v[e]);
+      cost += w[e];
+    }
+    assertThat(cost).isEqualTo(expected);
+  }
+
+  private void checkRandom(int n, int m, int maxWeight, long seed) {
+    Random random = new Random(seed);
+    int[] u = new int[m], v = new int[m];
+    long[] w = new long[m];
+    for (int i = 0; i < m; i++) {
+      u[i] = random.nextInt(n);
+      v[i] = random.nextInt(n);
+      w[i] = random.nextInt(maxWeight) - maxWeight / 4;
+    }
+    check(n, u, v, w);
+  }
+
+  @Test
+  public void testExampleGraph() {
+    int[] u = {0, 1, 2, 0, 0, 1, 2, 2, 9, 4, 5, 6, 4, 5, 3, 6, 3, 7};
+    int[] v = {1, 2, 9, 4, 3, 3, 7, 8, 8, 5, 6, 8, 3, 3, 6, 7, 7, 8};
+    long[] w = {5, 4, 2, 1, 4, 2, 4, 1, 0, 1, 7, 4, 2, 5, 11, 1, 2, 6};
+    FilterKruskal solver = new FilterKruskal(10, u, v, w);
+    assertThat(solver.getMstCost()).isEqualTo(14);
+    assertThat(solver.getMst().length).isEqualTo(9);
+  }
+
+  @Test
+  public void testDisconnected() {
+    FilterKruskal solver = new FilterKruskal(3, new int[] {0}, new int[] {1}, new long[] {1});
+    assertThat(solver.getMstCost()).isNull();
+    assertThat(solver.getMst()).isNull();
+  }
+
+  @Test
+  public void testSingleNode() {
+    FilterKruskal solver = new FilterKruskal(1, new int[0], new int[0], new long[0]);
+    assertThat(solver.getMstCost()).isEqualTo(0);
+    assertThat(solver.getMst()).isEmpty();
+  }
+
+  @Test
+  public void testSmallRandomGraphs() {
+    for (long seed = 0; seed < 30; seed++) {
+      int n = 2 + (int) (seed * 13 % 100);
+      checkRandom(n, (int) (n * (1 + seed % 6)), seed % 2 == 0 ? 5 : 1000, seed);
+    }
+  }
+
+  @Test
+  public void testLargeDenseGraphs() {
+    // Large enough for the parallel partitioning and filtering.
+    checkRandom(1000, 200_000, 1_000_000, 1);
+    checkRandom(3000, 300_000, 50, 2);
+    // Sparse enough to stay disconnected.
+    checkRandom(200_000, 100_000, 1000, 3);
+  }
+
+  @Test
+  public void testAllEqualWeights() {
+    checkRandom(500, 100_000, 1, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidEdge() {
+    new FilterKruskal(2, new int[] {0}, new int[] {-1}, new long[] {1});
+  }
+}
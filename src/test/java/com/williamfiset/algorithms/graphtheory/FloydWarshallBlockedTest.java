@@ -0,0 +1,97 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class FloydWarshallBlockedTest {
+
+  static final double INF = Double.POSITIVE_INFINITY;
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdown();
+  }
+
+  private static double[][] randomMatrix(int n, int edges, boolean negative, Random random) {
+    double[][] m = FloydWarshallSolver.createGraph(n);
+    while (edges-- > 0) {
+      int i = random.nextInt(n), j = random.nextInt(n);
+      if (i == j) continue;
+      int v = random.nextInt(100);
+      // Negative edges are rare since even one can start an avalanche of negative cycles.
+      if (negative && random.nextInt(400) == 0) v = -v;
+      m[i][j] = v;
+    }
+    return m;
+  }
+
+  // Checks the distances against FloydWarshallSolver and that every path adds up to
+  // its distance. Paths may differ from the other solver's when there are ties.
+  private void assertSameAsFloydWarshall(double[][] m, int blockSize) {
+    int n = m.length;
+    FloydWarshallSolver expected = new FloydWarshallSolver(m);
+    FloydWarshallBlocked actual = new FloydWarshallBlocked(m, blockSize);
+    actual.setPool(pool);
+    double[][] dist = actual.getApspMatrix();
+    assertThat(dist).isEqualTo(expected.getApspMatrix());
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        List<Integer> path = actual.reconstructShortestPath(i, j);
+        if (expected.reconstructShortestPath(i, j) == null) {
+          assertThat(path).isNull();
+        } else if (dist[i][j] == INF) {
+          assertThat(path).isEmpty();
+        } else {
+          double length = 0;
+          for (int p = 0; p + 1 < path.size(); p++) length += m[path.get(p)][path.get(p + 1)];
+          assertThat(path.get(0)).isEqualTo(i);
+          assertThat(path.get(path.size() - 1)).isEqualTo(j);
+          assertThat(length).isEqualTo(dist[i][j]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testNegativeCycleGraph() {
+    double[][] m = {
+      {0, 3, 1, 8, INF},
+      {2, 0, 9, 4, INF},
+      {INF, INF, 0, INF, -2},
+      {INF, INF, 1, 0, INF},
+      {INF, INF, INF, 0, 0}
+    };
+    for (int blockSize = 1; blockSize <= 6; blockSize++) assertSameAsFloydWarshall(m, blockSize);
+    assertThat(new FloydWarshallBlocked(m, 2).reconstructShortestPath(0, 4)).isNull();
+  }
+
+  @Test
+  public void testRandomGraphs() {
+    Random random = new Random(13);
+    for (int n = 1; n <= 40; n += 3) {
+      for (int blockSize : new int[] {1, 4, 7, 64}) {
+        assertSameAsFloydWarshall(randomMatrix(n, n * n / 4, false, random), blockSize);
+        assertSameAsFloydWarshall(randomMatrix(n, n * n / 4, true, random), blockSize);
+      }
+    }
+  }
+
+  @Test
+  public void testLargerGraph() {
+    Random random = new Random(5);
+    double[][] m = randomMatrix(300, 3000, false, random);
+    FloydWarshallBlocked solver = new FloydWarshallBlocked(m, 32);
+    solver.setPool(pool);
+    assertThat(solver.getApspMatrix()).isEqualTo(new FloydWarshallSolver(m).getApspMatrix());
+  }
+}
@@ -0,0 +1,115 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.*;
+import org.junit.*;
+
+public class IncrementalTopologicalOrderTest {
+
+  // Checks every edge goes forward in the order and that order and positions agree.
+  private static void assertValidOrder(IncrementalTopologicalOrder dag, List<int[]> edges) {
+    int[] order = dag.getOrder();
+    assertThat(order.length).isEqualTo(dag.numNodes());
+    for (int i = 0; i < order.length; i++) assertThat(dag.position(order[i])).isEqualTo(i);
+    for (int[] edge : edges) {
+      assertThat(dag.position(edge[0])).isLessThan(dag.position(edge[1]));
+    }
+  }
+
+  private static boolean reaches(List<List<Integer>> g, int from, int to) {
+    boolean[] visited = new boolean[g.size()];
+    Deque<Integer> stack = new ArrayDeque<>();
+    stack.push(from);
+    visited[from] = true;
+    while (!stack.isEmpty()) {
+      int v = stack.pop();
+      if (v == to) return true;
+      for (int w : g.get(v)) {
+        if (!visited[w]) {
+          visited[w] = true;
+          stack.push(w);
+        }
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void testSmallGraph() {
+    IncrementalTopologicalOrder dag = new IncrementalTopologicalOrder(4);
+    assertThat(dag.getOrder()).isEqualTo(new int[] {0, 1, 2, 3});
+    assertThat(dag.addEdge(3, 0)).isTrue();
+    assertThat(dag.addEdge(2, 3)).isTrue();
+    assertThat(dag.addEdge(0, 1)).isTrue();
+    assertThat(dag.getOrder()).isEqualTo(new int[] {2, 3, 0, 1});
+    assertThat(dag.addEdge(1, 2)).isFalse();
+    assertThat(dag.addEdge(0, 0)).isFalse();
+    assertThat(dag.numEdges()).isEqualTo(3);
+  }
+
+  @Test
+  public void testAddNode() {
+    IncrementalTopologicalOrder dag = new IncrementalTopologicalOrder(0);
+    List<int[]> edges = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      int v = dag.addNode();
+      assertThat(v).isEqualTo(i);
+      if (i > 0) {
+        assertThat(dag.addEdge(v, i - 1)).isTrue();
+        edges.add(new int[] {v, i - 1});
+      }
+    }
+    assertValidOrder(dag, edges);
+    assertThat(dag.position(99)).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNode() {
+    new IncrementalTopologicalOrder(3).addEdge(0, 3);
+  }
+
+  // Random edges, some of which close cycles. An edge must be rejected exactly when its
+  // head already reaches its tail, and the order must stay valid.
+  @Test
+  public void testRandomAgainstReachability() {
+    for (long seed = 0; seed < 10; seed++) {
+      Random random = new Random(seed);
+      int n = 2 + random.nextInt(80);
+      IncrementalTopologicalOrder dag = new IncrementalTopologicalOrder(n);
+      List<List<Integer>> g = new ArrayList<>();
+      for (int i = 0; i < n; i++) g.add(new ArrayList<>());
+      List<int[]> edges = new ArrayList<>();
+      for (int i = 0; i < 4 * n; i++) {
+        int x = random.nextInt(n), y = random.nextInt(n);
+        boolean expected = x != y && !reaches(g, y, x);
+        assertThat(dag.addEdge(x, y)).isEqualTo(expected);
+        if (expected) {
+          g.get(x).add(y);
+          edges.add(new int[] {x, y});
+        }
+        assertValidOrder(dag, edges);
+      }
+      assertThat(dag.numEdges()).isEqualTo(edges.size());
+    }
+  }
+
+  @Test
+  public void testDagFromGenerator() {
+    List<List<Integer>> g = new GraphGenerator.DagGenerator(10, 20, 5, 20, 0.3).createDag();
+    int n = g.size();
+    List<int[]> edges = new ArrayList<>();
+    for (int u = 0; u < n; u++) for (int v : g.get(u)) edges.add(new int[] {u, v});
+    Collections.shuffle(edges, new Random(0));
+    // Insert the DAG with its nodes numbered backwards, so most insertions reorder.
+    IncrementalTopologicalOrder dag = new IncrementalTopologicalOrder(n);
+    List<int[]> reversed = new ArrayList<>();
+    for (int[] edge : edges) {
+      int x = n - 1 - edge[0], y = n - 1 - edge[1];
+      assertThat(dag.addEdge(x, y)).isTrue();
+      reversed.add(new int[] {x, y});
+    }
+    assertValidOrder(dag, reversed);
+  }
+}
@@ -0,0 +1,89 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.*;
+
+public class JohnsonsAllPairsShortestPathsTest {
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdown();
+  }
+
+  // A random graph with negative edges but no negative cycles. Adding p(v) - p(u) to
+  // every edge u -> v leaves the length of every cycle unchanged.
+  private static CsrGraph randomGraph(int n, int m, long seed) {
+    CsrGraph base = new GraphGenerator.ErdosRenyiGenerator(n, m, 20, seed).toCsrGraph();
+    Random random = new Random(seed);
+    double[] p = new double[n];
+    for (int v = 0; v < n; v++) p[v] = random.nextInt(30);
+    double[] w = base.weights().clone();
+    for (int u = 0; u < n; u++)
+      for (int e = base.start(u); e < base.end(u); e++) w[e] += p[base.target(e)] - p[u];
+    return CsrGraph.wrap(base.offsets(), base.targets(), w);
+  }
+
+  private static double[][] toMatrix(CsrGraph graph) {
+    double[][] m = FloydWarshallSolver.createGraph(graph.numNodes());
+    for (int u = 0; u < graph.numNodes(); u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        m[u][graph.target(e)] = Math.min(m[u][graph.target(e)], graph.weight(e));
+      }
+    }
+    return m;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCycle() {
+    int[] from = {0, 1, 2};
+    int[] to = {1, 2, 0};
+    new JohnsonsAllPairsShortestPaths(CsrGraph.fromEdges(3, from, to, new double[] {1, -2, 0.5}));
+  }
+
+  @Test
+  public void testSameAsFloydWarshall() {
+    for (long seed = 0; seed < 4; seed++) {
+      CsrGraph graph = randomGraph(150, 600, seed);
+      JohnsonsAllPairsShortestPaths solver = new JohnsonsAllPairsShortestPaths(graph);
+      solver.setPool(pool);
+      double[][] actual = solver.getApspMatrix();
+      double[][] expected = new FloydWarshallSolver(toMatrix(graph)).getApspMatrix();
+      for (int i = 0; i < graph.numNodes(); i++) {
+        for (int j = 0; j < graph.numNodes(); j++) {
+          if (expected[i][j] == Double.POSITIVE_INFINITY) {
+            assertThat(actual[i][j]).isEqualTo(Double.POSITIVE_INFINITY);
+          } else {
+            assertThat(actual[i][j]).isWithin(1e-9).of(expected[i][j]);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEveryRowStreamedOnce() {
+    CsrGraph graph = randomGraph(500, 2000, 9);
+    JohnsonsAllPairsShortestPaths solver = new JohnsonsAllPairsShortestPaths(graph);
+    solver.setPool(pool);
+    AtomicIntegerArray calls = new AtomicIntegerArray(graph.numNodes());
+    solver.solve(
+        (s, dist) -> {
+          assertThat(dist[s]).isEqualTo(0.0);
+          calls.incrementAndGet(s);
+        });
+    for (int s = 0; s < graph.numNodes(); s++) assertThat(calls.get(s)).isEqualTo(1);
+  }
+}
@@ -2,6 +2,7 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
 import com.williamfiset.algorithms.utils.graphutils.Utils;
 import java.util.*;
@@ -79,4 +80,24 @@ public class KahnsTest {
       assertThat(isTopsortOrdering(g, order)).isEqualTo(true);
     }
   }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void cycleInCsrGraph() {
+    int[] from = {0, 1, 2, 3};
+    int[] to = {1, 2, 3, 0};
+    Kahns solver = new Kahns();
+    solver.kahns(CsrGraph.fromEdges(4, from, to));
+  }
+
+  @Test
+  public void randomCsrTests() {
+    for (double p = 0.7; p <= 1.0; p += 0.02) {
+      GraphGenerator.DagGenerator dagGen = new GraphGenerator.DagGenerator(2, 20, 4, 15, p);
+      List<List<Integer>> g = dagGen.createDag();
+      Kahns solver = new Kahns();
+      int[] order = solver.kahns(CsrGraph.fromAdjacencyList(g));
+      assertThat(order).isEqualTo(solver.kahns(g));
+      assertThat(isTopsortOrdering(g, order)).isEqualTo(true);
+    }
+  }
 }
@@ -8,6 +8,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.*;
 
@@ -27,7 +28,12 @@ public class KosarajuTest {
 
   @Test(expected = IllegalArgumentException.class)
   public void nullGraphConstructor() {
-    new Kosaraju(null);
+    new Kosaraju((List<List<Integer>>) null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullCsrGraphConstructor() {
+    new Kosaraju((CsrGraph) null);
   }
 
   @Test
@@ -220,6 +226,21 @@ public class KosarajuTest {
     assertThat(isScc(solver.getSccs(), expectedSccs)).isTrue();
   }
 
+  @Test
+  public void testCsrGraphMatchesAdjacencyList() {
+    Random random = new Random(1234);
+    for (int n = 1; n <= 50; n++) {
+      List<List<Integer>> g = createGraph(n);
+      for (int i = 0; i < 2 * n; i++) addEdge(g, random.nextInt(n), random.nextInt(n));
+
+      Kosaraju listSolver = new Kosaraju(g);
+      Kosaraju csrSolver = new Kosaraju(CsrGraph.fromAdjacencyList(g));
+
+      assertThat(csrSolver.sccCount()).isEqualTo(listSolver.sccCount());
+      assertThat(csrSolver.getSccs()).isEqualTo(listSolver.getSccs());
+    }
+  }
+
   private static boolean isScc(int[] ids, List<List<Integer>> expectedSccs) {
     Set<Integer> set = new HashSet<>();
     Set<Integer> sccComponentIds = new HashSet<>();
@@ -0,0 +1,116 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator;
+import com.williamfiset.algorithms.utils.graphutils.StaticGraph;
+import java.util.*;
+import org.junit.*;
+
+public class LandmarkHeuristicTest {
+
+  // Checks the bound against the true distance from a few sources to every node.
+  private static void assertAdmissible(CsrGraph graph, LandmarkHeuristic heuristic, long seed) {
+    DijkstrasShortestPathAdjacencyList dijkstra = new DijkstrasShortestPathAdjacencyList(graph);
+    Random random = new Random(seed);
+    for (int i = 0; i < 10; i++) {
+      int s = random.nextInt(graph.numNodes());
+      double[] dist = dijkstra.dijkstra(s);
+      for (int t = 0; t < graph.numNodes(); t++) {
+        double bound = heuristic.lowerBound(s, t);
+        if (dist[t] == Double.POSITIVE_INFINITY) continue;
+        assertThat(bound).isAtMost(dist[t] + 1e-6);
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoLandmarks() {
+    CsrGraph graph = CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, new double[] {1});
+    new LandmarkHeuristic(graph, 0, LandmarkHeuristic.Selection.FARTHEST, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeEdge() {
+    CsrGraph graph = CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, new double[] {-1});
+    new LandmarkHeuristic(graph, new int[] {0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTablesTooLarge() {
+    // 150M nodes and 16 landmarks need more than 2^31 table entries, which is
+    // rejected before any edge is looked at.
+    StaticGraph graph =
+        new StaticGraph() {
+          @Override
+          public int numNodes() {
+            return 150_000_000;
+          }
+
+          @Override
+          public int numEdges() {
+            return 0;
+          }
+
+          @Override
+          public int start(int u) {
+            return 0;
+          }
+
+          @Override
+          public int end(int u) {
+            return 0;
+          }
+
+          @Override
+          public int target(int e) {
+            throw new IndexOutOfBoundsException();
+          }
+
+          @Override
+          public boolean isWeighted() {
+            return false;
+          }
+
+          @Override
+          public double weight(int e) {
+            throw new IndexOutOfBoundsException();
+          }
+
+          @Override
+          public long longWeight(int e) {
+            throw new IndexOutOfBoundsException();
+          }
+        };
+    new LandmarkHeuristic(graph, 16, LandmarkHeuristic.Selection.FARTHEST, 0);
+  }
+
+  @Test
+  public void testLineGraph() {
+    // 0 -> 1 -> 2 -> 3 with a landmark at either end gives exact bounds.
+    CsrGraph graph =
+        CsrGraph.fromEdges(4, new int[] {0, 1, 2}, new int[] {1, 2, 3}, new double[] {1, 2, 3});
+    LandmarkHeuristic heuristic = new LandmarkHeuristic(graph, new int[] {0, 3});
+    assertThat(heuristic.lowerBound(0, 3)).isWithin(1e-6).of(6.0);
+    assertThat(heuristic.lowerBound(1, 2)).isWithin(1e-6).of(2.0);
+    assertThat(heuristic.lowerBound(2, 2)).isEqualTo(0.0);
+    // Going back along the line is impossible.
+    assertThat(heuristic.lowerBound(3, 0)).isEqualTo(Double.POSITIVE_INFINITY);
+  }
+
+  @Test
+  public void testSelectionsAreAdmissible() {
+    CsrGraph grid = new GraphGenerator.GridGenerator(30, 30, 0.3, 1.5, 2).toCsrGraph();
+    CsrGraph random = new GraphGenerator.ErdosRenyiGenerator(400, 1600, 50, 2).toCsrGraph();
+    for (LandmarkHeuristic.Selection selection : LandmarkHeuristic.Selection.values()) {
+      for (CsrGraph graph : new CsrGraph[] {grid, random}) {
+        LandmarkHeuristic heuristic = new LandmarkHeuristic(graph, 8, selection, 2);
+        Set<Integer> distinct = new HashSet<>();
+        for (int landmark : heuristic.getLandmarks()) distinct.add(landmark);
+        assertThat(distinct).hasSize(8);
+        assertAdmissible(graph, heuristic, 2);
+      }
+    }
+  }
+}
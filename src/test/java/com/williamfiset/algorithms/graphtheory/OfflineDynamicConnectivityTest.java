@@ -0,0 +1,107 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.datastructures.unionfind.UnionFind;
+import java.util.*;
+import org.junit.*;
+
+public class OfflineDynamicConnectivityTest {
+
+  @Test
+  public void testNoQueries() {
+    OfflineDynamicConnectivity solver = new OfflineDynamicConnectivity(3);
+    solver.addEdge(0, 1);
+    assertThat(solver.solve()).isEmpty();
+  }
+
+  @Test
+  public void testSmallSequence() {
+    OfflineDynamicConnectivity solver = new OfflineDynamicConnectivity(4);
+    solver.query(0, 1);
+    solver.addEdge(0, 1);
+    solver.addEdge(1, 2);
+    solver.query(0, 2);
+    solver.removeEdge(2, 1);
+    solver.query(0, 2);
+    solver.query(1, 0);
+    solver.addEdge(3, 2);
+    solver.addEdge(0, 3);
+    solver.query(1, 2);
+    solver.removeEdge(0, 1);
+    solver.query(1, 2);
+    solver.query(2, 2);
+    boolean[] expected = {false, true, false, true, true, false, true};
+    assertThat(solver.solve()).isEqualTo(expected);
+  }
+
+  @Test
+  public void testMultiEdges() {
+    OfflineDynamicConnectivity solver = new OfflineDynamicConnectivity(2);
+    solver.addEdge(0, 1);
+    solver.addEdge(1, 0);
+    solver.removeEdge(0, 1);
+    solver.query(0, 1);
+    solver.removeEdge(0, 1);
+    solver.query(0, 1);
+    assertThat(solver.solve()).isEqualTo(new boolean[] {true, false});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRemoveMissingEdge() {
+    OfflineDynamicConnectivity solver = new OfflineDynamicConnectivity(3);
+    solver.addEdge(0, 1);
+    solver.removeEdge(1, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNode() {
+    new OfflineDynamicConnectivity(3).query(0, 3);
+  }
+
+  @Test
+  public void testSolveTwice() {
+    OfflineDynamicConnectivity solver = new OfflineDynamicConnectivity(3);
+    solver.addEdge(0, 1);
+    solver.query(0, 1);
+    assertThat(solver.solve()).isEqualTo(new boolean[] {true});
+    solver.removeEdge(0, 1);
+    solver.query(0, 1);
+    assertThat(solver.solve()).isEqualTo(new boolean[] {true, false});
+  }
+
+  // Compares against rebuilding a union find from the live edges at every query.
+  @Test
+  public void testRandomAgainstRecompute() {
+    for (long seed = 0; seed < 10; seed++) {
+      Random random = new Random(seed);
+      int n = 1 + random.nextInt(30), operations = 500;
+      OfflineDynamicConnectivity solver = new OfflineDynamicConnectivity(n);
+      List<int[]> live = new ArrayList<>();
+      List<Boolean> expected = new ArrayList<>();
+      for (int i = 0; i < operations; i++) {
+        int op = random.nextInt(3);
+        if (op == 0 || live.isEmpty()) {
+          int u = random.nextInt(n), v = random.nextInt(n);
+          solver.addEdge(u, v);
+          live.add(new int[] {u, v});
+        } else if (op == 1) {
+          int[] edge = live.remove(random.nextInt(live.size()));
+          if (random.nextBoolean()) solver.removeEdge(edge[0], edge[1]);
+          else solver.removeEdge(edge[1], edge[0]);
+        } else {
+          int u = random.nextInt(n), v = random.nextInt(n);
+          solver.query(u, v);
+          UnionFind uf = new UnionFind(n);
+          for (int[] edge : live) uf.unify(edge[0], edge[1]);
+          expected.add(uf.connected(u, v));
+        }
+      }
+      boolean[] answers = solver.solve();
+      assertThat(answers.length).isEqualTo(expected.size());
+      for (int i = 0; i < answers.length; i++) {
+        assertThat(answers[i]).isEqualTo(expected.get(i));
+      }
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class ParallelBoruvkasTest {
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdown();
+  }
+
+  // Random graph with small costs, so there are many ties, and the occasional self loop.
+  // A random spanning tree is added first when 'connected' is set.
+  private static Boruvkas.Edge[] randomGraph(int n, int m, boolean connected, long seed) {
+    Random random = new Random(seed);
+    Boruvkas.Edge[] edges = new Boruvkas.Edge[m];
+    for (int i = 0; i < m; i++) {
+      boolean tree = connected && i < n - 1;
+      int u = tree ? i + 1 : random.nextInt(n);
+      int v = tree ? random.nextInt(i + 1) : random.nextInt(n);
+      edges[i] = new Boruvkas.Edge(u, v, random.nextInt(10) - 3);
+    }
+    // Shuffle so the tree edges are not the lowest indexes.
+    Collections.shuffle(Arrays.asList(edges), random);
+    return edges;
+  }
+
+  private ParallelBoruvkas parallel(int n, Boruvkas.Edge[] edges) {
+    ParallelBoruvkas solver = new ParallelBoruvkas(n, edges.length, edges);
+    solver.setPool(pool);
+    return solver;
+  }
+
+  @Test
+  public void testExampleGraph() {
+    int i = 0;
+    Boruvkas.Edge[] g = new Boruvkas.Edge[18];
+    g[i++] = new Boruvkas.Edge(0, 1, 5);
+    g[i++] = new Boruvkas.Edge(0, 3, 4);
+    g[i++] = new Boruvkas.Edge(0, 4, 1);
+    g[i++] = new Boruvkas.Edge(1, 2, 4);
+    g[i++] = new Boruvkas.Edge(1, 3, 2);
+    g[i++] = new Boruvkas.Edge(2, 7, 4);
+    g[i++] = new Boruvkas.Edge(2, 8, 1);
+    g[i++] = new Boruvkas.Edge(2, 9, 2);
+    g[i++] = new Boruvkas.Edge(3, 6, 11);
+    g[i++] = new Boruvkas.Edge(3, 7, 2);
+    g[i++] = new Boruvkas.Edge(4, 3, 2);
+    g[i++] = new Boruvkas.Edge(4, 5, 1);
+    g[i++] = new Boruvkas.Edge(5, 3, 5);
+    g[i++] = new Boruvkas.Edge(5, 6, 7);
+    g[i++] = new Boruvkas.Edge(6, 7, 1);
+    g[i++] = new Boruvkas.Edge(6, 8, 4);
+    g[i++] = new Boruvkas.Edge(7, 8, 6);
+    g[i++] = new Boruvkas.Edge(9, 8, 0);
+    assertThat(parallel(10, g).getMstCost()).isEqualTo(14);
+    assertThat(parallel(10, g).getMst()).hasSize(9);
+  }
+
+  @Test
+  public void testDisconnected() {
+    Boruvkas.Edge[] g = {new Boruvkas.Edge(0, 1, 1), new Boruvkas.Edge(2, 3, 1)};
+    ParallelBoruvkas solver = parallel(4, g);
+    assertThat(solver.getMstCost()).isNull();
+    assertThat(solver.getMst()).isNull();
+    assertThat(solver.getMstEdgeIndexes()).isNull();
+  }
+
+  @Test
+  public void testSingleNode() {
+    ParallelBoruvkas solver = parallel(1, new Boruvkas.Edge[] {new Boruvkas.Edge(0, 0, 5)});
+    assertThat(solver.getMstCost()).isEqualTo(0);
+    assertThat(solver.getMst()).isEmpty();
+  }
+
+  @Test
+  public void testSameMstAsSequential() {
+    for (long seed = 0; seed < 20; seed++) {
+      int n = 1 + (int) (seed * 37 % 300);
+      Boruvkas.Edge[] edges = randomGraph(n, 4 * n, seed % 5 != 0, seed);
+      Boruvkas sequential = new Boruvkas(n, edges.length, edges);
+      ParallelBoruvkas solver = parallel(n, edges);
+      assertThat(solver.getMstCost()).isEqualTo(sequential.getMstCost());
+      if (sequential.getMst() == null) {
+        assertThat(solver.getMst()).isNull();
+      } else {
+        assertThat(solver.getMst()).containsExactlyElementsIn(sequential.getMst());
+      }
+    }
+  }
+
+  @Test
+  public void testPrimitiveArrays() {
+    int n = 2000;
+    Boruvkas.Edge[] edges = randomGraph(n, 20_000, true, 7);
+    int m = edges.length;
+    int[] from = new int[m], to = new int[m], cost = new int[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = edges[i].u;
+      to[i] = edges[i].v;
+      cost[i] = edges[i].cost;
+    }
+    ParallelBoruvkas solver = new ParallelBoruvkas(n, from, to, cost);
+    solver.setPool(pool);
+    assertThat(solver.getMstCost()).isEqualTo(new Boruvkas(n, m, edges).getMstCost());
+    int[] indexes = solver.getMstEdgeIndexes();
+    assertThat(indexes.length).isEqualTo(n - 1);
+    for (int i = 1; i < indexes.length; i++) assertThat(indexes[i]).isGreaterThan(indexes[i - 1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidEdge() {
+    new ParallelBoruvkas(2, new int[] {0}, new int[] {2}, new int[] {1});
+  }
+}
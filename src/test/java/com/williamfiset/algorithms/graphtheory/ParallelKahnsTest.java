@@ -0,0 +1,187 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.*;
+
+public class ParallelKahnsTest {
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void teardown() {
+    pool.shutdown();
+  }
+
+  // A random DAG whose edges go from lower to higher nodes of a shuffled order.
+  private static CsrGraph randomDag(int n, int m, long seed) {
+    Random random = new Random(seed);
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < n; i++) order.add(i);
+    Collections.shuffle(order, random);
+    int[] from = new int[m], to = new int[m];
+    for (int i = 0; i < m; i++) {
+      int a = random.nextInt(n), b = random.nextInt(n);
+      while (a == b) b = random.nextInt(n);
+      from[i] = order.get(Math.min(a, b));
+      to[i] = order.get(Math.max(a, b));
+    }
+    return CsrGraph.fromEdges(n, from, to);
+  }
+
+  // The level of every node is the length of the longest path ending at it.
+  private static int[] longestPaths(CsrGraph g) {
+    int n = g.numNodes();
+    int[] order = new Kahns().kahns(g);
+    int[] depth = new int[n];
+    for (int v : order) {
+      for (int e = g.start(v); e < g.end(v); e++) {
+        depth[g.target(e)] = Math.max(depth[g.target(e)], depth[v] + 1);
+      }
+    }
+    return depth;
+  }
+
+  @Test
+  public void testLevelsSmallGraph() {
+    int[] from = {0, 0, 1, 2, 3, 5};
+    int[] to = {1, 2, 3, 3, 4, 4};
+    ParallelKahns solver = new ParallelKahns(CsrGraph.fromEdges(6, from, to));
+    solver.setPool(pool);
+    int[][] levels = solver.levels();
+    assertThat(Arrays.deepToString(levels)).isEqualTo("[[0, 5], [1, 2], [3], [4]]");
+  }
+
+  @Test
+  public void testLevelsMatchLongestPaths() {
+    for (int seed = 0; seed < 5; seed++) {
+      CsrGraph g = randomDag(20_000, 100_000, seed);
+      ParallelKahns solver = new ParallelKahns(g);
+      solver.setPool(pool);
+      int[][] levels = solver.levels();
+      int[] depth = longestPaths(g);
+      int total = 0;
+      for (int level = 0; level < levels.length; level++) {
+        for (int v : levels[level]) {
+          if (depth[v] != level) Assert.fail("Node " + v + " is in the wrong level");
+        }
+        total += levels[level].length;
+      }
+      assertThat(total).isEqualTo(g.numNodes());
+    }
+  }
+
+  @Test
+  public void testEmptyGraph() {
+    ParallelKahns solver = new ParallelKahns(CsrGraph.fromEdges(0, new int[0], new int[0]));
+    assertThat(solver.levels().length).isEqualTo(0);
+    solver.execute(v -> Assert.fail());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLevelsCycle() {
+    int[] from = {0, 1, 2, 3};
+    int[] to = {1, 2, 3, 1};
+    new ParallelKahns(CsrGraph.fromEdges(4, from, to)).levels();
+  }
+
+  @Test
+  public void testExecuteRunsEveryNodeAfterItsPredecessors() {
+    CsrGraph g = randomDag(10_000, 50_000, 7);
+    int n = g.numNodes();
+    ParallelKahns solver = new ParallelKahns(g);
+    solver.setPool(pool);
+
+    // Stamp the start and the end of every task with a global clock.
+    AtomicInteger clock = new AtomicInteger();
+    AtomicIntegerArray runs = new AtomicIntegerArray(n);
+    int[] started = new int[n], finished = new int[n];
+    solver.execute(
+        v -> {
+          runs.incrementAndGet(v);
+          started[v] = clock.getAndIncrement();
+          finished[v] = clock.getAndIncrement();
+        });
+
+    for (int v = 0; v < n; v++) {
+      if (runs.get(v) != 1) Assert.fail("Node " + v + " ran " + runs.get(v) + " times");
+      for (int e = g.start(v); e < g.end(v); e++) {
+        if (finished[v] > started[g.target(e)]) Assert.fail("Node " + v + " finished late");
+      }
+    }
+  }
+
+  @Test
+  public void testExecuteDoesNotWaitForTheWholeLevel() throws Exception {
+    // 0 -> 1 -> 2 and 3 -> 4, with 0 slow. Node 4 does not depend on 0, so it must run
+    // before 0 is done, although 4 and 1 are in the same level.
+    int[] from = {0, 1, 3};
+    int[] to = {1, 2, 4};
+    ParallelKahns solver = new ParallelKahns(CsrGraph.fromEdges(5, from, to));
+    solver.setPool(pool);
+    CountDownLatch fourRan = new CountDownLatch(1);
+    AtomicInteger zeroSawFour = new AtomicInteger();
+    solver.execute(
+        v -> {
+          try {
+            if (v == 0 && fourRan.await(10, TimeUnit.SECONDS)) zeroSawFour.set(1);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+          if (v == 4) fourRan.countDown();
+        });
+    assertThat(zeroSawFour.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testExecuteCycle() {
+    // 0 -> 1 -> 2 -> 1: only 0 can run.
+    int[] from = {0, 1, 2};
+    int[] to = {1, 2, 1};
+    ParallelKahns solver = new ParallelKahns(CsrGraph.fromEdges(3, from, to));
+    solver.setPool(pool);
+    List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+    try {
+      solver.execute(ran::add);
+      Assert.fail("Expected an exception");
+    } catch (IllegalArgumentException e) {
+      assertThat(ran).containsExactly(0);
+    }
+  }
+
+  @Test
+  public void testExecuteTaskThrows() {
+    int[] from = {0, 1};
+    int[] to = {1, 2};
+    ParallelKahns solver = new ParallelKahns(CsrGraph.fromEdges(3, from, to));
+    solver.setPool(pool);
+    AtomicInteger ran = new AtomicInteger();
+    try {
+      solver.execute(
+          v -> {
+            if (v == 1) throw new IllegalStateException("boom");
+            ran.incrementAndGet();
+          });
+      Assert.fail("Expected an exception");
+    } catch (IllegalStateException e) {
+      assertThat(ran.get()).isEqualTo(1);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPool() {
+    new ParallelKahns(CsrGraph.fromEdges(1, new int[0], new int[0])).setPool(null);
+  }
+}
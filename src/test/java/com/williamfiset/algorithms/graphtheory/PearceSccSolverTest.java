@@ -0,0 +1,121 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import org.junit.*;
+
+public class PearceSccSolverTest {
+
+  private static CsrGraph randomGraph(int n, int m, long seed) {
+    Random random = new Random(seed);
+    int[] from = new int[m], to = new int[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = random.nextInt(n);
+      to[i] = random.nextInt(n);
+    }
+    return CsrGraph.fromEdges(n, from, to);
+  }
+
+  // Two nodes must be in the same component in both results exactly when they are in
+  // the same component in one of them.
+  private static void assertSamePartition(int[] actual, int[] expected) {
+    assertThat(actual.length).isEqualTo(expected.length);
+    Map<Integer, Integer> mapping = new HashMap<>();
+    Set<Integer> used = new HashSet<>();
+    for (int v = 0; v < actual.length; v++) {
+      Integer mapped = mapping.get(expected[v]);
+      if (mapped == null) {
+        assertThat(used.add(actual[v])).isTrue();
+        mapping.put(expected[v], actual[v]);
+      } else {
+        assertThat(actual[v]).isEqualTo(mapped);
+      }
+    }
+  }
+
+  // Checks the ids are a topological order and the condensation has exactly one edge
+  // for every pair of components joined by an edge.
+  private static void assertValidCondensation(CsrGraph graph, PearceSccSolver solver) {
+    int[] ids = solver.getSccs();
+    Set<Long> expected = new HashSet<>();
+    for (int u = 0; u < graph.numNodes(); u++) {
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        int a = ids[u], b = ids[graph.target(e)];
+        if (a == b) continue;
+        if (a > b) Assert.fail("Edge " + u + " -> " + graph.target(e) + " goes backwards");
+        expected.add((long) a << 32 | b);
+      }
+    }
+    CsrGraph dag = solver.getCondensation();
+    assertThat(dag.numNodes()).isEqualTo(solver.sccCount());
+    assertThat(dag.numEdges()).isEqualTo(expected.size());
+    for (int a = 0; a < dag.numNodes(); a++) {
+      for (int e = dag.start(a); e < dag.end(a); e++) {
+        if (!expected.contains((long) a << 32 | dag.target(e)))
+          Assert.fail("Unexpected edge " + a + " -> " + dag.target(e));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullGraphConstructor() {
+    new PearceSccSolver(null);
+  }
+
+  @Test
+  public void testEmptyGraph() {
+    PearceSccSolver solver = new PearceSccSolver(CsrGraph.fromEdges(0, new int[0], new int[0]));
+    assertThat(solver.sccCount()).isEqualTo(0);
+    assertThat(solver.getCondensation().numNodes()).isEqualTo(0);
+  }
+
+  @Test
+  public void testSmallGraph() {
+    // {0, 1, 2} -> {3, 4} -> {5}, plus a self loop on 5.
+    int[] from = {0, 1, 2, 2, 3, 4, 4, 3, 5};
+    int[] to = {1, 2, 0, 3, 4, 3, 5, 5, 5};
+    CsrGraph graph = CsrGraph.fromEdges(6, from, to);
+    PearceSccSolver solver = new PearceSccSolver(graph);
+    assertThat(solver.sccCount()).isEqualTo(3);
+    assertThat(solver.getSccs()).isEqualTo(new int[] {0, 0, 0, 1, 1, 2});
+    CsrGraph dag = solver.getCondensation();
+    assertThat(dag.numEdges()).isEqualTo(2);
+    assertThat(dag.target(dag.start(0))).isEqualTo(1);
+    assertThat(dag.target(dag.start(1))).isEqualTo(2);
+  }
+
+  @Test
+  public void testSameAsTarjan() {
+    for (long seed = 0; seed < 30; seed++) {
+      int n = 1 + (int) (seed * 17 % 200);
+      CsrGraph graph = randomGraph(n, (int) (n * (seed % 4 + 0.5)), seed);
+      TarjanSccSolverAdjacencyList tarjan = new TarjanSccSolverAdjacencyList(graph);
+      PearceSccSolver solver = new PearceSccSolver(graph);
+      assertThat(solver.sccCount()).isEqualTo(tarjan.sccCount());
+      assertSamePartition(solver.getSccs(), tarjan.getSccs());
+      assertValidCondensation(graph, solver);
+    }
+  }
+
+  @Test
+  public void testDeepGraph() {
+    // A single cycle through a million nodes and a million node path, both far too
+    // deep for a recursive search.
+    int n = 1_000_000;
+    int[] from = new int[n], to = new int[n];
+    for (int v = 0; v < n; v++) {
+      from[v] = v;
+      to[v] = (v + 1) % n;
+    }
+    assertThat(new PearceSccSolver(CsrGraph.fromEdges(n, from, to)).sccCount()).isEqualTo(1);
+
+    CsrGraph path = CsrGraph.fromEdges(n, Arrays.copyOf(from, n - 1), Arrays.copyOf(to, n - 1));
+    PearceSccSolver solver = new PearceSccSolver(path);
+    assertThat(solver.sccCount()).isEqualTo(n);
+    int[] ids = solver.getSccs();
+    for (int v = 0; v < n; v++) if (ids[v] != v) Assert.fail("Node " + v + " has id " + ids[v]);
+    assertValidCondensation(path, solver);
+  }
+}
@@ -0,0 +1,57 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+
+// Checks shared by the tests of the point to point shortest path solvers.
+final class ShortestPathAssertions {
+
+  interface Distance {
+    double shortestPath(int s, int t);
+  }
+
+  interface Path {
+    List<Integer> reconstructPath(int s, int t);
+  }
+
+  private ShortestPathAssertions() {}
+
+  // Checks that a path goes from start to end along edges adding up to 'dist'.
+  static void assertValidPath(CsrGraph graph, List<Integer> path, int s, int t, double dist) {
+    assertThat(path.get(0)).isEqualTo(s);
+    assertThat(path.get(path.size() - 1)).isEqualTo(t);
+    double length = 0;
+    for (int i = 0; i + 1 < path.size(); i++) {
+      int u = path.get(i), v = path.get(i + 1);
+      double best = Double.POSITIVE_INFINITY;
+      for (int e = graph.start(u); e < graph.end(u); e++)
+        if (graph.target(e) == v) best = Math.min(best, graph.weight(e));
+      length += best;
+    }
+    assertThat(length).isWithin(1e-6).of(dist);
+  }
+
+  // Answers random queries with the solver and with plain Dijkstra and checks that the
+  // distances agree and the paths are valid. The same solver answers every query, which
+  // exercises resetting its state.
+  static void assertSameAsDijkstra(
+      CsrGraph graph, Distance distance, Path path, int queries, long seed) {
+    DijkstrasShortestPathAdjacencyList dijkstra = new DijkstrasShortestPathAdjacencyList(graph);
+    Random random = new Random(seed);
+    int n = graph.numNodes();
+    for (int i = 0; i < queries; i++) {
+      int s = random.nextInt(n), t = random.nextInt(n);
+      double expected = dijkstra.dijkstra(s, t);
+      double actual = distance.shortestPath(s, t);
+      if (expected == Double.POSITIVE_INFINITY) {
+        assertThat(actual).isEqualTo(expected);
+        assertThat(path.reconstructPath(s, t)).isEmpty();
+      } else {
+        assertThat(actual).isWithin(1e-6).of(expected);
+        assertValidPath(graph, path.reconstructPath(s, t), s, t, actual);
+      }
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.*;
 
@@ -22,7 +23,7 @@ public class TarjanSccSolverAdjacencyListTest {
 
   @Test(expected = IllegalArgumentException.class)
   public void nullGraphConstructor() {
-    new TarjanSccSolverAdjacencyList(null);
+    new TarjanSccSolverAdjacencyList((List<List<Integer>>) null);
   }
 
   @Test
@@ -222,6 +223,22 @@ public class TarjanSccSolverAdjacencyListTest {
     assertThat(isScc(solver.getSccs(), expectedSccs)).isTrue();
   }
 
+  @Test
+  public void testCsrGraphMatchesAdjacencyList() {
+    Random random = new Random(1234);
+    for (int n = 1; n <= 50; n++) {
+      List<List<Integer>> g = createGraph(n);
+      for (int i = 0; i < 2 * n; i++) addEdge(g, random.nextInt(n), random.nextInt(n));
+
+      TarjanSccSolverAdjacencyList listSolver = new TarjanSccSolverAdjacencyList(g);
+      TarjanSccSolverAdjacencyList csrSolver =
+          new TarjanSccSolverAdjacencyList(CsrGraph.fromAdjacencyList(g));
+
+      assertThat(csrSolver.sccCount()).isEqualTo(listSolver.sccCount());
+      assertThat(csrSolver.getSccs()).isEqualTo(listSolver.getSccs());
+    }
+  }
+
   private static boolean isScc(int[] ids, List<List<Integer>> expectedSccs) {
     Set<Integer> set = new HashSet<>();
     Set<Integer> sccComponentIds = new HashSet<>();
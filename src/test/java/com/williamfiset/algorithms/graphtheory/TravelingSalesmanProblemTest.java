@@ -3,6 +3,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.google.common.truth.Truth.assertThat;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.*;
 
 public class TravelingSalesmanProblemTest {
@@ -181,6 +182,30 @@ public class TravelingSalesmanProblemTest {
     }
   }
 
+  @Test
+  public void testTspIterativeOnPool() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int n = 3; n <= 14; n++) {
+        double[][] dist = new double[n][n];
+        randomFillDistMatrix(dist);
+        TspDynamicProgrammingIterative solver = new TspDynamicProgrammingIterative(n / 2, dist);
+        solver.setPool(pool);
+        double expected = new TspDynamicProgrammingRecursive(n / 2, dist).getTourCost();
+        assertThat(solver.getTourCost()).isWithin(EPS).of(expected);
+        assertThat(getTourCost(dist, solver.getTour())).isWithin(EPS).of(expected);
+        assertThat(new HashSet<>(solver.getTour()).size()).isEqualTo(n);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTspIterativeTooLarge() {
+    new TspDynamicProgrammingIterative(new double[31][31]);
+  }
+
   public void randomFillDistMatrix(double[][] dist) {
     for (int i = 0; i < dist.length; i++) {
       for (int j = 0; j < dist.length; j++) {
@@ -0,0 +1,112 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class TspLocalSearchTest {
+
+  private static final double EPS = 1e-6;
+
+  private static double[][] randomPoints(int n, long seed) {
+    Random random = new Random(seed);
+    double[][] points = new double[2][n];
+    for (int i = 0; i < n; i++) {
+      points[0][i] = random.nextDouble() * 1000;
+      points[1][i] = random.nextDouble() * 1000;
+    }
+    return points;
+  }
+
+  private static double[][] distanceMatrix(double[] x, double[] y) {
+    int n = x.length;
+    double[][] dist = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) dist[i][j] = Math.hypot(x[i] - x[j], y[i] - y[j]);
+    }
+    return dist;
+  }
+
+  // Checks the tour visits every city once, starting and ending at 0, and returns its cost.
+  private static double checkTour(List<Integer> tour, int n, double[][] dist) {
+    assertThat(tour.size()).isEqualTo(n + 1);
+    assertThat(tour.get(0)).isEqualTo(0);
+    assertThat(tour.get(n)).isEqualTo(0);
+    assertThat(new HashSet<>(tour).size()).isEqualTo(n);
+    double total = 0;
+    for (int i = 0; i < n; i++) total += dist[tour.get(i)][tour.get(i + 1)];
+    return total;
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTooFewCities() {
+    new TspLocalSearch(new double[2], new double[2]);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNonSquareMatrix() {
+    new TspLocalSearch(new double[][] {{0, 1, 2}, {1, 0, 3}});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedCoordinates() {
+    new TspLocalSearch(new double[3], new double[4]);
+  }
+
+  @Test
+  public void testSmallInstancesAreSolvedOptimally() {
+    for (int n = 3; n <= 12; n++) {
+      double[][] points = randomPoints(n, n);
+      double[][] dist = distanceMatrix(points[0], points[1]);
+      double optimal = new TspDynamicProgrammingIterative(dist).getTourCost();
+
+      TspLocalSearch solver = new TspLocalSearch(dist);
+      solver.setTimeLimit(50);
+      assertThat(solver.getTourCost()).isWithin(EPS).of(optimal);
+      assertThat(checkTour(solver.getTour(), n, dist)).isWithin(EPS).of(optimal);
+    }
+  }
+
+  @Test
+  public void testLocalOptimumFromEitherStartingTour() {
+    int n = 1000;
+    double[][] points = randomPoints(n, 1);
+    double[][] dist = distanceMatrix(points[0], points[1]);
+    for (TspLocalSearch.InitialTour initial : TspLocalSearch.InitialTour.values()) {
+      TspLocalSearch solver = new TspLocalSearch(points[0], points[1]);
+      solver.setInitialTour(initial);
+      double cost = checkTour(solver.getTour(), n, dist);
+      assertThat(solver.getTourCost()).isWithin(EPS).of(cost);
+
+      // 2-opt and Or-opt from either start end up close to 0.7124 * sqrt(n * area).
+      assertThat(cost).isLessThan(1.15 * 0.7124 * Math.sqrt(n) * 1000);
+    }
+  }
+
+  @Test
+  public void testKicksImproveTheTour() {
+    int n = 1000;
+    double[][] points = randomPoints(n, 2);
+    double[][] dist = distanceMatrix(points[0], points[1]);
+    TspLocalSearch localOptimum = new TspLocalSearch(dist);
+    TspLocalSearch kicked = new TspLocalSearch(dist);
+    kicked.setTimeLimit(300);
+    assertThat(kicked.getTourCost()).isLessThan(localOptimum.getTourCost());
+    assertThat(checkTour(kicked.getTour(), n, dist)).isWithin(EPS).of(kicked.getTourCost());
+  }
+
+  @Test
+  public void testTimeLimitIsRespected() {
+    int n = 5000;
+    double[][] points = randomPoints(n, 3);
+    TspLocalSearch solver = new TspLocalSearch(points[0], points[1]);
+    solver.setNeighborCount(5);
+    solver.setTimeLimit(200);
+    long start = System.nanoTime();
+    solver.solve();
+    // Building the neighbor lists and the starting tour comes before the first check.
+    assertThat((System.nanoTime() - start) / 1e6).isLessThan(5000.0);
+    assertThat(new HashSet<>(solver.getTour()).size()).isEqualTo(n);
+  }
+}
@@ -2,6 +2,7 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.*;
 
@@ -54,4 +55,18 @@ public class TwoSatSolverAdjacencyListTest {
     TwoSatSolverAdjacencyList solver = new TwoSatSolverAdjacencyList(g);
     assertThat(solver.isSatisfiable()).isFalse();
   }
+
+  @Test
+  public void testCsrImplicationGraph() {
+    int n = 1;
+    List<List<Integer>> g = createGraph(n);
+
+    // Full clause: (p or p) and (~p or ~p)
+    TwoSatSolverAdjacencyList.addOrClause(g, 0, 0);
+    TwoSatSolverAdjacencyList.addOrClause(g, 0 ^ 1, 0 ^ 1);
+
+    TwoSatSolverAdjacencyList solver =
+        new TwoSatSolverAdjacencyList(CsrGraph.fromAdjacencyList(g));
+    assertThat(solver.isSatisfiable()).isFalse();
+  }
 }
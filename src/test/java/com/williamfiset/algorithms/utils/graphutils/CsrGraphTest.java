@@ -0,0 +1,115 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class CsrGraphTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nodeOutOfBounds() {
+    CsrGraph.fromEdges(2, new int[] {0}, new int[] {2});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void mismatchedEdgeArrays() {
+    CsrGraph.fromEdges(3, new int[] {0, 1}, new int[] {2});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidOffsets() {
+    CsrGraph.wrap(new int[] {0, 2, 1}, new int[] {0}, (double[]) null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrappedTargetOutOfBounds() {
+    CsrGraph.wrap(new int[] {0, 1, 1}, new int[] {2}, (double[]) null);
+  }
+
+  @Test
+  public void emptyGraph() {
+    CsrGraph graph = CsrGraph.fromEdges(0, new int[0], new int[0]);
+    assertThat(graph.numNodes()).isEqualTo(0);
+    assertThat(graph.numEdges()).isEqualTo(0);
+    assertThat(graph.isWeighted()).isFalse();
+  }
+
+  @Test
+  public void edgesKeepInputOrder() {
+    int[] from = {2, 0, 2, 0, 1};
+    int[] to = {3, 1, 0, 2, 2};
+    double[] weights = {1.5, 2.5, 3.5, 4.5, 5.5};
+    CsrGraph graph = CsrGraph.fromEdges(4, from, to, weights);
+
+    assertThat(graph.numNodes()).isEqualTo(4);
+    assertThat(graph.numEdges()).isEqualTo(5);
+    assertThat(graph.offsets()).isEqualTo(new int[] {0, 2, 3, 5, 5});
+    assertThat(graph.targets()).isEqualTo(new int[] {1, 2, 2, 3, 0});
+    assertThat(graph.weights()).isEqualTo(new double[] {2.5, 4.5, 5.5, 1.5, 3.5});
+    assertThat(graph.degree(2)).isEqualTo(2);
+    assertThat(graph.degree(3)).isEqualTo(0);
+  }
+
+  @Test
+  public void longWeights() {
+    CsrGraph graph = CsrGraph.fromEdges(2, new int[] {1, 0}, new int[] {0, 1}, new long[] {7, 9});
+    assertThat(graph.longWeight(graph.start(0))).isEqualTo(9);
+    assertThat(graph.longWeight(graph.start(1))).isEqualTo(7);
+    assertThat(graph.weight(graph.start(1))).isEqualTo(7.0);
+    assertThat(graph.weights()).isNull();
+  }
+
+  @Test
+  public void undirectedEdges() {
+    CsrGraph graph = CsrGraph.fromUndirectedEdges(3, new int[] {0, 1}, new int[] {1, 2});
+    assertThat(graph.numEdges()).isEqualTo(4);
+    assertThat(graph.toAdjacencyList())
+        .containsExactly(Arrays.asList(1), Arrays.asList(2, 0), Arrays.asList(1))
+        .inOrder();
+  }
+
+  @Test
+  public void transposeReversesEdges() {
+    Random random = new Random(1234);
+    int n = 100, m = 1000;
+    int[] from = new int[m], to = new int[m];
+    double[] weights = new double[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = random.nextInt(n);
+      to[i] = random.nextInt(n);
+      weights[i] = random.nextDouble();
+    }
+    CsrGraph graph = CsrGraph.fromEdges(n, from, to, weights);
+    CsrGraph transpose = graph.transpose();
+    List<List<Integer>> g = graph.toAdjacencyList();
+    for (int u = 0; u < n; u++) {
+      for (int e = transpose.start(u); e < transpose.end(u); e++) {
+        assertThat(g.get(transpose.target(e))).contains(u);
+      }
+    }
+
+    // Transposing twice gives back the same edges, although the edges of every
+    // node are now ordered by target.
+    CsrGraph identity = transpose.transpose();
+    assertThat(identity.offsets()).isEqualTo(graph.offsets());
+    for (int u = 0; u < n; u++) {
+      List<String> expected = new ArrayList<>(), actual = new ArrayList<>();
+      for (int e = graph.start(u); e < graph.end(u); e++)
+        expected.add(graph.target(e) + ":" + graph.weight(e));
+      for (int e = identity.start(u); e < identity.end(u); e++)
+        actual.add(identity.target(e) + ":" + identity.weight(e));
+      assertThat(actual).containsExactlyElementsIn(expected);
+    }
+  }
+
+  @Test
+  public void adjacencyListRoundTrip() {
+    List<List<Integer>> g = Utils.createEmptyAdjacencyList(5);
+    Utils.addDirectedEdge(g, 0, 4);
+    Utils.addDirectedEdge(g, 0, 1);
+    Utils.addDirectedEdge(g, 3, 3);
+    Utils.addDirectedEdge(g, 4, 0);
+    assertThat(CsrGraph.fromAdjacencyList(g).toAdjacencyList()).isEqualTo(g);
+  }
+}
@@ -0,0 +1,136 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.graphtheory.BreadthFirstSearchAdjacencyListIterativeFastQueue;
+import com.williamfiset.algorithms.utils.graphutils.GraphGenerator.*;
+import java.util.*;
+import org.junit.*;
+
+public class GraphGeneratorTest {
+
+  // Collects the streamed edges of a generator as "from->to:weight" strings.
+  private static List<String> streamEdges(EdgeGenerator generator) {
+    List<String> edges = new ArrayList<>();
+    generator.forEachEdge((from, to, weight) -> edges.add(from + "->" + to + ":" + weight));
+    return edges;
+  }
+
+  private static List<String> parallelEdges(EdgeGenerator generator) {
+    int m = (int) generator.numEdges();
+    int[] from = new int[m], to = new int[m];
+    double[] weights = new double[m];
+    generator.fillEdges(from, to, weights);
+    List<String> edges = new ArrayList<>();
+    for (int i = 0; i < m; i++) edges.add(from[i] + "->" + to[i] + ":" + weights[i]);
+    return edges;
+  }
+
+  private static List<EdgeGenerator> generators(long seed) {
+    return Arrays.asList(
+        new ErdosRenyiGenerator(1000, 100000, 50, seed),
+        new RmatGenerator(12, 16, 10, seed),
+        new GridGenerator(100, 123, 0.25, 0.5, seed),
+        new RandomTreeGenerator(50000, 10, seed),
+        new FlowNetworkGenerator(300, 200, 40000, 20, seed));
+  }
+
+  @Test
+  public void sameSeedGivesSameGraph() {
+    List<EdgeGenerator> a = generators(7), b = generators(7), c = generators(8);
+    for (int i = 0; i < a.size(); i++) {
+      assertThat(streamEdges(a.get(i))).isEqualTo(streamEdges(b.get(i)));
+      assertThat(streamEdges(a.get(i)).equals(streamEdges(c.get(i)))).isFalse();
+    }
+  }
+
+  @Test
+  public void parallelGenerationMatchesStreaming() {
+    for (EdgeGenerator generator : generators(42)) {
+      assertThat(generator.numEdges()).isGreaterThan((long) EdgeGenerator.BLOCK_SIZE);
+      assertThat(parallelEdges(generator)).isEqualTo(streamEdges(generator));
+    }
+  }
+
+  @Test
+  public void erdosRenyiHasNoSelfLoops() {
+    ErdosRenyiGenerator generator = new ErdosRenyiGenerator(2, 1000, 1, 3);
+    generator.forEachEdge((from, to, weight) -> assertThat(from).isNotEqualTo(to));
+  }
+
+  @Test
+  public void rmatIsSkewed() {
+    CsrGraph graph = new RmatGenerator(14, 8, 1, 5).toCsrGraph();
+    assertThat(graph.numNodes()).isEqualTo(1 << 14);
+    assertThat(graph.numEdges()).isEqualTo(8 << 14);
+    int maxDegree = 0;
+    for (int u = 0; u < graph.numNodes(); u++) maxDegree = Math.max(maxDegree, graph.degree(u));
+    // A uniform random graph with average degree 8 would have no node with degree 100.
+    assertThat(maxDegree).isGreaterThan(100);
+  }
+
+  @Test
+  public void gridGraph() {
+    int rows = 20, cols = 30;
+    GridGenerator generator = new GridGenerator(rows, cols, 0.3, 1.0, 11);
+    CsrGraph graph = generator.toCsrGraph();
+    double[] x = generator.xCoordinates(), y = generator.yCoordinates();
+    assertThat(graph.numEdges()).isEqualTo(2 * (rows * (cols - 1) + (rows - 1) * cols));
+
+    Map<String, Double> weights = new HashMap<>();
+    for (int u = 0; u < graph.numNodes(); u++) {
+      assertThat(Math.abs(x[u] - u % cols)).isAtMost(0.3);
+      assertThat(Math.abs(y[u] - u / cols)).isAtMost(0.3);
+      for (int e = graph.start(u); e < graph.end(u); e++) {
+        int v = graph.target(e);
+        int dr = Math.abs(u / cols - v / cols), dc = Math.abs(u % cols - v % cols);
+        assertThat(dr + dc).isEqualTo(1);
+        double dist = Math.hypot(x[u] - x[v], y[u] - y[v]);
+        assertThat(graph.weight(e)).isAtLeast(dist);
+        assertThat(graph.weight(e)).isAtMost(2 * dist + 1e-9);
+        weights.put(u + "," + v, graph.weight(e));
+      }
+    }
+    // Both directions of an edge have the same weight.
+    for (Map.Entry<String, Double> entry : weights.entrySet()) {
+      String[] uv = entry.getKey().split(",");
+      assertThat(weights.get(uv[1] + "," + uv[0])).isEqualTo(entry.getValue());
+    }
+  }
+
+  @Test
+  public void randomTreeIsConnected() {
+    int n = 10000;
+    CsrGraph tree = new RandomTreeGenerator(n, 1, 9).toCsrGraph();
+    assertThat(tree.numEdges()).isEqualTo(n - 1);
+    int[] dist = BreadthFirstSearchAdjacencyListIterativeFastQueue.bfs(tree, 0);
+    for (int d : dist) assertThat(d).isAtLeast(0);
+  }
+
+  @Test
+  public void flowNetwork() {
+    int left = 10, right = 15;
+    FlowNetworkGenerator generator = new FlowNetworkGenerator(left, right, 100, 5, 13);
+    int s = generator.source(), t = generator.sink();
+    assertThat(generator.numNodes()).isEqualTo(left + right + 2);
+    int[] counts = new int[3];
+    generator.forEachEdge(
+        (from, to, capacity) -> {
+          assertThat(capacity).isAtLeast(1.0);
+          assertThat(capacity).isAtMost(5.0);
+          if (from == s) {
+            assertThat(to).isLessThan(left);
+            counts[0]++;
+          } else if (to == t) {
+            assertThat(from).isAtLeast(left);
+            counts[1]++;
+          } else {
+            assertThat(from).isLessThan(left);
+            assertThat(to).isAtLeast(left);
+            assertThat(to).isLessThan(left + right);
+            counts[2]++;
+          }
+        });
+    assertThat(counts).isEqualTo(new int[] {left, right, 100});
+  }
+}
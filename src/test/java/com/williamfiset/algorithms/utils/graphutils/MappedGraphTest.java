@@ -0,0 +1,146 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.graphtheory.BreadthFirstSearchAdjacencyListIterativeFastQueue;
+import com.williamfiset.algorithms.graphtheory.DepthFirstSearchAdjacencyListIterativeFastStack;
+import com.williamfiset.algorithms.graphtheory.DijkstrasShortestPathAdjacencyList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import org.junit.*;
+
+public class MappedGraphTest {
+
+  private Path path;
+
+  @Before
+  public void setup() throws IOException {
+    path = Files.createTempFile("graph", ".bin");
+  }
+
+  @After
+  public void cleanup() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  private static CsrGraph randomGraph(int n, int m, long seed) {
+    Random random = new Random(seed);
+    int[] from = new int[m], to = new int[m];
+    double[] weights = new double[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = random.nextInt(n);
+      to[i] = random.nextInt(n);
+      weights[i] = random.nextInt(100);
+    }
+    return CsrGraph.fromEdges(n, from, to, weights);
+  }
+
+  private static void assertSameGraph(StaticGraph expected, StaticGraph actual) {
+    assertThat(actual.numNodes()).isEqualTo(expected.numNodes());
+    assertThat(actual.numEdges()).isEqualTo(expected.numEdges());
+    assertThat(actual.isWeighted()).isEqualTo(expected.isWeighted());
+    for (int u = 0; u < expected.numNodes(); u++) {
+      assertThat(actual.start(u)).isEqualTo(expected.start(u));
+      assertThat(actual.end(u)).isEqualTo(expected.end(u));
+    }
+    for (int e = 0; e < expected.numEdges(); e++) {
+      assertThat(actual.target(e)).isEqualTo(expected.target(e));
+      assertThat(actual.weight(e)).isEqualTo(expected.weight(e));
+      assertThat(actual.longWeight(e)).isEqualTo(expected.longWeight(e));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void notAGraphFile() throws IOException {
+    Files.write(path, new byte[64]);
+    MappedGraph.open(path);
+  }
+
+  @Test(expected = IOException.class)
+  public void truncatedFile() throws IOException {
+    MappedGraph.write(randomGraph(10, 50, 1), path);
+    byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+    MappedGraph.open(path);
+  }
+
+  @Test
+  public void emptyGraph() throws IOException {
+    CsrGraph graph = CsrGraph.fromEdges(0, new int[0], new int[0]);
+    MappedGraph.write(graph, path);
+    assertSameGraph(graph, MappedGraph.open(path));
+  }
+
+  @Test
+  public void unweightedRoundTrip() throws IOException {
+    int[] from = {0, 0, 1, 2, 2};
+    int[] to = {1, 2, 2, 0, 3};
+    CsrGraph graph = CsrGraph.fromEdges(5, from, to);
+    MappedGraph.write(graph, path);
+    assertThat(Files.size(path)).isEqualTo(MappedGraph.fileSize(5, 5, MappedGraph.UNWEIGHTED));
+    assertSameGraph(graph, MappedGraph.open(path));
+  }
+
+  @Test
+  public void doubleWeightsRoundTrip() throws IOException {
+    CsrGraph graph = randomGraph(100, 1000, 2);
+    MappedGraph.write(graph, path);
+    assertSameGraph(graph, MappedGraph.open(path));
+  }
+
+  @Test
+  public void longWeightsRoundTrip() throws IOException {
+    int[] from = {3, 1, 0};
+    int[] to = {0, 2, 1};
+    long[] weights = {Long.MAX_VALUE, -5, 1L << 40};
+    CsrGraph graph = CsrGraph.fromEdges(4, from, to, weights);
+    MappedGraph.write(graph, path);
+    MappedGraph mapped = MappedGraph.open(path);
+    assertSameGraph(graph, mapped);
+    assertThat(mapped.longWeight(mapped.start(3))).isEqualTo(Long.MAX_VALUE);
+  }
+
+  // The weights must start at a multiple of 8 bytes whatever the parity of n + 1 and m.
+  @Test
+  public void weightsAreAligned() throws IOException {
+    for (int n = 4; n <= 5; n++) {
+      for (int m = 6; m <= 7; m++) {
+        CsrGraph graph = randomGraph(n, m, n * m);
+        MappedGraph.write(graph, path);
+        long size = MappedGraph.fileSize(n, m, MappedGraph.DOUBLE_WEIGHTS);
+        assertThat(Files.size(path)).isEqualTo(size);
+        assertThat((size - 8L * m) % 8).isEqualTo(0L);
+        assertSameGraph(graph, MappedGraph.open(path));
+      }
+    }
+  }
+
+  @Test
+  public void traversalsOnMappedGraph() throws IOException {
+    int n = 200;
+    CsrGraph graph = randomGraph(n, 600, 3);
+    MappedGraph.write(graph, path);
+    MappedGraph mapped = MappedGraph.open(path);
+
+    for (int start = 0; start < n; start += 17) {
+      assertThat(BreadthFirstSearchAdjacencyListIterativeFastQueue.bfs(mapped, start))
+          .isEqualTo(BreadthFirstSearchAdjacencyListIterativeFastQueue.bfs(graph, start));
+      assertThat(DepthFirstSearchAdjacencyListIterativeFastStack.dfs(mapped, start))
+          .isEqualTo(DepthFirstSearchAdjacencyListIterativeFastStack.dfs(graph, start));
+
+      // Compare against Dijkstra on the equivalent adjacency list.
+      DijkstrasShortestPathAdjacencyList expected = new DijkstrasShortestPathAdjacencyList(n);
+      for (int u = 0; u < n; u++) {
+        for (int e = graph.start(u); e < graph.end(u); e++) {
+          expected.addEdge(u, graph.target(e), (int) graph.weight(e));
+        }
+      }
+      DijkstrasShortestPathAdjacencyList actual = new DijkstrasShortestPathAdjacencyList(mapped);
+      for (int end = 0; end < n; end += 13) {
+        assertThat(actual.dijkstra(start, end)).isEqualTo(expected.dijkstra(start, end));
+      }
+    }
+  }
+}